@@ -11,7 +11,8 @@ import java.util.*;
 import java.util.List;
 import java.util.logging.Logger;
 import java.util.logging.Level;
-import java.util.stream.Collectors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * GUI-based demonstration of the 3D Shape inheritance hierarchy with modern dark theme.
@@ -21,6 +22,7 @@ import java.util.stream.Collectors;
  * - Visual display of shape information and calculations
  * - Comprehensive comparative analysis of created shapes
  * - Performance testing and benchmarking
+ * - Parameter sweeps over grids of dimensions without creating shapes
  * - Shape type distribution statistics
  * - Default shape creation for quick setup
  * - Modern dark mode UI with enhanced styling
@@ -29,9 +31,9 @@ import java.util.stream.Collectors;
 public class ShapeDriverGUI extends JFrame {
 
     private static final Logger LOGGER = Logger.getLogger(ShapeDriver.class.getName());
-    private final List<Shape3D> shapes = new ArrayList<>();
+    private final ShapeCollection shapes = new ShapeCollection();
     private JTextArea displayArea;
-    private JButton createButton, analyzeButton, performanceButton, clearButton, defaultShapesButton;
+    private JButton createButton, analyzeButton, performanceButton, clearButton, defaultShapesButton, sweepButton;
 
     // Dark mode color scheme
     private static final Color BACKGROUND_COLOR = new Color(30, 30, 30);
@@ -209,7 +211,7 @@ public class ShapeDriverGUI extends JFrame {
     }
 
     private JPanel createButtonPanel() {
-        JPanel buttonPanel = new JPanel(new GridLayout(2, 3, 15, 10));
+        JPanel buttonPanel = new JPanel(new GridLayout(2, 4, 15, 10));
         buttonPanel.setBackground(BACKGROUND_COLOR);
         buttonPanel.setBorder(new EmptyBorder(15, 0, 0, 0));
 
@@ -232,6 +234,10 @@ public class ShapeDriverGUI extends JFrame {
         clearButton.addActionListener(e -> clearShapes());
         clearButton.setEnabled(false);
 
+        sweepButton = createStyledButton("Parameter Sweep", "Evaluate a grid of dimensions without creating shapes",
+                new Color(0, 150, 136));
+        sweepButton.addActionListener(e -> runParameterSweep());
+
         JButton exitButton = createStyledButton("Exit", "Close the application", new Color(96, 125, 139));
         exitButton.addActionListener(e -> {
             int result = showStyledConfirmDialog(
@@ -247,6 +253,7 @@ public class ShapeDriverGUI extends JFrame {
         buttonPanel.add(analyzeButton);
         buttonPanel.add(performanceButton);
         buttonPanel.add(clearButton);
+        buttonPanel.add(sweepButton);
         buttonPanel.add(exitButton);
 
         return buttonPanel;
@@ -281,9 +288,9 @@ public class ShapeDriverGUI extends JFrame {
     private class CreateShapeListener implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
-            String selectedType = showShapeSelectionDialog();
+            ShapeDescriptor selectedType = showShapeSelectionDialog();
             if (selectedType != null) {
-                LOGGER.log(Level.INFO, "User selected shape type: {0}", selectedType);
+                LOGGER.log(Level.INFO, "User selected shape type: {0}", selectedType.displayName());
                 createShape(selectedType);
             }
         }
@@ -291,9 +298,11 @@ public class ShapeDriverGUI extends JFrame {
 
     /**
      * Custom dark-themed shape selection dialog to avoid system default styling issues.
+     * Lists every shape in {@link ShapeRegistry}.
      */
-    private String showShapeSelectionDialog() {
-        final String[] shapeTypes = {"Sphere", "Cube", "Cylinder", "RectangularPrism", "Cone"};
+    private ShapeDescriptor showShapeSelectionDialog() {
+        final List<ShapeDescriptor> registered = ShapeRegistry.all();
+        final String[] shapeTypes = registered.stream().map(ShapeDescriptor::displayName).toArray(String[]::new);
         final JDialog dialog = new JDialog(this, "Select Shape Type", true);
         dialog.setLayout(new BorderLayout());
         dialog.getContentPane().setBackground(BACKGROUND_COLOR);
@@ -322,8 +331,8 @@ public class ShapeDriverGUI extends JFrame {
         buttons.add(cancel);
         dialog.add(buttons, BorderLayout.SOUTH);
 
-        final String[] selection = {null};
-        ok.addActionListener(a -> { selection[0] = (String) combo.getSelectedItem(); dialog.dispose(); });
+        final ShapeDescriptor[] selection = {null};
+        ok.addActionListener(a -> { selection[0] = registered.get(combo.getSelectedIndex()); dialog.dispose(); });
         cancel.addActionListener(a -> { selection[0] = null; dialog.dispose(); });
 
         dialog.setSize(380, 180);
@@ -391,7 +400,7 @@ public class ShapeDriverGUI extends JFrame {
         return input[0];
     }
 
-    private void createShape(String shapeType) {
+    private void createShape(ShapeDescriptor shapeType) {
         try {
             // Get basic info using custom dialogs
             String name = showCustomInputDialog("Enter shape name:", "Create Shape - Name");
@@ -404,25 +413,7 @@ public class ShapeDriverGUI extends JFrame {
             String color = showCustomInputDialog("Enter shape color (optional):", "Create Shape - Color");
             if (color == null) color = ""; // Default to empty if cancelled, rather than exiting flow
 
-            Shape3D shape = null;
-
-            switch (shapeType) {
-                case "Sphere":
-                    shape = createSphere(name, color);
-                    break;
-                case "Cube":
-                    shape = createCube(name, color);
-                    break;
-                case "Cylinder":
-                    shape = createCylinder(name, color);
-                    break;
-                case "RectangularPrism":
-                    shape = createRectangularPrism(name, color);
-                    break;
-                case "Cone":
-                    shape = createCone(name, color);
-                    break;
-            }
+            Shape3D shape = promptForShape(shapeType, name, color);
 
             if (shape != null) {
                 shapes.add(shape);
@@ -432,7 +423,7 @@ public class ShapeDriverGUI extends JFrame {
                 performanceButton.setEnabled(true);
 
                 LOGGER.log(Level.INFO, "Successfully created {0}: {1}",
-                    new Object[]{shapeType, shape.toString()});
+                    new Object[]{shapeType.displayName(), shape.toString()});
 
                 showStyledMessage(
                     "Shape created successfully!\n" + shape.toString(),
@@ -451,73 +442,21 @@ public class ShapeDriverGUI extends JFrame {
         }
     }
 
-    private Shape3D createSphere(String name, String color) {
-        String radiusStr = showCustomInputDialog("Enter radius:", "Create Sphere");
-        if (radiusStr == null) return null;
-
-        double radius = Double.parseDouble(radiusStr);
-        return color.trim().isEmpty() ?
-            new Sphere(name, radius) :
-            new Sphere(name, color, radius);
-    }
-
-    private Shape3D createCube(String name, String color) {
-        String sideStr = showCustomInputDialog("Enter side length:", "Create Cube");
-        if (sideStr == null) return null;
-
-        double side = Double.parseDouble(sideStr);
-        return color.trim().isEmpty() ?
-            new Cube(name, side) :
-            new Cube(name, color, side);
-    }
-
-    private Shape3D createCylinder(String name, String color) {
-        String radiusStr = showCustomInputDialog("Enter radius:", "Create Cylinder");
-        if (radiusStr == null) return null;
-
-        String heightStr = showCustomInputDialog("Enter height:", "Create Cylinder");
-        if (heightStr == null) return null;
-
-        double radius = Double.parseDouble(radiusStr);
-        double height = Double.parseDouble(heightStr);
-
-        return color.trim().isEmpty() ?
-            new Cylinder(name, radius, height) :
-            new Cylinder(name, color, radius, height);
-    }
-
-    private Shape3D createRectangularPrism(String name, String color) {
-        String lengthStr = showCustomInputDialog("Enter length:", "Create Rectangular Prism");
-        if (lengthStr == null) return null;
-
-        String widthStr = showCustomInputDialog("Enter width:", "Create Rectangular Prism");
-        if (widthStr == null) return null;
-
-        String heightStr = showCustomInputDialog("Enter height:", "Create Rectangular Prism");
-        if (heightStr == null) return null;
-
-        double length = Double.parseDouble(lengthStr);
-        double width = Double.parseDouble(widthStr);
-        double height = Double.parseDouble(heightStr);
-
-        return color.trim().isEmpty() ?
-            new RectangularPrism(name, length, width, height) :
-            new RectangularPrism(name, color, length, width, height);
-    }
-
-    private Shape3D createCone(String name, String color) {
-        String radiusStr = showCustomInputDialog("Enter radius:", "Create Cone");
-        if (radiusStr == null) return null;
-
-        String heightStr = showCustomInputDialog("Enter height:", "Create Cone");
-        if (heightStr == null) return null;
-
-        double radius = Double.parseDouble(radiusStr);
-        double height = Double.parseDouble(heightStr);
-
-        return color.trim().isEmpty() ?
-            new Cone(name, radius, height) :
-            new Cone(name, color, radius, height);
+    /**
+     * Prompts for each dimension the registry lists for the selected type.
+     *
+     * @return the new shape, or null if the user cancelled a prompt
+     */
+    private Shape3D promptForShape(ShapeDescriptor descriptor, String name, String color) {
+        String title = "Create " + descriptor.displayName();
+        double[] dims = new double[descriptor.arity()];
+        for (int i = 0; i < dims.length; i++) {
+            String label = descriptor.dimensionLabel(i);
+            String value = showCustomInputDialog("Enter " + label + ":", title);
+            if (value == null) return null;
+            dims[i] = Double.parseDouble(value);
+        }
+        return descriptor.create(name, color, dims);
     }
 
     private class AnalyzeShapesListener implements ActionListener {
@@ -531,68 +470,152 @@ public class ShapeDriverGUI extends JFrame {
                 return;
             }
 
+            String expression = showCustomInputDialog(
+                "Filter (e.g. type = Cone and volume > 100), 'explain' prefix shows the plan, "
+                        + "'define name = expression' adds a metric, blank for all:",
+                "Analyze Shapes");
+            if (expression == null) return; // User cancelled
+
+            Matcher define = DEFINE.matcher(expression.strip());
+            if (define.matches()) {
+                try {
+                    DerivedMetric metric = DerivedMetrics.register(define.group(1), define.group(2));
+                    showStyledMessage("Registered metric:\n" + metric, "Metric Added", true);
+                } catch (IllegalArgumentException ex) {
+                    showStyledMessage(ex.getMessage(), "Metric Error", false);
+                }
+                return;
+            }
+
+            boolean explain = expression.strip().toLowerCase().matches("explain\\b.*");
+            ShapeFilter filter;
+            try {
+                filter = ShapeFilter.compile(explain ? expression.strip().substring("explain".length()) : expression);
+            } catch (IllegalArgumentException ex) {
+                showStyledMessage(ex.getMessage(), "Filter Error", false);
+                return;
+            }
+
             LOGGER.log(Level.INFO, "Performing comprehensive analysis on {0} shapes", shapes.size());
-            performComparativeAnalysis();
+            performComparativeAnalysis(filter, explain);
         }
     }
 
     /**
-     * Performs comprehensive comparative analysis of all shapes (similar to ShapeDriver)
+     * Performs comprehensive comparative analysis of the shapes matching a filter (similar to ShapeDriver),
+     * optionally preceded by the filter's query plan
      */
-    private void performComparativeAnalysis() {
+    private void performComparativeAnalysis(ShapeFilter filter, boolean explain) {
+        String plan = explain ? filter.plan(shapes).explain() : null;
+        List<Shape3D> selection = filter.matchesAll() ? shapes : filter.select(shapes);
+        if (selection.isEmpty()) {
+            showStyledMessage("No shapes match the filter:\n" + filter.expression()
+                    + (plan != null ? "\n\n" + plan : ""), "Warning", false);
+            return;
+        }
+
         StringBuilder analysis = new StringBuilder();
         analysis.append("=== COMPREHENSIVE COMPARATIVE ANALYSIS ===\n\n");
+        if (plan != null) {
+            analysis.append(plan).append("\n\n");
+        }
+        if (!filter.matchesAll()) {
+            analysis.append(String.format("Filter: %s (%d of %d shapes)\n\n",
+                    filter.expression(), selection.size(), shapes.size()));
+        }
+        if (selection.size() >= PROGRESSIVE_THRESHOLD && !streamEstimates(selection)) {
+            return;
+        }
 
-        // Find shapes with extreme values
-        Shape3D largestVolume = Collections.max(shapes, Comparator.comparing(Shape3D::getVolume));
-        Shape3D largestSurfaceArea = Collections.max(shapes, Comparator.comparing(Shape3D::getSurfaceArea));
-        Shape3D smallestVolume = Collections.min(shapes, Comparator.comparing(Shape3D::getVolume));
-        Shape3D smallestSurfaceArea = Collections.min(shapes, Comparator.comparing(Shape3D::getSurfaceArea));
-
-        // Calculate efficiency ratios
-        Shape3D mostEfficient = Collections.max(shapes,
-                Comparator.comparing(s -> s.getVolume() / s.getSurfaceArea()));
-        Shape3D leastEfficient = Collections.min(shapes,
-                Comparator.comparing(s -> s.getVolume() / s.getSurfaceArea()));
-
-        // Statistical analysis
-        double avgVolume = shapes.stream().mapToDouble(Shape3D::getVolume).average().orElse(0.0);
-        double avgSurfaceArea = shapes.stream().mapToDouble(Shape3D::getSurfaceArea).average().orElse(0.0);
-        double totalVolume = shapes.stream().mapToDouble(Shape3D::getVolume).sum();
-        double totalSurfaceArea = shapes.stream().mapToDouble(Shape3D::getSurfaceArea).sum();
-
-        // Shape type distribution
-        Map<String, Long> typeDistribution = shapes.stream()
-                .collect(Collectors.groupingBy(s -> s.getClass().getSimpleName(), Collectors.counting()));
+        // Maintained incrementally by the collection, so reading it is O(1) when unfiltered
+        ShapeStatistics stats = filter.matchesAll() ? shapes.statistics() : ShapeStatistics.of(selection);
+        ShapeStatistics.Extreme largestVolume = stats.getLargestVolume();
+        ShapeStatistics.Extreme largestSurfaceArea = stats.getLargestSurfaceArea();
+        ShapeStatistics.Extreme smallestVolume = stats.getSmallestVolume();
+        ShapeStatistics.Extreme smallestSurfaceArea = stats.getSmallestSurfaceArea();
+        ShapeStatistics.Extreme mostEfficient = stats.getMostEfficient();
+        ShapeStatistics.Extreme leastEfficient = stats.getLeastEfficient();
 
         // Display results
         analysis.append("EXTREMES:\n");
         analysis.append(String.format("- Largest Volume: %s (%.2f cubic units)\n",
-                largestVolume.getName(), largestVolume.getVolume()));
+                largestVolume.name(), largestVolume.value()));
         analysis.append(String.format("- Largest Surface Area: %s (%.2f square units)\n",
-                largestSurfaceArea.getName(), largestSurfaceArea.getSurfaceArea()));
+                largestSurfaceArea.name(), largestSurfaceArea.value()));
         analysis.append(String.format("- Smallest Volume: %s (%.2f cubic units)\n",
-                smallestVolume.getName(), smallestVolume.getVolume()));
+                smallestVolume.name(), smallestVolume.value()));
         analysis.append(String.format("- Smallest Surface Area: %s (%.2f square units)\n\n",
-                smallestSurfaceArea.getName(), smallestSurfaceArea.getSurfaceArea()));
+                smallestSurfaceArea.name(), smallestSurfaceArea.value()));
 
         analysis.append("EFFICIENCY:\n");
         analysis.append(String.format("- Most Efficient (V/SA): %s (%.4f)\n",
-                mostEfficient.getName(), mostEfficient.getVolume() / mostEfficient.getSurfaceArea()));
+                mostEfficient.name(), mostEfficient.value()));
         analysis.append(String.format("- Least Efficient (V/SA): %s (%.4f)\n\n",
-                leastEfficient.getName(), leastEfficient.getVolume() / leastEfficient.getSurfaceArea()));
+                leastEfficient.name(), leastEfficient.value()));
 
         analysis.append("STATISTICS:\n");
-        analysis.append(String.format("- Total Shapes: %d\n", shapes.size()));
-        analysis.append(String.format("- Average Volume: %.2f cubic units\n", avgVolume));
-        analysis.append(String.format("- Average Surface Area: %.2f square units\n", avgSurfaceArea));
-        analysis.append(String.format("- Combined Volume: %.2f cubic units\n", totalVolume));
-        analysis.append(String.format("- Combined Surface Area: %.2f square units\n\n", totalSurfaceArea));
+        analysis.append(String.format("- Total Shapes: %d\n", selection.size()));
+        analysis.append(String.format("- Average Volume: %.2f cubic units\n", stats.getAverageVolume()));
+        analysis.append(String.format("- Average Surface Area: %.2f square units\n", stats.getAverageSurfaceArea()));
+        analysis.append(String.format("- Combined Volume: %.2f cubic units\n", stats.getTotalVolume()));
+        analysis.append(String.format("- Combined Surface Area: %.2f square units\n\n", stats.getTotalSurfaceArea()));
+
+        // Sketched in bounded memory; the collection keeps its sketches current as shapes are added
+        ShapeDistributions distributions = filter.matchesAll() ? shapes.distributions() : ShapeDistributions.of(selection);
+        double[] volumePercentiles = distributions.get(ShapeMetric.VOLUME).quantiles(0.5, 0.9, 0.99);
+        double[] areaPercentiles = distributions.get(ShapeMetric.SURFACE_AREA).quantiles(0.5, 0.9, 0.99);
+        double[] efficiencyPercentiles = distributions.get(ShapeMetric.EFFICIENCY).quantiles(0.5, 0.9, 0.99);
+        analysis.append("PERCENTILES (p50 / p90 / p99):\n");
+        analysis.append(String.format("- Volume: %.2f / %.2f / %.2f cubic units\n",
+                volumePercentiles[0], volumePercentiles[1], volumePercentiles[2]));
+        analysis.append(String.format("- Surface Area: %.2f / %.2f / %.2f square units\n",
+                areaPercentiles[0], areaPercentiles[1], areaPercentiles[2]));
+        analysis.append(String.format("- Efficiency (V/SA): %.4f / %.4f / %.4f\n\n",
+                efficiencyPercentiles[0], efficiencyPercentiles[1], efficiencyPercentiles[2]));
+
+        // Each metric runs as a compiled bulk kernel over the selection
+        analysis.append("DERIVED METRICS (mean / min / max):\n");
+        for (DerivedMetric metric : DerivedMetrics.all()) {
+            DerivedMetric.Summary summary = metric.summarize(selection);
+            if (summary.count() > 0) {
+                analysis.append(String.format("- %s: %.4f / %.4f / %.4f\n", metric.name(),
+                        summary.mean(), summary.min(), summary.max()));
+            }
+        }
+        analysis.append("\n");
 
         analysis.append("SHAPE DISTRIBUTION:\n");
-        typeDistribution.forEach((type, count) ->
-                analysis.append(String.format("- %s: %d (%.1f%%)\n", type, count,
-                        100.0 * count / shapes.size())));
+        stats.getTypeCounts().forEach((type, count) ->
+                analysis.append(String.format("- %s: %d (%.1f%%)\n", type.displayName(), count,
+                        100.0 * count / selection.size())));
+
+        analysis.append("\nBY COLOR:\n");
+        for (ShapeGroupBy.Group group : ShapeGroupBy.byColor().aggregate(selection)) {
+            analysis.append(String.format("- %s: %d shapes, volume avg %.2f (sd %.2f), surface area avg %.2f (sd %.2f)\n",
+                    group.key(), group.count(),
+                    group.volume().mean(), group.volume().standardDeviation(),
+                    group.surfaceArea().mean(), group.surfaceArea().standardDeviation()));
+        }
+
+        // Fixed-size sketches, maintained by the collection as shapes are added
+        ShapeSketches sketches = filter.matchesAll() ? shapes.sketches() : ShapeSketches.of(selection);
+        analysis.append(String.format("\nNAMES & COLORS (estimated, +/-%.1f%%):\n", 100 * sketches.distinctError()));
+        analysis.append(String.format("- Distinct Names: ~%d\n", sketches.distinctNames()));
+        analysis.append(String.format("- Distinct Colors: ~%d\n", sketches.distinctColors()));
+        StringJoiner topColors = new StringJoiner(", ");
+        for (HeavyHitters.Item item : sketches.topColors(5)) {
+            topColors.add(item.value() + " (" + item.count() + ")");
+        }
+        analysis.append(String.format("- Top Colors: %s\n", topColors));
+        StringJoiner repeated = new StringJoiner(", ");
+        for (HeavyHitters.Item item : sketches.topNames(5)) {
+            if (item.guaranteedCount() > 1) {
+                repeated.add(item.value() + " (" + item.count() + ")");
+            }
+        }
+        if (repeated.length() > 0) {
+            analysis.append(String.format("- Repeated Names: %s\n", repeated));
+        }
 
         // Display in a styled dark theme dialog
         showStyledDialog(analysis.toString(), "Comprehensive Analysis Results", 650, 500);
@@ -618,10 +641,9 @@ public class ShapeDriverGUI extends JFrame {
             for (int i = 0; i < shapes.size(); i++) {
                 Shape3D shape = shapes.get(i);
                 display.append(String.format("%d. %s\n", i + 1, shape.toString()));
-                display.append(String.format("   Surface Area: %.2f square units\n", shape.getSurfaceArea()));
-                display.append(String.format("   Volume: %.2f cubic units\n", shape.getVolume()));
-                display.append(String.format("   Efficiency Ratio (V/SA): %.4f\n\n",
-                        shape.getVolume() / shape.getSurfaceArea()));
+                display.append(String.format("   Surface Area: %.2f square units\n", shapes.surfaceAreaAt(i)));
+                display.append(String.format("   Volume: %.2f cubic units\n", shapes.volumeAt(i)));
+                display.append(String.format("   Efficiency Ratio (V/SA): %.4f\n\n", shapes.efficiencyAt(i)));
             }
 
             display.append("Note: Use 'Analyze Shapes' for detailed comparisons.");
@@ -650,6 +672,109 @@ public class ShapeDriverGUI extends JFrame {
         }
     }
 
+    /** {@code define name = expression} at the filter prompt registers a derived metric. */
+    private static final Pattern DEFINE = Pattern.compile("(?i)define\\s+([A-Za-z]\\w*)\\s*=\\s*(.+)");
+
+    /** Selections at least this large stream sampled estimates before the exact analysis. */
+    private static final int PROGRESSIVE_THRESHOLD = 50_000;
+
+    private volatile boolean estimationStopped = false;
+
+    /**
+     * Streams progressively refined estimates of a large selection into a dialog until the
+     * sample covers it or the user stops.
+     *
+     * @return true if the user asked for the exact results afterwards
+     */
+    private boolean streamEstimates(List<Shape3D> selection) {
+        estimationStopped = false;
+        final boolean[] exact = {false};
+
+        JDialog progressDialog = new JDialog(this, "Progressive Analysis", true);
+        progressDialog.setLayout(new BorderLayout());
+        progressDialog.getContentPane().setBackground(BACKGROUND_COLOR);
+
+        JTextArea progressArea = new JTextArea(14, 60);
+        progressArea.setEditable(false);
+        progressArea.setFont(new Font("Consolas", Font.PLAIN, 12));
+        progressArea.setBackground(PANEL_COLOR);
+        progressArea.setForeground(TEXT_COLOR);
+        progressArea.setBorder(new EmptyBorder(10,10,10,10));
+        progressArea.setText(String.format("Sampling %,d shapes...\n", selection.size()));
+
+        JScrollPane progressScrollPane = new JScrollPane(progressArea);
+        progressScrollPane.setBorder(BorderFactory.createLineBorder(ACCENT_COLOR, 1));
+        progressDialog.add(progressScrollPane, BorderLayout.CENTER);
+
+        JPanel south = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        south.setBackground(BACKGROUND_COLOR);
+        JButton stopBtn = createStyledButton("Stop", "Keep the current estimate", ERROR_COLOR);
+        JButton exactBtn = createStyledButton("Exact Results", "Run the full analysis", ACCENT_COLOR);
+        south.add(stopBtn);
+        south.add(exactBtn);
+        progressDialog.add(south, BorderLayout.SOUTH);
+
+        stopBtn.addActionListener(a -> {
+            estimationStopped = true;
+            stopBtn.setEnabled(false);
+        });
+        exactBtn.addActionListener(a -> {
+            estimationStopped = true;
+            exact[0] = true;
+            progressDialog.dispose();
+        });
+
+        progressDialog.setSize(650, 400);
+        progressDialog.setLocationRelativeTo(this);
+
+        SwingWorker<ProgressiveAnalysis.Estimate, ProgressiveAnalysis.Estimate> worker = new SwingWorker<>() {
+            @Override
+            protected ProgressiveAnalysis.Estimate doInBackground() {
+                return ProgressiveAnalysis.of(selection).runUntil(estimate -> estimationStopped, this::publish);
+            }
+
+            @Override
+            protected void process(List<ProgressiveAnalysis.Estimate> chunks) {
+                // Only the latest refinement matters
+                progressArea.setText(formatEstimate(chunks.get(chunks.size() - 1)));
+            }
+
+            @Override
+            protected void done() {
+                stopBtn.setEnabled(false);
+                try {
+                    ProgressiveAnalysis.Estimate last = get();
+                    progressArea.setText(formatEstimate(last)
+                            + (last.isExact() ? "\nAll shapes sampled; the figures are exact.\n" : "\nStopped.\n"));
+                } catch (Exception ex) {
+                    LOGGER.log(Level.SEVERE, "Progressive analysis failed", ex);
+                    progressArea.append("\nProgressive analysis failed: " + ex.getMessage() + "\n");
+                }
+            }
+        };
+
+        worker.execute();
+        progressDialog.setVisible(true);
+        // Closing the dialog also stops the sampling
+        estimationStopped = true;
+        return exact[0];
+    }
+
+    private static String formatEstimate(ProgressiveAnalysis.Estimate estimate) {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("ESTIMATE (%,d of %,d sampled, %.1f%%, %.0f%% confidence):\n",
+                estimate.sampled(), estimate.population(), 100 * estimate.progress(), 100 * estimate.confidence()));
+        text.append(String.format("- Average Volume: %s cubic units\n", estimate.averageVolume()));
+        text.append(String.format("- Average Surface Area: %s square units\n", estimate.averageSurfaceArea()));
+        text.append(String.format("- Combined Volume: %s cubic units\n", estimate.totalVolume()));
+        text.append(String.format("- Combined Surface Area: %s square units\n", estimate.totalSurfaceArea()));
+        text.append("\nSHAPE DISTRIBUTION:\n");
+        estimate.typeShares().forEach((type, share) ->
+                text.append(String.format("- %s: %.1f%% +/- %.1f%%\n", type.displayName(),
+                        100 * share.estimate(), 100 * share.halfWidth())));
+        return text.toString();
+    }
+
     private volatile boolean performanceCancelled = false;
 
     private void testPerformance() {
@@ -707,34 +832,43 @@ public class ShapeDriverGUI extends JFrame {
 
                 long startTime; long volumeTime; long surfaceAreaTime;
 
-                // Volume test
-                publish("Starting volume calculations...");
-                startTime = System.nanoTime();
-                for (int i = 0; i < iterations && !performanceCancelled; i++) {
-                    for (Shape3D s : shapes) { s.getVolume(); }
-                    if (i % 10000 == 0 && i > 0) publish(String.format("Volume progress: %,d / %,d (%.1f%%)", i, iterations, i*100.0/iterations));
-                }
-                volumeTime = System.nanoTime() - startTime;
-                publish(performanceCancelled ? "Volume test aborted early." : "Volume calculations complete.");
-
-                // Surface area test (only if not cancelled)
-                if (!performanceCancelled) {
-                    publish("Starting surface area calculations...");
+                // Count computations instead of logging each one, so the timings measure the math
+                ShapeMetricsSink previousSink = Shape3D.getMetricsSink();
+                CountingMetricsSink counter = new CountingMetricsSink();
+                Shape3D.setMetricsSink(counter);
+                try {
+                    // Volume test
+                    publish("Starting volume calculations...");
                     startTime = System.nanoTime();
                     for (int i = 0; i < iterations && !performanceCancelled; i++) {
-                        for (Shape3D s : shapes) { s.getSurfaceArea(); }
-                        if (i % 10000 == 0 && i > 0) publish(String.format("Surface area progress: %,d / %,d (%.1f%%)", i, iterations, i*100.0/iterations));
+                        for (Shape3D s : shapes) { s.getVolume(); }
+                        if (i % 10000 == 0 && i > 0) publish(String.format("Volume progress: %,d / %,d (%.1f%%)", i, iterations, i*100.0/iterations));
+                    }
+                    volumeTime = System.nanoTime() - startTime;
+                    publish(performanceCancelled ? "Volume test aborted early." : "Volume calculations complete.");
+
+                    // Surface area test (only if not cancelled)
+                    if (!performanceCancelled) {
+                        publish("Starting surface area calculations...");
+                        startTime = System.nanoTime();
+                        for (int i = 0; i < iterations && !performanceCancelled; i++) {
+                            for (Shape3D s : shapes) { s.getSurfaceArea(); }
+                            if (i % 10000 == 0 && i > 0) publish(String.format("Surface area progress: %,d / %,d (%.1f%%)", i, iterations, i*100.0/iterations));
+                        }
+                        surfaceAreaTime = System.nanoTime() - startTime;
+                        publish(performanceCancelled ? "Surface area test aborted early." : "Surface area calculations complete.");
+                    } else {
+                        surfaceAreaTime = -1L;
                     }
-                    surfaceAreaTime = System.nanoTime() - startTime;
-                    publish(performanceCancelled ? "Surface area test aborted early." : "Surface area calculations complete.");
-                } else {
-                    surfaceAreaTime = -1L;
+                } finally {
+                    Shape3D.setMetricsSink(previousSink);
                 }
 
                 publish("Compiling results...");
 
                 results.append(String.format("Shapes Tested: %d\n", shapes.size()));
                 results.append(String.format("Iterations (planned): %,d\n", iterations));
+                results.append(String.format("Computations recorded: %,d\n", counter.getTotalComputeCount()));
                 results.append(String.format("Cancelled: %s\n\n", performanceCancelled ? "Yes" : "No"));
 
                 results.append("VOLUME CALCULATIONS:\n");
@@ -829,6 +963,80 @@ public class ShapeDriverGUI extends JFrame {
             true);
     }
 
+    /**
+     * Sweeps a shape type over a grid of dimensions in the background and shows the
+     * summary of volume, surface area, efficiency, and the derived metrics.
+     */
+    private void runParameterSweep() {
+        String spec = showCustomInputDialog(
+            "Sweep (e.g. cylinder radius=0.1..50:0.01 height=1..100; values may also be lists like 1, 2, 5):",
+            "Parameter Sweep");
+        if (spec == null) return; // User cancelled
+
+        ParameterSweep sweep;
+        try {
+            List<DerivedMetric> metrics = new ArrayList<>();
+            metrics.add(DerivedMetrics.compile("efficiency"));
+            metrics.addAll(DerivedMetrics.all());
+            sweep = ParameterSweep.parse(spec).withMetrics(metrics);
+        } catch (IllegalArgumentException ex) {
+            showStyledMessage(ex.getMessage(), "Sweep Error", false);
+            return;
+        }
+
+        LOGGER.log(Level.INFO, "Starting parameter sweep: {0}", sweep);
+        sweepButton.setEnabled(false);
+        SwingWorker<String, Void> worker = new SwingWorker<>() {
+            @Override
+            protected String doInBackground() {
+                long startTime = System.nanoTime();
+                ParameterSweep.Summary summary = sweep.summarize();
+                long elapsed = System.nanoTime() - startTime;
+
+                StringBuilder results = new StringBuilder();
+                results.append("=== PARAMETER SWEEP ===\n\n");
+                results.append(sweep).append('\n');
+                results.append(String.format("Time: %.2f ms (%,.0f points per second)\n\n",
+                    elapsed / 1_000_000.0, summary.points() / (elapsed / 1_000_000_000.0)));
+                for (ParameterSweep.Column column : summary.columns()) {
+                    if (column.count() == 0) {
+                        results.append(String.format("%s: n/a for %s\n\n", column.name(), sweep.type().displayName()));
+                        continue;
+                    }
+                    results.append(String.format("%s: mean %.4f\n", column.name(), column.mean()));
+                    results.append(String.format("- Min: %.4f at %s\n", column.min(), describePoint(sweep, column.minIndex())));
+                    results.append(String.format("- Max: %.4f at %s\n\n", column.max(), describePoint(sweep, column.maxIndex())));
+                }
+                return results.toString();
+            }
+
+            @Override
+            protected void done() {
+                sweepButton.setEnabled(true);
+                try {
+                    showStyledDialog(get(), "Parameter Sweep Results", 700, 600);
+                } catch (Exception ex) {
+                    LOGGER.log(Level.SEVERE, "Parameter sweep failed", ex);
+                    showStyledMessage("Parameter sweep failed: " + ex.getMessage(), "Sweep Error", false);
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    /**
+     * Formats the dimensions of one sweep point, e.g. {@code radius=0.10, height=1.00}.
+     */
+    private static String describePoint(ParameterSweep sweep, long index) {
+        double[] dims = sweep.dimensionsAt(index);
+        List<String> names = sweep.type().dimensionNames();
+        StringBuilder text = new StringBuilder();
+        for (int d = 0; d < dims.length; d++) {
+            text.append(d == 0 ? "" : ", ").append(String.format("%s=%.2f", names.get(d), dims[d]));
+        }
+        return text.toString();
+    }
+
     // Utility methods for styled dark theme dialogs
     private void showStyledDialog(String content, String title, int width, int height) {
         JDialog dialog = new JDialog(this, title, true);
@@ -0,0 +1,240 @@
+package com.csc205.project2.processing;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compile-time generator for {@code com.csc205.project2.shapes.GeneratedShapeRegistry}.
+ *
+ * <p><strong>What it does:</strong></p>
+ * <ol>
+ *   <li>Scans every class being compiled for public, concrete subclasses of {@code Shape3D}.
+ *       No annotation is needed, so a new shape is registered just by adding its class.</li>
+ *   <li>For each shape, picks the public {@code (String name, String color, double, ...)}
+ *       constructor and the matching {@code (String name, double, ...)} constructor.</li>
+ *   <li>Emits a {@code ShapeDescriptor} per shape whose creator is a plain lambda calling
+ *       those constructors directly, and whose dimension names are the constructor's
+ *       parameter names. Nothing is looked up reflectively at runtime.</li>
+ * </ol>
+ *
+ * <p>A shape without a usable constructor is not registered, and an unregistered shape
+ * cannot be created through {@code ShapeFactory}. Since {@code Shape3D} is sealed, such a
+ * class is a build configuration error and is reported as a compiler error.</p>
+ *
+ * <p>The processor is compiled in its own execution before the main sources (see pom.xml)
+ * and never claims annotations, so other processors are unaffected.</p>
+ */
+@SupportedAnnotationTypes("*")
+public final class ShapeRegistryProcessor extends AbstractProcessor {
+
+    static final String SHAPES_PACKAGE = "com.csc205.project2.shapes";
+    static final String BASE_CLASS = SHAPES_PACKAGE + ".Shape3D";
+    static final String REGISTRY_CLASS = "GeneratedShapeRegistry";
+
+    /** The registry is written in the first round that sees {@code Shape3D}. */
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (generated || roundEnv.processingOver()) {
+            return false;
+        }
+        TypeElement base = processingEnv.getElementUtils().getTypeElement(BASE_CLASS);
+        if (base == null) {
+            return false;
+        }
+
+        List<ShapeModel> models = new ArrayList<>();
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            collect(type, base, models);
+        }
+        models.sort(Comparator.comparing(m -> m.type().getQualifiedName().toString()));
+
+        try {
+            write(models);
+            generated = true;
+        } catch (IOException e) {
+            messager().printMessage(Diagnostic.Kind.ERROR, "Could not write " + REGISTRY_CLASS + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    // ----------------------------------------------------------------------
+    // Discovery
+    // ----------------------------------------------------------------------
+
+    /**
+     * A registrable shape: its class, and the constructors to call with and without a color.
+     * Either constructor may be null, but not both.
+     */
+    private record ShapeModel(TypeElement type, ExecutableElement withColor, ExecutableElement nameOnly) {
+
+        List<String> dimensionNames() {
+            ExecutableElement ctor = withColor != null ? withColor : nameOnly;
+            int skip = withColor != null ? 2 : 1;
+            List<String> names = new ArrayList<>();
+            List<? extends VariableElement> params = ctor.getParameters();
+            for (int i = skip; i < params.size(); i++) {
+                names.add(params.get(i).getSimpleName().toString());
+            }
+            return names;
+        }
+    }
+
+    private void collect(TypeElement type, TypeElement base, List<ShapeModel> out) {
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            if (nested.getModifiers().contains(Modifier.STATIC)) {
+                collect(nested, base, out);
+            }
+        }
+        if (type.getKind() != ElementKind.CLASS
+                || type.getModifiers().contains(Modifier.ABSTRACT)
+                || !type.getModifiers().contains(Modifier.PUBLIC)
+                || !isSubclass(type, base)) {
+            return;
+        }
+
+        ExecutableElement withColor = null;
+        ExecutableElement nameOnly = null;
+        for (ExecutableElement ctor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (!ctor.getModifiers().contains(Modifier.PUBLIC) || ctor.isVarArgs()) {
+                continue;
+            }
+            if (withColor == null && matches(ctor, 2)) {
+                withColor = ctor;
+            } else if (nameOnly == null && matches(ctor, 1)) {
+                nameOnly = ctor;
+            }
+        }
+        // The two forms must agree on arity to share one dimension list
+        if (withColor != null && nameOnly != null
+                && withColor.getParameters().size() != nameOnly.getParameters().size() + 1) {
+            nameOnly = null;
+        }
+        if (withColor == null && nameOnly == null) {
+            messager().printMessage(Diagnostic.Kind.ERROR,
+                    "No public (String, [String,] double, ...) constructor; not added to " + REGISTRY_CLASS
+                            + ", so ShapeFactory, the CLI, and the GUI could not create this shape", type);
+            return;
+        }
+        out.add(new ShapeModel(type, withColor, nameOnly));
+    }
+
+    private boolean isSubclass(TypeElement type, TypeElement base) {
+        Types types = processingEnv.getTypeUtils();
+        return !type.equals(base) && types.isSubtype(types.erasure(type.asType()), types.erasure(base.asType()));
+    }
+
+    /**
+     * True if the parameters are {@code leadingStrings} Strings followed by at least one double.
+     */
+    private boolean matches(ExecutableElement ctor, int leadingStrings) {
+        List<? extends VariableElement> params = ctor.getParameters();
+        if (params.size() <= leadingStrings) {
+            return false;
+        }
+        TypeMirror string = processingEnv.getElementUtils().getTypeElement("java.lang.String").asType();
+        Types types = processingEnv.getTypeUtils();
+        for (int i = 0; i < params.size(); i++) {
+            TypeMirror param = params.get(i).asType();
+            boolean ok = i < leadingStrings ? types.isSameType(param, string) : param.getKind() == TypeKind.DOUBLE;
+            if (!ok) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ----------------------------------------------------------------------
+    // Generation
+    // ----------------------------------------------------------------------
+
+    private void write(List<ShapeModel> models) throws IOException {
+        Filer filer = processingEnv.getFiler();
+        Element[] origins = models.stream().map(ShapeModel::type).toArray(Element[]::new);
+        JavaFileObject file = filer.createSourceFile(SHAPES_PACKAGE + "." + REGISTRY_CLASS, origins);
+        try (Writer writer = file.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+            out.println("package " + SHAPES_PACKAGE + ";");
+            out.println();
+            out.println("import java.util.List;");
+            out.println();
+            out.println("/**");
+            out.println(" * Shape descriptors generated at compile time by {@code "
+                    + ShapeRegistryProcessor.class.getName() + "}. Do not edit.");
+            out.println(" */");
+            out.println("@javax.annotation.processing.Generated(\"" + ShapeRegistryProcessor.class.getName() + "\")");
+            out.println("final class " + REGISTRY_CLASS + " {");
+            out.println();
+            out.println("    private " + REGISTRY_CLASS + "() {");
+            out.println("        // generated holder");
+            out.println("    }");
+            out.println();
+            out.println("    static final List<ShapeDescriptor> DESCRIPTORS = List.of(");
+            for (int i = 0; i < models.size(); i++) {
+                writeDescriptor(out, models.get(i));
+                out.println(i < models.size() - 1 ? "," : "");
+            }
+            out.println("    );");
+            out.println("}");
+        }
+        messager().printMessage(Diagnostic.Kind.NOTE,
+                "Generated " + REGISTRY_CLASS + " with " + models.size() + " shape type(s)");
+    }
+
+    private void writeDescriptor(PrintWriter out, ShapeModel model) {
+        String type = model.type().getQualifiedName().toString();
+        List<String> dims = model.dimensionNames();
+
+        StringBuilder names = new StringBuilder();
+        StringBuilder args = new StringBuilder();
+        for (int i = 0; i < dims.size(); i++) {
+            names.append(i == 0 ? "" : ", ").append('"').append(dims.get(i)).append('"');
+            args.append(", dims[").append(i).append(']');
+        }
+
+        String body;
+        if (model.withColor() != null && model.nameOnly() != null) {
+            // Same choice as the hand-written drivers: no color means the name-only constructor
+            body = "color == null ? new " + type + "(name" + args + ") : new " + type + "(name, color" + args + ")";
+        } else if (model.withColor() != null) {
+            body = "new " + type + "(name, color" + args + ")";
+        } else {
+            body = "new " + type + "(name" + args + ")";
+        }
+
+        out.println("            new ShapeDescriptor(" + type + ".class, List.of(" + names + "),");
+        out.print("                    (name, color, dims) -> " + body + ")");
+    }
+
+    private Messager messager() {
+        return processingEnv.getMessager();
+    }
+}
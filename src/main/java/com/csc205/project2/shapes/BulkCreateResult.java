@@ -0,0 +1,101 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a {@link ShapeFactory} bulk creation call.
+ *
+ * <p>Rows are reported in input order. A row that could not be created holds
+ * {@code null} in {@link #shapeAt(int)} and has exactly one entry in
+ * {@link #failures()}; a bulk call never throws for a bad row.</p>
+ */
+public final class BulkCreateResult {
+
+    /**
+     * Why a single input row could not be turned into a shape.
+     *
+     * @param row     zero-based input row
+     * @param name    the name supplied for that row (may be null or blank)
+     * @param message human-readable reason
+     */
+    public record Failure(int row, String name, String message) {
+    }
+
+    private final Shape3D[] shapes;
+    private final List<Failure> failures;
+
+    BulkCreateResult(Shape3D[] shapes, List<Failure> failures) {
+        this.shapes = shapes;
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * Returns the number of input rows.
+     *
+     * @return row count
+     */
+    public int size() {
+        return shapes.length;
+    }
+
+    /**
+     * Returns the shape created for a row.
+     *
+     * @param row zero-based input row
+     * @return the shape, or null if the row failed
+     * @throws IndexOutOfBoundsException if row is out of range
+     */
+    public Shape3D shapeAt(int row) {
+        return shapes[row];
+    }
+
+    /**
+     * Returns the successfully created shapes, in input order.
+     *
+     * @return a new mutable list of created shapes
+     */
+    public List<Shape3D> created() {
+        List<Shape3D> created = new ArrayList<>(shapes.length - failures.size());
+        for (Shape3D shape : shapes) {
+            if (shape != null) {
+                created.add(shape);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Returns the failed rows, in input order.
+     *
+     * @return unmodifiable list of failures
+     */
+    public List<Failure> failures() {
+        return failures;
+    }
+
+    /**
+     * Returns how many rows were created.
+     *
+     * @return success count
+     */
+    public int successCount() {
+        return shapes.length - failures.size();
+    }
+
+    /**
+     * Returns whether any row failed.
+     *
+     * @return true if at least one row failed
+     */
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkCreateResult {rows=%d, created=%d, failed=%d}",
+                shapes.length, successCount(), failures.size());
+    }
+}
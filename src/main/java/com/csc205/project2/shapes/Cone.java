@@ -18,6 +18,7 @@
  * - Implemented cone formulas for surface area (using slant height) and volume.
  * - Updated {@code toString()} to show radius and height clearly.
  * - Added references to formula sources.
+ * - Declared final: it is one of the permitted subclasses of the sealed Shape3D.
  *
  * Formula Verification:
  * - Cone surface area: πr(r + √(r² + h²)) (Wolfram MathWorld: "Cone", https://mathworld.wolfram.com/Cone.html)
@@ -49,7 +50,7 @@ import java.util.logging.Logger;
  *   <li>Provides a clean {@code toString()} that appends radius and height to the base info.</li>
  * </ol>
  */
-public class Cone extends Shape3D {
+public final class Cone extends Shape3D {
 
     /** Logger specific to Cone computations. */
     private static final Logger LOGGER = Logger.getLogger(Cone.class.getName());
@@ -110,6 +111,7 @@ public class Cone extends Shape3D {
             LOGGER.log(Level.WARNING, "Radius is set to zero.");
         }
         this.radius = radius;
+        dimensionsChanged();
         LOGGER.log(Level.INFO, "Set radius to {0}", this.radius);
     }
 
@@ -126,6 +128,7 @@ public class Cone extends Shape3D {
             LOGGER.log(Level.WARNING, "Height is set to zero.");
         }
         this.height = height;
+        dimensionsChanged();
         LOGGER.log(Level.INFO, "Set height to {0}", this.height);
     }
 
@@ -140,11 +143,7 @@ public class Cone extends Shape3D {
      */
     @Override
     protected double calculateSurfaceArea() {
-        double slantHeight = Math.sqrt(radius * radius + height * height);
-        double sa = Math.PI * radius * (radius + slantHeight);
-        LOGGER.log(Level.INFO, "Computed surface area of Cone (r={0}, h={1}): {2}",
-                new Object[]{radius, height, sa});
-        return sa;
+        return ShapeFormulas.coneSurfaceArea(radius, height);
     }
 
     /**
@@ -156,10 +155,7 @@ public class Cone extends Shape3D {
      */
     @Override
     protected double calculateVolume() {
-        double vol = (1.0 / 3.0) * Math.PI * radius * radius * height;
-        LOGGER.log(Level.INFO, "Computed volume of Cone (r={0}, h={1}): {2}",
-                new Object[]{radius, height, vol});
-        return vol;
+        return ShapeFormulas.coneVolume(radius, height);
     }
 
     // ---------- toString ----------
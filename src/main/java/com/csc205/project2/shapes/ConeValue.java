@@ -0,0 +1,107 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable value counterpart of {@link Cone}.
+ *
+ * @param name   non-blank name
+ * @param color  color, normalized to {@link Shape3D#DEFAULT_COLOR} if null/blank
+ * @param radius radius, must be ≥ 0
+ * @param height height, must be ≥ 0
+ */
+public record ConeValue(String name, String color, double radius, double height) implements ShapeValue {
+
+    /**
+     * Creates a cone value.
+     *
+     * @param name   non-blank name
+     * @param color  color; null or blank means {@link Shape3D#DEFAULT_COLOR}
+     * @param radius radius, ≥ 0
+     * @param height height, ≥ 0
+     * @throws IllegalArgumentException if the name is blank or a dimension is negative or NaN
+     */
+    public ConeValue {
+        ShapeValues.requireName(name);
+        color = ShapeValues.normalizeColor(color);
+        ShapeValues.requireNonNegative("Radius", radius);
+        ShapeValues.requireNonNegative("Height", height);
+    }
+
+    /**
+     * Creates a cone value with the default color.
+     *
+     * @param name   non-blank name
+     * @param radius radius, ≥ 0
+     * @param height height, ≥ 0
+     * @throws IllegalArgumentException if the name is blank or a dimension is negative or NaN
+     */
+    public ConeValue(String name, double radius, double height) {
+        this(name, null, radius, height);
+    }
+
+    /**
+     * Captures the current state of a cone.
+     *
+     * @param cone a non-null cone
+     * @return an immutable snapshot
+     */
+    public static ConeValue of(Cone cone) {
+        return new ConeValue(cone.getName(), cone.getColor(), cone.getRadius(), cone.getHeight());
+    }
+
+    /**
+     * Returns a copy with another radius.
+     *
+     * @param radius the new radius, ≥ 0
+     * @return a new value
+     * @throws IllegalArgumentException if radius is negative or NaN
+     */
+    public ConeValue withRadius(double radius) {
+        return new ConeValue(name, color, radius, height);
+    }
+
+    /**
+     * Returns a copy with another height.
+     *
+     * @param height the new height, ≥ 0
+     * @return a new value
+     * @throws IllegalArgumentException if height is negative or NaN
+     */
+    public ConeValue withHeight(double height) {
+        return new ConeValue(name, color, radius, height);
+    }
+
+    @Override
+    public double getVolume() {
+        return ShapeFormulas.coneVolume(radius, height);
+    }
+
+    @Override
+    public double getSurfaceArea() {
+        return ShapeFormulas.coneSurfaceArea(radius, height);
+    }
+
+    @Override
+    public ShapeType type() {
+        return ShapeType.CONE;
+    }
+
+    /**
+     * Returns a fresh copy of the dimensions, {@code [radius, height]}.
+     *
+     * @return a new array
+     */
+    @Override
+    public double[] dimensions() {
+        return new double[]{radius, height};
+    }
+
+    /**
+     * Creates an equivalent mutable cone.
+     *
+     * @return a new {@link Cone}
+     */
+    @Override
+    public Cone toShape() {
+        return new Cone(name, color, radius, height);
+    }
+}
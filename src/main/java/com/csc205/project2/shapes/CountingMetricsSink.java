@@ -0,0 +1,76 @@
+package com.csc205.project2.shapes;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ShapeMetricsSink} that only counts events, per {@link ShapeMetric}.
+ *
+ * <p>Counters are {@link LongAdder}s, so concurrent computations on many threads do
+ * not contend on a single memory location and no per-event allocation takes place.</p>
+ */
+public final class CountingMetricsSink implements ShapeMetricsSink {
+
+    private final LongAdder[] computed = newAdders();
+    private final LongAdder[] cacheHits = newAdders();
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[ShapeMetric.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    @Override
+    public void computed(Shape3D shape, ShapeMetric metric, double value) {
+        computed[metric.ordinal()].increment();
+    }
+
+    @Override
+    public void cacheHit(Shape3D shape, ShapeMetric metric) {
+        cacheHits[metric.ordinal()].increment();
+    }
+
+    /**
+     * Returns how many values of a metric were computed.
+     *
+     * @param metric the metric
+     * @return compute count
+     */
+    public long getComputeCount(ShapeMetric metric) {
+        return computed[metric.ordinal()].sum();
+    }
+
+    /**
+     * Returns how many values of a metric were served from a shape's cache.
+     *
+     * @param metric the metric
+     * @return cache hit count
+     */
+    public long getCacheHitCount(ShapeMetric metric) {
+        return cacheHits[metric.ordinal()].sum();
+    }
+
+    /**
+     * Returns the total number of computations across all metrics.
+     *
+     * @return total compute count
+     */
+    public long getTotalComputeCount() {
+        long total = 0;
+        for (LongAdder adder : computed) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    public void reset() {
+        for (int i = 0; i < computed.length; i++) {
+            computed[i].reset();
+            cacheHits[i].reset();
+        }
+    }
+}
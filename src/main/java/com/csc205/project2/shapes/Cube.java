@@ -18,6 +18,7 @@
  * - Implemented cube formulas for surface area and volume.
  * - Updated {@code toString()} to show side length clearly.
  * - Added references to formula sources.
+ * - Declared final: it is one of the permitted subclasses of the sealed Shape3D.
  *
  * Formula Verification:
  * - Cube surface area: 6s² (Wolfram MathWorld: "Cube", https://mathworld.wolfram.com/Cube.html)
@@ -50,7 +51,7 @@ import java.util.logging.Logger;
  *   <li>Provides a clean {@code toString()} that appends {@code sideLength} to the base info.</li>
  * </ol>
  */
-public class Cube extends Shape3D {
+public final class Cube extends Shape3D {
 
     /** Logger specific to Cube computations. */
     private static final Logger LOGGER = Logger.getLogger(Cube.class.getName());
@@ -114,6 +115,7 @@ public class Cube extends Shape3D {
             LOGGER.log(Level.WARNING, "Side length is set to zero.");
         }
         this.sideLength = sideLength;
+        dimensionsChanged();
         LOGGER.log(Level.INFO, "Set side length to {0}", this.sideLength);
     }
 
@@ -128,9 +130,7 @@ public class Cube extends Shape3D {
      */
     @Override
     protected double calculateSurfaceArea() {
-        double sa = 6.0 * sideLength * sideLength;
-        LOGGER.log(Level.INFO, "Computed surface area of Cube (s={0}): {1}", new Object[]{sideLength, sa});
-        return sa;
+        return ShapeFormulas.cubeSurfaceArea(sideLength);
     }
 
     /**
@@ -142,9 +142,7 @@ public class Cube extends Shape3D {
      */
     @Override
     protected double calculateVolume() {
-        double vol = sideLength * sideLength * sideLength;
-        LOGGER.log(Level.INFO, "Computed volume of Cube (s={0}): {1}", new Object[]{sideLength, vol});
-        return vol;
+        return ShapeFormulas.cubeVolume(sideLength);
     }
 
     // ---------- toString ----------
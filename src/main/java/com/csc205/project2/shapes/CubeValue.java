@@ -0,0 +1,92 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable value counterpart of {@link Cube}.
+ *
+ * @param name       non-blank name
+ * @param color      color, normalized to {@link Shape3D#DEFAULT_COLOR} if null/blank
+ * @param sideLength side length, must be ≥ 0
+ */
+public record CubeValue(String name, String color, double sideLength) implements ShapeValue {
+
+    /**
+     * Creates a cube value.
+     *
+     * @param name       non-blank name
+     * @param color      color; null or blank means {@link Shape3D#DEFAULT_COLOR}
+     * @param sideLength side length, ≥ 0
+     * @throws IllegalArgumentException if the name is blank or a dimension is negative or NaN
+     */
+    public CubeValue {
+        ShapeValues.requireName(name);
+        color = ShapeValues.normalizeColor(color);
+        ShapeValues.requireNonNegative("Side length", sideLength);
+    }
+
+    /**
+     * Creates a cube value with the default color.
+     *
+     * @param name       non-blank name
+     * @param sideLength side length, ≥ 0
+     * @throws IllegalArgumentException if the name is blank or a dimension is negative or NaN
+     */
+    public CubeValue(String name, double sideLength) {
+        this(name, null, sideLength);
+    }
+
+    /**
+     * Captures the current state of a cube.
+     *
+     * @param cube a non-null cube
+     * @return an immutable snapshot
+     */
+    public static CubeValue of(Cube cube) {
+        return new CubeValue(cube.getName(), cube.getColor(), cube.getSideLength());
+    }
+
+    /**
+     * Returns a copy with another side length.
+     *
+     * @param sideLength the new side length, ≥ 0
+     * @return a new value
+     * @throws IllegalArgumentException if sideLength is negative or NaN
+     */
+    public CubeValue withSideLength(double sideLength) {
+        return new CubeValue(name, color, sideLength);
+    }
+
+    @Override
+    public double getVolume() {
+        return ShapeFormulas.cubeVolume(sideLength);
+    }
+
+    @Override
+    public double getSurfaceArea() {
+        return ShapeFormulas.cubeSurfaceArea(sideLength);
+    }
+
+    @Override
+    public ShapeType type() {
+        return ShapeType.CUBE;
+    }
+
+    /**
+     * Returns a fresh copy of the dimensions, {@code [sideLength]}.
+     *
+     * @return a new array
+     */
+    @Override
+    public double[] dimensions() {
+        return new double[]{sideLength};
+    }
+
+    /**
+     * Creates an equivalent mutable cube.
+     *
+     * @return a new {@link Cube}
+     */
+    @Override
+    public Cube toShape() {
+        return new Cube(name, color, sideLength);
+    }
+}
@@ -18,6 +18,7 @@
  * - Implemented cylinder formulas for surface area and volume.
  * - Updated {@code toString()} to show radius and height clearly.
  * - Added references to formula sources.
+ * - Declared final: it is one of the permitted subclasses of the sealed Shape3D.
  *
  * Formula Verification:
  * - Cylinder surface area: 2πr(r + h) (Wolfram MathWorld: "Cylinder", https://mathworld.wolfram.com/Cylinder.html)
@@ -50,7 +51,7 @@ import java.util.logging.Logger;
  *   <li>Provides a clean {@code toString()} that appends {@code radius} and {@code height} to the base info.</li>
  * </ol>
  */
-public class Cylinder extends Shape3D {
+public final class Cylinder extends Shape3D {
 
     /** Logger specific to Cylinder computations. */
     private static final Logger LOGGER = Logger.getLogger(Cylinder.class.getName());
@@ -122,6 +123,7 @@ public class Cylinder extends Shape3D {
             LOGGER.log(Level.WARNING, "Radius is set to zero.");
         }
         this.radius = radius;
+        dimensionsChanged();
         LOGGER.log(Level.INFO, "Set radius to {0}", this.radius);
     }
 
@@ -149,6 +151,7 @@ public class Cylinder extends Shape3D {
             LOGGER.log(Level.WARNING, "Height is set to zero.");
         }
         this.height = height;
+        dimensionsChanged();
         LOGGER.log(Level.INFO, "Set height to {0}", this.height);
     }
 
@@ -163,10 +166,7 @@ public class Cylinder extends Shape3D {
      */
     @Override
     protected double calculateSurfaceArea() {
-        double sa = 2.0 * Math.PI * radius * (radius + height);
-        LOGGER.log(Level.INFO, "Computed surface area of Cylinder (r={0}, h={1}): {2}",
-                new Object[]{radius, height, sa});
-        return sa;
+        return ShapeFormulas.cylinderSurfaceArea(radius, height);
     }
 
     /**
@@ -178,10 +178,7 @@ public class Cylinder extends Shape3D {
      */
     @Override
     protected double calculateVolume() {
-        double vol = Math.PI * radius * radius * height;
-        LOGGER.log(Level.INFO, "Computed volume of Cylinder (r={0}, h={1}): {2}",
-                new Object[]{radius, height, vol});
-        return vol;
+        return ShapeFormulas.cylinderVolume(radius, height);
     }
 
     // ---------- toString ----------
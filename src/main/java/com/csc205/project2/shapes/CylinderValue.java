@@ -0,0 +1,107 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable value counterpart of {@link Cylinder}.
+ *
+ * @param name   non-blank name
+ * @param color  color, normalized to {@link Shape3D#DEFAULT_COLOR} if null/blank
+ * @param radius radius, must be ≥ 0
+ * @param height height, must be ≥ 0
+ */
+public record CylinderValue(String name, String color, double radius, double height) implements ShapeValue {
+
+    /**
+     * Creates a cylinder value.
+     *
+     * @param name   non-blank name
+     * @param color  color; null or blank means {@link Shape3D#DEFAULT_COLOR}
+     * @param radius radius, ≥ 0
+     * @param height height, ≥ 0
+     * @throws IllegalArgumentException if the name is blank or a dimension is negative or NaN
+     */
+    public CylinderValue {
+        ShapeValues.requireName(name);
+        color = ShapeValues.normalizeColor(color);
+        ShapeValues.requireNonNegative("Radius", radius);
+        ShapeValues.requireNonNegative("Height", height);
+    }
+
+    /**
+     * Creates a cylinder value with the default color.
+     *
+     * @param name   non-blank name
+     * @param radius radius, ≥ 0
+     * @param height height, ≥ 0
+     * @throws IllegalArgumentException if the name is blank or a dimension is negative or NaN
+     */
+    public CylinderValue(String name, double radius, double height) {
+        this(name, null, radius, height);
+    }
+
+    /**
+     * Captures the current state of a cylinder.
+     *
+     * @param cylinder a non-null cylinder
+     * @return an immutable snapshot
+     */
+    public static CylinderValue of(Cylinder cylinder) {
+        return new CylinderValue(cylinder.getName(), cylinder.getColor(), cylinder.getRadius(), cylinder.getHeight());
+    }
+
+    /**
+     * Returns a copy with another radius.
+     *
+     * @param radius the new radius, ≥ 0
+     * @return a new value
+     * @throws IllegalArgumentException if radius is negative or NaN
+     */
+    public CylinderValue withRadius(double radius) {
+        return new CylinderValue(name, color, radius, height);
+    }
+
+    /**
+     * Returns a copy with another height.
+     *
+     * @param height the new height, ≥ 0
+     * @return a new value
+     * @throws IllegalArgumentException if height is negative or NaN
+     */
+    public CylinderValue withHeight(double height) {
+        return new CylinderValue(name, color, radius, height);
+    }
+
+    @Override
+    public double getVolume() {
+        return ShapeFormulas.cylinderVolume(radius, height);
+    }
+
+    @Override
+    public double getSurfaceArea() {
+        return ShapeFormulas.cylinderSurfaceArea(radius, height);
+    }
+
+    @Override
+    public ShapeType type() {
+        return ShapeType.CYLINDER;
+    }
+
+    /**
+     * Returns a fresh copy of the dimensions, {@code [radius, height]}.
+     *
+     * @return a new array
+     */
+    @Override
+    public double[] dimensions() {
+        return new double[]{radius, height};
+    }
+
+    /**
+     * Creates an equivalent mutable cylinder.
+     *
+     * @return a new {@link Cylinder}
+     */
+    @Override
+    public Cylinder toShape() {
+        return new Cylinder(name, color, radius, height);
+    }
+}
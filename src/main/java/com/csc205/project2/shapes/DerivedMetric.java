@@ -0,0 +1,365 @@
+package com.csc205.project2.shapes;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * A named measure computed from a shape's dimensions, volume, and surface area, such as
+ * sphericity. Metrics are defined by expressions and registered in {@link DerivedMetrics}.
+ *
+ * <p>A metric is a {@link ToDoubleFunction}, so it works anywhere the built-in
+ * {@link ShapeMetric}s do: as a sort key ({@link ShapeSorter.SortKey#by}), as the key of a
+ * {@link MetricIndex}, or in a stream. For many shapes at once, the bulk
+ * {@code evaluate} methods run the compiled kernel over column batches, in parallel.</p>
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>Compiled once:</em> the expression is parsed, constant-folded, and compiled
+ *       into a tree of column operations when the metric is created; evaluation never
+ *       looks at the text or the registry again.</li>
+ *   <li><em>Column batches:</em> bulk evaluation gathers only the inputs the expression
+ *       reads into batches of 1024 rows and runs each operator as a primitive loop over
+ *       the batch. A store's volumes and surface areas come from its bulk kernels, and a
+ *       {@link ShapeCollection}'s from its cache.</li>
+ *   <li><em>Fixed chunks:</em> rows are split into fixed-size chunks evaluated in
+ *       parallel, so every value is the same as the single-shape result.</li>
+ * </ol>
+ *
+ * <p>Instances are immutable and thread-safe.</p>
+ */
+public final class DerivedMetric implements ToDoubleFunction<Shape3D> {
+
+    private static final Logger LOGGER = Logger.getLogger(DerivedMetric.class.getName());
+
+    /** Rows per parallel chunk in bulk evaluation. */
+    static final int CHUNK = 1 << 14;
+
+    private static final MetricExpression.Input[] INPUTS = MetricExpression.Input.values();
+
+    /** Read-only column for dimensions a shape type does not have. */
+    private static final double[] MISSING = new double[MetricExpression.BATCH];
+
+    static {
+        Arrays.fill(MISSING, Double.NaN);
+    }
+
+    /**
+     * Summary of a metric over a group of shapes. Shapes for which the metric is NaN,
+     * e.g. because they lack a dimension it reads, are not counted.
+     *
+     * @param count number of shapes with a value
+     * @param mean  mean value, NaN if count is zero
+     * @param min   smallest value, NaN if count is zero
+     * @param max   largest value, NaN if count is zero
+     */
+    public record Summary(long count, double mean, double min, double max) {
+    }
+
+    private final String name;
+    private final String expression;
+    private final String description;
+    private final MetricExpression.Node kernel;
+    private final int inputs;
+
+    DerivedMetric(String name, String expression, String description, MetricExpression.Node kernel) {
+        this.name = name;
+        this.expression = expression;
+        this.description = description;
+        this.kernel = kernel;
+        this.inputs = kernel.inputs();
+    }
+
+    /**
+     * Returns the name the metric was registered under.
+     *
+     * @return e.g. {@code sphericity}
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the defining expression.
+     *
+     * @return e.g. {@code cbrt(pi) * (6 * volume)^(2/3) / surfaceArea}
+     */
+    public String expression() {
+        return expression;
+    }
+
+    /**
+     * Returns a short description for reports.
+     *
+     * @return the description, possibly empty
+     */
+    public String description() {
+        return description;
+    }
+
+    MetricExpression.Node kernel() {
+        return kernel;
+    }
+
+    /**
+     * Evaluates the metric for one shape.
+     *
+     * @param shape a non-null shape
+     * @return the value; NaN if the expression reads a dimension the shape does not have
+     */
+    @Override
+    public double applyAsDouble(Shape3D shape) {
+        double[] values = new double[INPUTS.length];
+        ShapeType type = ShapeType.of(shape);
+        double[] dims = readsDimensions() ? type.dimensionsOf(shape) : null;
+        for (MetricExpression.Input input : INPUTS) {
+            if (reads(input)) {
+                values[input.ordinal()] = switch (input) {
+                    case VOLUME -> shape.getVolume();
+                    case SURFACE_AREA -> shape.getSurfaceArea();
+                    default -> dimension(dims, input.dimensionIndex(type));
+                };
+            }
+        }
+        return kernel.evaluate(values);
+    }
+
+    /**
+     * Evaluates the metric for computed values, e.g. from a parameter sweep.
+     *
+     * @param type        the shape type
+     * @param dimensions  dimensions in constructor order
+     * @param volume      the volume
+     * @param surfaceArea the surface area
+     * @return the value
+     */
+    public double of(ShapeType type, double[] dimensions, double volume, double surfaceArea) {
+        double[] values = new double[INPUTS.length];
+        for (MetricExpression.Input input : INPUTS) {
+            values[input.ordinal()] = switch (input) {
+                case VOLUME -> volume;
+                case SURFACE_AREA -> surfaceArea;
+                default -> dimension(dimensions, input.dimensionIndex(type));
+            };
+        }
+        return kernel.evaluate(values);
+    }
+
+    /**
+     * Evaluates the metric for every row of a store, in parallel for large stores.
+     *
+     * @param store the store
+     * @return one value per row
+     */
+    public double[] evaluate(ShapeStore store) {
+        double[] out = new double[store.size()];
+        evaluate(store, out);
+        return out;
+    }
+
+    /**
+     * Evaluates the metric for every row of a store into an existing array.
+     *
+     * @param store the store
+     * @param out   receives one value per row; at least {@code store.size()} long
+     * @throws IllegalArgumentException if out is too short
+     */
+    public void evaluate(ShapeStore store, double[] out) {
+        int n = store.size();
+        requireLength(out, n);
+        // Whole-store bulk kernels for the cached metrics, row reads for dimensions
+        double[] volumes = null;
+        double[] surfaceAreas = null;
+        if (reads(MetricExpression.Input.VOLUME)) {
+            volumes = new double[n];
+            store.volumes(volumes);
+        }
+        if (reads(MetricExpression.Input.SURFACE_AREA)) {
+            surfaceAreas = new double[n];
+            store.surfaceAreas(surfaceAreas);
+        }
+        double[] vol = volumes;
+        double[] sa = surfaceAreas;
+        run(n, out, (columns, from, count) -> {
+            for (MetricExpression.Input input : INPUTS) {
+                if (!reads(input)) {
+                    continue;
+                }
+                double[] column = columns[input.ordinal()];
+                switch (input) {
+                    case VOLUME -> System.arraycopy(vol, from, column, 0, count);
+                    case SURFACE_AREA -> System.arraycopy(sa, from, column, 0, count);
+                    default -> {
+                        for (int i = 0; i < count; i++) {
+                            int index = input.dimensionIndex(store.typeAt(from + i));
+                            column[i] = index < 0 ? Double.NaN : store.dimensionAt(from + i, index);
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Evaluates the metric for every shape of a list, in parallel for large lists. A
+     * {@link ShapeCollection} supplies its cached volumes and surface areas.
+     *
+     * @param shapes the shapes; they must not change during the call
+     * @return one value per shape, in list order
+     */
+    public double[] evaluate(List<? extends Shape3D> shapes) {
+        if (shapes == null) {
+            String message = "Cannot evaluate a metric over a null list of shapes.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        int n = shapes.size();
+        double[] out = new double[n];
+        ShapeCollection collection = shapes instanceof ShapeCollection c ? c : null;
+        boolean needsDimensions = readsDimensions();
+        run(n, out, (columns, from, count) -> {
+            for (int i = 0; i < count; i++) {
+                int row = from + i;
+                Shape3D shape = shapes.get(row);
+                if (reads(MetricExpression.Input.VOLUME)) {
+                    columns[MetricExpression.Input.VOLUME.ordinal()][i] =
+                            collection != null ? collection.volumeAt(row) : shape.getVolume();
+                }
+                if (reads(MetricExpression.Input.SURFACE_AREA)) {
+                    columns[MetricExpression.Input.SURFACE_AREA.ordinal()][i] =
+                            collection != null ? collection.surfaceAreaAt(row) : shape.getSurfaceArea();
+                }
+                if (needsDimensions) {
+                    ShapeType type = ShapeType.of(shape);
+                    double[] dims = type.dimensionsOf(shape);
+                    for (MetricExpression.Input input : INPUTS) {
+                        if (input.isDimension() && reads(input)) {
+                            columns[input.ordinal()][i] = dimension(dims, input.dimensionIndex(type));
+                        }
+                    }
+                }
+            }
+        });
+        return out;
+    }
+
+    /**
+     * Summarizes the metric over shapes, with an exact, thread-count-independent mean.
+     *
+     * @param shapes the shapes
+     * @return count, mean, min, and max of the non-NaN values
+     */
+    public Summary summarize(List<? extends Shape3D> shapes) {
+        double[] values = evaluate(shapes);
+        ExactSum sum = new ExactSum();
+        long count = 0;
+        double min = Double.NaN;
+        double max = Double.NaN;
+        for (double value : values) {
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            sum.add(value);
+            min = count == 0 ? value : Math.min(min, value);
+            max = count == 0 ? value : Math.max(max, value);
+            count++;
+        }
+        return new Summary(count, count == 0 ? Double.NaN : sum.value() / count, min, max);
+    }
+
+    /**
+     * Evaluates one batch of computed rows of a single type without copying them; used by
+     * {@link ParameterSweep}.
+     *
+     * @param type         the shape type of every row
+     * @param dimensions   one column per dimension, in constructor order
+     * @param volumes      the volume column
+     * @param surfaceAreas the surface area column
+     * @param n            rows in the batch, at most {@link MetricExpression#BATCH}
+     * @param out          receives the values in {@code [0, n)}
+     * @param columns      per-thread array of {@link MetricExpression.Input#values()} length
+     * @param scratch      per-thread scratch buffers
+     */
+    void evaluate(ShapeType type, double[][] dimensions, double[] volumes, double[] surfaceAreas, int n,
+                  double[] out, double[][] columns, MetricExpression.Scratch scratch) {
+        for (MetricExpression.Input input : INPUTS) {
+            if (reads(input)) {
+                columns[input.ordinal()] = switch (input) {
+                    case VOLUME -> volumes;
+                    case SURFACE_AREA -> surfaceAreas;
+                    default -> {
+                        int index = input.dimensionIndex(type);
+                        yield index < 0 ? MISSING : dimensions[index];
+                    }
+                };
+            }
+        }
+        kernel.evaluate(columns, n, out, scratch);
+    }
+
+    // ---------- Bulk evaluation ----------
+
+    /** Fills the input columns for rows {@code [from, from + count)}. */
+    @FunctionalInterface
+    private interface Gather {
+        void fill(double[][] columns, int from, int count);
+    }
+
+    /** Runs the kernel over rows {@code [0, n)} in fixed chunks of column batches. */
+    private void run(int n, double[] out, Gather gather) {
+        int chunks = Math.max(1, (n + CHUNK - 1) / CHUNK);
+        IntStream range = IntStream.range(0, chunks);
+        (chunks > 1 ? range.parallel() : range).forEach(chunk -> {
+            double[][] columns = new double[INPUTS.length][];
+            for (MetricExpression.Input input : INPUTS) {
+                if (reads(input)) {
+                    columns[input.ordinal()] = new double[MetricExpression.BATCH];
+                }
+            }
+            double[] batch = new double[MetricExpression.BATCH];
+            MetricExpression.Scratch scratch = new MetricExpression.Scratch();
+            int end = Math.min(n, (chunk + 1) * CHUNK);
+            for (int from = chunk * CHUNK; from < end; from += MetricExpression.BATCH) {
+                int count = Math.min(MetricExpression.BATCH, end - from);
+                gather.fill(columns, from, count);
+                kernel.evaluate(columns, count, batch, scratch);
+                System.arraycopy(batch, 0, out, from, count);
+            }
+        });
+        LOGGER.log(Level.FINE, "Evaluated metric {0} over {1} rows in {2} chunks", new Object[]{name, n, chunks});
+    }
+
+    private boolean reads(MetricExpression.Input input) {
+        return (inputs & (1 << input.ordinal())) != 0;
+    }
+
+    private boolean readsDimensions() {
+        for (MetricExpression.Input input : INPUTS) {
+            if (input.isDimension() && reads(input)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double dimension(double[] dims, int index) {
+        return index < 0 || dims == null || index >= dims.length ? Double.NaN : dims[index];
+    }
+
+    private static void requireLength(double[] out, int n) {
+        if (out == null || out.length < n) {
+            String message = "Output array must hold " + n + " values"
+                    + (out == null ? ", got null" : ", got " + out.length);
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + " = " + expression;
+    }
+}
@@ -0,0 +1,195 @@
+package com.csc205.project2.shapes;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registry of {@link DerivedMetric}s: the built-in shape descriptors plus any metrics
+ * registered at run time from expressions.
+ *
+ * <p>Registered metrics can be used by name in {@link ShapeFilter} expressions (e.g.
+ * {@code sphericity > 0.9}), in other metric expressions, and are listed in the
+ * comparative analysis reports.</p>
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>One namespace:</em> names are case-insensitive and ignore underscores, like
+ *       filter fields, and may not shadow an input, constant, function, or filter field.</li>
+ *   <li><em>Inlined references:</em> a metric defined in terms of another (e.g.
+ *       {@code mass = volume * 7.85}, then {@code areaPerMass = surfaceArea / mass})
+ *       compiles the other's kernel into its own, so it keeps working if the other is
+ *       later unregistered.</li>
+ *   <li><em>Stable order:</em> built-ins come first, then user metrics in registration
+ *       order, so reports list them predictably.</li>
+ * </ol>
+ *
+ * <p>The registry is thread-safe.</p>
+ */
+public final class DerivedMetrics {
+
+    private static final Logger LOGGER = Logger.getLogger(DerivedMetrics.class.getName());
+
+    /** Canonical name to metric, in registration order; guarded by the class lock. */
+    private static final Map<String, DerivedMetric> METRICS = new LinkedHashMap<>();
+
+    /**
+     * How close the shape is to a sphere of the same volume: {@code π^(1/3) (6V)^(2/3) / A}.
+     * 1 for a sphere, about 0.806 for a cube, lower for flatter or longer shapes.
+     */
+    public static final DerivedMetric SPHERICITY = builtIn("sphericity",
+            "cbrt(pi) * (6 * volume)^(2/3) / surfaceArea", "1 for a sphere, lower for less round shapes");
+
+    /**
+     * Scale-free compactness {@code 36πV² / A³}, the cube of sphericity: 1 for a sphere.
+     */
+    public static final DerivedMetric COMPACTNESS = builtIn("compactness",
+            "36 * pi * volume^2 / surfaceArea^3", "36 pi V^2 / A^3; 1 for a sphere");
+
+    /**
+     * Diameter of the sphere with the same volume, {@code (6V/π)^(1/3)}.
+     */
+    public static final DerivedMetric EQUIVALENT_DIAMETER = builtIn("equivalentDiameter",
+            "cbrt(6 * volume / pi)", "diameter of a sphere with the same volume");
+
+    /**
+     * Surface area per unit volume, {@code A/V}; divide by a density for area per unit mass.
+     */
+    public static final DerivedMetric SPECIFIC_SURFACE = builtIn("specificSurface",
+            "surfaceArea / volume", "surface area per unit volume");
+
+    private DerivedMetrics() {
+        // utility class
+    }
+
+    private static DerivedMetric builtIn(String name, String expression, String description) {
+        return register(name, expression, description);
+    }
+
+    /**
+     * Compiles and registers a metric.
+     *
+     * @param name        a name of letters, digits, and underscores, starting with a letter
+     * @param expression  the defining expression, e.g. {@code surfaceArea / (volume * 7.85)}
+     * @param description a short description for reports; may be null
+     * @return the compiled metric
+     * @throws IllegalArgumentException if the name is invalid, reserved, or taken, or the
+     *                                  expression does not compile
+     */
+    public static synchronized DerivedMetric register(String name, String expression, String description) {
+        String key = validName(name);
+        if (METRICS.containsKey(key)) {
+            String message = "A metric named '" + METRICS.get(key).name() + "' is already registered.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        MetricExpression.Node kernel = MetricExpression.compile(expression, DerivedMetrics::kernelOf);
+        DerivedMetric metric = new DerivedMetric(name, expression.strip(), description == null ? "" : description, kernel);
+        METRICS.put(key, metric);
+        LOGGER.log(Level.INFO, "Registered metric {0}", metric);
+        return metric;
+    }
+
+    /**
+     * Compiles and registers a metric without a description.
+     *
+     * @param name       the name
+     * @param expression the defining expression
+     * @return the compiled metric
+     * @throws IllegalArgumentException as for {@link #register(String, String, String)}
+     */
+    public static DerivedMetric register(String name, String expression) {
+        return register(name, expression, null);
+    }
+
+    /**
+     * Compiles an expression without registering it, e.g. for a one-off sort key.
+     *
+     * @param expression the expression; it may refer to registered metrics
+     * @return a metric named after its expression
+     * @throws IllegalArgumentException if the expression does not compile
+     */
+    public static DerivedMetric compile(String expression) {
+        MetricExpression.Node kernel;
+        synchronized (DerivedMetrics.class) {
+            kernel = MetricExpression.compile(expression, DerivedMetrics::kernelOf);
+        }
+        return new DerivedMetric(expression.strip(), expression.strip(), "", kernel);
+    }
+
+    /**
+     * Removes a user-registered metric. Metrics that referred to it keep working.
+     *
+     * @param name the metric's name
+     * @return true if it was registered
+     * @throws IllegalArgumentException if name names a built-in metric
+     */
+    public static synchronized boolean unregister(String name) {
+        if (name == null) {
+            return false;
+        }
+        String key = MetricExpression.canonicalName(name);
+        DerivedMetric metric = METRICS.get(key);
+        if (metric != null && isBuiltIn(metric)) {
+            String message = "Cannot unregister the built-in metric '" + metric.name() + "'.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return METRICS.remove(key) != null;
+    }
+
+    /**
+     * Looks up a metric by name, ignoring case and underscores.
+     *
+     * @param name e.g. {@code sphericity} or {@code equivalent_diameter}
+     * @return the metric, or empty if none is registered under that name
+     */
+    public static synchronized Optional<DerivedMetric> find(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(METRICS.get(MetricExpression.canonicalName(name)));
+    }
+
+    /**
+     * Returns all registered metrics, built-ins first.
+     *
+     * @return an immutable snapshot
+     */
+    public static synchronized List<DerivedMetric> all() {
+        return List.copyOf(METRICS.values());
+    }
+
+    /**
+     * Returns true for the metrics that ship with the application.
+     *
+     * @param metric a metric
+     * @return whether it is a built-in
+     */
+    public static boolean isBuiltIn(DerivedMetric metric) {
+        return metric == SPHERICITY || metric == COMPACTNESS || metric == EQUIVALENT_DIAMETER
+                || metric == SPECIFIC_SURFACE;
+    }
+
+    private static MetricExpression.Node kernelOf(String canonicalName) {
+        DerivedMetric metric = METRICS.get(canonicalName);
+        return metric == null ? null : metric.kernel();
+    }
+
+    private static String validName(String name) {
+        if (name == null || !name.matches("[A-Za-z][A-Za-z0-9_]*")) {
+            String message = "Metric names must start with a letter and contain only letters, digits, "
+                    + "and underscores, got '" + name + "'";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        String key = MetricExpression.canonicalName(name);
+        if (MetricExpression.RESERVED.contains(key) || FilterParser.NUMERIC_FIELDS.contains(key)
+                || FilterParser.TEXT_FIELDS.contains(key)) {
+            String message = "'" + name + "' is reserved and cannot name a metric.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,291 @@
+package com.csc205.project2.shapes;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * An exact sum of doubles: every value is added without rounding, and {@link #value()}
+ * rounds the true sum once, to the nearest double.
+ *
+ * <p>Because nothing is rounded along the way, the result is the same, bit for bit,
+ * whatever the order of the values, however they were split across threads, and however
+ * the partial sums were merged. Totals therefore stay reproducible when they are computed
+ * in parallel, and adding a value and later subtracting it leaves no residue.</p>
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>Fixed-point superaccumulator:</em> every finite double is an integer multiple
+ *       of {@code 2^-1074}, so the sum is kept as a wide integer in that unit: 70 signed
+ *       32-bit digits, each stored in a {@code long}. Adding a value splits its 53-bit
+ *       significand across three digits with shifts and adds, so it costs a few
+ *       nanoseconds whatever the magnitudes involved.</li>
+ *   <li><em>Lazy carries:</em> each digit has 31 bits of headroom, so carries are
+ *       propagated only every 2^30 additions or merges, and when the value is read.</li>
+ *   <li><em>Parallel bulk sums:</em> {@link #sum(double[])} and
+ *       {@link #sum(int, IntToDoubleFunction)} accumulate fixed-size chunks in parallel and
+ *       merge them, keeping the throughput of a parallel {@code DoubleStream.sum()}.</li>
+ *   <li><em>IEEE special values:</em> infinities and NaN are tracked separately and give
+ *       the same result as ordinary addition would.</li>
+ * </ol>
+ *
+ * <p>Instances are not thread-safe; give each thread its own and merge them.</p>
+ */
+public final class ExactSum {
+
+    private static final Logger LOGGER = Logger.getLogger(ExactSum.class.getName());
+
+    /** Values per parallel chunk in the bulk sums. */
+    static final int CHUNK = 1 << 14;
+
+    /** 2^-1074 through beyond 2^1024, with room for carries out of the top. */
+    private static final int DIGITS = 70;
+    private static final long MASK = 0xFFFFFFFFL;
+    private static final int CARRY_INTERVAL = 1 << 30;
+    /** Bits in units of 2^-1074 of the smallest power of two that overflows a double. */
+    private static final int MAX_LENGTH = 1074 + 1024 + 1;
+
+    private final long[] digits = new long[DIGITS];
+    private int pending;
+    private boolean positiveInfinity;
+    private boolean negativeInfinity;
+    private boolean nan;
+
+    /**
+     * Creates a sum of zero.
+     */
+    public ExactSum() {
+    }
+
+    /**
+     * Sums an array exactly, in parallel for large arrays.
+     *
+     * @param values the values
+     * @return the correctly rounded sum
+     */
+    public static double sum(double[] values) {
+        if (values == null) {
+            String message = "Cannot sum a null array.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return sum(values.length, i -> values[i]);
+    }
+
+    /**
+     * Sums {@code value(0) ... value(n - 1)} exactly, in parallel for large {@code n}.
+     *
+     * @param n     how many values
+     * @param value the values by index; called once per index, possibly from several threads
+     * @return the correctly rounded sum
+     */
+    public static double sum(int n, IntToDoubleFunction value) {
+        return accumulate(n, value).value();
+    }
+
+    /**
+     * Accumulates {@code value(0) ... value(n - 1)} in fixed chunks, in parallel when there
+     * is more than one chunk.
+     */
+    static ExactSum accumulate(int n, IntToDoubleFunction value) {
+        int chunks = Math.max(1, (n + CHUNK - 1) / CHUNK);
+        ExactSum[] partials = new ExactSum[chunks];
+        IntStream range = IntStream.range(0, chunks);
+        (chunks > 1 ? range.parallel() : range).forEach(chunk -> {
+            ExactSum partial = new ExactSum();
+            int end = Math.min(n, (chunk + 1) * CHUNK);
+            for (int i = chunk * CHUNK; i < end; i++) {
+                partial.add(value.applyAsDouble(i));
+            }
+            partials[chunk] = partial;
+        });
+        ExactSum result = partials[0];
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            result.add(partials[chunk]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a copy that evolves independently of this sum.
+     *
+     * @return a new sum with the same value
+     */
+    public ExactSum copy() {
+        ExactSum copy = new ExactSum();
+        System.arraycopy(digits, 0, copy.digits, 0, digits.length);
+        copy.pending = pending;
+        copy.positiveInfinity = positiveInfinity;
+        copy.negativeInfinity = negativeInfinity;
+        copy.nan = nan;
+        return copy;
+    }
+
+    /**
+     * Adds a value exactly. Subtract by adding the negation.
+     *
+     * @param value any double
+     */
+    public void add(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        int exponent = (int) (bits >>> 52) & 0x7FF;
+        if (exponent == 0x7FF) {
+            addSpecial(value);
+            return;
+        }
+        long significand = bits & 0xFFFFFFFFFFFFFL;
+        if (exponent == 0) {
+            if (significand == 0) {
+                return;
+            }
+            exponent = 1; // subnormal: same scale as the smallest normal, no hidden bit
+        } else {
+            significand |= 1L << 52;
+        }
+        // value = significand * 2^(exponent - 1075) = significand * 2^(exponent - 1) units
+        int position = exponent - 1;
+        int digit = position >>> 5;
+        int shift = position & 31;
+        long low = (significand << shift) & MASK;
+        long rest = significand >>> (32 - shift);
+        if (bits < 0) {
+            digits[digit] -= low;
+            digits[digit + 1] -= rest & MASK;
+            digits[digit + 2] -= rest >>> 32;
+        } else {
+            digits[digit] += low;
+            digits[digit + 1] += rest & MASK;
+            digits[digit + 2] += rest >>> 32;
+        }
+        if (++pending >= CARRY_INTERVAL) {
+            carry();
+        }
+    }
+
+    private void addSpecial(double value) {
+        if (Double.isNaN(value)) {
+            nan = true;
+        } else if (value > 0) {
+            positiveInfinity = true;
+        } else {
+            negativeInfinity = true;
+        }
+    }
+
+    /**
+     * Adds another sum exactly.
+     *
+     * @param other another sum; it is not modified
+     * @throws IllegalArgumentException if other is null
+     */
+    public void add(ExactSum other) {
+        if (other == null) {
+            String message = "Cannot add a null sum.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        if (pending + other.pending + 1 >= CARRY_INTERVAL) {
+            carry();
+        }
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] += other.digits[i];
+        }
+        pending += other.pending + 1;
+        positiveInfinity |= other.positiveInfinity;
+        negativeInfinity |= other.negativeInfinity;
+        nan |= other.nan;
+    }
+
+    /**
+     * Resets the sum to zero.
+     */
+    public void reset() {
+        Arrays.fill(digits, 0L);
+        pending = 0;
+        positiveInfinity = negativeInfinity = nan = false;
+    }
+
+    /**
+     * Returns the sum rounded once to the nearest double, ties to even.
+     *
+     * @return the sum; infinite if it overflows, NaN if NaN or both infinities were added
+     */
+    public double value() {
+        if (nan || (positiveInfinity && negativeInfinity)) {
+            return Double.NaN;
+        }
+        if (positiveInfinity) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (negativeInfinity) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        carry();
+        int top = digits.length - 1;
+        while (top > 0 && digits[top] == 0) {
+            top--;
+        }
+        if (digits[top] >= 0) {
+            return magnitude(digits, top);
+        }
+        long[] negated = new long[digits.length];
+        for (int i = 0; i < digits.length; i++) {
+            negated[i] = -digits[i];
+        }
+        carry(negated);
+        while (top > 0 && negated[top] == 0) {
+            top--;
+        }
+        return -magnitude(negated, top);
+    }
+
+    /** Propagates carries so every digit but the top one is in [0, 2^32). */
+    private void carry() {
+        carry(digits);
+        pending = 0;
+    }
+
+    private static void carry(long[] digits) {
+        for (int i = 0; i < digits.length - 1; i++) {
+            long carry = digits[i] >> 32;
+            digits[i] -= carry << 32;
+            digits[i + 1] += carry;
+        }
+    }
+
+    /** Rounds a non-negative, carried digit array to a double. */
+    private static double magnitude(long[] digits, int top) {
+        int length = 32 * top + 64 - Long.numberOfLeadingZeros(digits[top]);
+        if (length > MAX_LENGTH) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (length <= 63) {
+            // Small enough to convert directly; subnormal results are exact
+            long units = (digits[1] << 32) | digits[0];
+            return Math.scalb((double) units, -1074);
+        }
+        // Take the leading 63 bits and fold everything below into a sticky bit, so the
+        // single long-to-double conversion rounds correctly
+        int skip = length - 63;
+        int digit = skip >>> 5;
+        int shift = skip & 31;
+        long window = digits[digit] >>> shift;
+        window |= digits[digit + 1] << (32 - shift);
+        if (shift > 0) {
+            window |= digits[digit + 2] << (64 - shift);
+        }
+        window &= Long.MAX_VALUE;
+        boolean sticky = (digits[digit] & ((1L << shift) - 1)) != 0;
+        for (int i = 0; i < digit && !sticky; i++) {
+            sticky = digits[i] != 0;
+        }
+        return Math.scalb((double) (window | (sticky ? 1 : 0)), skip - 1074);
+    }
+
+    @Override
+    public String toString() {
+        return Double.toString(value());
+    }
+}
@@ -0,0 +1,42 @@
+package com.csc205.project2.shapes;
+
+import java.util.List;
+
+/**
+ * Syntax tree of a {@link ShapeFilter} expression, as produced by {@link FilterParser}.
+ * Field names are already validated and in canonical lower-case form.
+ */
+sealed interface FilterNode {
+
+    /** Numeric comparison operators. */
+    enum Operator {
+        EQ("="), NE("!="), LT("<"), LE("<="), GT(">"), GE(">=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        String symbol() {
+            return symbol;
+        }
+    }
+
+    record And(FilterNode left, FilterNode right) implements FilterNode {
+    }
+
+    record Or(FilterNode left, FilterNode right) implements FilterNode {
+    }
+
+    record Not(FilterNode operand) implements FilterNode {
+    }
+
+    /** {@code field op number} over a metric or dimension. */
+    record Comparison(String field, Operator operator, double value) implements FilterNode {
+    }
+
+    /** {@code field = v}, {@code field != v}, {@code field in (...)}, or {@code field not in (...)} over text. */
+    record Membership(String field, List<String> values, boolean negated) implements FilterNode {
+    }
+}
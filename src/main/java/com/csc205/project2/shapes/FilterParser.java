@@ -0,0 +1,240 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Recursive-descent parser for {@link ShapeFilter} expressions.
+ *
+ * <pre>
+ *   expr       := and ("or" and)*
+ *   and        := unary ("and" unary)*
+ *   unary      := "not" unary | "(" expr ")" | predicate
+ *   predicate  := (numeric-field | metric) op number
+ *               | text-field ("=" | "!=") value
+ *               | text-field ["not"] "in" "(" value ("," value)* ")"
+ *   op         := "=" | "!=" | "&lt;" | "&lt;=" | "&gt;" | "&gt;="
+ *   value      := word | 'quoted' | "quoted"
+ * </pre>
+ *
+ * Keywords and field names are case-insensitive. A metric is any name registered in
+ * {@link DerivedMetrics}.
+ */
+final class FilterParser {
+
+    private static final Logger LOGGER = Logger.getLogger(FilterParser.class.getName());
+
+    /** Fields compared as text. */
+    static final Set<String> TEXT_FIELDS = Set.of("type", "name", "color");
+
+    /** Fields compared as numbers: metrics, then dimensions. */
+    static final Set<String> NUMERIC_FIELDS = Set.of("volume", "surfacearea", "efficiency",
+            "radius", "height", "sidelength", "length", "width");
+
+    private final String source;
+    private int pos;
+
+    private FilterParser(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Parses an expression.
+     *
+     * @param expression the filter text
+     * @return the syntax tree
+     * @throws IllegalArgumentException with the offending position if the text is invalid
+     */
+    static FilterNode parse(String expression) {
+        FilterParser parser = new FilterParser(expression);
+        FilterNode node = parser.expression();
+        parser.skipSpaces();
+        if (parser.pos < expression.length()) {
+            throw parser.error("Unexpected '" + parser.peekToken() + "'");
+        }
+        return node;
+    }
+
+    private FilterNode expression() {
+        FilterNode node = conjunction();
+        while (acceptKeyword("or")) {
+            node = new FilterNode.Or(node, conjunction());
+        }
+        return node;
+    }
+
+    private FilterNode conjunction() {
+        FilterNode node = unary();
+        while (acceptKeyword("and")) {
+            node = new FilterNode.And(node, unary());
+        }
+        return node;
+    }
+
+    private FilterNode unary() {
+        if (acceptKeyword("not")) {
+            return new FilterNode.Not(unary());
+        }
+        if (accept("(")) {
+            FilterNode node = expression();
+            expect(")");
+            return node;
+        }
+        return predicate();
+    }
+
+    private FilterNode predicate() {
+        int start = skipSpaces();
+        String field = canonicalField(word());
+        if (TEXT_FIELDS.contains(field)) {
+            if (accept("!=")) {
+                return new FilterNode.Membership(field, List.of(value()), true);
+            }
+            if (accept("=")) {
+                return new FilterNode.Membership(field, List.of(value()), false);
+            }
+            boolean negated = acceptKeyword("not");
+            if (!acceptKeyword("in")) {
+                throw error("Expected =, !=, in, or not in after '" + field + "'");
+            }
+            return new FilterNode.Membership(field, valueList(), negated);
+        }
+        if (NUMERIC_FIELDS.contains(field) || DerivedMetrics.find(field).isPresent()) {
+            FilterNode.Operator operator = operator();
+            return new FilterNode.Comparison(field, operator, number());
+        }
+        pos = start;
+        throw error("Unknown field '" + field + "'; expected one of "
+                + new TreeSet<>(TEXT_FIELDS) + ", " + new TreeSet<>(NUMERIC_FIELDS) + ", or a registered metric");
+    }
+
+    /** Maps accepted spellings (e.g. {@code surface_area}, {@code side}) to canonical names. */
+    private static String canonicalField(String word) {
+        String field = word.toLowerCase(Locale.ROOT).replace("_", "");
+        return switch (field) {
+            case "area" -> "surfacearea";
+            case "ratio" -> "efficiency";
+            case "side" -> "sidelength";
+            default -> field;
+        };
+    }
+
+    private FilterNode.Operator operator() {
+        // Two-character operators first
+        for (String symbol : new String[]{"!=", "<=", ">=", "=", "<", ">"}) {
+            if (accept(symbol)) {
+                for (FilterNode.Operator op : FilterNode.Operator.values()) {
+                    if (op.symbol().equals(symbol)) {
+                        return op;
+                    }
+                }
+            }
+        }
+        throw error("Expected a comparison operator");
+    }
+
+    private List<String> valueList() {
+        expect("(");
+        List<String> values = new ArrayList<>();
+        do {
+            values.add(value());
+        } while (accept(","));
+        expect(")");
+        return List.copyOf(values);
+    }
+
+    private String value() {
+        skipSpaces();
+        if (pos < source.length() && (source.charAt(pos) == '\'' || source.charAt(pos) == '"')) {
+            char quote = source.charAt(pos);
+            int end = source.indexOf(quote, pos + 1);
+            if (end < 0) {
+                throw error("Unterminated quoted value");
+            }
+            String value = source.substring(pos + 1, end);
+            pos = end + 1;
+            return value;
+        }
+        return word();
+    }
+
+    private double number() {
+        int start = skipSpaces();
+        while (pos < source.length() && "+-.0123456789eE".indexOf(source.charAt(pos)) >= 0) {
+            pos++;
+        }
+        try {
+            return Double.parseDouble(source.substring(start, pos));
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error("Expected a number");
+        }
+    }
+
+    private String word() {
+        int start = skipSpaces();
+        while (pos < source.length() && isWordChar(source.charAt(pos))) {
+            pos++;
+        }
+        if (pos == start) {
+            throw error(pos < source.length() ? "Unexpected '" + peekToken() + "'" : "Unexpected end of filter");
+        }
+        return source.substring(start, pos);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.';
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        int start = skipSpaces();
+        int end = start + keyword.length();
+        if (source.regionMatches(true, start, keyword, 0, keyword.length())
+                && (end == source.length() || !isWordChar(source.charAt(end)))) {
+            pos = end;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean accept(String symbol) {
+        skipSpaces();
+        if (source.startsWith(symbol, pos)) {
+            pos += symbol.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String symbol) {
+        if (!accept(symbol)) {
+            throw error("Expected '" + symbol + "'");
+        }
+    }
+
+    private int skipSpaces() {
+        while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private String peekToken() {
+        int end = pos + 1;
+        while (end < source.length() && isWordChar(source.charAt(end - 1)) && isWordChar(source.charAt(end))) {
+            end++;
+        }
+        return source.substring(pos, end);
+    }
+
+    private IllegalArgumentException error(String problem) {
+        String message = "Invalid filter at position " + (pos + 1) + ": " + problem + ". Filter: " + source;
+        LOGGER.log(Level.SEVERE, message);
+        return new IllegalArgumentException(message);
+    }
+}
@@ -0,0 +1,316 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A SpaceSaving sketch that finds the most frequent strings, such as the top colors, in
+ * a fixed number of counters.
+ *
+ * <p>With {@code m} counters over {@code N} values, every value that occurs more than
+ * {@code N / m} times is guaranteed to be tracked, and each reported count overestimates
+ * the true count by at most its {@link Item#error()}, which never exceeds {@code N / m}.</p>
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>SpaceSaving:</em> a value that is already tracked gets its counter
+ *       incremented; a new value takes over the smallest counter and inherits its count as
+ *       its error bound. This is deterministic and never underestimates.</li>
+ *   <li><em>Indexed min-heap:</em> counters sit in a min-heap by count and remember their
+ *       heap position, so finding and bumping the smallest counter is O(log m) and a hash
+ *       map finds a tracked value in O(1).</li>
+ *   <li><em>Mergeable:</em> {@link #merge(HeavyHitters)} adds counts, charging a value
+ *       missing from a full sketch that sketch's smallest count, and keeps the {@code m}
+ *       largest. The merged sketch keeps both guarantees (Agarwal et al., "Mergeable
+ *       Summaries").</li>
+ * </ol>
+ *
+ * <p>Instances are not thread-safe; give each thread its own and merge them.</p>
+ */
+public final class HeavyHitters {
+
+    private static final Logger LOGGER = Logger.getLogger(HeavyHitters.class.getName());
+
+    /** Default number of counters. */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * A tracked value with its estimated count.
+     *
+     * @param value the value
+     * @param count an upper bound on its true count
+     * @param error how much the count may exceed the true count
+     */
+    public record Item(String value, long count, long error) {
+
+        /**
+         * Returns a lower bound on the true count.
+         *
+         * @return {@code count - error}
+         */
+        public long guaranteedCount() {
+            return count - error;
+        }
+    }
+
+    private static final class Counter {
+        String value;
+        long count;
+        long error;
+        int index;
+
+        Counter(String value, long count, long error) {
+            this.value = value;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    /** Descending count, then value, so reports are deterministic. */
+    private static final Comparator<Counter> BY_COUNT =
+            Comparator.<Counter>comparingLong(c -> c.count).reversed().thenComparing(c -> c.value);
+
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private Counter[] heap;
+    private int size;
+    private long total;
+
+    /**
+     * Creates an empty sketch with {@link #DEFAULT_CAPACITY} counters.
+     */
+    public HeavyHitters() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param capacity number of counters; values more frequent than {@code 1/capacity}
+     *                 of the total are always found
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public HeavyHitters(int capacity) {
+        if (capacity <= 0) {
+            String message = "Heavy-hitter capacity must be positive, got " + capacity;
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        this.capacity = capacity;
+        this.heap = new Counter[capacity];
+    }
+
+    /**
+     * Returns a copy that evolves independently of this sketch.
+     *
+     * @return a new sketch with the same counters
+     */
+    public HeavyHitters copy() {
+        HeavyHitters copy = new HeavyHitters(capacity);
+        for (int i = 0; i < size; i++) {
+            copy.push(new Counter(heap[i].value, heap[i].count, heap[i].error));
+        }
+        copy.total = total;
+        return copy;
+    }
+
+    /**
+     * Records one occurrence of a value. Null is ignored.
+     *
+     * @param value the value, compared exactly
+     */
+    public void add(String value) {
+        add(value, 1);
+    }
+
+    /**
+     * Records several occurrences of a value. Null is ignored.
+     *
+     * @param value       the value, compared exactly
+     * @param occurrences how many times it occurred
+     * @throws IllegalArgumentException if occurrences is negative
+     */
+    public void add(String value, long occurrences) {
+        if (occurrences < 0) {
+            String message = "Occurrences must not be negative, got " + occurrences;
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        if (value == null || occurrences == 0) {
+            return;
+        }
+        total += occurrences;
+        Counter counter = counters.get(value);
+        if (counter != null) {
+            counter.count += occurrences;
+            siftDown(counter.index);
+        } else if (size < capacity) {
+            push(new Counter(value, occurrences, 0));
+        } else {
+            // Evict the smallest counter; the newcomer may have been counted there
+            Counter smallest = heap[0];
+            counters.remove(smallest.value);
+            smallest.value = value;
+            smallest.error = smallest.count;
+            smallest.count += occurrences;
+            counters.put(value, smallest);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Folds another sketch into this one.
+     *
+     * @param other a sketch with the same capacity; it is not modified
+     * @throws IllegalArgumentException if other is null or has a different capacity
+     */
+    public void merge(HeavyHitters other) {
+        if (other == null || other.capacity != capacity) {
+            String message = "Can only merge sketches with capacity " + capacity
+                    + (other == null ? ", got null" : ", got " + other.capacity);
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        // A value missing from a full sketch may have occurred up to its smallest count
+        long thisFloor = size == capacity ? heap[0].count : 0;
+        long otherFloor = other.size == other.capacity ? other.heap[0].count : 0;
+        Map<String, Counter> union = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Counter c = heap[i];
+            Counter theirs = other.counters.get(c.value);
+            union.put(c.value, theirs != null
+                    ? new Counter(c.value, c.count + theirs.count, c.error + theirs.error)
+                    : new Counter(c.value, c.count + otherFloor, c.error + otherFloor));
+        }
+        for (int i = 0; i < other.size; i++) {
+            Counter theirs = other.heap[i];
+            if (!union.containsKey(theirs.value)) {
+                union.put(theirs.value, new Counter(theirs.value, theirs.count + thisFloor, theirs.error + thisFloor));
+            }
+        }
+        List<Counter> kept = new ArrayList<>(union.values());
+        kept.sort(BY_COUNT);
+        counters.clear();
+        size = 0;
+        for (Counter c : kept.subList(0, Math.min(capacity, kept.size()))) {
+            push(c);
+        }
+        total += other.total;
+    }
+
+    // ---------- Queries ----------
+
+    /**
+     * Returns the most frequent values.
+     *
+     * @param limit the maximum number of items
+     * @return up to {@code limit} items by descending count, ties by value
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public List<Item> top(int limit) {
+        if (limit < 0) {
+            String message = "Limit must not be negative, got " + limit;
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        List<Counter> sorted = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sorted.add(heap[i]);
+        }
+        sorted.sort(BY_COUNT);
+        List<Item> items = new ArrayList<>(Math.min(limit, size));
+        for (Counter c : sorted.subList(0, Math.min(limit, size))) {
+            items.add(new Item(c.value, c.count, c.error));
+        }
+        return items;
+    }
+
+    /**
+     * Returns the estimated count of one value.
+     *
+     * @param value a value
+     * @return an upper bound on its count: its counter, or the largest count an untracked
+     *         value could have
+     */
+    public long estimate(String value) {
+        Counter counter = counters.get(value);
+        if (counter != null) {
+            return counter.count;
+        }
+        return size == capacity ? heap[0].count : 0;
+    }
+
+    /**
+     * Returns how many values were recorded.
+     *
+     * @return total occurrences
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Returns the number of counters.
+     *
+     * @return capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    // ---------- Heap ----------
+
+    private void push(Counter counter) {
+        counters.put(counter.value, counter);
+        counter.index = size;
+        heap[size++] = counter;
+        siftUp(counter.index);
+    }
+
+    private void siftUp(int i) {
+        Counter c = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent].count <= c.count) {
+                break;
+            }
+            place(heap[parent], i);
+            i = parent;
+        }
+        place(c, i);
+    }
+
+    private void siftDown(int i) {
+        Counter c = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (heap[child].count >= c.count) {
+                break;
+            }
+            place(heap[child], i);
+            i = child;
+        }
+        place(c, i);
+    }
+
+    private void place(Counter c, int i) {
+        heap[i] = c;
+        c.index = i;
+    }
+
+    @Override
+    public String toString() {
+        return "HeavyHitters {total=" + total + ", top=" + top(5) + "}";
+    }
+}
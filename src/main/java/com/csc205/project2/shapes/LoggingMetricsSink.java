@@ -0,0 +1,48 @@
+package com.csc205.project2.shapes;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The default {@link ShapeMetricsSink}: logs every computation at INFO, as
+ * {@link Shape3D} has always done.
+ *
+ * <p>Two records are written per computation, matching the previous behavior: a summary
+ * on the {@link Shape3D} logger and a detailed one (including the dimensions) on the
+ * concrete shape's logger. Both are skipped without allocating when INFO is disabled
+ * for the respective logger.</p>
+ *
+ * <p>The per-class loggers are looked up once per class and cached, so the hot path never
+ * takes the {@link java.util.logging.LogManager} lock, even when many threads compute at once.</p>
+ */
+public final class LoggingMetricsSink implements ShapeMetricsSink {
+
+    /** Shared instance; the sink is stateless. */
+    public static final LoggingMetricsSink INSTANCE = new LoggingMetricsSink();
+
+    private static final Logger LOGGER = Logger.getLogger(Shape3D.class.getName());
+
+    /** The concrete shape class's logger, looked up on first use per class. */
+    private static final ClassValue<Logger> DETAIL_LOGGERS = new ClassValue<>() {
+        @Override
+        protected Logger computeValue(Class<?> type) {
+            return Logger.getLogger(type.getName());
+        }
+    };
+
+    private LoggingMetricsSink() {
+    }
+
+    @Override
+    public void computed(Shape3D shape, ShapeMetric metric, double value) {
+        if (LOGGER.isLoggable(Level.INFO)) {
+            LOGGER.log(Level.INFO, "Computed {0} for {1}: {2}",
+                    new Object[]{metric.label(), shape.getName(), value});
+        }
+        Logger detail = DETAIL_LOGGERS.get(shape.getClass());
+        if (detail.isLoggable(Level.INFO)) {
+            detail.log(Level.INFO, "Computed {0} of {1}: {2}",
+                    new Object[]{metric.label(), shape, value});
+        }
+    }
+}
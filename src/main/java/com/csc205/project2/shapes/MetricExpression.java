@@ -0,0 +1,532 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Parser and compiler for {@link DerivedMetric} expressions.
+ *
+ * <pre>
+ *   expr     := term (("+" | "-") term)*
+ *   term     := unary (("*" | "/") unary)*
+ *   unary    := "-" unary | power
+ *   power    := primary ("^" unary)?
+ *   primary  := number | "(" expr ")" | function "(" expr ("," expr)* ")" | name
+ *   name     := input | constant | registered metric
+ * </pre>
+ *
+ * Inputs are {@code volume}, {@code surfaceArea}, {@code efficiency}, and the dimensions
+ * {@code radius}, {@code height}, {@code sideLength}, {@code length}, and {@code width},
+ * with the same spellings as in {@link ShapeFilter}. A dimension the shape does not have
+ * reads as NaN. Names are case-insensitive.
+ *
+ * <p>An expression compiles once into a tree of {@link Node}s. Each node evaluates
+ * either one row or a whole batch of rows column-at-a-time, with the operator chosen
+ * outside the loop, so bulk evaluation runs tight primitive loops instead of
+ * interpreting the tree per row. Constant subexpressions are folded and references to
+ * other metrics are inlined at compile time.</p>
+ */
+final class MetricExpression {
+
+    private static final Logger LOGGER = Logger.getLogger(MetricExpression.class.getName());
+
+    /** Rows per column batch in bulk evaluation. */
+    static final int BATCH = 1024;
+
+    /** Values an expression can read, in input-array order. */
+    enum Input {
+        VOLUME("volume"), SURFACE_AREA("surfacearea"),
+        RADIUS("radius"), HEIGHT("height"), SIDE_LENGTH("sidelength"), LENGTH("length"), WIDTH("width");
+
+        private static final Input[] VALUES = values();
+
+        /** Per type and input: index of the dimension in constructor order, or -1. */
+        private static final int[][] DIMENSION_INDEX = new int[ShapeType.values().length][VALUES.length];
+
+        static {
+            for (ShapeType type : ShapeType.values()) {
+                List<String> names = type.dimensionNames();
+                for (Input input : VALUES) {
+                    int index = -1;
+                    for (int d = 0; d < names.size(); d++) {
+                        if (names.get(d).toLowerCase(Locale.ROOT).equals(input.field)) {
+                            index = d;
+                        }
+                    }
+                    DIMENSION_INDEX[type.ordinal()][input.ordinal()] = index;
+                }
+            }
+        }
+
+        private final String field;
+
+        Input(String field) {
+            this.field = field;
+        }
+
+        boolean isDimension() {
+            return this != VOLUME && this != SURFACE_AREA;
+        }
+
+        /**
+         * Returns where a type keeps this dimension.
+         *
+         * @return the 0-based dimension index, or -1 if the type does not have it
+         */
+        int dimensionIndex(ShapeType type) {
+            return DIMENSION_INDEX[type.ordinal()][ordinal()];
+        }
+
+        static Input named(String field) {
+            for (Input input : VALUES) {
+                if (input.field.equals(field)) {
+                    return input;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** Names that cannot be used for metrics: inputs, constants, functions, and filter fields. */
+    static final Set<String> RESERVED = Set.of("volume", "surfacearea", "area", "efficiency", "ratio",
+            "radius", "height", "sidelength", "side", "length", "width", "pi", "e",
+            "sqrt", "cbrt", "abs", "exp", "log", "pow", "min", "max", "type", "name", "color");
+
+    private final String source;
+    private final Function<String, Node> metrics;
+    private int pos;
+
+    private MetricExpression(String source, Function<String, Node> metrics) {
+        this.source = source;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Parses and compiles an expression.
+     *
+     * @param expression the expression text
+     * @param metrics    resolves a canonical metric name to its compiled tree, or null
+     * @return the compiled tree, with constants folded
+     * @throws IllegalArgumentException with the offending position if the text is invalid
+     */
+    static Node compile(String expression, Function<String, Node> metrics) {
+        if (expression == null || expression.isBlank()) {
+            String message = "Metric expression must not be empty.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        MetricExpression parser = new MetricExpression(expression, metrics);
+        Node node = parser.expression();
+        parser.skipSpaces();
+        if (parser.pos < expression.length()) {
+            throw parser.error("Unexpected '" + expression.charAt(parser.pos) + "'");
+        }
+        return node;
+    }
+
+    /** Maps accepted spellings (e.g. {@code surface_area}, {@code side}) to canonical names. */
+    static String canonicalName(String word) {
+        String name = word.toLowerCase(Locale.ROOT).replace("_", "");
+        return switch (name) {
+            case "area" -> "surfacearea";
+            case "ratio" -> "efficiency";
+            case "side" -> "sidelength";
+            default -> name;
+        };
+    }
+
+    // ---------- Parser ----------
+
+    private Node expression() {
+        Node node = term();
+        while (true) {
+            if (accept("+")) {
+                node = Node.binary(Op.ADD, node, term());
+            } else if (accept("-")) {
+                node = Node.binary(Op.SUB, node, term());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private Node term() {
+        Node node = unary();
+        while (true) {
+            if (accept("*")) {
+                node = Node.binary(Op.MUL, node, unary());
+            } else if (accept("/")) {
+                node = Node.binary(Op.DIV, node, unary());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private Node unary() {
+        if (accept("-")) {
+            return Node.unary(Op.NEG, unary());
+        }
+        Node base = primary();
+        if (accept("^")) {
+            return Node.binary(Op.POW, base, unary());
+        }
+        return base;
+    }
+
+    private Node primary() {
+        int start = skipSpaces();
+        if (accept("(")) {
+            Node node = expression();
+            expect(")");
+            return node;
+        }
+        if (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+            return new Constant(number());
+        }
+        String word = word();
+        String name = canonicalName(word);
+        if (accept("(")) {
+            List<Node> args = new ArrayList<>();
+            do {
+                args.add(expression());
+            } while (accept(","));
+            expect(")");
+            return call(name, args, start);
+        }
+        Input input = Input.named(name);
+        if (input != null) {
+            return new Variable(input);
+        }
+        switch (name) {
+            case "efficiency" -> {
+                return Node.binary(Op.DIV, new Variable(Input.VOLUME), new Variable(Input.SURFACE_AREA));
+            }
+            case "pi" -> {
+                return new Constant(Math.PI);
+            }
+            case "e" -> {
+                return new Constant(Math.E);
+            }
+            default -> {
+                Node metric = metrics.apply(name);
+                if (metric != null) {
+                    return metric;
+                }
+            }
+        }
+        pos = start;
+        throw error("Unknown name '" + word + "'; expected an input (volume, surfaceArea, efficiency, "
+                + "radius, height, sideLength, length, width), pi, e, or a registered metric");
+    }
+
+    private Node call(String function, List<Node> args, int start) {
+        Op op = switch (function) {
+            case "sqrt" -> Op.SQRT;
+            case "cbrt" -> Op.CBRT;
+            case "abs" -> Op.ABS;
+            case "exp" -> Op.EXP;
+            case "log" -> Op.LOG;
+            case "pow" -> Op.POW;
+            case "min" -> Op.MIN;
+            case "max" -> Op.MAX;
+            default -> {
+                pos = start;
+                throw error("Unknown function '" + function + "'; expected sqrt, cbrt, abs, exp, log, pow, min, or max");
+            }
+        };
+        int arity = op.binary ? 2 : 1;
+        if (args.size() != arity) {
+            pos = start;
+            throw error(function + " takes " + arity + (arity == 1 ? " argument" : " arguments")
+                    + ", got " + args.size());
+        }
+        return op.binary ? Node.binary(op, args.get(0), args.get(1)) : Node.unary(op, args.get(0));
+    }
+
+    private double number() {
+        int start = skipSpaces();
+        while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+            pos++;
+        }
+        // Exponent, e.g. 1.5e-3; a bare "e" after a number would be the constant, so require digits
+        if (pos + 1 < source.length() && (source.charAt(pos) == 'e' || source.charAt(pos) == 'E')) {
+            int mark = pos;
+            pos++;
+            if (source.charAt(pos) == '+' || source.charAt(pos) == '-') {
+                pos++;
+            }
+            if (pos < source.length() && Character.isDigit(source.charAt(pos))) {
+                while (pos < source.length() && Character.isDigit(source.charAt(pos))) {
+                    pos++;
+                }
+            } else {
+                pos = mark;
+            }
+        }
+        try {
+            return Double.parseDouble(source.substring(start, pos));
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error("Expected a number");
+        }
+    }
+
+    private String word() {
+        int start = skipSpaces();
+        while (pos < source.length() && (Character.isLetterOrDigit(source.charAt(pos)) || source.charAt(pos) == '_')) {
+            pos++;
+        }
+        if (pos == start) {
+            throw error(pos < source.length() ? "Unexpected '" + source.charAt(pos) + "'" : "Unexpected end of expression");
+        }
+        return source.substring(start, pos);
+    }
+
+    private boolean accept(String symbol) {
+        skipSpaces();
+        if (source.startsWith(symbol, pos)) {
+            pos += symbol.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String symbol) {
+        if (!accept(symbol)) {
+            throw error("Expected '" + symbol + "'");
+        }
+    }
+
+    private int skipSpaces() {
+        while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private IllegalArgumentException error(String problem) {
+        String message = "Invalid metric expression at position " + (pos + 1) + ": " + problem
+                + ". Expression: " + source;
+        LOGGER.log(Level.SEVERE, message);
+        return new IllegalArgumentException(message);
+    }
+
+    // ---------- Compiled form ----------
+
+    /** Operators, with their scalar semantics. */
+    enum Op {
+        NEG(false), SQRT(false), CBRT(false), ABS(false), EXP(false), LOG(false), SQUARE(false),
+        ADD(true), SUB(true), MUL(true), DIV(true), POW(true), MIN(true), MAX(true);
+
+        final boolean binary;
+
+        Op(boolean binary) {
+            this.binary = binary;
+        }
+
+        double apply(double x) {
+            return switch (this) {
+                case NEG -> -x;
+                case SQRT -> Math.sqrt(x);
+                case CBRT -> Math.cbrt(x);
+                case ABS -> Math.abs(x);
+                case EXP -> Math.exp(x);
+                case LOG -> Math.log(x);
+                case SQUARE -> x * x;
+                default -> throw new IllegalStateException(this + " is binary");
+            };
+        }
+
+        double apply(double x, double y) {
+            return switch (this) {
+                case ADD -> x + y;
+                case SUB -> x - y;
+                case MUL -> x * y;
+                case DIV -> x / y;
+                case POW -> Math.pow(x, y);
+                case MIN -> Math.min(x, y);
+                case MAX -> Math.max(x, y);
+                default -> throw new IllegalStateException(this + " is unary");
+            };
+        }
+    }
+
+    /** Temporary column buffers for bulk evaluation, reused across batches. */
+    static final class Scratch {
+        private final List<double[]> buffers = new ArrayList<>();
+        private int used;
+
+        double[] take() {
+            if (used == buffers.size()) {
+                buffers.add(new double[BATCH]);
+            }
+            return buffers.get(used++);
+        }
+
+        void release() {
+            used--;
+        }
+    }
+
+    /** A compiled expression tree. */
+    sealed interface Node {
+
+        /**
+         * Evaluates one row.
+         *
+         * @param inputs input values indexed by {@link Input#ordinal()}
+         */
+        double evaluate(double[] inputs);
+
+        /**
+         * Evaluates a batch of rows column-at-a-time.
+         *
+         * @param columns input columns indexed by {@link Input#ordinal()}; only used inputs are filled
+         * @param n       rows in the batch, at most {@link #BATCH}
+         * @param out     receives the results in {@code [0, n)}
+         */
+        void evaluate(double[][] columns, int n, double[] out, Scratch scratch);
+
+        /** Bit set of the {@link Input}s this tree reads. */
+        int inputs();
+
+        static Node unary(Op op, Node operand) {
+            if (operand instanceof Constant c) {
+                return new Constant(op.apply(c.value()));
+            }
+            return new Unary(op, operand);
+        }
+
+        static Node binary(Op op, Node left, Node right) {
+            if (left instanceof Constant a && right instanceof Constant b) {
+                return new Constant(op.apply(a.value(), b.value()));
+            }
+            if (op == Op.POW && right instanceof Constant b && b.value() == 2.0) {
+                return new Unary(Op.SQUARE, left);
+            }
+            return new Binary(op, left, right);
+        }
+    }
+
+    record Constant(double value) implements Node {
+        @Override
+        public double evaluate(double[] inputs) {
+            return value;
+        }
+
+        @Override
+        public void evaluate(double[][] columns, int n, double[] out, Scratch scratch) {
+            Arrays.fill(out, 0, n, value);
+        }
+
+        @Override
+        public int inputs() {
+            return 0;
+        }
+    }
+
+    record Variable(Input input) implements Node {
+        @Override
+        public double evaluate(double[] inputs) {
+            return inputs[input.ordinal()];
+        }
+
+        @Override
+        public void evaluate(double[][] columns, int n, double[] out, Scratch scratch) {
+            System.arraycopy(columns[input.ordinal()], 0, out, 0, n);
+        }
+
+        @Override
+        public int inputs() {
+            return 1 << input.ordinal();
+        }
+    }
+
+    record Unary(Op op, Node operand) implements Node {
+        @Override
+        public double evaluate(double[] inputs) {
+            return op.apply(operand.evaluate(inputs));
+        }
+
+        @Override
+        public void evaluate(double[][] columns, int n, double[] out, Scratch scratch) {
+            operand.evaluate(columns, n, out, scratch);
+            switch (op) {
+                case NEG -> { for (int i = 0; i < n; i++) out[i] = -out[i]; }
+                case SQRT -> { for (int i = 0; i < n; i++) out[i] = Math.sqrt(out[i]); }
+                case CBRT -> { for (int i = 0; i < n; i++) out[i] = Math.cbrt(out[i]); }
+                case ABS -> { for (int i = 0; i < n; i++) out[i] = Math.abs(out[i]); }
+                case EXP -> { for (int i = 0; i < n; i++) out[i] = Math.exp(out[i]); }
+                case LOG -> { for (int i = 0; i < n; i++) out[i] = Math.log(out[i]); }
+                case SQUARE -> { for (int i = 0; i < n; i++) out[i] = out[i] * out[i]; }
+                default -> throw new IllegalStateException(op + " is binary");
+            }
+        }
+
+        @Override
+        public int inputs() {
+            return operand.inputs();
+        }
+    }
+
+    record Binary(Op op, Node left, Node right) implements Node {
+        @Override
+        public double evaluate(double[] inputs) {
+            return op.apply(left.evaluate(inputs), right.evaluate(inputs));
+        }
+
+        @Override
+        public void evaluate(double[][] columns, int n, double[] out, Scratch scratch) {
+            if (left instanceof Constant c) {
+                // Constant operands, e.g. "6 * volume" or "volume / 2", need no second column
+                double x = c.value();
+                right.evaluate(columns, n, out, scratch);
+                switch (op) {
+                    case ADD -> { for (int i = 0; i < n; i++) out[i] = x + out[i]; }
+                    case SUB -> { for (int i = 0; i < n; i++) out[i] = x - out[i]; }
+                    case MUL -> { for (int i = 0; i < n; i++) out[i] = x * out[i]; }
+                    case DIV -> { for (int i = 0; i < n; i++) out[i] = x / out[i]; }
+                    default -> { for (int i = 0; i < n; i++) out[i] = op.apply(x, out[i]); }
+                }
+                return;
+            }
+            left.evaluate(columns, n, out, scratch);
+            if (right instanceof Constant c) {
+                double y = c.value();
+                switch (op) {
+                    case ADD -> { for (int i = 0; i < n; i++) out[i] += y; }
+                    case SUB -> { for (int i = 0; i < n; i++) out[i] -= y; }
+                    case MUL -> { for (int i = 0; i < n; i++) out[i] *= y; }
+                    case DIV -> { for (int i = 0; i < n; i++) out[i] /= y; }
+                    default -> { for (int i = 0; i < n; i++) out[i] = op.apply(out[i], y); }
+                }
+                return;
+            }
+            double[] b = scratch.take();
+            right.evaluate(columns, n, b, scratch);
+            switch (op) {
+                case ADD -> { for (int i = 0; i < n; i++) out[i] += b[i]; }
+                case SUB -> { for (int i = 0; i < n; i++) out[i] -= b[i]; }
+                case MUL -> { for (int i = 0; i < n; i++) out[i] *= b[i]; }
+                case DIV -> { for (int i = 0; i < n; i++) out[i] /= b[i]; }
+                case POW -> { for (int i = 0; i < n; i++) out[i] = Math.pow(out[i], b[i]); }
+                case MIN -> { for (int i = 0; i < n; i++) out[i] = Math.min(out[i], b[i]); }
+                case MAX -> { for (int i = 0; i < n; i++) out[i] = Math.max(out[i], b[i]); }
+                default -> throw new IllegalStateException(op + " is unary");
+            }
+            scratch.release();
+        }
+
+        @Override
+        public int inputs() {
+            return left.inputs() | right.inputs();
+        }
+    }
+}
@@ -0,0 +1,494 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A sorted index of shapes by one numeric key (volume, surface area, efficiency, or any
+ * {@code ToDoubleFunction<Shape3D>}), answering top-K, bottom-K, rank, and range queries
+ * in logarithmic time.
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>Indexable skip list:</em> nodes hold the key as a primitive {@code double}, and
+ *       every forward link records how many nodes it skips. Searching by key and by rank
+ *       both take O(log n) expected time, with no comparator boxing.</li>
+ *   <li><em>Keys evaluated once:</em> a shape's key is computed when it is added and again
+ *       only when a {@link ShapeChangeListener} reports a dimension change, at which point
+ *       the shape is moved to its new position.</li>
+ *   <li><em>Deterministic ties:</em> keys compare with {@link Double#compare}; equal keys
+ *       are ordered by insertion, and both top-K and bottom-K list earlier shapes first.</li>
+ * </ol>
+ *
+ * <p>Each shape can be indexed once. The index listens to its shapes, so call
+ * {@link #clear()} (or {@link #remove(Shape3D)}) when it is no longer needed. Not thread-safe.</p>
+ */
+public final class MetricIndex implements Iterable<Shape3D> {
+
+    private static final Logger LOGGER = Logger.getLogger(MetricIndex.class.getName());
+
+    private static final int MAX_LEVEL = 32;
+
+    /** Probability that a node reaches the next level, as in Redis sorted sets. */
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    private final ToDoubleFunction<? super Shape3D> metric;
+    private final Map<Shape3D, Node> nodes = new IdentityHashMap<>();
+    private final ShapeChangeListener listener = this::shapeChanged;
+
+    private final Node head = new Node(null, Double.NaN, -1, MAX_LEVEL);
+    private int level = 1;
+    private int size;
+    private long nextSequence;
+    private int modCount;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param metric the key of each shape, e.g. {@link ShapeMetric#VOLUME}
+     * @throws IllegalArgumentException if metric is null
+     */
+    public MetricIndex(ToDoubleFunction<? super Shape3D> metric) {
+        if (metric == null) {
+            String message = "metric must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        this.metric = metric;
+    }
+
+    /**
+     * Creates an index over existing shapes.
+     *
+     * @param shapes the shapes, in the order that breaks ties
+     * @param metric the key of each shape
+     * @return a new index
+     */
+    public static MetricIndex of(Collection<? extends Shape3D> shapes, ToDoubleFunction<? super Shape3D> metric) {
+        MetricIndex index = new MetricIndex(metric);
+        for (Shape3D shape : shapes) {
+            index.add(shape);
+        }
+        return index;
+    }
+
+    // ---------- Membership ----------
+
+    /**
+     * Adds a shape.
+     *
+     * @param shape non-null shape
+     * @return false if the shape was already indexed
+     * @throws IllegalArgumentException if shape is null
+     */
+    public boolean add(Shape3D shape) {
+        if (shape == null) {
+            String message = "MetricIndex does not permit null shapes.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        if (nodes.containsKey(shape)) {
+            return false;
+        }
+        nodes.put(shape, insert(shape, metric.applyAsDouble(shape), nextSequence++));
+        shape.addChangeListener(listener);
+        return true;
+    }
+
+    /**
+     * Removes a shape.
+     *
+     * @param shape the shape
+     * @return true if it was indexed
+     */
+    public boolean remove(Shape3D shape) {
+        Node node = nodes.remove(shape);
+        if (node == null) {
+            return false;
+        }
+        delete(node);
+        shape.removeChangeListener(listener);
+        return true;
+    }
+
+    /**
+     * Returns whether a shape is indexed.
+     *
+     * @param shape the shape
+     * @return true if indexed
+     */
+    public boolean contains(Shape3D shape) {
+        return nodes.containsKey(shape);
+    }
+
+    /**
+     * Removes every shape and stops listening to them.
+     */
+    public void clear() {
+        for (Shape3D shape : nodes.keySet()) {
+            shape.removeChangeListener(listener);
+        }
+        nodes.clear();
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        level = 1;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the number of indexed shapes.
+     *
+     * @return shape count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether no shapes are indexed.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void shapeChanged(Shape3D shape, ShapeChangeListener.Change change) {
+        if (change != ShapeChangeListener.Change.DIMENSIONS) {
+            return;
+        }
+        Node node = nodes.get(shape);
+        double key = metric.applyAsDouble(shape);
+        if (node == null || Double.compare(key, node.key) == 0) {
+            return;
+        }
+        delete(node);
+        // Keep the original sequence so ties still follow insertion order
+        nodes.put(shape, insert(shape, key, node.sequence));
+    }
+
+    // ---------- Queries ----------
+
+    /**
+     * Returns the shape at an ascending rank.
+     *
+     * @param rank 0 for the smallest key, {@code size() - 1} for the largest
+     * @return the shape
+     * @throws IndexOutOfBoundsException if rank is out of range
+     */
+    public Shape3D get(int rank) {
+        return nodeAt(rank).shape;
+    }
+
+    /**
+     * Returns the key at an ascending rank.
+     *
+     * @param rank 0 for the smallest key
+     * @return the key
+     * @throws IndexOutOfBoundsException if rank is out of range
+     */
+    public double keyAt(int rank) {
+        return nodeAt(rank).key;
+    }
+
+    /**
+     * Returns up to {@code k} shapes with the largest keys, largest first.
+     *
+     * @param k maximum number of shapes, must be ≥ 0
+     * @return a new list
+     */
+    public List<Shape3D> top(int k) {
+        int n = Math.min(requireCount(k), size);
+        List<Shape3D> result = new ArrayList<>(n);
+        if (n == 0) {
+            return result;
+        }
+        // The k-th largest key; all larger keys are in, and ties at it are taken earliest-first
+        double threshold = nodeAt(size - n).key;
+        int greater = size - countAtMost(threshold);
+        int ties = n - greater;
+
+        List<Node> window = new ArrayList<>(n);
+        Node x = nodeAt(countBelow(threshold));
+        for (int taken = 0; taken < ties; taken++, x = x.next[0]) {
+            window.add(x);
+        }
+        while (x != null && Double.compare(x.key, threshold) == 0) {
+            x = x.next[0];
+        }
+        for (; x != null; x = x.next[0]) {
+            window.add(x);
+        }
+
+        // window is ascending by (key, sequence); emit descending by key, ascending by sequence
+        int end = window.size();
+        while (end > 0) {
+            int start = end - 1;
+            while (start > 0 && Double.compare(window.get(start - 1).key, window.get(end - 1).key) == 0) {
+                start--;
+            }
+            for (int i = start; i < end; i++) {
+                result.add(window.get(i).shape);
+            }
+            end = start;
+        }
+        return result;
+    }
+
+    /**
+     * Returns up to {@code k} shapes with the smallest keys, smallest first.
+     *
+     * @param k maximum number of shapes, must be ≥ 0
+     * @return a new list
+     */
+    public List<Shape3D> bottom(int k) {
+        int n = Math.min(requireCount(k), size);
+        List<Shape3D> result = new ArrayList<>(n);
+        for (Node x = head.next[0]; result.size() < n; x = x.next[0]) {
+            result.add(x.shape);
+        }
+        return result;
+    }
+
+    /**
+     * Counts shapes whose key lies in {@code [low, high]}.
+     *
+     * @param low  inclusive lower bound
+     * @param high inclusive upper bound
+     * @return the count, 0 if {@code low > high}
+     */
+    public int countBetween(double low, double high) {
+        if (Double.compare(low, high) > 0) {
+            return 0;
+        }
+        return countAtMost(high) - countBelow(low);
+    }
+
+    /**
+     * Returns shapes whose key lies in {@code [low, high]}, in ascending key order.
+     *
+     * @param low  inclusive lower bound
+     * @param high inclusive upper bound
+     * @return a new list
+     */
+    public List<Shape3D> between(double low, double high) {
+        List<Shape3D> result = new ArrayList<>(countBetween(low, high));
+        forEachBetween(low, high, result::add);
+        return result;
+    }
+
+    /**
+     * Visits shapes whose key lies in {@code [low, high]}, in ascending key order, without
+     * building a list. The index must not be modified during the visit.
+     *
+     * @param low    inclusive lower bound
+     * @param high   inclusive upper bound
+     * @param action called once per matching shape
+     */
+    public void forEachBetween(double low, double high, Consumer<? super Shape3D> action) {
+        for (Node x = firstAtLeast(low); x != null && Double.compare(x.key, high) <= 0; x = x.next[0]) {
+            action.accept(x.shape);
+        }
+    }
+
+    /**
+     * Iterates all shapes in ascending key order.
+     */
+    @Override
+    public Iterator<Shape3D> iterator() {
+        return new Iterator<>() {
+            private Node next = head.next[0];
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Shape3D next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Shape3D shape = next.shape;
+                next = next.next[0];
+                return shape;
+            }
+        };
+    }
+
+    private static int requireCount(int k) {
+        if (k < 0) {
+            String message = "k must be >= 0. Provided: " + k;
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return k;
+    }
+
+    // ---------- Skip list ----------
+
+    private static final class Node {
+        final Shape3D shape;
+        final double key;
+        final long sequence;
+        final Node[] next;
+        /** {@code span[i]} = how many ranks {@code next[i]} advances. */
+        final int[] span;
+
+        Node(Shape3D shape, double key, long sequence, int levels) {
+            this.shape = shape;
+            this.key = key;
+            this.sequence = sequence;
+            this.next = new Node[levels];
+            this.span = new int[levels];
+        }
+
+        boolean before(double otherKey, long otherSequence) {
+            int cmp = Double.compare(key, otherKey);
+            return cmp < 0 || (cmp == 0 && sequence < otherSequence);
+        }
+    }
+
+    private static int randomLevel() {
+        int lvl = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (lvl < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) {
+            lvl++;
+        }
+        return lvl;
+    }
+
+    private Node insert(Shape3D shape, double key, long sequence) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = (i == level - 1) ? 0 : rank[i + 1];
+            while (x.next[i] != null && x.next[i].before(key, sequence)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        int lvl = randomLevel();
+        if (lvl > level) {
+            for (int i = level; i < lvl; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = lvl;
+        }
+        Node node = new Node(shape, key, sequence, lvl);
+        for (int i = 0; i < lvl; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = lvl; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+        modCount++;
+        return node;
+    }
+
+    private void delete(Node node) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].before(node.key, node.sequence)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == node) {
+                update[i].span[i] += node.span[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        modCount++;
+    }
+
+    /** Node at a 0-based ascending rank. */
+    private Node nodeAt(int rank) {
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException("rank " + rank + " out of range for size " + size);
+        }
+        int target = rank + 1;
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= target) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == target) {
+                return x;
+            }
+        }
+        throw new IllegalStateException("Skip list spans are inconsistent");
+    }
+
+    /** Number of keys strictly below {@code key}. */
+    private int countBelow(double key) {
+        int count = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && Double.compare(x.next[i].key, key) < 0) {
+                count += x.span[i];
+                x = x.next[i];
+            }
+        }
+        return count;
+    }
+
+    /** Number of keys at or below {@code key}. */
+    private int countAtMost(double key) {
+        int count = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && Double.compare(x.next[i].key, key) <= 0) {
+                count += x.span[i];
+                x = x.next[i];
+            }
+        }
+        return count;
+    }
+
+    private Node firstAtLeast(double key) {
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && Double.compare(x.next[i].key, key) < 0) {
+                x = x.next[i];
+            }
+        }
+        return x.next[0];
+    }
+}
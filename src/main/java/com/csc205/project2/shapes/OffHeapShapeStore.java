@@ -0,0 +1,379 @@
+package com.csc205.project2.shapes;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Columnar shape storage whose rows live in direct (off-heap) memory owned by a
+ * {@link ShapeArena}.
+ *
+ * <p>Each column is a separate native-order direct buffer: a 1-byte type tag
+ * ({@link ShapeType#ordinal()}), a 4-byte color id, and three 8-byte dimension
+ * columns. Colors are dictionary-encoded because they repeat heavily; the small
+ * dictionary is the only per-store state on the heap. Names are not retained, so
+ * {@link #toShape(int, String)} takes the name from the caller.</p>
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>GC pressure:</em> millions of rows add only a handful of heap objects,
+ *       so they do not lengthen old-generation collections.</li>
+ *   <li><em>Explicit lifetime:</em> memory is freed when the owning arena is closed;
+ *       any later access throws {@link IllegalStateException}.</li>
+ *   <li><em>Same math:</em> kernels call {@link ShapeFormulas}, so results are identical
+ *       to {@link Shape3D#getVolume()} and {@link ShapeStore#volumes(double[])}.</li>
+ * </ol>
+ *
+ * <p>The capacity is limited to {@code Integer.MAX_VALUE / 8} rows by the size of a
+ * single {@link ByteBuffer}. Not thread-safe for concurrent modification.</p>
+ */
+public final class OffHeapShapeStore {
+
+    private static final Logger LOGGER = Logger.getLogger(OffHeapShapeStore.class.getName());
+
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE / Double.BYTES;
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final ShapeArena arena;
+
+    private ByteBuffer types;
+    private ByteBuffer colorIds;
+    private ByteBuffer dim0;
+    private ByteBuffer dim1;
+    private ByteBuffer dim2;
+    private int capacity;
+    private int size;
+
+    private final Map<String, Integer> colorIndex = new HashMap<>();
+    private final List<String> colorDictionary = new ArrayList<>();
+
+    /**
+     * Creates an empty store with a default initial capacity.
+     *
+     * @param arena the open arena that will own this store's memory
+     */
+    public OffHeapShapeStore(ShapeArena arena) {
+        this(arena, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store able to hold {@code initialCapacity} rows before growing.
+     *
+     * @param arena           the open arena that will own this store's memory
+     * @param initialCapacity initial row capacity, must be ≥ 0
+     * @throws IllegalArgumentException if the arena is null or the capacity is invalid
+     * @throws IllegalStateException    if the arena is closed
+     */
+    public OffHeapShapeStore(ShapeArena arena, int initialCapacity) {
+        if (arena == null) {
+            String message = "arena must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        if (initialCapacity < 0 || initialCapacity > MAX_CAPACITY) {
+            String message = "initialCapacity must be between 0 and " + MAX_CAPACITY + ". Provided: " + initialCapacity;
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        this.arena = arena;
+        allocateColumns(initialCapacity);
+    }
+
+    // ---------- Mutation ----------
+
+    /**
+     * Appends a row copied from an existing shape (its name is not retained).
+     *
+     * @param shape non-null shape
+     * @return the row index of the new row
+     */
+    public int add(Shape3D shape) {
+        if (shape == null) {
+            String message = "shape must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        ShapeType type = ShapeType.of(shape);
+        return append(type, shape.getColor(), type.dimensionsOf(shape));
+    }
+
+    /**
+     * Appends a row from raw values.
+     *
+     * @param type  the shape type
+     * @param color color; null/blank is normalized to {@link Shape3D#DEFAULT_COLOR}
+     * @param dims  exactly {@code type.arity()} non-negative dimensions
+     * @return the row index of the new row
+     * @throws IllegalArgumentException if any input is invalid
+     */
+    public int add(ShapeType type, String color, double... dims) {
+        String message = null;
+        if (type == null) {
+            message = "type must not be null.";
+        } else if (dims == null || dims.length != type.arity()) {
+            message = type.displayName() + " requires " + type.arity() + " dimension(s) "
+                    + type.dimensionNames() + ". Provided: " + Arrays.toString(dims);
+        } else {
+            for (double d : dims) {
+                if (!(d >= 0)) {
+                    message = "Dimensions must be >= 0. Provided: " + Arrays.toString(dims);
+                    break;
+                }
+            }
+        }
+        if (message != null) {
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return append(type, color, dims);
+    }
+
+    /**
+     * Removes all rows, keeping the allocated off-heap capacity.
+     */
+    public void clear() {
+        arena.checkOpen();
+        size = 0;
+    }
+
+    private int append(ShapeType type, String color, double[] dims) {
+        arena.checkOpen();
+        if (size == capacity) {
+            grow();
+        }
+        int row = size++;
+        types.put(row, (byte) type.ordinal());
+        colorIds.putInt(row * Integer.BYTES, colorId(color));
+        int offset = row * Double.BYTES;
+        dim0.putDouble(offset, dims.length > 0 ? dims[0] : 0.0);
+        dim1.putDouble(offset, dims.length > 1 ? dims[1] : 0.0);
+        dim2.putDouble(offset, dims.length > 2 ? dims[2] : 0.0);
+        return row;
+    }
+
+    private int colorId(String color) {
+        String normalized = (color == null || color.isBlank()) ? Shape3D.DEFAULT_COLOR : color;
+        Integer id = colorIndex.get(normalized);
+        if (id == null) {
+            id = colorDictionary.size();
+            colorDictionary.add(normalized);
+            colorIndex.put(normalized, id);
+        }
+        return id;
+    }
+
+    private void grow() {
+        if (capacity == MAX_CAPACITY) {
+            String message = "OffHeapShapeStore is full (" + MAX_CAPACITY + " rows).";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalStateException(message);
+        }
+        int newCapacity = (int) Math.min(MAX_CAPACITY, Math.max(DEFAULT_CAPACITY, capacity * 2L));
+        ByteBuffer oldTypes = types, oldColors = colorIds, old0 = dim0, old1 = dim1, old2 = dim2;
+        allocateColumns(newCapacity);
+        types.put(0, oldTypes, 0, size);
+        colorIds.put(0, oldColors, 0, size * Integer.BYTES);
+        dim0.put(0, old0, 0, size * Double.BYTES);
+        dim1.put(0, old1, 0, size * Double.BYTES);
+        dim2.put(0, old2, 0, size * Double.BYTES);
+        arena.release(oldTypes);
+        arena.release(oldColors);
+        arena.release(old0);
+        arena.release(old1);
+        arena.release(old2);
+        LOGGER.log(Level.INFO, "Grew OffHeapShapeStore to {0} rows", newCapacity);
+    }
+
+    private void allocateColumns(int rows) {
+        types = arena.allocate(rows);
+        colorIds = arena.allocate(rows * Integer.BYTES);
+        dim0 = arena.allocate(rows * Double.BYTES);
+        dim1 = arena.allocate(rows * Double.BYTES);
+        dim2 = arena.allocate(rows * Double.BYTES);
+        capacity = rows;
+    }
+
+    // ---------- Row access ----------
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return row count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the store has no rows.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of off-heap bytes reserved by this store's columns.
+     *
+     * @return reserved bytes
+     */
+    public long reservedBytes() {
+        return (long) capacity * (1 + Integer.BYTES + 3L * Double.BYTES);
+    }
+
+    /**
+     * Returns the shape type of a row.
+     *
+     * @param row the row index
+     * @return the row's type
+     * @throws IndexOutOfBoundsException if the row is not in {@code [0, size())}
+     * @throws IllegalStateException if the owning arena is closed
+     */
+    public ShapeType typeAt(int row) {
+        checkRow(row);
+        return ShapeType.fromTag(types.get(row));
+    }
+
+    /**
+     * Returns the color of a row, decoded from the color dictionary.
+     *
+     * @param row the row index
+     * @return the shape's color
+     * @throws IndexOutOfBoundsException if the row is not in {@code [0, size())}
+     * @throws IllegalStateException if the owning arena is closed
+     */
+    public String colorAt(int row) {
+        checkRow(row);
+        return colorDictionary.get(colorIds.getInt(row * Integer.BYTES));
+    }
+
+    /**
+     * Returns one dimension of a row in constructor order.
+     *
+     * @param row       the row index
+     * @param dimension 0-based dimension index, less than {@link ShapeType#MAX_ARITY}
+     * @return the dimension value ({@code 0.0} for unused slots)
+     * @throws IndexOutOfBoundsException if the row or dimension is out of range
+     * @throws IllegalStateException if the owning arena is closed
+     */
+    public double dimensionAt(int row, int dimension) {
+        checkRow(row);
+        int offset = row * Double.BYTES;
+        return switch (dimension) {
+            case 0 -> dim0.getDouble(offset);
+            case 1 -> dim1.getDouble(offset);
+            case 2 -> dim2.getDouble(offset);
+            default -> throw new IndexOutOfBoundsException("dimension " + dimension);
+        };
+    }
+
+    /**
+     * Computes the volume of a single row.
+     *
+     * @param row the row index
+     * @return volume in cubic units
+     * @throws IndexOutOfBoundsException if the row is not in {@code [0, size())}
+     * @throws IllegalStateException if the owning arena is closed
+     */
+    public double volumeAt(int row) {
+        checkRow(row);
+        int offset = row * Double.BYTES;
+        return ShapeType.fromTag(types.get(row))
+                .volume(dim0.getDouble(offset), dim1.getDouble(offset), dim2.getDouble(offset));
+    }
+
+    /**
+     * Computes the surface area of a single row.
+     *
+     * @param row the row index
+     * @return surface area in square units
+     * @throws IndexOutOfBoundsException if the row is not in {@code [0, size())}
+     * @throws IllegalStateException if the owning arena is closed
+     */
+    public double surfaceAreaAt(int row) {
+        checkRow(row);
+        int offset = row * Double.BYTES;
+        return ShapeType.fromTag(types.get(row))
+                .surfaceArea(dim0.getDouble(offset), dim1.getDouble(offset), dim2.getDouble(offset));
+    }
+
+    private void checkRow(int row) {
+        arena.checkOpen();
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + ", size " + size);
+        }
+    }
+
+    // ---------- Bulk kernels ----------
+
+    /**
+     * Writes the volume of every row into {@code out[0..size)}.
+     *
+     * @param out destination array with length ≥ {@link #size()}
+     */
+    public void volumes(double[] out) {
+        checkOutput(out);
+        final ByteBuffer t = types, a = dim0, b = dim1, c = dim2;
+        for (int i = 0, n = size; i < n; i++) {
+            int o = i * Double.BYTES;
+            out[i] = switch (ShapeType.fromTag(t.get(i))) {
+                case SPHERE -> ShapeFormulas.sphereVolume(a.getDouble(o));
+                case CUBE -> ShapeFormulas.cubeVolume(a.getDouble(o));
+                case CYLINDER -> ShapeFormulas.cylinderVolume(a.getDouble(o), b.getDouble(o));
+                case RECTANGULAR_PRISM -> ShapeFormulas.prismVolume(a.getDouble(o), b.getDouble(o), c.getDouble(o));
+                case CONE -> ShapeFormulas.coneVolume(a.getDouble(o), b.getDouble(o));
+            };
+        }
+    }
+
+    /**
+     * Writes the surface area of every row into {@code out[0..size)}.
+     *
+     * @param out destination array with length ≥ {@link #size()}
+     */
+    public void surfaceAreas(double[] out) {
+        checkOutput(out);
+        final ByteBuffer t = types, a = dim0, b = dim1, c = dim2;
+        for (int i = 0, n = size; i < n; i++) {
+            int o = i * Double.BYTES;
+            out[i] = switch (ShapeType.fromTag(t.get(i))) {
+                case SPHERE -> ShapeFormulas.sphereSurfaceArea(a.getDouble(o));
+                case CUBE -> ShapeFormulas.cubeSurfaceArea(a.getDouble(o));
+                case CYLINDER -> ShapeFormulas.cylinderSurfaceArea(a.getDouble(o), b.getDouble(o));
+                case RECTANGULAR_PRISM -> ShapeFormulas.prismSurfaceArea(a.getDouble(o), b.getDouble(o), c.getDouble(o));
+                case CONE -> ShapeFormulas.coneSurfaceArea(a.getDouble(o), b.getDouble(o));
+            };
+        }
+    }
+
+    private void checkOutput(double[] out) {
+        arena.checkOpen();
+        if (out == null || out.length < size) {
+            String message = "Output array must have length >= " + size + ".";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    // ---------- Conversion ----------
+
+    /**
+     * Materializes one row as a regular {@link Shape3D} object on the heap.
+     *
+     * @param row  the row index
+     * @param name the name to give the new shape
+     * @return a new shape with the row's type, color, and dimensions
+     */
+    public Shape3D toShape(int row, String name) {
+        checkRow(row);
+        int offset = row * Double.BYTES;
+        return typeAt(row).create(name, colorAt(row),
+                dim0.getDouble(offset), dim1.getDouble(offset), dim2.getDouble(offset));
+    }
+}
@@ -0,0 +1,210 @@
+package com.csc205.project2.shapes;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fork/join engine that builds a {@link ShapeStatistics} report over large lists,
+ * arrays, spliterators, and columnar {@link ShapeStore}s.
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>Size-aware splitting:</em> a task splits its {@link Spliterator} while the
+ *       estimated size is above a leaf size derived from the input size and the pool's
+ *       parallelism (about eight leaves per worker), so large inputs balance well and
+ *       small ones run directly on the calling thread.</li>
+ *   <li><em>Order-preserving merge:</em> {@code trySplit()} hands off a prefix, and each
+ *       prefix result is combined with its suffix in that order. Ties therefore resolve
+ *       to the earliest shape, exactly as in a sequential pass. Totals are exact
+ *       ({@link ExactSum}), so the whole report is bit-identical to a sequential one even
+ *       though the split depends on the pool's parallelism.</li>
+ *   <li><em>No shared state:</em> each leaf fills its own {@link ShapeStatistics}; workers
+ *       only meet when partial results are combined, so throughput scales with cores.</li>
+ * </ol>
+ *
+ * <p>The shapes must not be modified while an analysis is running.</p>
+ */
+public final class ParallelShapeAnalyzer {
+
+    private static final Logger LOGGER = Logger.getLogger(ParallelShapeAnalyzer.class.getName());
+
+    /** Smallest leaf worth a task of its own. */
+    public static final int DEFAULT_MIN_LEAF_SIZE = 1024;
+
+    /** Target number of leaves per worker thread. */
+    private static final int LEAVES_PER_WORKER = 8;
+
+    private static final ParallelShapeAnalyzer COMMON =
+            new ParallelShapeAnalyzer(ForkJoinPool.commonPool(), DEFAULT_MIN_LEAF_SIZE);
+
+    private final ForkJoinPool pool;
+    private final int minLeafSize;
+
+    /**
+     * Creates an analyzer that runs on the given pool.
+     *
+     * @param pool        the pool to run tasks on
+     * @param minLeafSize smallest number of shapes a task handles without splitting, must be ≥ 1
+     * @throws IllegalArgumentException if pool is null or minLeafSize is not positive
+     */
+    public ParallelShapeAnalyzer(ForkJoinPool pool, int minLeafSize) {
+        if (pool == null || minLeafSize < 1) {
+            String message = "pool must be non-null and minLeafSize ≥ 1. Provided: " + minLeafSize;
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        this.pool = pool;
+        this.minLeafSize = minLeafSize;
+    }
+
+    /**
+     * Returns an analyzer on the common fork/join pool.
+     *
+     * @return shared analyzer
+     */
+    public static ParallelShapeAnalyzer common() {
+        return COMMON;
+    }
+
+    /**
+     * Analyzes a list of shapes.
+     *
+     * @param shapes non-null list without null elements
+     * @return the combined statistics
+     */
+    public ShapeStatistics analyze(List<? extends Shape3D> shapes) {
+        requireNonNull(shapes);
+        return analyze(shapes.spliterator());
+    }
+
+    /**
+     * Analyzes an array of shapes.
+     *
+     * @param shapes non-null array without null elements
+     * @return the combined statistics
+     */
+    public ShapeStatistics analyze(Shape3D[] shapes) {
+        requireNonNull(shapes);
+        return analyze(Arrays.spliterator(shapes));
+    }
+
+    /**
+     * Analyzes any source of shapes. Sources that report {@link Spliterator#SUBSIZED}
+     * split evenly; others split for as long as their estimates stay large.
+     *
+     * @param source an unconsumed spliterator
+     * @return the combined statistics
+     */
+    public ShapeStatistics analyze(Spliterator<? extends Shape3D> source) {
+        requireNonNull(source);
+        long leaf = leafSize(source.estimateSize());
+        if (source.estimateSize() <= leaf) {
+            return new StatisticsTask(source, leaf).compute();
+        }
+        return pool.invoke(new StatisticsTask(source, leaf));
+    }
+
+    /**
+     * Analyzes a columnar store; leaves read rows directly without materializing shapes.
+     *
+     * @param store the store
+     * @return the combined statistics
+     */
+    public ShapeStatistics analyze(ShapeStore store) {
+        requireNonNull(store);
+        int size = store.size();
+        long leaf = leafSize(size);
+        StoreTask task = new StoreTask(store, 0, size, leaf);
+        return size <= leaf ? task.compute() : pool.invoke(task);
+    }
+
+    private long leafSize(long size) {
+        long perWorker = size / ((long) pool.getParallelism() * LEAVES_PER_WORKER);
+        return Math.max(minLeafSize, perWorker);
+    }
+
+    private static void requireNonNull(Object source) {
+        if (source == null) {
+            String message = "Source of shapes must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    /**
+     * Splits a spliterator into prefix/suffix halves until it is small enough.
+     * Tasks are never serialized.
+     */
+    @SuppressWarnings("serial")
+    private static final class StatisticsTask extends RecursiveTask<ShapeStatistics> {
+
+        private final Spliterator<? extends Shape3D> spliterator;
+        private final long leafSize;
+
+        StatisticsTask(Spliterator<? extends Shape3D> spliterator, long leafSize) {
+            this.spliterator = spliterator;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected ShapeStatistics compute() {
+            if (spliterator.estimateSize() > leafSize) {
+                Spliterator<? extends Shape3D> prefix = spliterator.trySplit();
+                if (prefix != null) {
+                    StatisticsTask left = new StatisticsTask(prefix, leafSize);
+                    left.fork();
+                    ShapeStatistics right = new StatisticsTask(spliterator, leafSize).compute();
+                    ShapeStatistics result = left.join();
+                    result.combine(right);
+                    return result;
+                }
+            }
+            ShapeStatistics stats = new ShapeStatistics();
+            spliterator.forEachRemaining(stats::accept);
+            return stats;
+        }
+    }
+
+    /**
+     * Splits a row range of a {@link ShapeStore} in halves until it is small enough.
+     * Tasks are never serialized.
+     */
+    @SuppressWarnings("serial")
+    private static final class StoreTask extends RecursiveTask<ShapeStatistics> {
+
+        private final ShapeStore store;
+        private final int from;
+        private final int to;
+        private final long leafSize;
+
+        StoreTask(ShapeStore store, int from, int to, long leafSize) {
+            this.store = store;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected ShapeStatistics compute() {
+            if (to - from > leafSize) {
+                int mid = (from + to) >>> 1;
+                StoreTask left = new StoreTask(store, from, mid, leafSize);
+                left.fork();
+                ShapeStatistics right = new StoreTask(store, mid, to, leafSize).compute();
+                ShapeStatistics result = left.join();
+                result.combine(right);
+                return result;
+            }
+            ShapeStatistics stats = new ShapeStatistics();
+            for (int row = from; row < to; row++) {
+                stats.accept(store.typeAt(row), store.nameAt(row), store.volumeAt(row), store.surfaceAreaAt(row));
+            }
+            return stats;
+        }
+    }
+}
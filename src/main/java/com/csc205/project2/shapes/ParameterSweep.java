@@ -0,0 +1,866 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+/**
+ * Evaluates volume, surface area, and any {@link DerivedMetric}s of one {@link ShapeType}
+ * over every combination of dimension values on a grid, without creating shapes.
+ *
+ * <p>Example: every cylinder with a radius from 0.1 to 50 in steps of 0.01 and a height
+ * from 1 to 100 (about 500,000 points):</p>
+ * <pre>{@code
+ * ParameterSweep sweep = ParameterSweep.of(ShapeType.CYLINDER,
+ *         ParameterSweep.Axis.range(0.1, 50, 0.01), ParameterSweep.Axis.range(1, 100, 1))
+ *     .withMetrics(DerivedMetrics.SPHERICITY);
+ * ParameterSweep.Summary summary = sweep.summarize();   // streaming, any size
+ * ParameterSweep.Grid grid = sweep.evaluate();           // in memory
+ * sweep.forEach(batch -> ...);                           // custom sink
+ * }</pre>
+ *
+ * <p>Points are numbered in row-major order: the last axis varies fastest, so point
+ * {@code i} of a cylinder sweep has radius {@code radius[i / heights]} and height
+ * {@code height[i % heights]}.</p>
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>No objects per point:</em> dimensions are generated into primitive column
+ *       batches of 1024 points, evaluated by the {@link ShapeKernels} bulk kernels and the
+ *       compiled metric kernels, and handed to the sink as the same reused {@link Batch}.
+ *       Nothing is logged per point.</li>
+ *   <li><em>Fixed chunks:</em> points are split into fixed-size chunks evaluated in
+ *       parallel, so every value equals the corresponding {@link Shape3D} result and
+ *       summaries do not depend on the thread count.</li>
+ *   <li><em>Sinks or grids:</em> a {@link Sink} sees each batch once, so sweeps larger than
+ *       memory can be reduced as they stream; {@link #evaluate()} materializes the columns
+ *       when the grid fits.</li>
+ * </ol>
+ *
+ * <p>Instances are immutable and thread-safe.</p>
+ */
+public final class ParameterSweep {
+
+    private static final Logger LOGGER = Logger.getLogger(ParameterSweep.class.getName());
+
+    /** Points per parallel chunk. */
+    static final int CHUNK = 1 << 14;
+
+    /** Points per batch handed to a sink. */
+    static final int BATCH = MetricExpression.BATCH;
+
+    /** Most points {@link #evaluate()} can hold, and most values one axis can have. */
+    public static final int MAX_GRID_SIZE = Integer.MAX_VALUE - 8;
+
+    /** {@code name = spec} pairs of a sweep specification; a spec runs up to the next pair. */
+    private static final Pattern ASSIGNMENT = Pattern.compile("([A-Za-z_]\\w*)\\s*=\\s*(.+?)\\s*(?=[A-Za-z_]\\w*\\s*=|$)");
+
+    /**
+     * The values one dimension takes in a sweep.
+     */
+    public static final class Axis {
+
+        private final double[] values;
+        private final String description;
+
+        private Axis(double[] values, String description) {
+            this.values = values;
+            this.description = description;
+        }
+
+        /**
+         * Returns the values {@code from, from + step, ...} up to and including {@code to}.
+         * A last value within rounding error of {@code to} is included as {@code to}.
+         *
+         * @param from the first value, ≥ 0
+         * @param to   the last value, ≥ from
+         * @param step the spacing, &gt; 0
+         * @return the axis
+         * @throws IllegalArgumentException if the bounds are invalid or there are too many values
+         */
+        public static Axis range(double from, double to, double step) {
+            String message = null;
+            if (!(from >= 0) || !(to >= from) || !Double.isFinite(to)) {
+                message = "A range needs 0 <= from <= to, got " + from + ".." + to;
+            } else if (!(step > 0) || !Double.isFinite(step)) {
+                message = "A range step must be positive, got " + step;
+            }
+            // The quotient is off by about one ulp of to, in units of step, plus its own
+            // rounding; an absolute epsilon would be too small for long axes
+            double quotient = (to - from) / step;
+            double tolerance = 4 * (Math.ulp(to) / step + Math.ulp(quotient));
+            double steps = Math.floor(quotient + tolerance);
+            double count = steps + 1;
+            if (message == null && count > MAX_GRID_SIZE) {
+                message = "Range " + from + ".." + to + " step " + step + " has more than "
+                        + MAX_GRID_SIZE + " values";
+            }
+            if (message != null) {
+                LOGGER.log(Level.SEVERE, message);
+                throw new IllegalArgumentException(message);
+            }
+            double[] values = new double[(int) count];
+            for (int k = 0; k < values.length; k++) {
+                // Multiplied, not accumulated, so later values carry no drift
+                values[k] = Math.min(from + k * step, to);
+            }
+            if (quotient - steps <= tolerance) {
+                values[values.length - 1] = to;
+            }
+            return new Axis(values, format(from) + ".." + format(to) + " step " + format(step));
+        }
+
+        /**
+         * Returns an axis of explicit values, in the given order.
+         *
+         * @param values one or more values, each ≥ 0
+         * @return the axis
+         * @throws IllegalArgumentException if values is empty or holds a negative or non-finite value
+         */
+        public static Axis of(double... values) {
+            if (values == null || values.length == 0) {
+                String message = "An axis needs at least one value.";
+                LOGGER.log(Level.SEVERE, message);
+                throw new IllegalArgumentException(message);
+            }
+            for (double value : values) {
+                if (!(value >= 0) || !Double.isFinite(value)) {
+                    String message = "Axis values must be finite and >= 0. Provided: " + Arrays.toString(values);
+                    LOGGER.log(Level.SEVERE, message);
+                    throw new IllegalArgumentException(message);
+                }
+            }
+            StringBuilder description = new StringBuilder();
+            for (int i = 0; i < values.length; i++) {
+                description.append(i == 0 ? "" : ", ").append(format(values[i]));
+            }
+            return new Axis(values.clone(), description.toString());
+        }
+
+        /**
+         * Parses {@code from..to} (step 1), {@code from..to:step}, or a comma-separated
+         * list of values such as {@code 1, 2.5, 10}.
+         *
+         * @param spec the axis specification
+         * @return the axis
+         * @throws IllegalArgumentException if spec is malformed or describes an invalid axis
+         */
+        public static Axis parse(String spec) {
+            String text = spec == null ? "" : spec.strip();
+            try {
+                int dots = text.indexOf("..");
+                if (dots >= 0) {
+                    int colon = text.indexOf(':', dots);
+                    double from = Double.parseDouble(text.substring(0, dots).strip());
+                    double to = Double.parseDouble(text.substring(dots + 2, colon < 0 ? text.length() : colon).strip());
+                    double step = colon < 0 ? 1.0 : Double.parseDouble(text.substring(colon + 1).strip());
+                    return range(from, to, step);
+                }
+                String[] parts = text.split(",");
+                double[] values = new double[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    values[i] = Double.parseDouble(parts[i].strip());
+                }
+                return of(values);
+            } catch (NumberFormatException e) {
+                String message = "Expected from..to[:step] or a list of numbers, got '" + text + "'";
+                LOGGER.log(Level.SEVERE, message);
+                throw new IllegalArgumentException(message, e);
+            }
+        }
+
+        /**
+         * Returns the number of values.
+         *
+         * @return at least 1
+         */
+        public int size() {
+            return values.length;
+        }
+
+        /**
+         * Returns one value.
+         *
+         * @param position 0 to {@link #size()} - 1
+         * @return the value
+         */
+        public double valueAt(int position) {
+            return values[position];
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    /**
+     * Receives a sweep's results one batch at a time.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        /**
+         * Consumes one batch. Unless the sweep runs {@linkplain #forEachOrdered ordered},
+         * batches arrive in no particular order and from several threads at once.
+         *
+         * @param batch the batch; reused after this call returns, so copy what must be kept
+         */
+        void accept(Batch batch);
+    }
+
+    /**
+     * A run of consecutive sweep points and their results, as primitive columns.
+     */
+    public static final class Batch {
+
+        private final ParameterSweep sweep;
+        private final double[][] dimensions;
+        private final double[] volumes = new double[BATCH];
+        private final double[] surfaceAreas = new double[BATCH];
+        private final double[][] values;
+        private final int[] positions;
+        private final double[][] columns = new double[MetricExpression.Input.values().length][];
+        private final MetricExpression.Scratch scratch = new MetricExpression.Scratch();
+        private long from;
+        private int count;
+
+        private Batch(ParameterSweep sweep) {
+            this.sweep = sweep;
+            this.dimensions = new double[sweep.axes.length][BATCH];
+            this.values = new double[sweep.metrics.length][BATCH];
+            this.positions = new int[sweep.axes.length];
+        }
+
+        /**
+         * Generates and evaluates points {@code [from, from + count)}.
+         */
+        private void fill(long from, int count) {
+            this.from = from;
+            this.count = count;
+            Axis[] axes = sweep.axes;
+            int last = axes.length - 1;
+            long rest = from;
+            for (int d = last; d >= 0; d--) {
+                positions[d] = (int) (rest % axes[d].values.length);
+                rest /= axes[d].values.length;
+            }
+            // Runs of the fastest axis are copied; the slower axes are constant along each run
+            for (int i = 0; i < count; ) {
+                int run = Math.min(count - i, axes[last].values.length - positions[last]);
+                System.arraycopy(axes[last].values, positions[last], dimensions[last], i, run);
+                for (int d = 0; d < last; d++) {
+                    Arrays.fill(dimensions[d], i, i + run, axes[d].values[positions[d]]);
+                }
+                i += run;
+                positions[last] += run;
+                for (int d = last; d > 0 && positions[d] == axes[d].values.length; d--) {
+                    positions[d] = 0;
+                    positions[d - 1]++;
+                }
+            }
+            double[] a = dimensions[0];
+            double[] b = dimensions.length > 1 ? dimensions[1] : null;
+            double[] c = dimensions.length > 2 ? dimensions[2] : null;
+            ShapeKernels.volumes(sweep.type, a, b, c, volumes, count);
+            ShapeKernels.surfaceAreas(sweep.type, a, b, c, surfaceAreas, count);
+            for (int m = 0; m < values.length; m++) {
+                sweep.metrics[m].evaluate(sweep.type, dimensions, volumes, surfaceAreas, count,
+                        values[m], columns, scratch);
+            }
+        }
+
+        /**
+         * Returns the sweep this batch belongs to.
+         *
+         * @return the sweep
+         */
+        public ParameterSweep sweep() {
+            return sweep;
+        }
+
+        /**
+         * Returns the index of the batch's first point.
+         *
+         * @return a point index in {@code [0, sweep.size())}
+         */
+        public long from() {
+            return from;
+        }
+
+        /**
+         * Returns the number of points in the batch.
+         *
+         * @return 1 to 1024
+         */
+        public int count() {
+            return count;
+        }
+
+        /**
+         * Returns a dimension of a point.
+         *
+         * @param dimension dimension in constructor order, e.g. 1 for a cylinder's height
+         * @param i         point in the batch, 0 to {@link #count()} - 1
+         * @return the dimension's value
+         */
+        public double dimension(int dimension, int i) {
+            return dimensions[dimension][i];
+        }
+
+        /**
+         * Returns the volume of a point.
+         *
+         * @param i point in the batch
+         * @return the volume
+         */
+        public double volume(int i) {
+            return volumes[i];
+        }
+
+        /**
+         * Returns the surface area of a point.
+         *
+         * @param i point in the batch
+         * @return the surface area
+         */
+        public double surfaceArea(int i) {
+            return surfaceAreas[i];
+        }
+
+        /**
+         * Returns the value of one of the sweep's metrics at a point.
+         *
+         * @param metric position of the metric in {@link ParameterSweep#metrics()}
+         * @param i      point in the batch
+         * @return the metric's value
+         */
+        public double value(int metric, int i) {
+            return values[metric][i];
+        }
+    }
+
+    /**
+     * A sweep's results held in memory, one primitive column per measure.
+     */
+    public static final class Grid {
+
+        private final ParameterSweep sweep;
+        private final double[] volumes;
+        private final double[] surfaceAreas;
+        private final double[][] values;
+
+        private Grid(ParameterSweep sweep, int size) {
+            this.sweep = sweep;
+            this.volumes = new double[size];
+            this.surfaceAreas = new double[size];
+            this.values = new double[sweep.metrics.length][size];
+        }
+
+        /**
+         * Returns the sweep that produced this grid.
+         *
+         * @return the sweep
+         */
+        public ParameterSweep sweep() {
+            return sweep;
+        }
+
+        /**
+         * Returns the number of points.
+         *
+         * @return the sweep's size
+         */
+        public int size() {
+            return volumes.length;
+        }
+
+        /**
+         * Returns the volume at a point.
+         *
+         * @param index point index, see {@link ParameterSweep#indexOf(int...)}
+         * @return the volume
+         */
+        public double volumeAt(int index) {
+            return volumes[index];
+        }
+
+        /**
+         * Returns the surface area at a point.
+         *
+         * @param index point index
+         * @return the surface area
+         */
+        public double surfaceAreaAt(int index) {
+            return surfaceAreas[index];
+        }
+
+        /**
+         * Returns the value of one of the sweep's metrics at a point.
+         *
+         * @param metric position of the metric in {@link ParameterSweep#metrics()}
+         * @param index  point index
+         * @return the value
+         */
+        public double valueAt(int metric, int index) {
+            return values[metric][index];
+        }
+
+        /**
+         * Returns a copy of the volume column.
+         *
+         * @return one volume per point, in point order
+         */
+        public double[] volumes() {
+            return volumes.clone();
+        }
+
+        /**
+         * Returns a copy of the surface area column.
+         *
+         * @return one surface area per point, in point order
+         */
+        public double[] surfaceAreas() {
+            return surfaceAreas.clone();
+        }
+
+        /**
+         * Returns a copy of one metric's column.
+         *
+         * @param metric position of the metric in {@link ParameterSweep#metrics()}
+         * @return one value per point, in point order
+         */
+        public double[] values(int metric) {
+            return values[metric].clone();
+        }
+    }
+
+    /**
+     * Count, exact mean, and extremes of one measure over a sweep. NaN values, e.g. of a
+     * metric reading a dimension the type lacks, are not counted.
+     *
+     * @param name     {@code volume}, {@code surfaceArea}, or the metric's name
+     * @param count    number of points with a value
+     * @param mean     mean value, NaN if count is zero
+     * @param min      smallest value, NaN if count is zero
+     * @param minIndex first point with the smallest value, -1 if count is zero
+     * @param max      largest value, NaN if count is zero
+     * @param maxIndex first point with the largest value, -1 if count is zero
+     */
+    public record Column(String name, long count, double mean, double min, long minIndex, double max, long maxIndex) {
+    }
+
+    /**
+     * Streaming summary of a sweep.
+     *
+     * @param points  number of points swept
+     * @param columns volume, surface area, then each metric in {@link ParameterSweep#metrics()} order
+     */
+    public record Summary(long points, List<Column> columns) {
+
+        public Summary {
+            columns = List.copyOf(columns);
+        }
+
+        /**
+         * Looks up a column by name, ignoring case.
+         *
+         * @param name e.g. {@code volume} or {@code sphericity}
+         * @return the column, or empty if there is none by that name
+         */
+        public Optional<Column> column(String name) {
+            return columns.stream().filter(column -> column.name().equalsIgnoreCase(name)).findFirst();
+        }
+    }
+
+    private final ShapeType type;
+    private final Axis[] axes;
+    private final DerivedMetric[] metrics;
+    private final long size;
+
+    private ParameterSweep(ShapeType type, Axis[] axes, DerivedMetric[] metrics, long size) {
+        this.type = type;
+        this.axes = axes;
+        this.metrics = metrics;
+        this.size = size;
+    }
+
+    /**
+     * Creates a sweep over the grid spanned by one axis per dimension.
+     *
+     * @param type the shape type
+     * @param axes one axis per dimension, in constructor order
+     * @return the sweep, with no metrics beyond volume and surface area
+     * @throws IllegalArgumentException if type or an axis is null, the number of axes is not
+     *                                  the type's arity, or the grid has more than
+     *                                  {@link Long#MAX_VALUE} points
+     */
+    public static ParameterSweep of(ShapeType type, Axis... axes) {
+        String message = null;
+        if (type == null) {
+            message = "type must not be null.";
+        } else if (axes == null || axes.length != type.arity() || Arrays.asList(axes).contains(null)) {
+            message = type.displayName() + " sweeps need one axis per dimension " + type.dimensionNames()
+                    + ". Provided: " + (axes == null ? "null" : Arrays.toString(axes));
+        }
+        long size = 1;
+        if (message == null) {
+            try {
+                for (Axis axis : axes) {
+                    size = Math.multiplyExact(size, axis.size());
+                }
+            } catch (ArithmeticException e) {
+                message = "A sweep cannot have more than " + Long.MAX_VALUE + " points.";
+            }
+        }
+        if (message != null) {
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return new ParameterSweep(type, axes.clone(), new DerivedMetric[0], size);
+    }
+
+    /**
+     * Parses a sweep such as {@code cylinder radius=0.1..50:0.01 height=1..100}: a type
+     * name, then {@code dimension=axis} for every dimension, in any order, with each axis
+     * as accepted by {@link Axis#parse(String)}.
+     *
+     * @param spec the specification; names ignore case and underscores
+     * @return the sweep
+     * @throws IllegalArgumentException if spec is malformed or names an unknown type or dimension
+     */
+    public static ParameterSweep parse(String spec) {
+        String text = spec == null ? "" : spec.strip();
+        int space = text.indexOf(' ');
+        String typeName = space < 0 ? text : text.substring(0, space);
+        ShapeType type = null;
+        for (ShapeType candidate : ShapeType.values()) {
+            if (normalize(candidate.name()).equals(normalize(typeName))) {
+                type = candidate;
+            }
+        }
+        if (type == null) {
+            String message = "Unknown shape type '" + typeName + "'; expected one of "
+                    + Arrays.toString(ShapeType.values());
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        Axis[] axes = new Axis[type.arity()];
+        Matcher matcher = ASSIGNMENT.matcher(space < 0 ? "" : text.substring(space + 1).strip());
+        while (matcher.find()) {
+            int dimension = type.dimensionNames().stream().map(ParameterSweep::normalize).toList()
+                    .indexOf(normalize(matcher.group(1)));
+            if (dimension < 0 || axes[dimension] != null) {
+                String message = (dimension < 0 ? "Unknown" : "Repeated") + " dimension '" + matcher.group(1)
+                        + "' for " + type.displayName() + "; expected " + type.dimensionNames();
+                LOGGER.log(Level.SEVERE, message);
+                throw new IllegalArgumentException(message);
+            }
+            axes[dimension] = Axis.parse(matcher.group(2));
+        }
+        for (int d = 0; d < axes.length; d++) {
+            if (axes[d] == null) {
+                String message = "Missing an axis for " + type.displayName() + " "
+                        + type.dimensionNames().get(d) + " in '" + text + "'";
+                LOGGER.log(Level.SEVERE, message);
+                throw new IllegalArgumentException(message);
+            }
+        }
+        return of(type, axes);
+    }
+
+    /**
+     * Returns a copy of this sweep that also evaluates the given metrics at every point.
+     *
+     * @param metrics the metrics, e.g. {@link DerivedMetrics#all()}
+     * @return the new sweep
+     * @throws IllegalArgumentException if metrics is null or holds null
+     */
+    public ParameterSweep withMetrics(List<DerivedMetric> metrics) {
+        if (metrics == null || metrics.contains(null)) {
+            String message = "Sweep metrics must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return new ParameterSweep(type, axes, metrics.toArray(new DerivedMetric[0]), size);
+    }
+
+    /**
+     * Returns a copy of this sweep that also evaluates the given metrics at every point.
+     *
+     * @param metrics the metrics
+     * @return the new sweep
+     * @throws IllegalArgumentException if metrics is null or holds null
+     */
+    public ParameterSweep withMetrics(DerivedMetric... metrics) {
+        return withMetrics(metrics == null ? null : Arrays.asList(metrics));
+    }
+
+    /**
+     * Returns the swept shape type.
+     *
+     * @return the type
+     */
+    public ShapeType type() {
+        return type;
+    }
+
+    /**
+     * Returns the axes, one per dimension in constructor order.
+     *
+     * @return an immutable list
+     */
+    public List<Axis> axes() {
+        return List.of(axes);
+    }
+
+    /**
+     * Returns the metrics evaluated besides volume and surface area.
+     *
+     * @return an immutable list
+     */
+    public List<DerivedMetric> metrics() {
+        return List.of(metrics);
+    }
+
+    /**
+     * Returns the number of points, the product of the axis sizes.
+     *
+     * @return at least 1
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the point at the given axis positions.
+     *
+     * @param positions one position per axis
+     * @return the point index
+     * @throws IllegalArgumentException if a position is out of range
+     */
+    public long indexOf(int... positions) {
+        if (positions == null || positions.length != axes.length) {
+            String message = "Expected " + axes.length + " axis positions. Provided: " + Arrays.toString(positions);
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        long index = 0;
+        for (int d = 0; d < axes.length; d++) {
+            if (positions[d] < 0 || positions[d] >= axes[d].size()) {
+                String message = "Position " + positions[d] + " is outside axis " + d + " of size " + axes[d].size();
+                LOGGER.log(Level.SEVERE, message);
+                throw new IllegalArgumentException(message);
+            }
+            index = index * axes[d].size() + positions[d];
+        }
+        return index;
+    }
+
+    /**
+     * Returns the dimensions of a point.
+     *
+     * @param index point index in {@code [0, size())}
+     * @return a new array of the point's dimensions in constructor order
+     * @throws IllegalArgumentException if index is out of range
+     */
+    public double[] dimensionsAt(long index) {
+        if (index < 0 || index >= size) {
+            String message = "Point " + index + " is outside a sweep of " + size + " points";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        double[] dimensions = new double[axes.length];
+        for (int d = axes.length - 1; d >= 0; d--) {
+            dimensions[d] = axes[d].values[(int) (index % axes[d].size())];
+            index /= axes[d].size();
+        }
+        return dimensions;
+    }
+
+    /**
+     * Streams every point to a sink, in parallel for large sweeps. The sink must be
+     * thread-safe; use {@link #forEachOrdered} for one that is not.
+     *
+     * @param sink receives each batch exactly once
+     */
+    public void forEach(Sink sink) {
+        run(requireSink(sink), true);
+    }
+
+    /**
+     * Streams every point to a sink on the calling thread, in point order.
+     *
+     * @param sink receives each batch exactly once, in order
+     */
+    public void forEachOrdered(Sink sink) {
+        run(requireSink(sink), false);
+    }
+
+    /**
+     * Evaluates every point into memory, in parallel for large sweeps.
+     *
+     * @return the grid
+     * @throws IllegalArgumentException if the sweep has more than {@link #MAX_GRID_SIZE} points
+     */
+    public Grid evaluate() {
+        if (size > MAX_GRID_SIZE) {
+            String message = "A sweep of " + size + " points is too large for a grid; summarize it or "
+                    + "stream it to a sink instead.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        Grid grid = new Grid(this, (int) size);
+        run(batch -> {
+            int at = (int) batch.from;
+            System.arraycopy(batch.volumes, 0, grid.volumes, at, batch.count);
+            System.arraycopy(batch.surfaceAreas, 0, grid.surfaceAreas, at, batch.count);
+            for (int m = 0; m < metrics.length; m++) {
+                System.arraycopy(batch.values[m], 0, grid.values[m], at, batch.count);
+            }
+        }, true);
+        return grid;
+    }
+
+    /**
+     * Summarizes every measure without keeping the points, so any size of sweep fits.
+     * Means are exact and, like the extremes, independent of the thread count.
+     *
+     * @return count, mean, and extremes of volume, surface area, and each metric
+     */
+    public Summary summarize() {
+        int measures = 2 + metrics.length;
+        List<Extremes[]> partials = chunks(true).mapToObj(chunk -> {
+            Extremes[] extremes = new Extremes[measures];
+            for (int m = 0; m < measures; m++) {
+                extremes[m] = new Extremes();
+            }
+            runChunk(chunk, batch -> {
+                extremes[0].addAll(batch.volumes, batch.from, batch.count);
+                extremes[1].addAll(batch.surfaceAreas, batch.from, batch.count);
+                for (int m = 0; m < metrics.length; m++) {
+                    extremes[2 + m].addAll(batch.values[m], batch.from, batch.count);
+                }
+            });
+            return extremes;
+        }).toList();
+
+        List<Column> columns = new ArrayList<>(measures);
+        for (int m = 0; m < measures; m++) {
+            // Merged in chunk order, so ties keep the earliest point
+            Extremes total = new Extremes();
+            for (Extremes[] partial : partials) {
+                total.add(partial[m]);
+            }
+            String name = m == 0 ? "volume" : m == 1 ? "surfaceArea" : metrics[m - 2].name();
+            columns.add(total.toColumn(name));
+        }
+        return new Summary(size, columns);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(type.displayName());
+        for (int d = 0; d < axes.length; d++) {
+            text.append(' ').append(type.dimensionNames().get(d)).append(" = ").append(axes[d]);
+            text.append(d < axes.length - 1 ? ";" : "");
+        }
+        return text.append(String.format(Locale.ROOT, " (%,d points)", size)).toString();
+    }
+
+    // ---------- Evaluation ----------
+
+    private void run(Sink sink, boolean parallel) {
+        long start = System.nanoTime();
+        chunks(parallel).forEach(chunk -> runChunk(chunk, sink));
+        LOGGER.log(Level.FINE, "Swept {0} in {1} ms",
+                new Object[]{this, (System.nanoTime() - start) / 1_000_000.0});
+    }
+
+    private LongStream chunks(boolean parallel) {
+        long chunks = (size + CHUNK - 1) / CHUNK;
+        LongStream range = LongStream.range(0, chunks);
+        return parallel && chunks > 1 ? range.parallel() : range;
+    }
+
+    private void runChunk(long chunk, Sink sink) {
+        Batch batch = new Batch(this);
+        long end = Math.min(size, (chunk + 1) * CHUNK);
+        for (long from = chunk * CHUNK; from < end; from += BATCH) {
+            batch.fill(from, (int) Math.min(BATCH, end - from));
+            sink.accept(batch);
+        }
+    }
+
+    /** Running count, exact sum, and first extremes of one measure. */
+    private static final class Extremes {
+        private final ExactSum sum = new ExactSum();
+        private long count;
+        private double min = Double.NaN;
+        private long minIndex = -1;
+        private double max = Double.NaN;
+        private long maxIndex = -1;
+
+        void addAll(double[] values, long from, int n) {
+            for (int i = 0; i < n; i++) {
+                double value = values[i];
+                if (Double.isNaN(value)) {
+                    continue;
+                }
+                sum.add(value);
+                if (count == 0 || value < min) {
+                    min = value;
+                    minIndex = from + i;
+                }
+                if (count == 0 || value > max) {
+                    max = value;
+                    maxIndex = from + i;
+                }
+                count++;
+            }
+        }
+
+        void add(Extremes other) {
+            if (other.count == 0) {
+                return;
+            }
+            sum.add(other.sum);
+            if (count == 0 || other.min < min) {
+                min = other.min;
+                minIndex = other.minIndex;
+            }
+            if (count == 0 || other.max > max) {
+                max = other.max;
+                maxIndex = other.maxIndex;
+            }
+            count += other.count;
+        }
+
+        Column toColumn(String name) {
+            return new Column(name, count, count == 0 ? Double.NaN : sum.value() / count, min, minIndex, max, maxIndex);
+        }
+    }
+
+    private static Sink requireSink(Sink sink) {
+        if (sink == null) {
+            String message = "Sweep sink must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return sink;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value) : Double.toString(value);
+    }
+}
@@ -0,0 +1,194 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntPredicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An executable plan for a {@link ShapeFilter} over a {@link ShapeCollection}, produced by
+ * {@link ShapeFilter#plan(ShapeCollection)}.
+ *
+ * <p>A plan records how candidate shapes are found (its {@link AccessPath}), which
+ * predicates are then tested on each candidate and in what order, and the planner's row and
+ * cost estimates. {@link #explain()} renders all of that as text.</p>
+ *
+ * <p>A plan belongs to the collection state it was made for. If the collection changes
+ * before {@link #execute()}, the filter is planned again, so results are always current.</p>
+ */
+public final class QueryPlan {
+
+    private static final Logger LOGGER = Logger.getLogger(QueryPlan.class.getName());
+
+    /** How a plan finds its candidate shapes. */
+    public enum AccessPath {
+        /** Every shape is a candidate. */
+        FULL_SCAN("Full scan"),
+        /** Candidates come from the type and color bitmap indexes. */
+        BITMAP_INDEX("Bitmap index"),
+        /** Candidates come from a metric range index. */
+        RANGE_INDEX("Range index"),
+        /** Candidates are a metric range intersected with the bitmap indexes. */
+        BITMAP_AND_RANGE("Bitmap index + range index");
+
+        private final String displayName;
+
+        AccessPath(String displayName) {
+            this.displayName = displayName;
+        }
+
+        /**
+         * Returns a human-readable name.
+         *
+         * @return e.g. "Bitmap index"
+         */
+        public String displayName() {
+            return displayName;
+        }
+    }
+
+    private final ShapeFilter filter;
+    private final ShapeCollection shapes;
+    private final long version;
+    private final AccessPath accessPath;
+    private final ShapeBitmap indexed;
+    private final List<ShapeQueryPlanner.Conjunct> indexedConjuncts;
+    private final ShapeQueryPlanner.Conjunct range;
+    private final List<ShapeQueryPlanner.Conjunct> residual;
+    private final double candidateRows;
+    private final double estimatedRows;
+    private final double estimatedCost;
+    private final double scanCost;
+
+    QueryPlan(ShapeFilter filter, ShapeCollection shapes, long version, AccessPath accessPath,
+              ShapeBitmap indexed, List<ShapeQueryPlanner.Conjunct> indexedConjuncts,
+              ShapeQueryPlanner.Conjunct range, List<ShapeQueryPlanner.Conjunct> residual,
+              double candidateRows, double estimatedRows, double estimatedCost, double scanCost) {
+        this.filter = filter;
+        this.shapes = shapes;
+        this.version = version;
+        this.accessPath = accessPath;
+        this.indexed = indexed;
+        this.indexedConjuncts = List.copyOf(indexedConjuncts);
+        this.range = range;
+        this.residual = List.copyOf(residual);
+        this.candidateRows = candidateRows;
+        this.estimatedRows = estimatedRows;
+        this.estimatedCost = estimatedCost;
+        this.scanCost = scanCost;
+    }
+
+    /**
+     * Runs the plan.
+     *
+     * @return the matching shapes, in the order they were added to the collection
+     */
+    public List<Shape3D> execute() {
+        if (version != shapes.version()) {
+            LOGGER.log(Level.FINE, "Collection changed since planning; re-planning {0}", filter.expression());
+            return filter.plan(shapes).execute();
+        }
+        ShapeBitmap candidates = switch (accessPath) {
+            case FULL_SCAN -> shapes.allSlots();
+            case BITMAP_INDEX -> indexed;
+            case RANGE_INDEX -> rangeSlots();
+            case BITMAP_AND_RANGE -> rangeSlots().and(indexed);
+        };
+        if (residual.isEmpty()) {
+            return shapes.shapesAt(candidates);
+        }
+        IntPredicate[] tests = new IntPredicate[residual.size()];
+        for (int i = 0; i < tests.length; i++) {
+            tests[i] = ShapeQueryPlanner.slotTest(residual.get(i), shapes);
+        }
+        List<Shape3D> matches = new ArrayList<>();
+        candidates.forEach(slot -> {
+            for (IntPredicate test : tests) {
+                if (!test.test(slot)) {
+                    return;
+                }
+            }
+            matches.add(shapes.shapeAtSlot(slot));
+        });
+        return matches;
+    }
+
+    private ShapeBitmap rangeSlots() {
+        FilterNode.Comparison comparison = (FilterNode.Comparison) range.node();
+        return shapes.planStatistics()
+                .rangeIndex(shapes, ShapeQueryPlanner.metricOf(comparison.field()))
+                .slots(comparison.operator(), comparison.value());
+    }
+
+    /**
+     * Returns how candidates are found.
+     *
+     * @return the chosen access path
+     */
+    public AccessPath accessPath() {
+        return accessPath;
+    }
+
+    /**
+     * Returns the planner's estimate of the number of matching shapes.
+     *
+     * @return estimated result size
+     */
+    public double estimatedRows() {
+        return estimatedRows;
+    }
+
+    /**
+     * Returns the planner's cost estimate, in units of one cached-value comparison.
+     *
+     * @return estimated cost of the chosen plan
+     */
+    public double estimatedCost() {
+        return estimatedCost;
+    }
+
+    /**
+     * Describes the plan: the access path with the predicates it answers, the remaining
+     * predicates in execution order with their estimated selectivity and per-shape cost,
+     * and the cost of a full scan for comparison.
+     *
+     * @return a multi-line description
+     */
+    public String explain() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "Query plan for: %s%n",
+                filter.matchesAll() ? "(all shapes)" : filter.expression()));
+        text.append(String.format(Locale.ROOT, "  Shapes:          %d%n", shapes.size()));
+        text.append(String.format(Locale.ROOT, "  Access path:     %s%n", accessPath.displayName()));
+        for (ShapeQueryPlanner.Conjunct c : indexedConjuncts) {
+            text.append(String.format(Locale.ROOT, "    bitmap  %s  [%.0f rows, exact]%n",
+                    ShapeQueryPlanner.describe(c.node()), c.selectivity() * shapes.size()));
+        }
+        if (range != null) {
+            text.append(String.format(Locale.ROOT, "    range   %s  [~%.0f rows]%n",
+                    ShapeQueryPlanner.describe(range.node()), range.selectivity() * shapes.size()));
+        }
+        text.append(String.format(Locale.ROOT, "  Candidates:      ~%.0f%n", candidateRows));
+        if (residual.isEmpty()) {
+            text.append(String.format("  Residual:        none%n"));
+        } else {
+            text.append(String.format("  Residual (in order):%n"));
+            int step = 1;
+            for (ShapeQueryPlanner.Conjunct c : residual) {
+                text.append(String.format(Locale.ROOT, "    %d. %s  [selectivity %.3f, cost %.1f%s]%n",
+                        step++, ShapeQueryPlanner.describe(c.node()), c.selectivity(), c.cost(),
+                        c.slots() != null ? ", narrowed by bitmap" : ""));
+            }
+        }
+        text.append(String.format(Locale.ROOT, "  Estimated rows:  ~%.0f%n", estimatedRows));
+        text.append(String.format(Locale.ROOT, "  Estimated cost:  %.0f (full scan: %.0f)", estimatedCost, scanCost));
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "QueryPlan[" + accessPath + ", ~" + Math.round(estimatedRows) + " rows]";
+    }
+}
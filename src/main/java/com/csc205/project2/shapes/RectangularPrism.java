@@ -18,6 +18,7 @@
  * - Implemented rectangular prism formulas for surface area and volume.
  * - Updated {@code toString()} to show all dimensions clearly.
  * - Added references to formula sources.
+ * - Declared final: it is one of the permitted subclasses of the sealed Shape3D.
  *
  * Formula Verification:
  * - Rectangular prism surface area: 2(lw + lh + wh) (Wolfram MathWorld: "Cuboid", https://mathworld.wolfram.com/Cuboid.html)
@@ -50,7 +51,7 @@ import java.util.logging.Logger;
  *   <li>Provides a clean {@code toString()} that appends dimensions to the base info.</li>
  * </ol>
  */
-public class RectangularPrism extends Shape3D {
+public final class RectangularPrism extends Shape3D {
 
     /** Logger specific to RectangularPrism computations. */
     private static final Logger LOGGER = Logger.getLogger(RectangularPrism.class.getName());
@@ -118,6 +119,7 @@ public class RectangularPrism extends Shape3D {
             LOGGER.log(Level.WARNING, "Length is set to zero.");
         }
         this.length = length;
+        dimensionsChanged();
         LOGGER.log(Level.INFO, "Set length to {0}", this.length);
     }
 
@@ -134,6 +136,7 @@ public class RectangularPrism extends Shape3D {
             LOGGER.log(Level.WARNING, "Width is set to zero.");
         }
         this.width = width;
+        dimensionsChanged();
         LOGGER.log(Level.INFO, "Set width to {0}", this.width);
     }
 
@@ -150,6 +153,7 @@ public class RectangularPrism extends Shape3D {
             LOGGER.log(Level.WARNING, "Height is set to zero.");
         }
         this.height = height;
+        dimensionsChanged();
         LOGGER.log(Level.INFO, "Set height to {0}", this.height);
     }
 
@@ -164,10 +168,7 @@ public class RectangularPrism extends Shape3D {
      */
     @Override
     protected double calculateSurfaceArea() {
-        double sa = 2.0 * (length * width + length * height + width * height);
-        LOGGER.log(Level.INFO, "Computed surface area of RectangularPrism (l={0}, w={1}, h={2}): {3}",
-                new Object[]{length, width, height, sa});
-        return sa;
+        return ShapeFormulas.prismSurfaceArea(length, width, height);
     }
 
     /**
@@ -179,10 +180,7 @@ public class RectangularPrism extends Shape3D {
      */
     @Override
     protected double calculateVolume() {
-        double vol = length * width * height;
-        LOGGER.log(Level.INFO, "Computed volume of RectangularPrism (l={0}, w={1}, h={2}): {3}",
-                new Object[]{length, width, height, vol});
-        return vol;
+        return ShapeFormulas.prismVolume(length, width, height);
     }
 
     // ---------- toString ----------
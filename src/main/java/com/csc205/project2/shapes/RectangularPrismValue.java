@@ -0,0 +1,124 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable value counterpart of {@link RectangularPrism}.
+ *
+ * @param name   non-blank name
+ * @param color  color, normalized to {@link Shape3D#DEFAULT_COLOR} if null/blank
+ * @param length length, must be ≥ 0
+ * @param width  width, must be ≥ 0
+ * @param height height, must be ≥ 0
+ */
+public record RectangularPrismValue(String name, String color, double length, double width, double height)
+        implements ShapeValue {
+
+    /**
+     * Creates a rectangular prism value.
+     *
+     * @param name   non-blank name
+     * @param color  color; null or blank means {@link Shape3D#DEFAULT_COLOR}
+     * @param length length, ≥ 0
+     * @param width  width, ≥ 0
+     * @param height height, ≥ 0
+     * @throws IllegalArgumentException if the name is blank or a dimension is negative or NaN
+     */
+    public RectangularPrismValue {
+        ShapeValues.requireName(name);
+        color = ShapeValues.normalizeColor(color);
+        ShapeValues.requireNonNegative("Length", length);
+        ShapeValues.requireNonNegative("Width", width);
+        ShapeValues.requireNonNegative("Height", height);
+    }
+
+    /**
+     * Creates a rectangular prism value with the default color.
+     *
+     * @param name   non-blank name
+     * @param length length, ≥ 0
+     * @param width  width, ≥ 0
+     * @param height height, ≥ 0
+     * @throws IllegalArgumentException if the name is blank or a dimension is negative or NaN
+     */
+    public RectangularPrismValue(String name, double length, double width, double height) {
+        this(name, null, length, width, height);
+    }
+
+    /**
+     * Captures the current state of a rectangular prism.
+     *
+     * @param prism a non-null rectangular prism
+     * @return an immutable snapshot
+     */
+    public static RectangularPrismValue of(RectangularPrism prism) {
+        return new RectangularPrismValue(prism.getName(), prism.getColor(),
+                prism.getLength(), prism.getWidth(), prism.getHeight());
+    }
+
+    /**
+     * Returns a copy with another length.
+     *
+     * @param length the new length, ≥ 0
+     * @return a new value
+     * @throws IllegalArgumentException if length is negative or NaN
+     */
+    public RectangularPrismValue withLength(double length) {
+        return new RectangularPrismValue(name, color, length, width, height);
+    }
+
+    /**
+     * Returns a copy with another width.
+     *
+     * @param width the new width, ≥ 0
+     * @return a new value
+     * @throws IllegalArgumentException if width is negative or NaN
+     */
+    public RectangularPrismValue withWidth(double width) {
+        return new RectangularPrismValue(name, color, length, width, height);
+    }
+
+    /**
+     * Returns a copy with another height.
+     *
+     * @param height the new height, ≥ 0
+     * @return a new value
+     * @throws IllegalArgumentException if height is negative or NaN
+     */
+    public RectangularPrismValue withHeight(double height) {
+        return new RectangularPrismValue(name, color, length, width, height);
+    }
+
+    @Override
+    public double getVolume() {
+        return ShapeFormulas.prismVolume(length, width, height);
+    }
+
+    @Override
+    public double getSurfaceArea() {
+        return ShapeFormulas.prismSurfaceArea(length, width, height);
+    }
+
+    @Override
+    public ShapeType type() {
+        return ShapeType.RECTANGULAR_PRISM;
+    }
+
+    /**
+     * Returns a fresh copy of the dimensions, {@code [length, width, height]}.
+     *
+     * @return a new array
+     */
+    @Override
+    public double[] dimensions() {
+        return new double[]{length, width, height};
+    }
+
+    /**
+     * Creates an equivalent mutable rectangular prism.
+     *
+     * @return a new {@link RectangularPrism}
+     */
+    @Override
+    public RectangularPrism toShape() {
+        return new RectangularPrism(name, color, length, width, height);
+    }
+}
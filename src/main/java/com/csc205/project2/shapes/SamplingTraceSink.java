@@ -0,0 +1,119 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link ShapeMetricsSink} that records every {@code n}-th computation into a
+ * fixed-size ring buffer of primitive columns.
+ *
+ * <p>Unsampled events cost one atomic increment. Sampled events are written into
+ * preallocated arrays, so recording never allocates; only {@link #events()} creates
+ * objects, when the trace is read. Once the buffer is full the oldest events are
+ * overwritten.</p>
+ */
+public final class SamplingTraceSink implements ShapeMetricsSink {
+
+    private static final Logger LOGGER = Logger.getLogger(SamplingTraceSink.class.getName());
+
+    /**
+     * One recorded computation.
+     *
+     * @param nanoTime  {@link System#nanoTime()} when it was recorded
+     * @param shapeType simple class name of the shape
+     * @param shapeName the shape's name at the time
+     * @param metric    the computed metric
+     * @param value     the computed value
+     */
+    public record TraceEvent(long nanoTime, String shapeType, String shapeName, ShapeMetric metric, double value) {
+    }
+
+    private static final ShapeMetric[] METRICS = ShapeMetric.values();
+
+    private final int sampleEvery;
+    private final AtomicLong seen = new AtomicLong();
+
+    private final long[] times;
+    private final Class<?>[] types;
+    private final String[] names;
+    private final byte[] metrics;
+    private final double[] values;
+    private long recorded;
+
+    /**
+     * Creates a sink that records one in every {@code sampleEvery} computations.
+     *
+     * @param sampleEvery sampling interval, must be ≥ 1 (1 records everything)
+     * @param capacity    number of events retained, must be ≥ 1
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public SamplingTraceSink(int sampleEvery, int capacity) {
+        if (sampleEvery < 1 || capacity < 1) {
+            String message = "sampleEvery and capacity must be >= 1. Provided: " + sampleEvery + ", " + capacity;
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        this.sampleEvery = sampleEvery;
+        this.times = new long[capacity];
+        this.types = new Class<?>[capacity];
+        this.names = new String[capacity];
+        this.metrics = new byte[capacity];
+        this.values = new double[capacity];
+    }
+
+    @Override
+    public void computed(Shape3D shape, ShapeMetric metric, double value) {
+        if (seen.getAndIncrement() % sampleEvery != 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        synchronized (this) {
+            int slot = (int) (recorded++ % times.length);
+            times[slot] = now;
+            types[slot] = shape.getClass();
+            names[slot] = shape.getName();
+            metrics[slot] = (byte) metric.ordinal();
+            values[slot] = value;
+        }
+    }
+
+    /**
+     * Returns how many computations this sink has observed, sampled or not.
+     *
+     * @return observed event count
+     */
+    public long getObservedCount() {
+        return seen.get();
+    }
+
+    /**
+     * Returns the retained events, oldest first.
+     *
+     * @return a new list of at most {@code capacity} events
+     */
+    public synchronized List<TraceEvent> events() {
+        int count = (int) Math.min(recorded, times.length);
+        List<TraceEvent> result = new ArrayList<>(count);
+        long first = recorded - count;
+        for (long i = first; i < recorded; i++) {
+            int slot = (int) (i % times.length);
+            result.add(new TraceEvent(times[slot], types[slot].getSimpleName(), names[slot],
+                    METRICS[metrics[slot]], values[slot]));
+        }
+        return result;
+    }
+
+    /**
+     * Discards all retained events and resets the observed count.
+     */
+    public synchronized void clear() {
+        seen.set(0);
+        recorded = 0;
+        Arrays.fill(types, null);
+        Arrays.fill(names, null);
+    }
+}
@@ -0,0 +1,88 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Portable scalar implementation of the bulk kernels: one {@link ShapeFormulas}
+ * call per row, with the type switch hoisted out of the loop so each loop is
+ * monomorphic. Also used for the tail of {@link VectorShapeKernels}.
+ */
+final class ScalarShapeKernels implements ShapeKernelImpl {
+
+    static final ScalarShapeKernels INSTANCE = new ScalarShapeKernels();
+
+    private ScalarShapeKernels() {
+    }
+
+    @Override
+    public void volumes(ShapeType type, double[] a, double[] b, double[] c, double[] out, int from, int to) {
+        switch (type) {
+            case SPHERE -> {
+                for (int i = from; i < to; i++) out[i] = ShapeFormulas.sphereVolume(a[i]);
+            }
+            case CUBE -> {
+                for (int i = from; i < to; i++) out[i] = ShapeFormulas.cubeVolume(a[i]);
+            }
+            case CYLINDER -> {
+                for (int i = from; i < to; i++) out[i] = ShapeFormulas.cylinderVolume(a[i], b[i]);
+            }
+            case RECTANGULAR_PRISM -> {
+                for (int i = from; i < to; i++) out[i] = ShapeFormulas.prismVolume(a[i], b[i], c[i]);
+            }
+            case CONE -> {
+                for (int i = from; i < to; i++) out[i] = ShapeFormulas.coneVolume(a[i], b[i]);
+            }
+        }
+    }
+
+    @Override
+    public void surfaceAreas(ShapeType type, double[] a, double[] b, double[] c, double[] out, int from, int to) {
+        switch (type) {
+            case SPHERE -> {
+                for (int i = from; i < to; i++) out[i] = ShapeFormulas.sphereSurfaceArea(a[i]);
+            }
+            case CUBE -> {
+                for (int i = from; i < to; i++) out[i] = ShapeFormulas.cubeSurfaceArea(a[i]);
+            }
+            case CYLINDER -> {
+                for (int i = from; i < to; i++) out[i] = ShapeFormulas.cylinderSurfaceArea(a[i], b[i]);
+            }
+            case RECTANGULAR_PRISM -> {
+                for (int i = from; i < to; i++) out[i] = ShapeFormulas.prismSurfaceArea(a[i], b[i], c[i]);
+            }
+            case CONE -> {
+                for (int i = from; i < to; i++) out[i] = ShapeFormulas.coneSurfaceArea(a[i], b[i]);
+            }
+        }
+    }
+
+    @Override
+    public void ratios(ShapeType type, double[] a, double[] b, double[] c, double[] out, int from, int to) {
+        switch (type) {
+            case SPHERE -> {
+                for (int i = from; i < to; i++) {
+                    out[i] = ShapeFormulas.sphereVolume(a[i]) / ShapeFormulas.sphereSurfaceArea(a[i]);
+                }
+            }
+            case CUBE -> {
+                for (int i = from; i < to; i++) {
+                    out[i] = ShapeFormulas.cubeVolume(a[i]) / ShapeFormulas.cubeSurfaceArea(a[i]);
+                }
+            }
+            case CYLINDER -> {
+                for (int i = from; i < to; i++) {
+                    out[i] = ShapeFormulas.cylinderVolume(a[i], b[i]) / ShapeFormulas.cylinderSurfaceArea(a[i], b[i]);
+                }
+            }
+            case RECTANGULAR_PRISM -> {
+                for (int i = from; i < to; i++) {
+                    out[i] = ShapeFormulas.prismVolume(a[i], b[i], c[i])
+                            / ShapeFormulas.prismSurfaceArea(a[i], b[i], c[i]);
+                }
+            }
+            case CONE -> {
+                for (int i = from; i < to; i++) {
+                    out[i] = ShapeFormulas.coneVolume(a[i], b[i]) / ShapeFormulas.coneSurfaceArea(a[i], b[i]);
+                }
+            }
+        }
+    }
+}
@@ -28,6 +28,8 @@
  * - Added logging calls at INFO, WARNING, and SEVERE as directed.
  * - Implemented defensive programming in setters and constructors.
  * - Used `getClass().getSimpleName()` for dynamic toString output.
+ * - Sealed the hierarchy to the five concrete shapes so type switches are exhaustive.
+ * - Added change listeners notified on dimension, name, and color changes.
  *
  * Formula Verification:
  * Not applicable (no formulas)
@@ -35,6 +37,7 @@
 
 package com.csc205.project2.shapes;
 
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -51,26 +54,57 @@ import java.util.logging.Logger;
  *   <li><em>Immutability of computation:</em> Public getters for surface area and volume
  *   are final and delegate to protected abstract calculators. This prevents subclasses
  *   from altering API contract while still supporting polymorphism.</li>
- *   <li><em>Logging:</em> A class-level {@link Logger} records lifecycle, computation,
- *   and error events at INFO, WARNING, and SEVERE levels respectively.</li>
+ *   <li><em>Logging:</em> A class-level {@link Logger} records lifecycle and error events
+ *   at INFO, WARNING, and SEVERE levels. Computations are reported to a pluggable
+ *   {@link ShapeMetricsSink}, which logs at INFO by default.</li>
  *   <li><em>Reusability:</em> The {@code baseInfo()} method produces a consistent string
  *   with name and color, which subclasses extend by appending their dimensions.</li>
+ *   <li><em>Opt-in memoization:</em> {@link #setCachingEnabled(boolean)} stores computed
+ *   values; subclasses call {@link #dimensionsChanged()} from their setters to invalidate them.</li>
+ *   <li><em>Sealed hierarchy:</em> only the five final shape classes may extend this class.
+ *   Pattern switches over a {@code Shape3D} are checked for exhaustiveness, and code such as
+ *   {@link ShapeBatch} can dispatch on the exact type once and then run a monomorphic loop.
+ *   A new shape must be added to the {@code permits} clause.</li>
+ *   <li><em>Observable:</em> {@link ShapeChangeListener}s are told about dimension, name,
+ *   and color changes, so collections can keep derived data current without rescanning.</li>
  * </ol>
- *
- * <p>This class is intended to be extended by concrete 3D shape classes such as
- * {@code Sphere}, {@code Cube}, or {@code Cylinder}.</p>
  */
-public abstract class Shape3D implements ThreeDimensionalShape {
+public abstract sealed class Shape3D implements ThreeDimensionalShape
+        permits Sphere, Cube, Cylinder, RectangularPrism, Cone {
 
     /** Logger instance for this class and its subclasses. */
     protected static final Logger LOGGER = Logger.getLogger(Shape3D.class.getName());
 
+    /** Color used when a null or blank color is supplied. */
+    public static final String DEFAULT_COLOR = "Unspecified";
+
+    /** Receives compute events; defaults to the historical INFO logging. */
+    private static volatile ShapeMetricsSink metricsSink = LoggingMetricsSink.INSTANCE;
+
     /** Name of the shape, must be non-null and non-blank. */
     private String name;
 
     /** Color of the shape, defaults to "Unspecified" if null/blank. */
     private String color;
 
+    /** Whether computed volume/surface area are memoized (opt-in, off by default). */
+    private boolean cachingEnabled;
+
+    /** Memoized values; only meaningful while the matching {@code *Cached} flag is set. */
+    private double cachedVolume;
+    private double cachedSurfaceArea;
+    private boolean volumeCached;
+    private boolean surfaceAreaCached;
+
+    /** Cache statistics, counted only while caching is enabled. */
+    private long cacheHits;
+    private long cacheMisses;
+
+    private static final ShapeChangeListener[] NO_LISTENERS = new ShapeChangeListener[0];
+
+    /** Registered listeners; replaced (never mutated) on change, so firing needs no copy. */
+    private ShapeChangeListener[] listeners = NO_LISTENERS;
+
     /**
      * Constructs a new Shape3D with a given name and default color.
      *
@@ -131,6 +165,7 @@ public abstract class Shape3D implements ThreeDimensionalShape {
         }
         this.name = name;
         LOGGER.log(Level.INFO, "Set name to {0}", this.name);
+        fireChanged(ShapeChangeListener.Change.NAME);
     }
 
     /**
@@ -150,11 +185,12 @@ public abstract class Shape3D implements ThreeDimensionalShape {
     public void setColor(String color) {
         if (color == null || color.isBlank()) {
             LOGGER.log(Level.WARNING, "Blank or null color provided, defaulting to 'Unspecified'");
-            this.color = "Unspecified";
+            this.color = DEFAULT_COLOR;
         } else {
             this.color = color;
         }
         LOGGER.log(Level.INFO, "Set color to {0}", this.color);
+        fireChanged(ShapeChangeListener.Change.COLOR);
     }
 
     /**
@@ -164,9 +200,18 @@ public abstract class Shape3D implements ThreeDimensionalShape {
      */
     @Override
     public final double getSurfaceArea() {
+        if (surfaceAreaCached) {
+            cacheHits++;
+            metricsSink.cacheHit(this, ShapeMetric.SURFACE_AREA);
+            return cachedSurfaceArea;
+        }
         double area = calculateSurfaceArea();
-        LOGGER.log(Level.INFO, "Computed surface area for {0}: {1}",
-                new Object[]{name, area});
+        metricsSink.computed(this, ShapeMetric.SURFACE_AREA, area);
+        if (cachingEnabled) {
+            cacheMisses++;
+            cachedSurfaceArea = area;
+            surfaceAreaCached = true;
+        }
         return area;
     }
 
@@ -177,12 +222,159 @@ public abstract class Shape3D implements ThreeDimensionalShape {
      */
     @Override
     public final double getVolume() {
+        if (volumeCached) {
+            cacheHits++;
+            metricsSink.cacheHit(this, ShapeMetric.VOLUME);
+            return cachedVolume;
+        }
         double volume = calculateVolume();
-        LOGGER.log(Level.INFO, "Computed volume for {0}: {1}",
-                new Object[]{name, volume});
+        metricsSink.computed(this, ShapeMetric.VOLUME, volume);
+        if (cachingEnabled) {
+            cacheMisses++;
+            cachedVolume = volume;
+            volumeCached = true;
+        }
         return volume;
     }
 
+    // ---------- Metrics ----------
+
+    /**
+     * Installs the sink that receives compute events from every shape.
+     *
+     * <p>The default {@link LoggingMetricsSink} logs each computation at INFO. Installing
+     * {@link ShapeMetricsSink#NONE}, a {@link CountingMetricsSink}, or a
+     * {@link SamplingTraceSink} makes {@link #getVolume()} and {@link #getSurfaceArea()}
+     * allocation-free.</p>
+     *
+     * @param sink the new sink; null is treated as {@link ShapeMetricsSink#NONE}
+     */
+    public static void setMetricsSink(ShapeMetricsSink sink) {
+        metricsSink = (sink == null) ? ShapeMetricsSink.NONE : sink;
+        LOGGER.log(Level.INFO, "Installed metrics sink {0}", metricsSink.getClass().getSimpleName());
+    }
+
+    /**
+     * Returns the currently installed metrics sink.
+     *
+     * @return the active sink, never null
+     */
+    public static ShapeMetricsSink getMetricsSink() {
+        return metricsSink;
+    }
+
+    // ---------- Memoization ----------
+
+    /**
+     * Turns memoization of {@link #getVolume()} and {@link #getSurfaceArea()} on or off.
+     *
+     * <p>While enabled, the first call computes (and logs) the value; later calls on an
+     * unchanged shape return the stored value without recomputing or logging. Any
+     * dimension setter invalidates the stored values. Disabling clears them.
+     * Memoization is not synchronized; a shape shared across threads should not be
+     * mutated while it is being read.</p>
+     *
+     * @param enabled true to memoize computed values
+     */
+    public void setCachingEnabled(boolean enabled) {
+        this.cachingEnabled = enabled;
+        if (!enabled) {
+            volumeCached = false;
+            surfaceAreaCached = false;
+        }
+        LOGGER.log(Level.INFO, "Caching {0} for {1}", new Object[]{enabled ? "enabled" : "disabled", name});
+    }
+
+    /**
+     * Returns whether memoization is enabled for this shape.
+     *
+     * @return true if computed values are memoized
+     */
+    public boolean isCachingEnabled() {
+        return cachingEnabled;
+    }
+
+    /**
+     * Returns how many volume/surface area reads were served from the cache.
+     *
+     * @return cache hit count
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Returns how many volume/surface area reads had to be computed while caching was enabled.
+     *
+     * @return cache miss count
+     */
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * Resets the hit and miss counters to zero without touching cached values.
+     */
+    public void resetCacheStatistics() {
+        cacheHits = 0;
+        cacheMisses = 0;
+    }
+
+    /**
+     * Must be called by subclasses whenever a field used by {@link #calculateVolume()}
+     * or {@link #calculateSurfaceArea()} changes. Discards any memoized values and
+     * notifies listeners.
+     */
+    protected void dimensionsChanged() {
+        volumeCached = false;
+        surfaceAreaCached = false;
+        fireChanged(ShapeChangeListener.Change.DIMENSIONS);
+    }
+
+    // ---------- Change listeners ----------
+
+    /**
+     * Registers a listener for dimension, name, and color changes. A listener added
+     * twice is notified twice.
+     *
+     * @param listener the listener, must not be null
+     * @throws IllegalArgumentException if listener is null
+     */
+    public void addChangeListener(ShapeChangeListener listener) {
+        if (listener == null) {
+            LOGGER.log(Level.SEVERE, "Attempted to add a null change listener to {0}", name);
+            throw new IllegalArgumentException("Change listener must not be null");
+        }
+        ShapeChangeListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Removes one registration of a listener, if present.
+     *
+     * @param listener the listener to remove
+     * @return true if it was registered
+     */
+    public boolean removeChangeListener(ShapeChangeListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                ShapeChangeListener[] updated = new ShapeChangeListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, updated.length - i);
+                listeners = updated.length == 0 ? NO_LISTENERS : updated;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void fireChanged(ShapeChangeListener.Change change) {
+        for (ShapeChangeListener listener : listeners) {
+            listener.shapeChanged(this, change);
+        }
+    }
+
     /**
      * Provides a consistent base string for subclasses to extend in {@code toString()}.
      *
@@ -0,0 +1,165 @@
+package com.csc205.project2.shapes;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Owner of the direct (off-heap) memory used by {@link OffHeapShapeStore}.
+ *
+ * <p>Every buffer handed out by an arena is released when the arena is closed, so the
+ * memory's lifetime is explicit rather than left to the garbage collector:</p>
+ *
+ * <pre>{@code
+ * try (ShapeArena arena = new ShapeArena()) {
+ *     OffHeapShapeStore store = new OffHeapShapeStore(arena, 1_000_000);
+ *     ...
+ * } // all off-heap memory of the store is freed here
+ * }</pre>
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li>Memory is held in direct {@link ByteBuffer}s because the
+ *       {@code java.lang.foreign} API is still a preview feature on Java 21.</li>
+ *   <li>On close, buffers are freed immediately through the JDK's buffer cleaner when it
+ *       is reachable ({@code sun.misc.Unsafe#invokeCleaner}); otherwise they are merely
+ *       dropped and reclaimed by the next GC cycle. Either way, every store allocated from
+ *       a closed arena rejects further access with {@link IllegalStateException}.</li>
+ *   <li>An arena is confined: it must not be closed while another thread is still
+ *       reading from one of its stores.</li>
+ * </ol>
+ */
+public final class ShapeArena implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ShapeArena.class.getName());
+
+    /** {@code sun.misc.Unsafe} instance and its {@code invokeCleaner} method, or null if unavailable. */
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Direct buffer cleaner unavailable; off-heap memory will be freed by GC: {0}",
+                    e.toString());
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final Map<ByteBuffer, Boolean> buffers = new IdentityHashMap<>();
+    private long allocatedBytes;
+    private boolean closed;
+
+    /**
+     * Opens a new, empty arena.
+     */
+    public ShapeArena() {
+        LOGGER.log(Level.INFO, "Opened ShapeArena");
+    }
+
+    /**
+     * Returns whether this arena has not been closed yet.
+     *
+     * @return true while the arena is open
+     */
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    /**
+     * Returns the number of off-heap bytes currently owned by this arena.
+     *
+     * @return live allocated bytes
+     */
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Allocates a zero-filled, native-order direct buffer owned by this arena.
+     *
+     * @param bytes size in bytes, must be ≥ 0
+     * @return a new direct buffer
+     * @throws IllegalStateException if the arena is closed
+     */
+    ByteBuffer allocate(int bytes) {
+        checkOpen();
+        if (bytes < 0) {
+            String message = "Allocation size must be >= 0. Provided: " + bytes;
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        buffers.put(buffer, Boolean.TRUE);
+        allocatedBytes += bytes;
+        return buffer;
+    }
+
+    /**
+     * Frees a single buffer before the arena closes (used when a store grows).
+     *
+     * @param buffer a buffer previously returned by {@link #allocate(int)}
+     */
+    void release(ByteBuffer buffer) {
+        checkOpen();
+        if (buffers.remove(buffer) != null) {
+            allocatedBytes -= buffer.capacity();
+            free(buffer);
+        }
+    }
+
+    /**
+     * Throws if the arena has been closed.
+     *
+     * @throws IllegalStateException if closed
+     */
+    void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("ShapeArena is closed");
+        }
+    }
+
+    /**
+     * Frees every buffer allocated from this arena. Closing twice is a no-op.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (ByteBuffer buffer : buffers.keySet()) {
+            free(buffer);
+        }
+        LOGGER.log(Level.INFO, "Closed ShapeArena, released {0} bytes in {1} buffers",
+                new Object[]{allocatedBytes, buffers.size()});
+        buffers.clear();
+        allocatedBytes = 0;
+    }
+
+    private static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null || buffer.capacity() == 0) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not free direct buffer eagerly: {0}", e.toString());
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.csc205.project2.shapes;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Evaluates volume, surface area, or efficiency for a whole {@code List<Shape3D>} at once,
+ * returning results in the list's original order.
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>Partition once:</em> a mixed list makes every {@code shape.getVolume()} call
+ *       site megamorphic. Construction walks the list a single time, dispatches on the
+ *       exact type with an exhaustive switch over the sealed {@link Shape3D} hierarchy,
+ *       and gathers each type's dimensions into its own primitive columns.</li>
+ *   <li><em>Monomorphic loops:</em> each type is then evaluated by one {@link ShapeKernels}
+ *       call over its columns; the loop body never changes type, so it inlines (and
+ *       vectorizes when the Vector API is available).</li>
+ *   <li><em>Original order:</em> each column row remembers its list index, and results
+ *       are scattered back to that index.</li>
+ *   <li><em>Identical results:</em> kernels match {@link Shape3D#getVolume()} and
+ *       {@link Shape3D#getSurfaceArea()} bit for bit. Batch evaluation reads dimensions
+ *       directly, so it neither reports to the {@link ShapeMetricsSink} nor uses per-shape caches.</li>
+ * </ol>
+ *
+ * <p>A batch is a snapshot: later changes to the shapes' dimensions are not seen. Build a
+ * new batch, or use the static helpers, to evaluate current values.</p>
+ */
+public final class ShapeBatch {
+
+    private static final Logger LOGGER = Logger.getLogger(ShapeBatch.class.getName());
+
+    private static final ShapeType[] TYPES = ShapeType.values();
+
+    /** Number of shapes in the batch. */
+    private final int size;
+
+    /** Per type: list indexes of its shapes, in list order. */
+    private final int[][] rows = new int[TYPES.length][];
+
+    /** Per type: dimension columns in constructor order; unused columns are null. */
+    private final double[][][] columns = new double[TYPES.length][][];
+
+    private ShapeBatch(List<? extends Shape3D> shapes) {
+        this.size = shapes.size();
+
+        // Pass 1: classify every shape and count per type
+        byte[] tags = new byte[size];
+        int[] counts = new int[TYPES.length];
+        int i = 0;
+        for (Shape3D shape : shapes) {
+            if (shape == null) {
+                String message = "Shape at index " + i + " is null.";
+                LOGGER.log(Level.SEVERE, message);
+                throw new IllegalArgumentException(message);
+            }
+            ShapeType type = ShapeType.of(shape);
+            tags[i++] = (byte) type.ordinal();
+            counts[type.ordinal()]++;
+        }
+        for (ShapeType type : TYPES) {
+            int count = counts[type.ordinal()];
+            rows[type.ordinal()] = new int[count];
+            double[][] cols = new double[ShapeType.MAX_ARITY][];
+            for (int d = 0; d < type.arity(); d++) {
+                cols[d] = new double[count];
+            }
+            columns[type.ordinal()] = cols;
+        }
+
+        // Pass 2: gather dimensions into each type's columns
+        int[] fill = new int[TYPES.length];
+        i = 0;
+        for (Shape3D shape : shapes) {
+            int t = tags[i];
+            int r = fill[t]++;
+            rows[t][r] = i++;
+            double[][] cols = columns[t];
+            switch (shape) {
+                case Sphere s -> cols[0][r] = s.getRadius();
+                case Cube c -> cols[0][r] = c.getSideLength();
+                case Cylinder c -> {
+                    cols[0][r] = c.getRadius();
+                    cols[1][r] = c.getHeight();
+                }
+                case RectangularPrism p -> {
+                    cols[0][r] = p.getLength();
+                    cols[1][r] = p.getWidth();
+                    cols[2][r] = p.getHeight();
+                }
+                case Cone c -> {
+                    cols[0][r] = c.getRadius();
+                    cols[1][r] = c.getHeight();
+                }
+            }
+        }
+    }
+
+    /**
+     * Partitions a list of shapes by concrete type and snapshots their dimensions.
+     *
+     * @param shapes non-null list without null elements
+     * @return a reusable batch
+     * @throws IllegalArgumentException if the list or any element is null
+     */
+    public static ShapeBatch of(List<? extends Shape3D> shapes) {
+        if (shapes == null) {
+            String message = "shapes must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return new ShapeBatch(shapes);
+    }
+
+    /**
+     * Evaluates one metric for every shape in a list.
+     *
+     * @param shapes non-null list without null elements
+     * @param metric the metric to compute
+     * @return a new array; element {@code i} belongs to {@code shapes.get(i)}
+     */
+    public static double[] evaluate(List<? extends Shape3D> shapes, ShapeMetric metric) {
+        return of(shapes).evaluate(metric);
+    }
+
+    /**
+     * Returns the number of shapes in the batch.
+     *
+     * @return shape count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns how many shapes of a type the batch holds.
+     *
+     * @param type a shape type
+     * @return count of that type
+     */
+    public int count(ShapeType type) {
+        return rows[type.ordinal()].length;
+    }
+
+    /**
+     * Computes the volume of every shape, in list order.
+     *
+     * @return a new array of length {@link #size()}
+     */
+    public double[] volumes() {
+        return evaluate(ShapeMetric.VOLUME);
+    }
+
+    /**
+     * Computes the surface area of every shape, in list order.
+     *
+     * @return a new array of length {@link #size()}
+     */
+    public double[] surfaceAreas() {
+        return evaluate(ShapeMetric.SURFACE_AREA);
+    }
+
+    /**
+     * Computes the V/SA efficiency ratio of every shape, in list order.
+     *
+     * @return a new array of length {@link #size()}
+     */
+    public double[] efficiencies() {
+        return evaluate(ShapeMetric.EFFICIENCY);
+    }
+
+    /**
+     * Computes a metric for every shape, in list order.
+     *
+     * @param metric the metric to compute
+     * @return a new array of length {@link #size()}
+     */
+    public double[] evaluate(ShapeMetric metric) {
+        double[] out = new double[size];
+        evaluate(metric, out);
+        return out;
+    }
+
+    /**
+     * Computes a metric for every shape into a caller-supplied array.
+     *
+     * @param metric the metric to compute
+     * @param out    array of length at least {@link #size()}; element {@code i} receives shape {@code i}
+     * @throws IllegalArgumentException if metric is null or out is too short
+     */
+    public void evaluate(ShapeMetric metric, double[] out) {
+        if (metric == null || out == null || out.length < size) {
+            String message = "metric must be non-null and out must hold " + size + " values.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        double[] scratch = null;
+        for (ShapeType type : TYPES) {
+            int[] typeRows = rows[type.ordinal()];
+            int n = typeRows.length;
+            if (n == 0) {
+                continue;
+            }
+            if (scratch == null || scratch.length < n) {
+                scratch = new double[n];
+            }
+            double[][] cols = columns[type.ordinal()];
+            switch (metric) {
+                case VOLUME -> ShapeKernels.volumes(type, cols[0], cols[1], cols[2], scratch, n);
+                case SURFACE_AREA -> ShapeKernels.surfaceAreas(type, cols[0], cols[1], cols[2], scratch, n);
+                case EFFICIENCY -> ShapeKernels.ratios(type, cols[0], cols[1], cols[2], scratch, n);
+            }
+            for (int r = 0; r < n; r++) {
+                out[typeRows[r]] = scratch[r];
+            }
+        }
+    }
+}
@@ -0,0 +1,599 @@
+package com.csc205.project2.shapes;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Compressed set of non-negative {@code int}s in the style of a Roaring bitmap, used to
+ * index shape positions by type and color.
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>Two-level layout:</em> values are split into a 16-bit high part, kept in a
+ *       sorted key array, and a 16-bit low part stored in a per-key container.</li>
+ *   <li><em>Adaptive containers:</em> a sparse chunk (up to 4096 values) is a sorted
+ *       {@code char[]}; a dense chunk is a 1024-word {@code long[]} bitmap. Either takes at
+ *       most 8 KB per 65536 positions, and dense chunks combine a word at a time.</li>
+ *   <li><em>Cheap set algebra:</em> {@link #and}, {@link #or}, and {@link #andNot} walk the
+ *       two key arrays in step and only touch chunks present on the relevant sides;
+ *       {@link #cardinality()} sums per-container counts without iterating.</li>
+ * </ol>
+ *
+ * <p>The set operations return new bitmaps and leave their inputs unchanged. Instances
+ * are not thread-safe.</p>
+ */
+public final class ShapeBitmap {
+
+    private static final Logger LOGGER = Logger.getLogger(ShapeBitmap.class.getName());
+
+    /** Largest cardinality stored as a sorted array. */
+    private static final int ARRAY_MAX = 4096;
+
+    /** Words in a bitmap container (65536 bits). */
+    private static final int WORDS = 1024;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    /**
+     * Creates an empty bitmap.
+     */
+    public ShapeBitmap() {
+    }
+
+    /**
+     * Creates a bitmap holding the given values.
+     *
+     * @param values non-negative values, in any order
+     * @return a new bitmap
+     */
+    public static ShapeBitmap of(int... values) {
+        ShapeBitmap bitmap = new ShapeBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Creates a bitmap holding every value in {@code [from, to)}.
+     *
+     * @param from first value, inclusive
+     * @param to   end value, exclusive
+     * @return a new bitmap
+     */
+    public static ShapeBitmap range(int from, int to) {
+        if (from < 0 || to < from) {
+            String message = "Invalid range [" + from + ", " + to + ").";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        ShapeBitmap bitmap = new ShapeBitmap();
+        for (int start = from; start < to; ) {
+            int high = start >>> 16;
+            int end = Math.min(to, (high + 1) << 16);
+            long[] words = new long[WORDS];
+            setRange(words, start & 0xFFFF, end - (high << 16));
+            bitmap.append((char) high, Container.ofBits(words, end - start).optimize());
+            start = end;
+        }
+        return bitmap;
+    }
+
+    // ---------- Mutation ----------
+
+    /**
+     * Adds a value.
+     *
+     * @param value a non-negative value
+     * @return true if the value was not already present
+     */
+    public boolean add(int value) {
+        requireNonNegative(value);
+        char high = (char) (value >>> 16);
+        int i = indexOf(high);
+        if (i < 0) {
+            i = -i - 1;
+            insertAt(i, high, Container.empty());
+        }
+        Container container = containers[i];
+        int before = container.cardinality;
+        containers[i] = container.add((char) value);
+        return containers[i].cardinality > before;
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param value a value
+     * @return true if the value was present
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = indexOf((char) (value >>> 16));
+        if (i < 0) {
+            return false;
+        }
+        int before = containers[i].cardinality;
+        Container updated = containers[i].remove((char) value);
+        boolean removed = updated.cardinality < before;
+        if (updated.cardinality == 0) {
+            removeAt(i);
+        } else {
+            containers[i] = updated;
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void clear() {
+        Arrays.fill(containers, 0, size, null);
+        size = 0;
+    }
+
+    // ---------- Queries ----------
+
+    /**
+     * Tests membership.
+     *
+     * @param value a value
+     * @return true if present
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = indexOf((char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return cardinality
+     */
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    /**
+     * Returns true if there are no values.
+     *
+     * @return emptiness
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Calls an action for each value in ascending order.
+     *
+     * @param action the action
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * Returns the values in ascending order.
+     *
+     * @return a new array
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] next = {0};
+        forEach(value -> values[next[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Returns an independent copy.
+     *
+     * @return a new bitmap with the same values
+     */
+    public ShapeBitmap copy() {
+        ShapeBitmap copy = new ShapeBitmap();
+        copy.keys = Arrays.copyOf(keys, Math.max(4, size));
+        copy.containers = new Container[copy.keys.length];
+        for (int i = 0; i < size; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    // ---------- Set algebra ----------
+
+    /**
+     * Returns the values present in both bitmaps.
+     *
+     * @param other another bitmap
+     * @return a new bitmap
+     */
+    public ShapeBitmap and(ShapeBitmap other) {
+        ShapeBitmap result = new ShapeBitmap();
+        int i = 0, j = 0;
+        while (i < size && j < other.size) {
+            int cmp = Character.compare(keys[i], other.keys[j]);
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                result.appendNonEmpty(keys[i], Container.and(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values present in either bitmap.
+     *
+     * @param other another bitmap
+     * @return a new bitmap
+     */
+    public ShapeBitmap or(ShapeBitmap other) {
+        ShapeBitmap result = new ShapeBitmap();
+        int i = 0, j = 0;
+        while (i < size || j < other.size) {
+            int cmp = i == size ? 1 : j == other.size ? -1 : Character.compare(keys[i], other.keys[j]);
+            if (cmp < 0) {
+                result.append(keys[i], containers[i++].copy());
+            } else if (cmp > 0) {
+                result.append(other.keys[j], other.containers[j++].copy());
+            } else {
+                result.append(keys[i], Container.or(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values present in this bitmap but not in the other. Together with
+     * {@link #range(int, int)} this gives complement ("NOT") within a universe.
+     *
+     * @param other the values to exclude
+     * @return a new bitmap
+     */
+    public ShapeBitmap andNot(ShapeBitmap other) {
+        ShapeBitmap result = new ShapeBitmap();
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.size && other.keys[j] == keys[i]) {
+                result.appendNonEmpty(keys[i], Container.andNot(containers[i], other.containers[j]));
+            } else {
+                result.append(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ShapeBitmap other) || size != other.size) return false;
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != other.keys[i] || !containers[i].sameValues(other.containers[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        int cardinality = cardinality();
+        int[] head = Arrays.copyOf(toArray(), Math.min(cardinality, 16));
+        String values = Arrays.toString(head);
+        if (cardinality > head.length) {
+            values = values.substring(0, values.length() - 1) + ", ...]";
+        }
+        return "ShapeBitmap {cardinality=" + cardinality + ", values=" + values + "}";
+    }
+
+    // ---------- Internals ----------
+
+    private static void requireNonNegative(int value) {
+        if (value < 0) {
+            String message = "ShapeBitmap values must be non-negative. Provided: " + value;
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertAt(int i, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = container;
+        size++;
+    }
+
+    private void removeAt(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+        containers[--size] = null;
+    }
+
+    /** Appends a container whose key is larger than every existing key. */
+    private void append(char key, Container container) {
+        insertAt(size, key, container);
+    }
+
+    private void appendNonEmpty(char key, Container container) {
+        if (container.cardinality > 0) {
+            append(key, container);
+        }
+    }
+
+    /** Sets bits {@code [from, to)} of a 65536-bit word array. */
+    private static void setRange(long[] words, int from, int to) {
+        for (int bit = from; bit < to; ) {
+            int word = bit >>> 6;
+            int end = Math.min(to, (word + 1) << 6);
+            long mask = (end - bit == 64) ? -1L : ((1L << (end - bit)) - 1) << (bit & 63);
+            words[word] |= mask;
+            bit = end;
+        }
+    }
+
+    /**
+     * Values of one 65536-wide chunk: a sorted {@code char[]} when {@link #bits} is null,
+     * otherwise a bitmap.
+     */
+    private static final class Container {
+
+        char[] array;
+        long[] bits;
+        int cardinality;
+
+        static Container empty() {
+            Container c = new Container();
+            c.array = new char[4];
+            return c;
+        }
+
+        static Container ofArray(char[] array, int cardinality) {
+            Container c = new Container();
+            c.array = array;
+            c.cardinality = cardinality;
+            return c;
+        }
+
+        static Container ofBits(long[] bits, int cardinality) {
+            Container c = new Container();
+            c.bits = bits;
+            c.cardinality = cardinality;
+            return c;
+        }
+
+        boolean contains(char low) {
+            return bits != null
+                    ? (bits[low >>> 6] & (1L << low)) != 0
+                    : Arrays.binarySearch(array, 0, cardinality, low) >= 0;
+        }
+
+        Container add(char low) {
+            if (bits != null) {
+                long before = bits[low >>> 6];
+                bits[low >>> 6] = before | (1L << low);
+                if (before != bits[low >>> 6]) {
+                    cardinality++;
+                }
+                return this;
+            }
+            int i = Arrays.binarySearch(array, 0, cardinality, low);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBits().add(low);
+            }
+            i = -i - 1;
+            if (cardinality == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(array, i, array, i + 1, cardinality - i);
+            array[i] = low;
+            cardinality++;
+            return this;
+        }
+
+        Container remove(char low) {
+            if (bits != null) {
+                long before = bits[low >>> 6];
+                bits[low >>> 6] = before & ~(1L << low);
+                if (before != bits[low >>> 6]) {
+                    cardinality--;
+                }
+                // Convert back with some hysteresis so add/remove at the boundary does not thrash
+                return cardinality <= ARRAY_MAX / 2 ? toArray() : this;
+            }
+            int i = Arrays.binarySearch(array, 0, cardinality, low);
+            if (i >= 0) {
+                System.arraycopy(array, i + 1, array, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        void forEach(int base, IntConsumer action) {
+            if (bits == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    action.accept(base | array[i]);
+                }
+                return;
+            }
+            for (int w = 0; w < WORDS; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        Container copy() {
+            return bits != null
+                    ? ofBits(bits.clone(), cardinality)
+                    : ofArray(Arrays.copyOf(array, Math.max(4, cardinality)), cardinality);
+        }
+
+        Container toBits() {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[array[i] >>> 6] |= 1L << array[i];
+            }
+            return ofBits(words, cardinality);
+        }
+
+        Container toArray() {
+            char[] values = new char[Math.max(4, cardinality)];
+            int n = 0;
+            for (int w = 0; w < WORDS; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    values[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return ofArray(values, n);
+        }
+
+        /** Returns the array form if the values fit in one. */
+        Container optimize() {
+            return bits != null && cardinality <= ARRAY_MAX ? toArray() : this;
+        }
+
+        boolean sameValues(Container other) {
+            if (cardinality != other.cardinality) {
+                return false;
+            }
+            if (bits == null && other.bits == null) {
+                return Arrays.equals(array, 0, cardinality, other.array, 0, cardinality);
+            }
+            Container a = bits != null ? this : toBits();
+            Container b = other.bits != null ? other : other.toBits();
+            return Arrays.equals(a.bits, b.bits);
+        }
+
+        static Container and(Container a, Container b) {
+            if (a.bits != null && b.bits != null) {
+                long[] words = new long[WORDS];
+                int cardinality = 0;
+                for (int w = 0; w < WORDS; w++) {
+                    words[w] = a.bits[w] & b.bits[w];
+                    cardinality += Long.bitCount(words[w]);
+                }
+                return ofBits(words, cardinality).optimize();
+            }
+            // At least one side is an array: keep its values that the other side contains
+            Container small = a.bits == null ? a : b;
+            Container other = small == a ? b : a;
+            char[] values = new char[Math.max(4, small.cardinality)];
+            int n = 0;
+            for (int i = 0; i < small.cardinality; i++) {
+                if (other.contains(small.array[i])) {
+                    values[n++] = small.array[i];
+                }
+            }
+            return ofArray(values, n);
+        }
+
+        static Container or(Container a, Container b) {
+            if (a.bits == null && b.bits == null && a.cardinality + b.cardinality <= ARRAY_MAX) {
+                char[] values = new char[Math.max(4, a.cardinality + b.cardinality)];
+                int i = 0, j = 0, n = 0;
+                while (i < a.cardinality || j < b.cardinality) {
+                    if (j == b.cardinality || (i < a.cardinality && a.array[i] < b.array[j])) {
+                        values[n++] = a.array[i++];
+                    } else if (i == a.cardinality || b.array[j] < a.array[i]) {
+                        values[n++] = b.array[j++];
+                    } else {
+                        values[n++] = a.array[i++];
+                        j++;
+                    }
+                }
+                return ofArray(values, n);
+            }
+            Container result = a.bits != null ? a.copy() : a.toBits();
+            if (b.bits != null) {
+                for (int w = 0; w < WORDS; w++) {
+                    result.bits[w] |= b.bits[w];
+                }
+            } else {
+                for (int i = 0; i < b.cardinality; i++) {
+                    result.bits[b.array[i] >>> 6] |= 1L << b.array[i];
+                }
+            }
+            result.recount();
+            return result.optimize();
+        }
+
+        static Container andNot(Container a, Container b) {
+            if (a.bits == null) {
+                char[] values = new char[Math.max(4, a.cardinality)];
+                int n = 0;
+                for (int i = 0; i < a.cardinality; i++) {
+                    if (!b.contains(a.array[i])) {
+                        values[n++] = a.array[i];
+                    }
+                }
+                return ofArray(values, n);
+            }
+            Container result = a.copy();
+            if (b.bits != null) {
+                for (int w = 0; w < WORDS; w++) {
+                    result.bits[w] &= ~b.bits[w];
+                }
+            } else {
+                for (int i = 0; i < b.cardinality; i++) {
+                    result.bits[b.array[i] >>> 6] &= ~(1L << b.array[i]);
+                }
+            }
+            result.recount();
+            return result.optimize();
+        }
+
+        private void recount() {
+            int count = 0;
+            for (long word : bits) {
+                count += Long.bitCount(word);
+            }
+            cardinality = count;
+        }
+    }
+}
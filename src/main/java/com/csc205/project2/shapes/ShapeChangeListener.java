@@ -0,0 +1,29 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Receives notifications when a {@link Shape3D} is modified.
+ *
+ * <p>Listeners run synchronously on the thread that changed the shape, after the new
+ * value is in place. They should be quick and must not throw.</p>
+ */
+@FunctionalInterface
+public interface ShapeChangeListener {
+
+    /** What part of a shape changed. */
+    enum Change {
+        /** A dimension changed, so volume and surface area may have changed. */
+        DIMENSIONS,
+        /** The name changed. */
+        NAME,
+        /** The color changed. */
+        COLOR
+    }
+
+    /**
+     * Called after a shape changed.
+     *
+     * @param shape  the shape that changed
+     * @param change what changed
+     */
+    void shapeChanged(Shape3D shape, Change change);
+}
@@ -0,0 +1,653 @@
+package com.csc205.project2.shapes;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@code List<Shape3D>} that keeps its comparative statistics current as shapes are
+ * added, removed, replaced, or resized.
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>Evaluate on change, not on read:</em> each shape's volume, surface area, and
+ *       efficiency are computed when it joins the collection and again only when one of
+ *       its dimensions changes (via {@link ShapeChangeListener}). Reads never call back
+ *       into the shapes.</li>
+ *   <li><em>Running totals:</em> sums are kept exactly ({@link ExactSum}), so long
+ *       add/remove sequences do not drift and the totals do not depend on the order in
+ *       which shapes arrived; per-type counts are plain counters.</li>
+ *   <li><em>Indexed heaps for extremes:</em> a max-heap and a min-heap per metric track the
+ *       extremes. Every entry remembers its position in each heap, so removing or updating
+ *       any shape is O(log n) instead of a rescan.</li>
+ *   <li><em>O(1) analysis:</em> {@link #statistics()} assembles a {@link ShapeStatistics}
+ *       from the totals and heap tops without touching the shapes, whatever the size.</li>
+ *   <li><em>Bitmap indexes:</em> every shape also holds a <em>slot</em>, a small integer
+ *       id that does not move when other shapes are inserted or removed. A
+ *       {@link ShapeBitmap} per type and per color records which slots match, so equality
+ *       filters ({@link ShapeFilter}) combine bitmaps and read only the matching shapes.
+ *       Slots are handed out in insertion order and renumbered, order-preserving, only
+ *       when more than half of them are free.</li>
+ *   <li><em>Quantile sketches:</em> {@link #distributions()} folds each added shape into
+ *       {@link ShapeDistributions}. A sketch cannot forget a value, so a removal or resize
+ *       only marks the sketches stale; they are rebuilt, in parallel, on the next read.
+ *       Name and color sketches ({@link #sketches()}) work the same way.</li>
+ * </ol>
+ *
+ * <p>Ties between extremes go to the shape added earliest, which matches
+ * {@code Collections.max/min} for a list built by appending. Like {@link ArrayList}, the
+ * collection is not thread-safe, and it does not permit null elements.</p>
+ */
+public final class ShapeCollection extends AbstractList<Shape3D> implements RandomAccess {
+
+    private static final Logger LOGGER = Logger.getLogger(ShapeCollection.class.getName());
+
+    private static final int VOLUME = ShapeMetric.VOLUME.ordinal();
+    private static final int SURFACE_AREA = ShapeMetric.SURFACE_AREA.ordinal();
+    private static final int EFFICIENCY = ShapeMetric.EFFICIENCY.ordinal();
+    private static final int METRICS = ShapeMetric.values().length;
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final long[] typeCounts = new long[ShapeType.values().length];
+    private final ExactSum totalVolume = new ExactSum();
+    private final ExactSum totalSurfaceArea = new ExactSum();
+
+    /** Heap {@code 2m} is the max-heap of metric {@code m}; heap {@code 2m + 1} its min-heap. */
+    private final IndexedHeap[] heaps = new IndexedHeap[2 * METRICS];
+
+    /** Insertion counter used to break ties in favor of earlier shapes. */
+    private long nextSequence;
+
+    /** Entry occupying each slot, or null for a free slot. */
+    private Entry[] bySlot = new Entry[16];
+    private int nextSlot;
+    private ShapeBitmap liveSlots = new ShapeBitmap();
+    private final ShapeBitmap[] typeSlots = new ShapeBitmap[ShapeType.values().length];
+    private final Map<String, ShapeBitmap> colorSlots = new HashMap<>();
+
+    /** Bumped on every change a query could observe; lets planner statistics detect staleness. */
+    private long version;
+    private final ShapeQueryPlanner.Statistics planStatistics = new ShapeQueryPlanner.Statistics();
+
+    /** Quantile sketches kept current on additions, or null once a removal or resize made them stale. */
+    private ShapeDistributions distributions;
+
+    /** Name and color sketches kept current on additions, or null once they went stale. */
+    private ShapeSketches sketches;
+
+    /**
+     * Creates an empty collection.
+     */
+    public ShapeCollection() {
+        for (int m = 0; m < METRICS; m++) {
+            heaps[2 * m] = new IndexedHeap(2 * m, m, true);
+            heaps[2 * m + 1] = new IndexedHeap(2 * m + 1, m, false);
+        }
+        for (ShapeType type : ShapeType.values()) {
+            typeSlots[type.ordinal()] = new ShapeBitmap();
+        }
+    }
+
+    /**
+     * Creates a collection holding the given shapes, in iteration order.
+     *
+     * @param shapes shapes to add; none may be null
+     */
+    public ShapeCollection(Collection<? extends Shape3D> shapes) {
+        this();
+        addAll(shapes);
+    }
+
+    // ---------- List operations ----------
+
+    @Override
+    public Shape3D get(int index) {
+        return entries.get(index).shape;
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void add(int index, Shape3D shape) {
+        Entry entry = new Entry(requireShape(shape));
+        entries.add(index, entry);
+        link(entry);
+        modCount++;
+    }
+
+    @Override
+    public Shape3D set(int index, Shape3D shape) {
+        Entry replacement = new Entry(requireShape(shape));
+        Entry previous = entries.set(index, replacement);
+        unlink(previous);
+        link(replacement);
+        return previous.shape;
+    }
+
+    @Override
+    public Shape3D remove(int index) {
+        Entry entry = entries.remove(index);
+        unlink(entry);
+        modCount++;
+        return entry.shape;
+    }
+
+    @Override
+    public void clear() {
+        for (Entry entry : entries) {
+            entry.shape.removeChangeListener(entry);
+        }
+        entries.clear();
+        Arrays.fill(typeCounts, 0);
+        totalVolume.reset();
+        totalSurfaceArea.reset();
+        for (IndexedHeap heap : heaps) {
+            heap.clear();
+        }
+        Arrays.fill(bySlot, 0, nextSlot, null);
+        nextSlot = 0;
+        liveSlots.clear();
+        for (ShapeBitmap slots : typeSlots) {
+            slots.clear();
+        }
+        colorSlots.clear();
+        version++;
+        distributions = null;
+        sketches = null;
+        modCount++;
+        LOGGER.log(Level.INFO, "Cleared shape collection");
+    }
+
+    // ---------- Cached per-shape values ----------
+
+    /**
+     * Returns the volume of the shape at an index without recomputing it.
+     *
+     * @param index list index
+     * @return cached volume
+     */
+    public double volumeAt(int index) {
+        return entries.get(index).values[VOLUME];
+    }
+
+    /**
+     * Returns the surface area of the shape at an index without recomputing it.
+     *
+     * @param index list index
+     * @return cached surface area
+     */
+    public double surfaceAreaAt(int index) {
+        return entries.get(index).values[SURFACE_AREA];
+    }
+
+    /**
+     * Returns the V/SA ratio of the shape at an index without recomputing it.
+     *
+     * @param index list index
+     * @return cached efficiency
+     */
+    public double efficiencyAt(int index) {
+        return entries.get(index).values[EFFICIENCY];
+    }
+
+    // ---------- Aggregates (all O(1)) ----------
+
+    /**
+     * Returns the current comparative statistics.
+     *
+     * @return a new snapshot; later changes to the collection do not affect it
+     */
+    public ShapeStatistics statistics() {
+        return ShapeStatistics.snapshot(typeCounts, totalVolume.copy(), totalSurfaceArea.copy(),
+                extreme(VOLUME, true), extreme(VOLUME, false),
+                extreme(SURFACE_AREA, true), extreme(SURFACE_AREA, false),
+                extreme(EFFICIENCY, true), extreme(EFFICIENCY, false));
+    }
+
+    /**
+     * Returns quantile sketches of volume, surface area, and efficiency. Additions are
+     * folded into the sketches as they happen; after a removal or resize the sketches are
+     * rebuilt from the cached values on this call.
+     *
+     * @return a copy; later changes to the collection do not affect it
+     */
+    public ShapeDistributions distributions() {
+        if (distributions == null) {
+            distributions = ShapeDistributions.of(this);
+        }
+        return distributions.copy();
+    }
+
+    /**
+     * Returns distinct-count and heavy-hitter sketches of names and colors. Additions are
+     * folded in as they happen; after a removal, rename, or recolor the sketches are
+     * rebuilt on this call.
+     *
+     * @return a copy; later changes to the collection do not affect it
+     */
+    public ShapeSketches sketches() {
+        if (sketches == null) {
+            sketches = ShapeSketches.build(size(), index -> get(index).getName(), index -> get(index).getColor());
+        }
+        return sketches.copy();
+    }
+
+    /**
+     * Returns the sum of all volumes.
+     *
+     * @return total volume
+     */
+    public double getTotalVolume() {
+        return totalVolume.value();
+    }
+
+    /**
+     * Returns the sum of all surface areas.
+     *
+     * @return total surface area
+     */
+    public double getTotalSurfaceArea() {
+        return totalSurfaceArea.value();
+    }
+
+    /**
+     * Returns how many shapes of a type the collection holds.
+     *
+     * @param type a shape type
+     * @return count of that type
+     */
+    public long getCount(ShapeType type) {
+        return typeCounts[type.ordinal()];
+    }
+
+    /**
+     * Returns the shape with the largest or smallest value of a metric.
+     *
+     * @param metric  the metric
+     * @param largest true for the maximum, false for the minimum
+     * @return the extreme, or null if the collection is empty
+     */
+    public ShapeStatistics.Extreme extreme(ShapeMetric metric, boolean largest) {
+        return extreme(metric.ordinal(), largest);
+    }
+
+    private ShapeStatistics.Extreme extreme(int metric, boolean largest) {
+        Entry top = heaps[2 * metric + (largest ? 0 : 1)].peek();
+        return top == null ? null : new ShapeStatistics.Extreme(top.shape.getName(), top.type, top.values[metric]);
+    }
+
+    // ---------- Bitmap indexes ----------
+
+    /**
+     * Returns the slots of every shape in the collection.
+     *
+     * @return a new bitmap
+     */
+    public ShapeBitmap allSlots() {
+        return liveSlots.copy();
+    }
+
+    /**
+     * Returns the slots of the shapes of a type.
+     *
+     * @param type a shape type
+     * @return a new bitmap
+     */
+    public ShapeBitmap slotsOfType(ShapeType type) {
+        return typeSlots[type.ordinal()].copy();
+    }
+
+    /**
+     * Returns the slots of the shapes with a color, compared case-insensitively like
+     * {@link String#equalsIgnoreCase}.
+     *
+     * @param color a color
+     * @return a new bitmap, empty if no shape has that color
+     */
+    public ShapeBitmap slotsOfColor(String color) {
+        ShapeBitmap slots = color == null ? null : colorSlots.get(colorKey(color));
+        return slots == null ? new ShapeBitmap() : slots.copy();
+    }
+
+    /**
+     * Returns the number of shapes with a color, without copying its bitmap.
+     *
+     * @param color a color, compared case-insensitively
+     * @return matching count
+     */
+    public int countOfColor(String color) {
+        ShapeBitmap slots = color == null ? null : colorSlots.get(colorKey(color));
+        return slots == null ? 0 : slots.cardinality();
+    }
+
+    /**
+     * Returns the shapes in the given slots, in slot order, which is the order they were
+     * added to the collection.
+     *
+     * @param slots slots obtained from this collection since its last modification
+     * @return a new list
+     * @throws IllegalArgumentException if a slot is not occupied
+     */
+    public List<Shape3D> shapesAt(ShapeBitmap slots) {
+        List<Shape3D> result = new ArrayList<>(slots.cardinality());
+        slots.forEach(slot -> result.add(entryAt(slot).shape));
+        return result;
+    }
+
+    /**
+     * Returns the shape in a slot.
+     *
+     * @param slot an occupied slot
+     * @return its shape
+     */
+    Shape3D shapeAtSlot(int slot) {
+        return entryAt(slot).shape;
+    }
+
+    /**
+     * Returns the cached value of a metric for the shape in a slot.
+     */
+    double valueAtSlot(int slot, ShapeMetric metric) {
+        return entryAt(slot).values[metric.ordinal()];
+    }
+
+    /**
+     * Returns the number of distinct (case-insensitive) colors.
+     */
+    int distinctColors() {
+        return colorSlots.size();
+    }
+
+    long version() {
+        return version;
+    }
+
+    ShapeQueryPlanner.Statistics planStatistics() {
+        return planStatistics;
+    }
+
+    private Entry entryAt(int slot) {
+        Entry entry = slot >= 0 && slot < nextSlot ? bySlot[slot] : null;
+        if (entry == null) {
+            String message = "Slot " + slot + " is not occupied.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return entry;
+    }
+
+    /**
+     * Folds case the way {@link String#equalsIgnoreCase} compares characters, so equal keys
+     * mean case-insensitively equal colors.
+     */
+    static String colorKey(String color) {
+        char[] chars = color.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    private void allocateSlot(Entry entry) {
+        if (nextSlot == bySlot.length) {
+            if (liveSlots.cardinality() < bySlot.length / 2) {
+                compactSlots();
+            } else {
+                bySlot = Arrays.copyOf(bySlot, bySlot.length * 2);
+            }
+        }
+        entry.slot = nextSlot++;
+        bySlot[entry.slot] = entry;
+    }
+
+    /** Renumbers occupied slots to {@code 0..n-1}, keeping their order, and rebuilds the bitmaps. */
+    private void compactSlots() {
+        int next = 0;
+        for (int slot = 0; slot < nextSlot; slot++) {
+            Entry entry = bySlot[slot];
+            if (entry != null) {
+                bySlot[slot] = null;
+                entry.slot = next;
+                bySlot[next++] = entry;
+            }
+        }
+        nextSlot = next;
+        liveSlots = ShapeBitmap.range(0, next);
+        for (ShapeBitmap slots : typeSlots) {
+            slots.clear();
+        }
+        colorSlots.clear();
+        for (int slot = 0; slot < next; slot++) {
+            typeSlots[bySlot[slot].type.ordinal()].add(slot);
+            colorSlots.computeIfAbsent(bySlot[slot].colorKey, k -> new ShapeBitmap()).add(slot);
+        }
+        LOGGER.log(Level.FINE, "Compacted shape slots to {0}", next);
+    }
+
+    private void indexColor(Entry entry) {
+        entry.colorKey = colorKey(entry.shape.getColor());
+        colorSlots.computeIfAbsent(entry.colorKey, k -> new ShapeBitmap()).add(entry.slot);
+    }
+
+    private void unindexColor(Entry entry) {
+        ShapeBitmap slots = colorSlots.get(entry.colorKey);
+        slots.remove(entry.slot);
+        if (slots.isEmpty()) {
+            colorSlots.remove(entry.colorKey);
+        }
+    }
+
+    // ---------- Maintenance ----------
+
+    private static Shape3D requireShape(Shape3D shape) {
+        if (shape == null) {
+            String message = "ShapeCollection does not permit null shapes.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return shape;
+    }
+
+    private void link(Entry entry) {
+        entry.evaluate();
+        entry.shape.addChangeListener(entry);
+        typeCounts[entry.type.ordinal()]++;
+        totalVolume.add(entry.values[VOLUME]);
+        totalSurfaceArea.add(entry.values[SURFACE_AREA]);
+        for (IndexedHeap heap : heaps) {
+            heap.add(entry);
+        }
+        allocateSlot(entry);
+        liveSlots.add(entry.slot);
+        typeSlots[entry.type.ordinal()].add(entry.slot);
+        indexColor(entry);
+        version++;
+        if (distributions != null) {
+            distributions.accept(entry.values[VOLUME], entry.values[SURFACE_AREA]);
+        }
+        if (sketches != null) {
+            sketches.accept(entry.shape.getName(), entry.shape.getColor());
+        }
+    }
+
+    private void unlink(Entry entry) {
+        entry.shape.removeChangeListener(entry);
+        typeCounts[entry.type.ordinal()]--;
+        for (IndexedHeap heap : heaps) {
+            heap.remove(entry);
+        }
+        liveSlots.remove(entry.slot);
+        typeSlots[entry.type.ordinal()].remove(entry.slot);
+        unindexColor(entry);
+        bySlot[entry.slot] = null;
+        version++;
+        distributions = null;
+        sketches = null;
+        totalVolume.add(-entry.values[VOLUME]);
+        totalSurfaceArea.add(-entry.values[SURFACE_AREA]);
+    }
+
+    private void dimensionsChanged(Entry entry) {
+        totalVolume.add(-entry.values[VOLUME]);
+        totalSurfaceArea.add(-entry.values[SURFACE_AREA]);
+        entry.evaluate();
+        version++;
+        distributions = null;
+        totalVolume.add(entry.values[VOLUME]);
+        totalSurfaceArea.add(entry.values[SURFACE_AREA]);
+        for (IndexedHeap heap : heaps) {
+            heap.update(entry);
+        }
+    }
+
+    /**
+     * One element of the collection, with its cached metric values, heap positions, and
+     * slot. It is also the listener registered on its shape.
+     */
+    private final class Entry implements ShapeChangeListener {
+
+        final Shape3D shape;
+        final ShapeType type;
+        final long sequence;
+        final double[] values = new double[METRICS];
+        final int[] heapIndex = new int[2 * METRICS];
+        int slot;
+        String colorKey;
+
+        Entry(Shape3D shape) {
+            this.shape = shape;
+            this.type = ShapeType.of(shape);
+            this.sequence = nextSequence++;
+        }
+
+        void evaluate() {
+            double volume = shape.getVolume();
+            double surfaceArea = shape.getSurfaceArea();
+            values[VOLUME] = volume;
+            values[SURFACE_AREA] = surfaceArea;
+            values[EFFICIENCY] = ShapeMetric.EFFICIENCY.of(volume, surfaceArea);
+        }
+
+        @Override
+        public void shapeChanged(Shape3D changed, Change change) {
+            if (change == Change.DIMENSIONS) {
+                dimensionsChanged(this);
+            } else if (change == Change.COLOR) {
+                unindexColor(this);
+                indexColor(this);
+                version++;
+                sketches = null;
+            } else if (change == Change.NAME) {
+                sketches = null;
+            }
+        }
+    }
+
+    /**
+     * Binary heap of entries ordered by one metric. Each entry stores its own position
+     * in {@link Entry#heapIndex}, which makes arbitrary removal and update O(log n).
+     */
+    private static final class IndexedHeap {
+
+        private final int id;
+        private final int metric;
+        private final boolean max;
+        private Entry[] heap = new Entry[16];
+        private int size;
+
+        IndexedHeap(int id, int metric, boolean max) {
+            this.id = id;
+            this.metric = metric;
+            this.max = max;
+        }
+
+        Entry peek() {
+            return size == 0 ? null : heap[0];
+        }
+
+        void add(Entry entry) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            place(entry, size++);
+            siftUp(entry.heapIndex[id]);
+        }
+
+        void remove(Entry entry) {
+            int index = entry.heapIndex[id];
+            Entry last = heap[--size];
+            heap[size] = null;
+            if (index < size) {
+                place(last, index);
+                update(last);
+            }
+        }
+
+        void update(Entry entry) {
+            int index = entry.heapIndex[id];
+            siftUp(index);
+            siftDown(entry.heapIndex[id]);
+        }
+
+        void clear() {
+            Arrays.fill(heap, 0, size, null);
+            size = 0;
+        }
+
+        /** True if {@code a} belongs above {@code b}: better value, or equal value and added earlier. */
+        private boolean above(Entry a, Entry b) {
+            int cmp = Double.compare(a.values[metric], b.values[metric]);
+            if (cmp != 0) {
+                return max ? cmp > 0 : cmp < 0;
+            }
+            return a.sequence < b.sequence;
+        }
+
+        private void place(Entry entry, int index) {
+            heap[index] = entry;
+            entry.heapIndex[id] = index;
+        }
+
+        private void siftUp(int index) {
+            Entry entry = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!above(entry, heap[parent])) {
+                    break;
+                }
+                place(heap[parent], index);
+                index = parent;
+            }
+            place(entry, index);
+        }
+
+        private void siftDown(int index) {
+            Entry entry = heap[index];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && above(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!above(heap[child], entry)) {
+                    break;
+                }
+                place(heap[child], index);
+                index = child;
+            }
+            place(entry, index);
+        }
+    }
+}
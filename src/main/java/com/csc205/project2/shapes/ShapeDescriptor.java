@@ -0,0 +1,98 @@
+package com.csc205.project2.shapes;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Compile-time metadata and a direct-call creator for one concrete {@link Shape3D} class.
+ *
+ * <p>Instances are generated by {@code ShapeRegistryProcessor} and exposed through
+ * {@link ShapeRegistry}; dimension names are the constructor's parameter names.</p>
+ *
+ * @param type           the concrete shape class
+ * @param dimensionNames dimension names in constructor order, e.g. {@code [radius, height]}
+ * @param creator        calls the shape's constructor directly
+ */
+public record ShapeDescriptor(Class<? extends Shape3D> type, List<String> dimensionNames, Creator creator) {
+
+    private static final Logger LOGGER = Logger.getLogger(ShapeDescriptor.class.getName());
+
+    /**
+     * Direct constructor call. A null color selects the name-only constructor when the
+     * shape has one; {@code dims} must already have {@link #arity()} entries.
+     */
+    @FunctionalInterface
+    public interface Creator {
+        Shape3D create(String name, String color, double[] dims);
+    }
+
+    public ShapeDescriptor {
+        if (type == null || dimensionNames == null || creator == null) {
+            throw new IllegalArgumentException("type, dimensionNames and creator must not be null");
+        }
+        dimensionNames = List.copyOf(dimensionNames);
+    }
+
+    /**
+     * Returns the number of dimensions the constructor takes.
+     *
+     * @return arity
+     */
+    public int arity() {
+        return dimensionNames.size();
+    }
+
+    /**
+     * Returns a human-readable name, e.g. {@code "Rectangular Prism"}.
+     *
+     * @return the class name split into words
+     */
+    public String displayName() {
+        return words(type.getSimpleName(), true);
+    }
+
+    /**
+     * Returns a prompt-friendly label for a dimension, e.g. {@code "side length"}.
+     *
+     * @param index zero-based dimension index
+     * @return the dimension name split into lower-case words
+     */
+    public String dimensionLabel(int index) {
+        return words(dimensionNames.get(index), false);
+    }
+
+    /**
+     * Creates a shape after checking the dimension count.
+     *
+     * @param name  shape name (validated by {@link Shape3D})
+     * @param color shape color; null or blank selects the default
+     * @param dims  exactly {@link #arity()} dimensions
+     * @return the new shape
+     * @throws IllegalArgumentException if dims has the wrong length or the constructor rejects the input
+     */
+    public Shape3D create(String name, String color, double... dims) {
+        if (dims == null || dims.length != arity()) {
+            String message = type.getSimpleName() + " expects " + arity() + " dimension(s) "
+                    + dimensionNames + ", got " + (dims == null ? "null" : String.valueOf(dims.length)) + ".";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return creator.create(name, (color == null || color.isBlank()) ? null : color, dims);
+    }
+
+    /**
+     * Splits a camelCase identifier into space-separated words.
+     */
+    private static String words(String identifier, boolean capitalized) {
+        StringBuilder out = new StringBuilder(identifier.length() + 4);
+        for (int i = 0; i < identifier.length(); i++) {
+            char c = identifier.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                out.append(' ');
+            }
+            out.append(capitalized ? c : Character.toLowerCase(c));
+        }
+        return out.toString();
+    }
+}
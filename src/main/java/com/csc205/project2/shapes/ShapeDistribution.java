@@ -0,0 +1,446 @@
+package com.csc205.project2.shapes;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A mergeable quantile sketch (KLL) of a stream of doubles, such as the volumes of a
+ * collection that is too large to sort.
+ *
+ * <p>Answers quantiles, CDF values, and histograms in bounded memory: about
+ * {@code 3k + log2(n / k)} retained values for {@code n} inputs. With the default
+ * {@code k = 200}, rank error is about 1.3% (see {@link #normalizedRankError()}): a
+ * reported p90 lies between the true p88.7 and p91.3 with 99% confidence. The minimum and
+ * maximum are exact, and so is everything while fewer than {@code k} values were seen.</p>
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>Compactor levels:</em> level {@code h} holds values that each stand for
+ *       {@code 2^h} inputs. When the sketch is full, the lowest over-capacity level is
+ *       sorted and every other value is promoted to the next level, randomly choosing the
+ *       odd or even ones. Capacities shrink by 2/3 per level below the top, which is what
+ *       makes the memory bound independent of {@code n} up to the log term.</li>
+ *   <li><em>Mergeable:</em> {@link #merge(ShapeDistribution)} appends each level of the
+ *       other sketch to the same level here and compacts, so partitions can be sketched in
+ *       parallel and combined with the same error guarantee.</li>
+ *   <li><em>Reproducible:</em> the coin flips come from a fixed-seed generator, so the same
+ *       inputs in the same order always give the same answers.</li>
+ *   <li><em>Sorted view on demand:</em> queries sort the weighted retained values once and
+ *       cache the result until the next update, so reading many quantiles is cheap.</li>
+ * </ol>
+ *
+ * <p>Like {@link java.util.DoubleSummaryStatistics}, instances are not thread-safe; give
+ * each thread its own and merge them.</p>
+ */
+public final class ShapeDistribution {
+
+    private static final Logger LOGGER = Logger.getLogger(ShapeDistribution.class.getName());
+
+    /** Default accuracy parameter, as in Apache DataSketches. */
+    public static final int DEFAULT_K = 200;
+
+    private static final int MIN_K = 8;
+    private static final int MAX_K = 1 << 16;
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private int retained;
+    private int capacity;
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private long random = 0x9E3779B97F4A7C15L;
+
+    // Sorted view for queries, or null after an update
+    private double[] sortedValues;
+    private long[] cumulativeWeights;
+
+    /**
+     * Creates an empty sketch with {@link #DEFAULT_K}.
+     */
+    public ShapeDistribution() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param k accuracy parameter; rank error shrinks roughly as {@code 1/k} and memory
+     *          grows as {@code 3k}
+     * @throws IllegalArgumentException if k is outside [8, 65536]
+     */
+    public ShapeDistribution(int k) {
+        if (k < MIN_K || k > MAX_K) {
+            String message = "Sketch accuracy k must be in [" + MIN_K + ", " + MAX_K + "], got " + k;
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        this.k = k;
+        levels[0] = new double[levelCapacity(0)];
+        capacity = totalCapacity();
+    }
+
+    /**
+     * Returns a copy that evolves independently of this sketch.
+     *
+     * @return a new sketch with the same contents
+     */
+    public ShapeDistribution copy() {
+        ShapeDistribution copy = new ShapeDistribution(k);
+        copy.levels = new double[levels.length][];
+        for (int h = 0; h < levels.length; h++) {
+            copy.levels[h] = levels[h].clone();
+        }
+        copy.sizes = sizes.clone();
+        copy.retained = retained;
+        copy.capacity = capacity;
+        copy.count = count;
+        copy.min = min;
+        copy.max = max;
+        copy.random = random;
+        return copy;
+    }
+
+    // ---------- Updates ----------
+
+    /**
+     * Records a value. NaN is ignored, since it has no rank.
+     *
+     * @param value the value
+     */
+    public void accept(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count == 0) {
+            min = max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        count++;
+        append(0, value);
+        retained++;
+        sortedValues = null;
+        if (retained >= capacity) {
+            compress();
+        }
+    }
+
+    /**
+     * Folds another sketch into this one.
+     *
+     * @param other a sketch with the same {@code k}; it is not modified
+     * @throws IllegalArgumentException if other is null or has a different k
+     */
+    public void merge(ShapeDistribution other) {
+        if (other == null || other.k != k) {
+            String message = "Can only merge sketches with the same k (" + k + ")"
+                    + (other == null ? ", got null" : ", got " + other.k);
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            min = other.min;
+            max = other.max;
+        } else {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+        count += other.count;
+        while (levels.length < other.levels.length) {
+            grow();
+        }
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+            retained += other.sizes[h];
+        }
+        sortedValues = null;
+        while (retained >= capacity) {
+            compress();
+        }
+    }
+
+    private void append(int level, double value) {
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], Math.max(4, 2 * levels[level].length));
+        }
+        levels[level][sizes[level]++] = value;
+    }
+
+    /** Compacts the lowest level that is at or over its capacity. */
+    private void compress() {
+        for (int h = 0; h < levels.length; h++) {
+            if (sizes[h] >= levelCapacity(h)) {
+                if (h + 1 == levels.length) {
+                    grow();
+                }
+                compact(h);
+                return;
+            }
+        }
+    }
+
+    /** Promotes every other value of a sorted level; an odd one out stays behind. */
+    private void compact(int h) {
+        double[] level = levels[h];
+        int size = sizes[h];
+        Arrays.sort(level, 0, size);
+        int pairs = size / 2;
+        // With an odd size, the largest value stays at this level
+        int offset = nextBit() ? 1 : 0;
+        for (int p = 0; p < pairs; p++) {
+            append(h + 1, level[2 * p + offset]);
+        }
+        if (size % 2 == 1) {
+            level[0] = level[size - 1];
+            sizes[h] = 1;
+        } else {
+            sizes[h] = 0;
+        }
+        retained -= pairs;
+    }
+
+    private void grow() {
+        int height = levels.length + 1;
+        levels = Arrays.copyOf(levels, height);
+        sizes = Arrays.copyOf(sizes, height);
+        levels[height - 1] = new double[4];
+        capacity = totalCapacity();
+    }
+
+    /** Level capacities shrink geometrically away from the top level, with a floor of 2. */
+    private int levelCapacity(int h) {
+        int depth = levels.length - 1 - h;
+        return Math.max(2, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private int totalCapacity() {
+        int total = 0;
+        for (int h = 0; h < levels.length; h++) {
+            total += levelCapacity(h);
+        }
+        return total;
+    }
+
+    private boolean nextBit() {
+        // xorshift64: deterministic, so equal inputs give equal sketches
+        random ^= random << 13;
+        random ^= random >>> 7;
+        random ^= random << 17;
+        return random < 0;
+    }
+
+    // ---------- Queries ----------
+
+    /**
+     * Returns how many values were recorded.
+     *
+     * @return input count, including merged sketches
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns whether no values were recorded.
+     *
+     * @return true if the count is zero
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the exact minimum.
+     *
+     * @return smallest value, or NaN if empty
+     */
+    public double min() {
+        return min;
+    }
+
+    /**
+     * Returns the exact maximum.
+     *
+     * @return largest value, or NaN if empty
+     */
+    public double max() {
+        return max;
+    }
+
+    /**
+     * Returns the accuracy parameter.
+     *
+     * @return k
+     */
+    public int k() {
+        return k;
+    }
+
+    /**
+     * Returns how many values the sketch currently stores, which bounds its memory.
+     *
+     * @return retained value count
+     */
+    public int retained() {
+        return retained;
+    }
+
+    /**
+     * Returns the rank error of {@link #quantile} and {@link #cdf}, as a fraction of the
+     * count, that holds with 99% confidence. This is the empirical fit published for
+     * KLL sketches by Apache DataSketches, {@code 2.296 / k^0.9723}.
+     *
+     * @return e.g. about 0.013 for k = 200
+     */
+    public double normalizedRankError() {
+        return 2.296 / Math.pow(k, 0.9723);
+    }
+
+    /**
+     * Returns an approximate quantile: the smallest retained value whose estimated rank
+     * reaches {@code fraction * count}.
+     *
+     * @param fraction in [0, 1]; 0 gives the minimum and 1 the maximum
+     * @return the quantile, or NaN if empty
+     * @throws IllegalArgumentException if fraction is outside [0, 1]
+     */
+    public double quantile(double fraction) {
+        if (!(fraction >= 0.0 && fraction <= 1.0)) {
+            String message = "Quantile fraction must be in [0, 1], got " + fraction;
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (fraction == 0.0) {
+            return min;
+        }
+        if (fraction == 1.0) {
+            return max;
+        }
+        sortedView();
+        long target = (long) Math.ceil(fraction * count);
+        int index = Arrays.binarySearch(cumulativeWeights, target);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return sortedValues[Math.min(index, sortedValues.length - 1)];
+    }
+
+    /**
+     * Returns several quantiles at once.
+     *
+     * @param fractions each in [0, 1]
+     * @return quantiles in the same order
+     * @throws IllegalArgumentException if a fraction is outside [0, 1]
+     */
+    public double[] quantiles(double... fractions) {
+        double[] result = new double[fractions.length];
+        for (int i = 0; i < fractions.length; i++) {
+            result[i] = quantile(fractions[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the approximate fraction of values less than or equal to {@code value}.
+     *
+     * @param value any value
+     * @return estimated CDF in [0, 1], or NaN if empty
+     */
+    public double cdf(double value) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        return weightAtOrBelow(value) / (double) count;
+    }
+
+    /**
+     * Returns approximate counts of values in the buckets between split points:
+     * {@code (-inf, s0], (s0, s1], ..., (s_last, +inf)}.
+     *
+     * @param splitPoints strictly increasing, non-NaN split points
+     * @return {@code splitPoints.length + 1} estimated counts that sum to {@link #count()}
+     * @throws IllegalArgumentException if the split points are not strictly increasing
+     */
+    public long[] histogram(double... splitPoints) {
+        for (int i = 0; i < splitPoints.length; i++) {
+            if (Double.isNaN(splitPoints[i]) || (i > 0 && splitPoints[i] <= splitPoints[i - 1])) {
+                String message = "Histogram split points must be strictly increasing numbers: "
+                        + Arrays.toString(splitPoints);
+                LOGGER.log(Level.SEVERE, message);
+                throw new IllegalArgumentException(message);
+            }
+        }
+        long[] counts = new long[splitPoints.length + 1];
+        long previous = 0;
+        for (int i = 0; i < splitPoints.length; i++) {
+            long atOrBelow = count == 0 ? 0 : weightAtOrBelow(splitPoints[i]);
+            counts[i] = atOrBelow - previous;
+            previous = atOrBelow;
+        }
+        counts[splitPoints.length] = count - previous;
+        return counts;
+    }
+
+    private long weightAtOrBelow(double value) {
+        sortedView();
+        // Last position whose value is <= the argument
+        int lo = 0, hi = sortedValues.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedValues[mid] <= value) lo = mid + 1; else hi = mid;
+        }
+        return lo == 0 ? 0 : cumulativeWeights[lo - 1];
+    }
+
+    /** Sorts retained values by value, with cumulative weights of {@code 2^level}. */
+    private void sortedView() {
+        if (sortedValues != null) {
+            return;
+        }
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                values[n] = levels[h][i];
+                weights[n++] = 1L << h;
+            }
+        }
+        // Sort by value, carrying weights: sort indices by the sortable bit pattern
+        long[] keys = new long[n];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = ShapeSorter.sortableBits(values[i]);
+            order[i] = i;
+        }
+        ShapeSorter.radixSort(keys, order);
+        sortedValues = new double[n];
+        cumulativeWeights = new long[n];
+        long running = 0;
+        for (int i = 0; i < n; i++) {
+            sortedValues[i] = values[order[i]];
+            running += weights[order[i]];
+            cumulativeWeights[i] = running;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return count == 0 ? "ShapeDistribution {empty}"
+                : String.format("ShapeDistribution {count=%d, min=%.4f, p50=%.4f, p90=%.4f, p99=%.4f, max=%.4f}",
+                        count, min, quantile(0.5), quantile(0.9), quantile(0.99), max);
+    }
+}
@@ -0,0 +1,194 @@
+package com.csc205.project2.shapes;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.IntToDoubleFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+/**
+ * Quantile sketches ({@link ShapeDistribution}) of volume, surface area, and efficiency
+ * (V/SA) for a group of shapes.
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>One sketch per metric:</em> every {@link ShapeMetric} gets its own sketch, fed
+ *       from a single evaluation of volume and surface area per shape.</li>
+ *   <li><em>Parallel but reproducible:</em> {@link #of(ShapeCollection)} and
+ *       {@link #of(ShapeStore)} sketch fixed-size chunks in parallel and then merge the
+ *       chunks left to right, so the result does not depend on the thread count.</li>
+ *   <li><em>Mergeable:</em> {@link #combine(ShapeDistributions)} merges each metric, so the
+ *       sketches also work as a parallel {@link Collector}.</li>
+ * </ol>
+ */
+public final class ShapeDistributions {
+
+    private static final Logger LOGGER = Logger.getLogger(ShapeDistributions.class.getName());
+
+    /** Rows per parallel chunk; fixed so that results do not depend on the thread count. */
+    static final int CHUNK = 1 << 14;
+
+    private final Map<ShapeMetric, ShapeDistribution> sketches = new EnumMap<>(ShapeMetric.class);
+
+    /**
+     * Creates empty sketches with {@link ShapeDistribution#DEFAULT_K}.
+     */
+    public ShapeDistributions() {
+        this(ShapeDistribution.DEFAULT_K);
+    }
+
+    /**
+     * Creates empty sketches.
+     *
+     * @param k accuracy parameter of each sketch
+     * @throws IllegalArgumentException if k is out of range
+     */
+    public ShapeDistributions(int k) {
+        for (ShapeMetric metric : ShapeMetric.values()) {
+            sketches.put(metric, new ShapeDistribution(k));
+        }
+    }
+
+    /**
+     * Sketches shapes in iteration order.
+     *
+     * @param shapes the shapes
+     * @return new sketches
+     */
+    public static ShapeDistributions of(Iterable<? extends Shape3D> shapes) {
+        if (shapes instanceof ShapeCollection collection) {
+            return of(collection);
+        }
+        ShapeDistributions distributions = new ShapeDistributions();
+        for (Shape3D shape : shapes) {
+            distributions.accept(shape);
+        }
+        return distributions;
+    }
+
+    /**
+     * Sketches a collection from its cached values, in parallel for large collections.
+     *
+     * @param shapes the collection
+     * @return new sketches
+     */
+    public static ShapeDistributions of(ShapeCollection shapes) {
+        return build(shapes.size(), shapes::volumeAt, shapes::surfaceAreaAt);
+    }
+
+    /**
+     * Sketches a columnar store using its bulk kernels, in parallel for large stores.
+     *
+     * @param store the store
+     * @return new sketches
+     */
+    public static ShapeDistributions of(ShapeStore store) {
+        int n = store.size();
+        double[] volumes = new double[n];
+        double[] surfaceAreas = new double[n];
+        store.volumes(volumes);
+        store.surfaceAreas(surfaceAreas);
+        return build(n, row -> volumes[row], row -> surfaceAreas[row]);
+    }
+
+    private static ShapeDistributions build(int n, IntToDoubleFunction volume, IntToDoubleFunction surfaceArea) {
+        int chunks = Math.max(1, (n + CHUNK - 1) / CHUNK);
+        ShapeDistributions[] partials = new ShapeDistributions[chunks];
+        IntStream range = IntStream.range(0, chunks);
+        (chunks > 1 ? range.parallel() : range).forEach(chunk -> {
+            ShapeDistributions partial = new ShapeDistributions();
+            int end = Math.min(n, (chunk + 1) * CHUNK);
+            for (int row = chunk * CHUNK; row < end; row++) {
+                partial.accept(volume.applyAsDouble(row), surfaceArea.applyAsDouble(row));
+            }
+            partials[chunk] = partial;
+        });
+        ShapeDistributions result = partials[0];
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            result.combine(partials[chunk]);
+        }
+        LOGGER.log(Level.FINE, "Sketched {0} shapes in {1} chunks", new Object[]{n, chunks});
+        return result;
+    }
+
+    /**
+     * Returns a collector that sketches a stream of shapes. It supports parallel streams.
+     *
+     * @return a collector producing {@link ShapeDistributions}
+     */
+    public static Collector<Shape3D, ?, ShapeDistributions> collector() {
+        return Collector.of(ShapeDistributions::new, ShapeDistributions::accept,
+                (left, right) -> {
+                    left.combine(right);
+                    return left;
+                });
+    }
+
+    /**
+     * Returns a copy that evolves independently of these sketches.
+     *
+     * @return new sketches with the same contents
+     */
+    public ShapeDistributions copy() {
+        ShapeDistributions copy = new ShapeDistributions(sketches.get(ShapeMetric.VOLUME).k());
+        sketches.forEach((metric, sketch) -> copy.sketches.put(metric, sketch.copy()));
+        return copy;
+    }
+
+    /**
+     * Records a shape, evaluating its volume and surface area once each.
+     *
+     * @param shape a non-null shape
+     */
+    public void accept(Shape3D shape) {
+        accept(shape.getVolume(), shape.getSurfaceArea());
+    }
+
+    /**
+     * Records precomputed values.
+     *
+     * @param volume      a shape's volume
+     * @param surfaceArea its surface area
+     */
+    public void accept(double volume, double surfaceArea) {
+        sketches.get(ShapeMetric.VOLUME).accept(volume);
+        sketches.get(ShapeMetric.SURFACE_AREA).accept(surfaceArea);
+        sketches.get(ShapeMetric.EFFICIENCY).accept(ShapeMetric.EFFICIENCY.of(volume, surfaceArea));
+    }
+
+    /**
+     * Merges other sketches into these.
+     *
+     * @param other sketches with the same k; they are not modified
+     * @throws IllegalArgumentException if the accuracy parameters differ
+     */
+    public void combine(ShapeDistributions other) {
+        sketches.forEach((metric, sketch) -> sketch.merge(other.sketches.get(metric)));
+    }
+
+    /**
+     * Returns the sketch of one metric. It is live: later updates to these sketches show.
+     *
+     * @param metric the metric
+     * @return its sketch
+     */
+    public ShapeDistribution get(ShapeMetric metric) {
+        return sketches.get(metric);
+    }
+
+    /**
+     * Returns how many shapes were recorded.
+     *
+     * @return shape count
+     */
+    public long count() {
+        return sketches.get(ShapeMetric.VOLUME).count();
+    }
+
+    @Override
+    public String toString() {
+        return "ShapeDistributions " + sketches;
+    }
+}
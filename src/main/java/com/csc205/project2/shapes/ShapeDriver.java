@@ -1,6 +1,9 @@
 package com.csc205.project2.shapes;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -12,12 +15,20 @@ import java.util.stream.Collectors;
  * - Interactive shape creation with user input validation
  * - Comparative analysis (largest volume, surface area, efficiency ratios)
  * - Performance timing for calculation operations
+ * - Parameter sweeps over grids of dimensions without creating shapes
  * - Professional formatted output with detailed statistics
  */
 public class ShapeDriver {
 
     private static final Scanner scanner = new Scanner(System.in);
-    private static final List<Shape3D> shapes = new ArrayList<>();
+    private static final ShapeCollection shapes = new ShapeCollection();
+
+    /** Selections at least this large get a sampled estimate before the exact analysis. */
+    private static final int PROGRESSIVE_THRESHOLD = 50_000;
+    private static final Duration QUICK_ESTIMATE_BUDGET = Duration.ofMillis(50);
+
+    /** {@code define name = expression} at the filter prompt registers a derived metric. */
+    private static final Pattern DEFINE = Pattern.compile("(?i)define\\s+([A-Za-z]\\w*)\\s*=\\s*(.+)");
 
     public static void main(String[] args) {
         System.out.println("=== 3D Shape Analysis System ===\n");
@@ -37,7 +48,8 @@ public class ShapeDriver {
                 case 3 -> performComparativeAnalysis();
                 case 4 -> runPerformanceTest();
                 case 5 -> clearAllShapes();
-                case 6 -> {
+                case 6 -> runParameterSweep();
+                case 7 -> {
                     System.out.println("Thank you for using the 3D Shape Analysis System!");
                     running = false;
                 }
@@ -73,7 +85,8 @@ public class ShapeDriver {
         System.out.println("3. Comparative Analysis");
         System.out.println("4. Performance Test");
         System.out.println("5. Clear All Shapes");
-        System.out.println("6. Exit");
+        System.out.println("6. Parameter Sweep");
+        System.out.println("7. Exit");
         System.out.println();
     }
 
@@ -91,26 +104,31 @@ public class ShapeDriver {
         for (int i = 0; i < shapes.size(); i++) {
             Shape3D shape = shapes.get(i);
             System.out.printf("%d. %s%n", i + 1, shape);
-            System.out.printf("   - Surface Area: %.2f square units%n", shape.getSurfaceArea());
-            System.out.printf("   - Volume: %.2f cubic units%n", shape.getVolume());
-            System.out.printf("   - Efficiency Ratio (V/SA): %.4f%n%n",
-                    shape.getVolume() / shape.getSurfaceArea());
+            System.out.printf("   - Surface Area: %.2f square units%n", shapes.surfaceAreaAt(i));
+            System.out.printf("   - Volume: %.2f cubic units%n", shapes.volumeAt(i));
+            System.out.printf("   - Efficiency Ratio (V/SA): %.4f%n%n", shapes.efficiencyAt(i));
         }
     }
 
     /**
-     * Interactive shape creation with user input validation
+     * Interactive shape creation with user input validation.
+     * The menu and dimension prompts come from {@link ShapeRegistry}.
      */
     private static void createInteractiveShape() {
+        List<ShapeDescriptor> types = ShapeRegistry.all();
         System.out.println("=== Create New Shape ===");
         System.out.println("Available shape types:");
-        System.out.println("1. Sphere");
-        System.out.println("2. Cube");
-        System.out.println("3. Cylinder");
-        System.out.println("4. Rectangular Prism");
+        for (int i = 0; i < types.size(); i++) {
+            System.out.printf("%d. %s%n", i + 1, types.get(i).displayName());
+        }
         System.out.println();
 
-        int shapeType = getIntInput("Select shape type (1-4): ");
+        int shapeType = getIntInput("Select shape type (1-" + types.size() + "): ");
+        if (shapeType < 1 || shapeType > types.size()) {
+            System.out.println("Invalid shape type selected.\n");
+            return;
+        }
+        ShapeDescriptor descriptor = types.get(shapeType - 1);
 
         try {
             String name = getStringInput("Enter shape name: ");
@@ -119,53 +137,22 @@ public class ShapeDriver {
                 color = null; // Will default to "Unspecified"
             }
 
-            Shape3D newShape = switch (shapeType) {
-                case 1 -> createSphere(name, color);
-                case 2 -> createCube(name, color);
-                case 3 -> createCylinder(name, color);
-                case 4 -> createRectangularPrism(name, color);
-                default -> {
-                    System.out.println("Invalid shape type selected.\n");
-                    yield null;
-                }
-            };
-
-            if (newShape != null) {
-                shapes.add(newShape);
-                System.out.printf("✓ Successfully created: %s%n%n", newShape);
+            double[] dims = new double[descriptor.arity()];
+            for (int i = 0; i < dims.length; i++) {
+                dims[i] = getDoubleInput("Enter " + descriptor.dimensionLabel(i) + ": ");
             }
 
+            Shape3D newShape = descriptor.create(name, color, dims);
+            shapes.add(newShape);
+            System.out.printf("✓ Successfully created: %s%n%n", newShape);
+
         } catch (IllegalArgumentException e) {
             System.out.printf("✗ Error creating shape: %s%n%n", e.getMessage());
         }
     }
 
-    private static Sphere createSphere(String name, String color) {
-        double radius = getDoubleInput("Enter radius: ");
-        return color != null ? new Sphere(name, color, radius) : new Sphere(name, radius);
-    }
-
-    private static Cube createCube(String name, String color) {
-        double side = getDoubleInput("Enter side length: ");
-        return color != null ? new Cube(name, color, side) : new Cube(name, side);
-    }
-
-    private static Cylinder createCylinder(String name, String color) {
-        double radius = getDoubleInput("Enter radius: ");
-        double height = getDoubleInput("Enter height: ");
-        return color != null ? new Cylinder(name, color, radius, height) : new Cylinder(name, radius, height);
-    }
-
-    private static RectangularPrism createRectangularPrism(String name, String color) {
-        double length = getDoubleInput("Enter length: ");
-        double width = getDoubleInput("Enter width: ");
-        double height = getDoubleInput("Enter height: ");
-        return color != null ? new RectangularPrism(name, color, length, width, height)
-                : new RectangularPrism(name, length, width, height);
-    }
-
     /**
-     * Performs comprehensive comparative analysis of all shapes
+     * Performs comprehensive comparative analysis of all shapes, or of those matching a {@link ShapeFilter}
      */
     private static void performComparativeAnalysis() {
         if (shapes.isEmpty()) {
@@ -173,58 +160,153 @@ public class ShapeDriver {
             return;
         }
 
-        System.out.println("=== Comparative Analysis Results ===\n");
-
-        // Find shapes with extreme values
-        Shape3D largestVolume = Collections.max(shapes, Comparator.comparing(Shape3D::getVolume));
-        Shape3D largestSurfaceArea = Collections.max(shapes, Comparator.comparing(Shape3D::getSurfaceArea));
-        Shape3D smallestVolume = Collections.min(shapes, Comparator.comparing(Shape3D::getVolume));
-        Shape3D smallestSurfaceArea = Collections.min(shapes, Comparator.comparing(Shape3D::getSurfaceArea));
-
-        // Calculate efficiency ratios
-        Shape3D mostEfficient = Collections.max(shapes,
-                Comparator.comparing(s -> s.getVolume() / s.getSurfaceArea()));
-        Shape3D leastEfficient = Collections.min(shapes,
-                Comparator.comparing(s -> s.getVolume() / s.getSurfaceArea()));
+        String expression = getStringInput(
+                "Filter (e.g. type = Cone and volume > 100; prefix with 'explain' to show the plan; "
+                        + "'define name = expression' adds a metric; press Enter for all shapes): ");
+        Matcher define = DEFINE.matcher(expression.strip());
+        if (define.matches()) {
+            try {
+                DerivedMetric metric = DerivedMetrics.register(define.group(1), define.group(2));
+                System.out.printf("✓ Registered metric %s%n%n", metric);
+            } catch (IllegalArgumentException e) {
+                System.out.printf("✗ %s%n%n", e.getMessage());
+            }
+            return;
+        }
+        boolean explain = expression.strip().toLowerCase().matches("explain\\b.*");
+        ShapeFilter filter;
+        try {
+            filter = ShapeFilter.compile(explain ? expression.strip().substring("explain".length()) : expression);
+        } catch (IllegalArgumentException e) {
+            System.out.printf("✗ %s%n%n", e.getMessage());
+            return;
+        }
+        if (explain) {
+            System.out.println(filter.plan(shapes).explain());
+            System.out.println();
+        }
+        List<Shape3D> selection = filter.matchesAll() ? shapes : filter.select(shapes);
+        if (selection.isEmpty()) {
+            System.out.println("No shapes match the filter.\n");
+            return;
+        }
 
-        // Statistical analysis
-        double avgVolume = shapes.stream().mapToDouble(Shape3D::getVolume).average().orElse(0.0);
-        double avgSurfaceArea = shapes.stream().mapToDouble(Shape3D::getSurfaceArea).average().orElse(0.0);
-        double totalVolume = shapes.stream().mapToDouble(Shape3D::getVolume).sum();
-        double totalSurfaceArea = shapes.stream().mapToDouble(Shape3D::getSurfaceArea).sum();
+        System.out.println("=== Comparative Analysis Results ===\n");
+        if (!filter.matchesAll()) {
+            System.out.printf("Filter: %s (%d of %d shapes)%n%n", filter.expression(), selection.size(), shapes.size());
+        }
+        if (selection.size() >= PROGRESSIVE_THRESHOLD) {
+            // Sample briefly so large selections show numbers before the exact pass
+            printEstimate(ProgressiveAnalysis.of(selection).runFor(QUICK_ESTIMATE_BUDGET, estimate -> { }));
+        }
 
-        // Shape type distribution
-        Map<String, Long> typeDistribution = shapes.stream()
-                .collect(Collectors.groupingBy(s -> s.getClass().getSimpleName(), Collectors.counting()));
+        // Maintained incrementally by the collection, so reading it is O(1) when unfiltered
+        ShapeStatistics stats = filter.matchesAll() ? shapes.statistics() : ShapeStatistics.of(selection);
+        ShapeStatistics.Extreme largestVolume = stats.getLargestVolume();
+        ShapeStatistics.Extreme largestSurfaceArea = stats.getLargestSurfaceArea();
+        ShapeStatistics.Extreme smallestVolume = stats.getSmallestVolume();
+        ShapeStatistics.Extreme smallestSurfaceArea = stats.getSmallestSurfaceArea();
+        ShapeStatistics.Extreme mostEfficient = stats.getMostEfficient();
+        ShapeStatistics.Extreme leastEfficient = stats.getLeastEfficient();
 
         // Display results
         System.out.printf("📊 EXTREMES:%n");
         System.out.printf("• Largest Volume: %s (%.2f cubic units)%n",
-                largestVolume.getName(), largestVolume.getVolume());
+                largestVolume.name(), largestVolume.value());
         System.out.printf("• Largest Surface Area: %s (%.2f square units)%n",
-                largestSurfaceArea.getName(), largestSurfaceArea.getSurfaceArea());
+                largestSurfaceArea.name(), largestSurfaceArea.value());
         System.out.printf("• Smallest Volume: %s (%.2f cubic units)%n",
-                smallestVolume.getName(), smallestVolume.getVolume());
+                smallestVolume.name(), smallestVolume.value());
         System.out.printf("• Smallest Surface Area: %s (%.2f square units)%n%n",
-                smallestSurfaceArea.getName(), smallestSurfaceArea.getSurfaceArea());
+                smallestSurfaceArea.name(), smallestSurfaceArea.value());
 
         System.out.printf("⚡ EFFICIENCY:%n");
         System.out.printf("• Most Efficient (V/SA): %s (%.4f)%n",
-                mostEfficient.getName(), mostEfficient.getVolume() / mostEfficient.getSurfaceArea());
+                mostEfficient.name(), mostEfficient.value());
         System.out.printf("• Least Efficient (V/SA): %s (%.4f)%n%n",
-                leastEfficient.getName(), leastEfficient.getVolume() / leastEfficient.getSurfaceArea());
+                leastEfficient.name(), leastEfficient.value());
 
         System.out.printf("📈 STATISTICS:%n");
-        System.out.printf("• Total Shapes: %d%n", shapes.size());
-        System.out.printf("• Average Volume: %.2f cubic units%n", avgVolume);
-        System.out.printf("• Average Surface Area: %.2f square units%n", avgSurfaceArea);
-        System.out.printf("• Combined Volume: %.2f cubic units%n", totalVolume);
-        System.out.printf("• Combined Surface Area: %.2f square units%n%n", totalSurfaceArea);
+        System.out.printf("• Total Shapes: %d%n", selection.size());
+        System.out.printf("• Average Volume: %.2f cubic units%n", stats.getAverageVolume());
+        System.out.printf("• Average Surface Area: %.2f square units%n", stats.getAverageSurfaceArea());
+        System.out.printf("• Combined Volume: %.2f cubic units%n", stats.getTotalVolume());
+        System.out.printf("• Combined Surface Area: %.2f square units%n%n", stats.getTotalSurfaceArea());
+
+        // Sketched in bounded memory; the collection keeps its sketches current as shapes are added
+        ShapeDistributions distributions = filter.matchesAll() ? shapes.distributions() : ShapeDistributions.of(selection);
+        double[] volumePercentiles = distributions.get(ShapeMetric.VOLUME).quantiles(0.5, 0.9, 0.99);
+        double[] areaPercentiles = distributions.get(ShapeMetric.SURFACE_AREA).quantiles(0.5, 0.9, 0.99);
+        double[] efficiencyPercentiles = distributions.get(ShapeMetric.EFFICIENCY).quantiles(0.5, 0.9, 0.99);
+        System.out.printf("📉 PERCENTILES (p50 / p90 / p99):%n");
+        System.out.printf("• Volume: %.2f / %.2f / %.2f cubic units%n",
+                volumePercentiles[0], volumePercentiles[1], volumePercentiles[2]);
+        System.out.printf("• Surface Area: %.2f / %.2f / %.2f square units%n",
+                areaPercentiles[0], areaPercentiles[1], areaPercentiles[2]);
+        System.out.printf("• Efficiency (V/SA): %.4f / %.4f / %.4f%n%n",
+                efficiencyPercentiles[0], efficiencyPercentiles[1], efficiencyPercentiles[2]);
+
+        // Each metric runs as a compiled bulk kernel over the selection
+        System.out.printf("📐 DERIVED METRICS (mean / min / max):%n");
+        for (DerivedMetric metric : DerivedMetrics.all()) {
+            DerivedMetric.Summary summary = metric.summarize(selection);
+            if (summary.count() > 0) {
+                System.out.printf("• %s: %.4f / %.4f / %.4f%n", metric.name(),
+                        summary.mean(), summary.min(), summary.max());
+            }
+        }
+        System.out.println();
 
         System.out.printf("🏷️  SHAPE DISTRIBUTION:%n");
-        typeDistribution.forEach((type, count) ->
-                System.out.printf("• %s: %d (%.1f%%)%n", type, count,
-                        100.0 * count / shapes.size()));
+        stats.getTypeCounts().forEach((type, count) ->
+                System.out.printf("• %s: %d (%.1f%%)%n", type.displayName(), count,
+                        100.0 * count / selection.size()));
+        System.out.println();
+
+        System.out.printf("🎨 BY COLOR:%n");
+        for (ShapeGroupBy.Group group : ShapeGroupBy.byColor().aggregate(selection)) {
+            System.out.printf("• %s: %d shapes, volume avg %.2f (σ %.2f), surface area avg %.2f (σ %.2f)%n",
+                    group.key(), group.count(),
+                    group.volume().mean(), group.volume().standardDeviation(),
+                    group.surfaceArea().mean(), group.surfaceArea().standardDeviation());
+        }
+        System.out.println();
+
+        // Fixed-size sketches, maintained by the collection as shapes are added
+        ShapeSketches sketches = filter.matchesAll() ? shapes.sketches() : ShapeSketches.of(selection);
+        System.out.printf("🔎 NAMES & COLORS (estimated, ±%.1f%%):%n", 100 * sketches.distinctError());
+        System.out.printf("• Distinct Names: ~%d%n", sketches.distinctNames());
+        System.out.printf("• Distinct Colors: ~%d%n", sketches.distinctColors());
+        StringJoiner topColors = new StringJoiner(", ");
+        for (HeavyHitters.Item item : sketches.topColors(5)) {
+            topColors.add(item.value() + " (" + item.count() + ")");
+        }
+        System.out.printf("• Top Colors: %s%n", topColors);
+        StringJoiner repeated = new StringJoiner(", ");
+        for (HeavyHitters.Item item : sketches.topNames(5)) {
+            if (item.guaranteedCount() > 1) {
+                repeated.add(item.value() + " (" + item.count() + ")");
+            }
+        }
+        if (repeated.length() > 0) {
+            System.out.printf("• Repeated Names: %s%n", repeated);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Prints a sampled estimate of the statistics with its confidence intervals
+     */
+    private static void printEstimate(ProgressiveAnalysis.Estimate estimate) {
+        System.out.printf("⏱️  QUICK ESTIMATE (%,d of %,d sampled, %.0f%% confidence):%n",
+                estimate.sampled(), estimate.population(), 100 * estimate.confidence());
+        System.out.printf("• Average Volume: %s cubic units%n", estimate.averageVolume());
+        System.out.printf("• Average Surface Area: %s square units%n", estimate.averageSurfaceArea());
+        System.out.printf("• Combined Volume: %s cubic units%n", estimate.totalVolume());
+        System.out.printf("• Combined Surface Area: %s square units%n", estimate.totalSurfaceArea());
+        estimate.typeShares().forEach((type, share) ->
+                System.out.printf("• %s: %.1f%% ± %.1f%%%n", type.displayName(),
+                        100 * share.estimate(), 100 * share.halfWidth()));
         System.out.println();
     }
 
@@ -242,26 +324,47 @@ public class ShapeDriver {
 
         final int iterations = 100000;
 
-        // Test volume calculations
-        final long[] startTime = {System.nanoTime()};
-        for (int i = 0; i < iterations; i++) {
-            for (Shape3D shape : shapes) {
-                shape.getVolume(); // Triggers calculation
+        // Count computations instead of logging each one, so the timings measure the math
+        ShapeMetricsSink previousSink = Shape3D.getMetricsSink();
+        CountingMetricsSink counter = new CountingMetricsSink();
+        Shape3D.setMetricsSink(counter);
+
+        long volumeTime;
+        long surfaceAreaTime;
+        long batchVolumeTime;
+        try {
+            // Test volume calculations
+            final long[] startTime = {System.nanoTime()};
+            for (int i = 0; i < iterations; i++) {
+                for (Shape3D shape : shapes) {
+                    shape.getVolume(); // Triggers calculation
+                }
             }
-        }
-        long volumeTime = System.nanoTime() - startTime[0];
+            volumeTime = System.nanoTime() - startTime[0];
+
+            // Test surface area calculations
+            startTime[0] = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                for (Shape3D shape : shapes) {
+                    shape.getSurfaceArea(); // Triggers calculation
+                }
+            }
+            surfaceAreaTime = System.nanoTime() - startTime[0];
 
-        // Test surface area calculations
-        startTime[0] = System.nanoTime();
-        for (int i = 0; i < iterations; i++) {
-            for (Shape3D shape : shapes) {
-                shape.getSurfaceArea(); // Triggers calculation
+            // Same volumes, partitioned by type and evaluated with one monomorphic loop per type
+            startTime[0] = System.nanoTime();
+            ShapeBatch batch = ShapeBatch.of(shapes);
+            for (int i = 0; i < iterations; i++) {
+                batch.volumes();
             }
+            batchVolumeTime = System.nanoTime() - startTime[0];
+        } finally {
+            Shape3D.setMetricsSink(previousSink);
         }
-        long surfaceAreaTime = System.nanoTime() - startTime[0];
 
         // Individual shape performance
         System.out.printf("⏱️  PERFORMANCE RESULTS (%,d iterations):%n%n", iterations);
+        System.out.printf("• Computations recorded: %,d%n%n", counter.getTotalComputeCount());
 
         System.out.printf("Volume Calculations:%n");
         System.out.printf("• Total Time: %.2f ms%n", volumeTime / 1_000_000.0);
@@ -277,6 +380,11 @@ public class ShapeDriver {
         System.out.printf("• Operations per Second: %,.0f%n%n",
                 (iterations * shapes.size()) / (surfaceAreaTime / 1_000_000_000.0));
 
+        System.out.printf("Batched Volume Calculations (ShapeBatch):%n");
+        System.out.printf("• Total Time: %.2f ms%n", batchVolumeTime / 1_000_000.0);
+        System.out.printf("• Average per Operation: %.2f ns%n%n",
+                batchVolumeTime / (double)(iterations * shapes.size()));
+
         // Per-shape-type performance breakdown
         System.out.printf("📋 PER-SHAPE-TYPE BREAKDOWN:%n");
         Map<String, List<Shape3D>> shapesByType = shapes.stream()
@@ -307,6 +415,57 @@ public class ShapeDriver {
         System.out.printf("✓ Cleared %d shapes from the system.%n%n", count);
     }
 
+    /**
+     * Sweeps a shape type over a grid of dimensions and summarizes volume, surface area,
+     * efficiency, and the derived metrics, without creating any shapes
+     */
+    private static void runParameterSweep() {
+        String spec = getStringInput(
+                "Sweep (e.g. cylinder radius=0.1..50:0.01 height=1..100; values may also be lists like 1, 2, 5): ");
+        ParameterSweep sweep;
+        try {
+            List<DerivedMetric> metrics = new ArrayList<>();
+            metrics.add(DerivedMetrics.compile("efficiency"));
+            metrics.addAll(DerivedMetrics.all());
+            sweep = ParameterSweep.parse(spec).withMetrics(metrics);
+        } catch (IllegalArgumentException e) {
+            System.out.printf("✗ %s%n%n", e.getMessage());
+            return;
+        }
+
+        System.out.println("=== Parameter Sweep ===\n");
+        long startTime = System.nanoTime();
+        ParameterSweep.Summary summary = sweep.summarize();
+        long elapsed = System.nanoTime() - startTime;
+
+        System.out.printf("📈 SWEEP RESULTS (%s):%n", sweep);
+        System.out.printf("• Time: %.2f ms (%,.0f points per second)%n%n",
+                elapsed / 1_000_000.0, summary.points() / (elapsed / 1_000_000_000.0));
+        for (ParameterSweep.Column column : summary.columns()) {
+            if (column.count() == 0) {
+                System.out.printf("• %s: n/a for %s%n", column.name(), sweep.type().displayName());
+                continue;
+            }
+            System.out.printf("• %s: mean %.4f%n", column.name(), column.mean());
+            System.out.printf("   - Min: %.4f at %s%n", column.min(), describePoint(sweep, column.minIndex()));
+            System.out.printf("   - Max: %.4f at %s%n", column.max(), describePoint(sweep, column.maxIndex()));
+        }
+        System.out.println();
+    }
+
+    /**
+     * Formats the dimensions of one sweep point, e.g. {@code radius=0.10, height=1.00}
+     */
+    private static String describePoint(ParameterSweep sweep, long index) {
+        double[] dims = sweep.dimensionsAt(index);
+        List<String> names = sweep.type().dimensionNames();
+        StringBuilder text = new StringBuilder();
+        for (int d = 0; d < dims.length; d++) {
+            text.append(d == 0 ? "" : ", ").append(String.format("%s=%.2f", names.get(d), dims[d]));
+        }
+        return text.toString();
+    }
+
     /**
      * Utility method for getting validated integer input
      */
@@ -22,22 +22,28 @@
  * None
  *
  * Manual Modifications:
- * - Implemented a flexible constructor-matching routine that supports both varargs
- *   signatures ((String, String, double...), (String, double...)) and explicit doubles
- *   ((String, String, double, double, ...), (String, double, double, ...)).
  * - Added detailed INFO logs for attempts and SEVERE logs immediately before throwing.
  * - Normalized error messages to be student-friendly and actionable.
+ * - Classes listed in the compile-time ShapeRegistry are created through their generated
+ *   direct-call creators.
+ * - Removed the reflective constructor search once Shape3D became sealed: every permitted
+ *   class is registered, so the MethodHandle fallback could only ever report incompatibility.
+ *   It superseded the original varargs/explicit-doubles constructor-matching routine and its
+ *   MethodHandle cache keyed by (class, arity, color-present).
+ * - The registry creator for each (type, arity) key is looked up once and cached, including
+ *   a negative entry for arities no creator accepts.
+ * - Added createAll(...) bulk creation over parallel or flat strided arrays, reporting
+ *   per-row failures in a BulkCreateResult instead of throwing.
  *
- * Rationale / Reflection Choice:
- * - Different shapes may expose either varargs or explicit-arity constructors.
- *   Using reflection allows one factory to support both styles without changing code
- *   when new shapes are added.
- * - Preference order ensures color-aware constructors are chosen when available.
+ * Rationale / Creator Choice:
+ * - The original reflective search supported varargs and explicit-arity constructors.
+ *   The annotation processor now generates a direct-call creator for every shape, so
+ *   adding a shape still needs no factory changes, without reflection at run time.
  *
  * Error Handling:
  * - Inputs are validated early with clear IllegalArgumentException messages.
- * - If no compatible constructor is found or invocation fails, the factory explains
- *   what was tried (preferred signatures and arity) to aid debugging.
+ * - If no creator takes the given number of dimensions or the constructor throws, the
+ *   factory explains which dimensions were expected to aid debugging.
  *
  * Formula Verification:
  * Not applicable (no formulas in the factory)
@@ -45,32 +51,37 @@
 
 package com.csc205.project2.shapes;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Objects;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
 
 /**
- * Factory for constructing {@link Shape3D} instances using reflection.
+ * Factory for constructing {@link Shape3D} instances from a class and raw dimensions.
  *
- * <p><strong>Why reflection?</strong></p>
+ * <p><strong>Generated creators:</strong> every shape class is found by the build's
+ * annotation processor (see {@link ShapeRegistry}), which generates a plain constructor
+ * call taking {@code (name, color, dims)}. The factory only checks that the number of
+ * dimensions matches and delegates, so new shapes need no factory changes.</p>
+ *
+ * <p><strong>Why caching?</strong></p>
  * <ol>
- *   <li>Concrete shapes in this project may declare constructors either with varargs
- *       (e.g., {@code (String, String, double...)}) or with explicit doubles
- *       (e.g., {@code (String, String, double, double)}).</li>
- *   <li>This factory locates and invokes the most suitable constructor at runtime,
- *       so you can add new shapes without changing the factory code.</li>
- *   <li>We prefer color-aware constructors first to preserve callers’ intent,
- *       then fall back to name-only constructors.</li>
+ *   <li>The registry lookup and arity check are done once per
+ *       (class, number of dimensions) combination.</li>
+ *   <li>Combinations with no matching creator are cached too, so repeated bad
+ *       requests fail fast.</li>
  * </ol>
  *
  * <p><strong>Error handling strategy:</strong></p>
  * <ul>
  *   <li>Inputs are validated: {@code type} must be non-null; {@code name} non-null/non-blank;
  *       {@code dims} non-null (but may be empty).</li>
- *   <li>On failure to find a compatible constructor or to invoke it,
+ *   <li>If no creator takes that many dimensions or the constructor rejects them,
  *       we log at SEVERE and throw an {@link IllegalArgumentException} with a clear message.</li>
  * </ul>
  */
@@ -78,14 +89,15 @@ public final class ShapeFactory {
 
     private static final Logger LOGGER = Logger.getLogger(ShapeFactory.class.getName());
 
+    /** Resolved creators, including {@link Creator#INCOMPATIBLE} entries. */
+    private static final ConcurrentMap<CreatorKey, Creator> CREATORS = new ConcurrentHashMap<>();
+
     private ShapeFactory() {
         // utility class
     }
 
     /**
-     * Creates a {@link Shape3D} using a preferred constructor search:
-     * first {@code (String, String, double...)}, then {@code (String, double...)}.
-     * Also accepts explicit double-arity constructors that match {@code dims.length}.
+     * Creates a {@link Shape3D} with the default color.
      *
      * @param type the concrete Shape3D class
      * @param name the instance name (must be non-null/non-blank)
@@ -95,250 +107,297 @@ public final class ShapeFactory {
      */
     public static Shape3D create(Class<? extends Shape3D> type, String name, double... dims) {
         validateInputs(type, name, dims);
-        LOGGER.log(Level.INFO, "Attempting to create {0} with (name, dims): name={1}, dims={2}",
-                new Object[]{type.getName(), name, Arrays.toString(dims)});
-        try {
-            // Try (String, double...) and explicit arity (String, double, double, ...)
-            Shape3D instance = tryConstruct(type, /*color*/ null, name, dims);
-            if (instance != null) {
-                return instance;
-            }
-            String message = "No compatible constructor found for " + type.getName()
-                    + ". Tried (String, double...) and explicit double-arity with length=" + dims.length + ".";
-            LOGGER.log(Level.SEVERE, message);
-            throw new IllegalArgumentException(message);
-        } catch (RuntimeException e) {
-            // already logged inside helpers; wrap or rethrow as IllegalArgumentException
-            if (e instanceof IllegalArgumentException) {
-                throw e;
-            }
-            String message = "Failed to instantiate " + type.getName() + ": " + e.getMessage();
-            LOGGER.log(Level.SEVERE, message, e);
-            throw new IllegalArgumentException(message, e);
+        if (LOGGER.isLoggable(Level.INFO)) {
+            LOGGER.log(Level.INFO, "Attempting to create {0} with (name, dims): name={1}, dims={2}",
+                    new Object[]{type.getName(), name, Arrays.toString(dims)});
         }
+        return requireCreator(type, dims.length).create(name, null, dims);
     }
 
     /**
-     * Creates a {@link Shape3D} using a preferred constructor search:
-     * first {@code (String, String, double...)}, then {@code (String, double...)}.
-     * Also accepts explicit double-arity constructors that match {@code dims.length}.
+     * Creates a {@link Shape3D}.
      *
      * @param type  the concrete Shape3D class
      * @param name  the instance name (must be non-null/non-blank)
-     * @param color the instance color (passed to constructors that accept it)
+     * @param color the instance color; null or blank for the default
      * @param dims  non-null array of dimensions (may be empty)
      * @return a new Shape3D instance
      * @throws IllegalArgumentException if validation fails or no compatible constructor can be invoked
      */
     public static Shape3D create(Class<? extends Shape3D> type, String name, String color, double... dims) {
         validateInputs(type, name, dims);
-        LOGGER.log(Level.INFO, "Attempting to create {0} with (name, color, dims): name={1}, color={2}, dims={3}",
-                new Object[]{type.getName(), name, color, Arrays.toString(dims)});
-        try {
-            // Prefer (String, String, double...) or explicit arity (String, String, double, ...)
-            Shape3D instance = tryConstruct(type, color, name, dims);
-            if (instance != null) {
-                return instance;
-            }
-            // Fallback: if no color constructor exists, try name-only forms
-            LOGGER.log(Level.INFO, "No (String, String, ...) constructor found. Falling back to (String, ...) for {0}.",
-                    new Object[]{type.getName()});
-            instance = tryConstruct(type, /*color*/ null, name, dims);
-            if (instance != null) {
-                return instance;
-            }
-            String message = "No compatible constructor found for " + type.getName()
-                    + ". Tried (String, String, double...), (String, double...) and explicit double-arity with length="
-                    + dims.length + ".";
-            LOGGER.log(Level.SEVERE, message);
-            throw new IllegalArgumentException(message);
-        } catch (RuntimeException e) {
-            // already logged inside helpers; wrap or rethrow as IllegalArgumentException
-            if (e instanceof IllegalArgumentException) {
-                throw e;
-            }
-            String message = "Failed to instantiate " + type.getName() + ": " + e.getMessage();
-            LOGGER.log(Level.SEVERE, message, e);
-            throw new IllegalArgumentException(message, e);
+        if (LOGGER.isLoggable(Level.INFO)) {
+            LOGGER.log(Level.INFO, "Attempting to create {0} with (name, color, dims): name={1}, color={2}, dims={3}",
+                    new Object[]{type.getName(), name, color, Arrays.toString(dims)});
         }
+        return requireCreator(type, dims.length).create(name, color, dims);
     }
 
     // ----------------------------------------------------------------------
-    // Internal helpers
+    // Bulk creation
     // ----------------------------------------------------------------------
 
-    private static void validateInputs(Class<? extends Shape3D> type, String name, double[] dims) {
-        if (type == null) {
-            String message = "type must not be null.";
+    /**
+     * Creates one shape per row from parallel arrays, sequentially.
+     *
+     * @see #createAll(Class, String[], String[], double[][], boolean)
+     */
+    public static BulkCreateResult createAll(Class<? extends Shape3D> type, String[] names, String[] colors,
+                                             double[][] dims) {
+        return createAll(type, names, colors, dims, false);
+    }
+
+    /**
+     * Creates one shape per row from parallel arrays.
+     *
+     * <p>Row {@code i} is built exactly as
+     * {@code create(type, names[i], colors[i], dims[i])} would build it, but bad rows are
+     * reported in the returned {@link BulkCreateResult} instead of being thrown, and
+     * only one summary is logged for the whole call.</p>
+     *
+     * @param type     the concrete Shape3D class
+     * @param names    one name per row
+     * @param colors   one color per row, or null to use no colors at all
+     * @param dims     one dimension array per row
+     * @param parallel true to create rows on the common fork/join pool
+     * @return per-row results in input order
+     * @throws IllegalArgumentException if type, names or dims is null, or the array lengths differ
+     */
+    public static BulkCreateResult createAll(Class<? extends Shape3D> type, String[] names, String[] colors,
+                                             double[][] dims, boolean parallel) {
+        validateBulkInputs(type, names, colors);
+        if (dims == null || dims.length != names.length) {
+            String message = "dims must be non-null with one row per name (expected " + names.length + ").";
             LOGGER.log(Level.SEVERE, message);
             throw new IllegalArgumentException(message);
         }
-        if (name == null || name.isBlank()) {
-            String message = "name must be non-null and non-blank.";
+        return createRows(type, names, colors, parallel, row -> dims[row]);
+    }
+
+    /**
+     * Creates one shape per row from a flat, row-major dimension array, sequentially.
+     *
+     * @see #createAll(Class, String[], String[], double[], int, boolean)
+     */
+    public static BulkCreateResult createAll(Class<? extends Shape3D> type, String[] names, String[] colors,
+                                             double[] dims, int stride) {
+        return createAll(type, names, colors, dims, stride, false);
+    }
+
+    /**
+     * Creates one shape per row from a flat, row-major dimension array.
+     *
+     * <p>Row {@code i} uses {@code dims[i * stride]} through {@code dims[i * stride + stride - 1]},
+     * so every row has the same number of dimensions. Otherwise behaves like
+     * {@link #createAll(Class, String[], String[], double[][], boolean)}.</p>
+     *
+     * @param type     the concrete Shape3D class
+     * @param names    one name per row
+     * @param colors   one color per row, or null to use no colors at all
+     * @param dims     {@code names.length * stride} dimensions
+     * @param stride   number of dimensions per row
+     * @param parallel true to create rows on the common fork/join pool
+     * @return per-row results in input order
+     * @throws IllegalArgumentException if type, names or dims is null, stride is negative,
+     *                                  or the array lengths do not line up
+     */
+    public static BulkCreateResult createAll(Class<? extends Shape3D> type, String[] names, String[] colors,
+                                             double[] dims, int stride, boolean parallel) {
+        validateBulkInputs(type, names, colors);
+        if (stride < 0 || dims == null || dims.length != (long) names.length * stride) {
+            String message = "dims must be non-null with length names.length * stride ("
+                    + names.length + " * " + stride + "), got "
+                    + (dims == null ? "null" : String.valueOf(dims.length)) + ".";
             LOGGER.log(Level.SEVERE, message);
             throw new IllegalArgumentException(message);
         }
+        return createRows(type, names, colors, parallel,
+                row -> Arrays.copyOfRange(dims, row * stride, row * stride + stride));
+    }
+
+    private static BulkCreateResult createRows(Class<? extends Shape3D> type, String[] names, String[] colors,
+                                               boolean parallel, IntFunction<double[]> rowDims) {
+        int rows = names.length;
+        Shape3D[] shapes = new Shape3D[rows];
+        String[] errors = new String[rows];
+        IntStream range = IntStream.range(0, rows);
+        (parallel ? range.parallel() : range).forEach(row -> errors[row] =
+                createRow(type, names[row], colors == null ? null : colors[row], rowDims.apply(row), shapes, row));
+
+        List<BulkCreateResult.Failure> failures = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            if (errors[row] != null) {
+                failures.add(new BulkCreateResult.Failure(row, names[row], errors[row]));
+            }
+        }
+        BulkCreateResult result = new BulkCreateResult(shapes, failures);
+        if (!failures.isEmpty()) {
+            BulkCreateResult.Failure first = failures.get(0);
+            LOGGER.log(Level.WARNING, "Bulk creation of {0}: {1} of {2} rows failed; first at row {3}: {4}",
+                    new Object[]{type.getName(), failures.size(), rows, first.row(), first.message()});
+        } else if (LOGGER.isLoggable(Level.INFO)) {
+            LOGGER.log(Level.INFO, "Bulk created {0} {1} instances", new Object[]{rows, type.getName()});
+        }
+        return result;
+    }
+
+    /**
+     * Creates a single row, storing the shape in {@code out[row]}.
+     *
+     * @return null on success, otherwise the reason the row failed
+     */
+    private static String createRow(Class<? extends Shape3D> type, String name, String color, double[] dims,
+                                     Shape3D[] out, int row) {
+        if (name == null || name.isBlank()) {
+            return "name must be non-null and non-blank.";
+        }
         if (dims == null) {
-            String message = "dims must not be null (use empty array for no dimensions).";
-            LOGGER.log(Level.SEVERE, message);
-            throw new IllegalArgumentException(message);
+            return "dims must not be null (use empty array for no dimensions).";
+        }
+        Creator creator = creatorFor(type, dims.length);
+        if (creator == Creator.INCOMPATIBLE) {
+            return incompatibleMessage(type, dims.length);
+        }
+        try {
+            out[row] = creator.invoke(name, color, dims);
+            return null;
+        } catch (RuntimeException e) {
+            return "Constructor invocation failed for " + creator.signature + ": " + e.getMessage();
         }
     }
 
+    // ----------------------------------------------------------------------
+    // Creator cache
+    // ----------------------------------------------------------------------
+
     /**
-     * Try to construct using either:
-     * <ul>
-     *   <li>(String, String, double...) or (String, String, double,double,...)</li>
-     *   <li>(String, double...) or (String, double,double,...)</li>
-     * </ul>
-     * depending on whether {@code color} is provided.
+     * Cache key: whether a creator fits depends only on the class and the number of dimensions.
      */
-    private static Shape3D tryConstruct(Class<? extends Shape3D> type, String color, String name, double[] dims) {
-        // Two passes: prefer varargs-like last-parameter (double[]) matches, then explicit arity matches.
-        // But to keep it efficient, we iterate all constructors once and rank viable ones.
-        Constructor<?>[] ctors = type.getDeclaredConstructors();
-
-        // 1) Try preferred signatures first (color-aware if color != null).
-        Constructor<?> best = null;
-        Object[] bestArgs = null;
-        int bestRank = Integer.MAX_VALUE; // lower is better
-
-        for (Constructor<?> ctor : ctors) {
-            Class<?>[] params = ctor.getParameterTypes();
-
-            // Rank: 0 = (String, String, double[]), 1 = (String, double[]),
-            // 2 = (String, String, explicit doubles), 3 = (String, explicit doubles)
-            int rank = matchRank(params, color != null, dims.length);
-            if (rank < 0) continue; // incompatible
-
-            Object[] args = buildArgs(params, color, name, dims);
-            if (args == null) continue; // incompatible upon detail check
-
-            if (rank < bestRank) {
-                bestRank = rank;
-                best = ctor;
-                bestArgs = args;
-                if (bestRank == 0) break; // can't do better than perfect varargs color match
-            }
+    private record CreatorKey(Class<? extends Shape3D> type, int arity) {
+    }
+
+    /**
+     * A registered shape's generated creator.
+     */
+    static final class Creator {
+
+        /** Negative-cache marker for combinations without a matching creator. */
+        static final Creator INCOMPATIBLE = new Creator(null, null);
+
+        private final ShapeDescriptor.Creator direct;
+        private final String signature;
+
+        private Creator(ShapeDescriptor.Creator direct, String signature) {
+            this.direct = direct;
+            this.signature = signature;
         }
 
-        if (best == null) {
-            return null;
+        /** Wraps a compile-time generated creator. */
+        static Creator generated(ShapeDescriptor descriptor) {
+            String signature = descriptor.type().getName() + "(name, color, "
+                    + String.join(", ", descriptor.dimensionNames()) + ") [generated]";
+            return new Creator(descriptor.creator(), signature);
         }
 
-        try {
-            best.setAccessible(true);
-            Object instance = best.newInstance(bestArgs);
-            return (Shape3D) instance;
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-            String message = "Constructor invocation failed for " + type.getName() + " using " + signatureOf(best)
-                    + ": " + e.getMessage();
-            LOGGER.log(Level.SEVERE, message, e);
-            throw new IllegalArgumentException(message, e);
+        /**
+         * Invokes the constructor. Validation of name/dims is left to the caller.
+         *
+         * @throws IllegalArgumentException if the constructor throws
+         */
+        Shape3D create(String name, String color, double[] dims) {
+            try {
+                return invoke(name, color, dims);
+            } catch (RuntimeException e) {
+                String message = "Constructor invocation failed for " + signature + ": " + e.getMessage();
+                LOGGER.log(Level.SEVERE, message, e);
+                throw new IllegalArgumentException(message, e);
+            }
+        }
+
+        /**
+         * Invokes the constructor without wrapping or logging what it throws.
+         */
+        Shape3D invoke(String name, String color, double[] dims) {
+            return direct.create(name, color, dims);
         }
     }
 
     /**
-     * Returns a rank for how well the constructor parameter list matches the desired preference.
-     * -1 means incompatible.
+     * Returns the cached creator for a combination, resolving it on first use.
+     *
+     * @return a creator, or {@link Creator#INCOMPATIBLE}
      */
-    private static int matchRank(Class<?>[] params, boolean needsColor, int dimsLen) {
-        // Expected forms:
-        // With color:
-        //   A) (String, String, double[])          rank 0 (best)
-        //   B) (String, String, double, ..., double) exactly dimsLen doubles  rank 2
-        // Without color:
-        //   C) (String, double[])                   rank 1
-        //   D) (String, double, ..., double) exactly dimsLen doubles          rank 3
-        if (needsColor) {
-            if (params.length >= 3
-                    && params[0] == String.class
-                    && params[1] == String.class
-                    && params[2] == double[].class
-                    && params.length == 3) {
-                return 0; // perfect varargs color match
-            }
-            if (params.length == 2 + dimsLen
-                    && params[0] == String.class
-                    && params[1] == String.class
-                    && allDoubles(params, 2)) {
-                return 2; // explicit doubles (color)
-            }
-            return -1;
-        } else {
-            if (params.length == 2
-                    && params[0] == String.class
-                    && params[1] == double[].class) {
-                return 1; // varargs, name-only
-            }
-            if (params.length == 1 + dimsLen
-                    && params[0] == String.class
-                    && allDoubles(params, 1)) {
-                return 3; // explicit doubles, name-only
-            }
-            return -1;
+    static Creator creatorFor(Class<? extends Shape3D> type, int arity) {
+        return CREATORS.computeIfAbsent(new CreatorKey(type, arity), ShapeFactory::resolve);
+    }
+
+    private static Creator resolve(CreatorKey key) {
+        ShapeDescriptor descriptor = ShapeRegistry.find(key.type()).orElse(null);
+        if (descriptor == null || descriptor.arity() != key.arity()) {
+            LOGGER.log(Level.INFO, "Caching incompatible signature for {0}", key);
+            return Creator.INCOMPATIBLE;
         }
+        Creator creator = Creator.generated(descriptor);
+        LOGGER.log(Level.INFO, "Resolved {0} to {1}", new Object[]{key, creator.signature});
+        return creator;
     }
 
-    private static boolean allDoubles(Class<?>[] params, int startIdx) {
-        for (int i = startIdx; i < params.length; i++) {
-            if (!(params[i] == double.class || params[i] == Double.class)) {
-                return false;
-            }
+    private static Creator requireCreator(Class<? extends Shape3D> type, int arity) {
+        Creator creator = creatorFor(type, arity);
+        if (creator == Creator.INCOMPATIBLE) {
+            String message = incompatibleMessage(type, arity);
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
         }
-        return true;
+        return creator;
     }
 
-    private static Object[] buildArgs(Class<?>[] params, String color, String name, double[] dims) {
-        try {
-            if (color != null) {
-                // (String, String, double[]) or (String, String, explicit doubles...)
-                if (params.length == 3 && params[0] == String.class && params[1] == String.class
-                        && params[2] == double[].class) {
-                    return new Object[]{name, color, Arrays.copyOf(dims, dims.length)};
-                } else if (params.length == 2 + dims.length
-                        && params[0] == String.class && params[1] == String.class
-                        && allDoubles(params, 2)) {
-                    Object[] args = new Object[params.length];
-                    args[0] = name;
-                    args[1] = color;
-                    for (int i = 0; i < dims.length; i++) {
-                        // autoboxing to Double if needed; reflection handles primitive/wrapper
-                        args[2 + i] = dims[i];
-                    }
-                    return args;
-                }
-            } else {
-                // (String, double[]) or (String, explicit doubles...)
-                if (params.length == 2 && params[0] == String.class && params[1] == double[].class) {
-                    return new Object[]{name, Arrays.copyOf(dims, dims.length)};
-                } else if (params.length == 1 + dims.length
-                        && params[0] == String.class
-                        && allDoubles(params, 1)) {
-                    Object[] args = new Object[params.length];
-                    args[0] = name;
-                    for (int i = 0; i < dims.length; i++) {
-                        args[1 + i] = dims[i];
-                    }
-                    return args;
-                }
-            }
-        } catch (Exception e) {
-            // Any unexpected failure in argument building -> indicate incompatibility
-            return null;
+    private static String incompatibleMessage(Class<? extends Shape3D> type, int arity) {
+        return ShapeRegistry.find(type)
+                .map(d -> "No compatible constructor found for " + type.getName() + ": expected "
+                        + d.arity() + " dimension(s) " + d.dimensionNames() + ", got " + arity + ".")
+                .orElse("No compatible constructor found for " + type.getName()
+                        + ": it is not a registered shape class.");
+    }
+
+    // ----------------------------------------------------------------------
+    // Internal helpers
+    // ----------------------------------------------------------------------
+
+    private static void validateInputs(Class<? extends Shape3D> type, String name, double[] dims) {
+        if (type == null) {
+            String message = "type must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        if (name == null || name.isBlank()) {
+            String message = "name must be non-null and non-blank.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        if (dims == null) {
+            String message = "dims must not be null (use empty array for no dimensions).";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
         }
-        return null;
     }
 
-    private static String signatureOf(Constructor<?> ctor) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(ctor.getDeclaringClass().getSimpleName()).append('(');
-        Class<?>[] p = ctor.getParameterTypes();
-        for (int i = 0; i < p.length; i++) {
-            if (i > 0) sb.append(", ");
-            sb.append(p[i].getSimpleName());
+    private static void validateBulkInputs(Class<? extends Shape3D> type, String[] names, String[] colors) {
+        if (type == null) {
+            String message = "type must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        if (names == null) {
+            String message = "names must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        if (colors != null && colors.length != names.length) {
+            String message = "colors must be null or have one entry per name (expected " + names.length
+                    + ", got " + colors.length + ").";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
         }
-        sb.append(')');
-        return sb.toString();
     }
-}
\ No newline at end of file
+}
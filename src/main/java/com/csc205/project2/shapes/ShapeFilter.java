@@ -0,0 +1,296 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A compiled filter over shapes, written in a small expression language such as
+ * {@code type = Cone and volume > 100 and color in (Red, Blue)}.
+ *
+ * <p>Fields: {@code type}, {@code name}, {@code color} (text; {@code =}, {@code !=},
+ * {@code in (...)}, {@code not in (...)}, case-insensitive) and {@code volume},
+ * {@code surface_area}, {@code efficiency}, {@code radius}, {@code height},
+ * {@code side_length}, {@code length}, {@code width} (numbers; {@code = != < <= > >=}),
+ * as well as any metric registered in {@link DerivedMetrics}, e.g. {@code sphericity > 0.9}.
+ * Predicates combine with {@code and}, {@code or}, {@code not}, and parentheses.
+ * A shape without the named dimension never matches a comparison on it.</p>
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>Compile once:</em> the text is parsed into a syntax tree and then turned into
+ *       a tree of lambdas, one per node, each specialized to its field and operator. Testing
+ *       a shape runs only those lambdas; nothing is interpreted per shape.</li>
+ *   <li><em>Fold constants at compile time:</em> type names resolve to an {@link EnumSet},
+ *       so {@code type in (...)} is a bit test; numeric literals are captured as
+ *       {@code double}s.</li>
+ *   <li><em>Dimensions by pattern:</em> dimension accessors are exhaustive pattern switches
+ *       over the sealed {@link Shape3D} hierarchy, so no reflection or array copies.</li>
+ *   <li><em>Index-aware:</em> on a {@link ShapeCollection}, a cost-based planner picks
+ *       between a scan, the bitmap indexes, and a metric range index, and only the
+ *       candidate shapes are tested against the rest of the expression.</li>
+ * </ol>
+ */
+public final class ShapeFilter implements Predicate<Shape3D> {
+
+    private static final Logger LOGGER = Logger.getLogger(ShapeFilter.class.getName());
+
+    private static final ShapeFilter ALL = new ShapeFilter("", null, shape -> true);
+
+    private final String expression;
+    private final FilterNode root;
+    private final Predicate<Shape3D> predicate;
+
+    private ShapeFilter(String expression, FilterNode root, Predicate<Shape3D> predicate) {
+        this.expression = expression;
+        this.root = root;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Parses and compiles a filter. A blank expression matches every shape.
+     *
+     * @param expression the filter text
+     * @return the compiled filter
+     * @throws IllegalArgumentException if the expression is null or invalid
+     */
+    public static ShapeFilter compile(String expression) {
+        if (expression == null) {
+            String message = "Filter expression must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        if (expression.isBlank()) {
+            return ALL;
+        }
+        FilterNode root = FilterParser.parse(expression);
+        ShapeFilter filter = new ShapeFilter(expression.strip(), root, toPredicate(root));
+        LOGGER.log(Level.FINE, "Compiled filter: {0}", filter.expression);
+        return filter;
+    }
+
+    /**
+     * Returns a filter that matches every shape.
+     *
+     * @return the match-all filter
+     */
+    public static ShapeFilter all() {
+        return ALL;
+    }
+
+    @Override
+    public boolean test(Shape3D shape) {
+        return predicate.test(shape);
+    }
+
+    /**
+     * Returns the matching shapes in list order.
+     *
+     * @param shapes the shapes to filter
+     * @return a new list; all shapes if this filter matches everything
+     */
+    public <T extends Shape3D> List<T> select(List<T> shapes) {
+        if (this == ALL) {
+            return new ArrayList<>(shapes);
+        }
+        List<T> matches = new ArrayList<>();
+        for (T shape : shapes) {
+            if (predicate.test(shape)) {
+                matches.add(shape);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the matching shapes of a collection, executing the cheapest plan the
+     * {@linkplain #plan(ShapeCollection) planner} finds.
+     *
+     * @param shapes the collection to filter
+     * @return a new list in the order the shapes were added to the collection
+     */
+    public List<Shape3D> select(ShapeCollection shapes) {
+        if (this == ALL) {
+            return shapes.shapesAt(shapes.allSlots());
+        }
+        return plan(shapes).execute();
+    }
+
+    /**
+     * Plans this filter against a collection: chooses between a full scan, the type and
+     * color bitmap indexes, and a sorted range index on a metric, and orders the remaining
+     * predicates by cost and selectivity. {@link QueryPlan#explain()} shows the choice.
+     *
+     * @param shapes the collection to query
+     * @return the plan; it re-plans itself if the collection changes before it runs
+     * @throws IllegalArgumentException if shapes is null
+     */
+    public QueryPlan plan(ShapeCollection shapes) {
+        if (shapes == null) {
+            String message = "Cannot plan a filter over a null collection.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        if (this == ALL) {
+            return ShapeQueryPlanner.plan(this, null, shapes);
+        }
+        return ShapeQueryPlanner.plan(this, root, shapes);
+    }
+
+    /**
+     * Returns true if this filter matches every shape.
+     *
+     * @return whether the expression was blank
+     */
+    public boolean matchesAll() {
+        return this == ALL;
+    }
+
+    /**
+     * Returns the source text.
+     *
+     * @return the trimmed expression, or an empty string for the match-all filter
+     */
+    public String expression() {
+        return expression;
+    }
+
+    @Override
+    public String toString() {
+        return matchesAll() ? "ShapeFilter[all]" : "ShapeFilter[" + expression + "]";
+    }
+
+    // ---------- Compilation ----------
+
+    static Predicate<Shape3D> toPredicate(FilterNode node) {
+        return switch (node) {
+            case FilterNode.And and -> {
+                Predicate<Shape3D> left = toPredicate(and.left());
+                Predicate<Shape3D> right = toPredicate(and.right());
+                yield shape -> left.test(shape) && right.test(shape);
+            }
+            case FilterNode.Or or -> {
+                Predicate<Shape3D> left = toPredicate(or.left());
+                Predicate<Shape3D> right = toPredicate(or.right());
+                yield shape -> left.test(shape) || right.test(shape);
+            }
+            case FilterNode.Not not -> {
+                Predicate<Shape3D> operand = toPredicate(not.operand());
+                yield shape -> !operand.test(shape);
+            }
+            case FilterNode.Comparison comparison -> comparison(comparison);
+            case FilterNode.Membership membership -> membership(membership);
+        };
+    }
+
+    private static Predicate<Shape3D> comparison(FilterNode.Comparison node) {
+        ToDoubleFunction<Shape3D> field = numericField(node.field());
+        double c = node.value();
+        // NaN marks a missing dimension; every comparison with NaN is false except !=, so guard it
+        return switch (node.operator()) {
+            case EQ -> shape -> field.applyAsDouble(shape) == c;
+            case NE -> shape -> {
+                double v = field.applyAsDouble(shape);
+                return v != c && !Double.isNaN(v);
+            };
+            case LT -> shape -> field.applyAsDouble(shape) < c;
+            case LE -> shape -> field.applyAsDouble(shape) <= c;
+            case GT -> shape -> field.applyAsDouble(shape) > c;
+            case GE -> shape -> field.applyAsDouble(shape) >= c;
+        };
+    }
+
+    static ToDoubleFunction<Shape3D> numericField(String field) {
+        return switch (field) {
+            case "volume" -> Shape3D::getVolume;
+            case "surfacearea" -> Shape3D::getSurfaceArea;
+            case "efficiency" -> ShapeMetric.EFFICIENCY;
+            case "radius" -> shape -> switch (shape) {
+                case Sphere s -> s.getRadius();
+                case Cylinder c -> c.getRadius();
+                case Cone c -> c.getRadius();
+                case Cube c -> Double.NaN;
+                case RectangularPrism p -> Double.NaN;
+            };
+            case "height" -> shape -> switch (shape) {
+                case Cylinder c -> c.getHeight();
+                case Cone c -> c.getHeight();
+                case RectangularPrism p -> p.getHeight();
+                case Sphere s -> Double.NaN;
+                case Cube c -> Double.NaN;
+            };
+            case "sidelength" -> shape -> shape instanceof Cube c ? c.getSideLength() : Double.NaN;
+            case "length" -> shape -> shape instanceof RectangularPrism p ? p.getLength() : Double.NaN;
+            case "width" -> shape -> shape instanceof RectangularPrism p ? p.getWidth() : Double.NaN;
+            default -> DerivedMetrics.find(field).orElseThrow(() -> {
+                String message = "Unknown field or metric in filter: '" + field + "'";
+                LOGGER.log(Level.SEVERE, message);
+                return new IllegalArgumentException(message);
+            });
+        };
+    }
+
+    private static Predicate<Shape3D> membership(FilterNode.Membership node) {
+        Predicate<Shape3D> matches = switch (node.field()) {
+            case "type" -> {
+                Set<ShapeType> types = EnumSet.noneOf(ShapeType.class);
+                for (String value : node.values()) {
+                    types.add(typeNamed(value));
+                }
+                yield shape -> types.contains(ShapeType.of(shape));
+            }
+            case "name" -> textIn(Shape3D::getName, node.values());
+            case "color" -> textIn(Shape3D::getColor, node.values());
+            default -> throw new IllegalStateException("Parser accepted unknown field " + node.field());
+        };
+        return node.negated() ? matches.negate() : matches;
+    }
+
+    private static Predicate<Shape3D> textIn(Function<Shape3D, String> field, List<String> values) {
+        if (values.size() == 1) {
+            String value = values.get(0);
+            return shape -> value.equalsIgnoreCase(field.apply(shape));
+        }
+        String[] candidates = values.toArray(new String[0]);
+        return shape -> {
+            String text = field.apply(shape);
+            for (String candidate : candidates) {
+                if (candidate.equalsIgnoreCase(text)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /** Accepts {@code Cone}, {@code RectangularPrism}, {@code rectangular_prism}, or {@code 'Rectangular Prism'}. */
+    static ShapeType typeNamed(String value) {
+        String wanted = lettersOnly(value);
+        for (ShapeType type : ShapeType.values()) {
+            if (lettersOnly(type.name()).equals(wanted)) {
+                return type;
+            }
+        }
+        String message = "Unknown shape type in filter: '" + value + "'";
+        LOGGER.log(Level.SEVERE, message);
+        throw new IllegalArgumentException(message);
+    }
+
+    private static String lettersOnly(String text) {
+        StringBuilder letters = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetter(c)) {
+                letters.append(c);
+            }
+        }
+        return letters.toString().toLowerCase(Locale.ROOT);
+    }
+}
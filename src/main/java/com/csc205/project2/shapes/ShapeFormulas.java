@@ -0,0 +1,84 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Pure, side-effect free geometry formulas shared by the object model
+ * ({@link Sphere}, {@link Cube}, ...) and the bulk/columnar code paths.
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li>Keeping each formula in exactly one place guarantees that a volume computed
+ *       through {@link Shape3D#getVolume()} and one computed by a bulk kernel are
+ *       bit-for-bit identical.</li>
+ *   <li>Methods take primitives only and never log, so the JIT can inline them
+ *       into tight loops.</li>
+ * </ol>
+ *
+ * <p>Formula sources are documented on the corresponding shape classes.</p>
+ */
+public final class ShapeFormulas {
+
+    private ShapeFormulas() {
+        // utility class
+    }
+
+    // ---------- Sphere ----------
+
+    /** Sphere volume: {@code (4/3)πr³}. */
+    public static double sphereVolume(double radius) {
+        return (4.0 / 3.0) * Math.PI * radius * radius * radius;
+    }
+
+    /** Sphere surface area: {@code 4πr²}. */
+    public static double sphereSurfaceArea(double radius) {
+        return 4.0 * Math.PI * radius * radius;
+    }
+
+    // ---------- Cube ----------
+
+    /** Cube volume: {@code s³}. */
+    public static double cubeVolume(double sideLength) {
+        return sideLength * sideLength * sideLength;
+    }
+
+    /** Cube surface area: {@code 6s²}. */
+    public static double cubeSurfaceArea(double sideLength) {
+        return 6.0 * sideLength * sideLength;
+    }
+
+    // ---------- Cylinder ----------
+
+    /** Cylinder volume: {@code πr²h}. */
+    public static double cylinderVolume(double radius, double height) {
+        return Math.PI * radius * radius * height;
+    }
+
+    /** Cylinder surface area: {@code 2πr(r + h)}. */
+    public static double cylinderSurfaceArea(double radius, double height) {
+        return 2.0 * Math.PI * radius * (radius + height);
+    }
+
+    // ---------- Rectangular prism ----------
+
+    /** Rectangular prism volume: {@code lwh}. */
+    public static double prismVolume(double length, double width, double height) {
+        return length * width * height;
+    }
+
+    /** Rectangular prism surface area: {@code 2(lw + lh + wh)}. */
+    public static double prismSurfaceArea(double length, double width, double height) {
+        return 2.0 * (length * width + length * height + width * height);
+    }
+
+    // ---------- Cone ----------
+
+    /** Cone volume: {@code (1/3)πr²h}. */
+    public static double coneVolume(double radius, double height) {
+        return (1.0 / 3.0) * Math.PI * radius * radius * height;
+    }
+
+    /** Cone surface area using the slant height: {@code πr(r + √(r² + h²))}. */
+    public static double coneSurfaceArea(double radius, double height) {
+        double slantHeight = Math.sqrt(radius * radius + height * height);
+        return Math.PI * radius * (radius + slantHeight);
+    }
+}
@@ -0,0 +1,453 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Group-by engine that reports count, sum, min, max, mean, and variance of volume,
+ * surface area, and efficiency per shape type, color, or name prefix in one parallel pass.
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>Primitive aggregation table:</em> groups live in an open-addressing table
+ *       (linear probing over an {@code int[]} of group ids) with the aggregates in parallel
+ *       {@code long[]}/{@code double[]} columns. Nothing is boxed per row.</li>
+ *   <li><em>No per-row key allocation:</em> a name prefix is hashed and compared in place
+ *       with {@link String#regionMatches}; the substring is only built for the report.
+ *       Colors are hashed and compared with case folded per character, the way
+ *       {@code ShapeCollection.colorKey} folds it, so they are not copied either.</li>
+ *   <li><em>Welford and Chan:</em> means and variances are updated with Welford's recurrence,
+ *       which does not lose precision the way sum-of-squares does, and partial tables are
+ *       merged with Chan's pairwise formula.</li>
+ *   <li><em>Per-thread partials:</em> fork/join leaves fill private tables that only meet
+ *       when merged, prefix before suffix, so groups are reported in first-seen order.
+ *       Ranges are halved down to a fixed leaf size, so sums, means, and variances come
+ *       out bit-identical whatever the pool's parallelism.</li>
+ * </ol>
+ */
+public final class ShapeGroupBy {
+
+    private static final Logger LOGGER = Logger.getLogger(ShapeGroupBy.class.getName());
+
+    /**
+     * Largest number of rows a task aggregates without splitting. It is fixed, not derived
+     * from the pool's parallelism, so the split, and with it every rounding, is the same
+     * on any number of threads.
+     */
+    static final int LEAF_SIZE = 4096;
+
+    private static final int VOLUME = ShapeMetric.VOLUME.ordinal();
+    private static final int SURFACE_AREA = ShapeMetric.SURFACE_AREA.ordinal();
+    private static final int EFFICIENCY = ShapeMetric.EFFICIENCY.ordinal();
+    private static final int METRICS = ShapeMetric.values().length;
+
+    /**
+     * Aggregates of one metric within one group.
+     *
+     * @param sum      sum of the values
+     * @param min      smallest value
+     * @param max      largest value
+     * @param mean     arithmetic mean
+     * @param variance population variance
+     */
+    public record Summary(double sum, double min, double max, double mean, double variance) {
+
+        /**
+         * Returns the population standard deviation.
+         *
+         * @return square root of the variance
+         */
+        public double standardDeviation() {
+            return Math.sqrt(variance);
+        }
+    }
+
+    /**
+     * One group of the result.
+     *
+     * @param key         the group key: type display name, lower-case color, or name prefix
+     * @param count       number of shapes in the group
+     * @param volume      volume aggregates
+     * @param surfaceArea surface area aggregates
+     * @param efficiency  V/SA aggregates
+     */
+    public record Group(String key, long count, Summary volume, Summary surfaceArea, Summary efficiency) {
+
+        /**
+         * Returns the aggregates of one metric.
+         *
+         * @param metric the metric
+         * @return its summary
+         */
+        public Summary summary(ShapeMetric metric) {
+            return switch (metric) {
+                case VOLUME -> volume;
+                case SURFACE_AREA -> surfaceArea;
+                case EFFICIENCY -> efficiency;
+            };
+        }
+    }
+
+    /** Which attribute a grouping reads. */
+    private enum Field { TYPE, COLOR, NAME }
+
+    private final Field field;
+    private final int prefixLength;
+    private final ForkJoinPool pool;
+
+    private ShapeGroupBy(Field field, int prefixLength, ForkJoinPool pool) {
+        this.field = field;
+        this.prefixLength = prefixLength;
+        this.pool = pool;
+    }
+
+    /**
+     * Groups by shape type; keys are {@link ShapeType#displayName()}s.
+     *
+     * @return a grouping on the common pool
+     */
+    public static ShapeGroupBy byType() {
+        return new ShapeGroupBy(Field.TYPE, Integer.MAX_VALUE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Groups by color, ignoring case as {@link ShapeFilter} and {@link ShapeCollection}
+     * do, so {@code "Red"} and {@code "red"} form one group. Keys are reported in lower
+     * case, the same form {@link ShapeSketches#topColors(int)} reports.
+     *
+     * @return a grouping on the common pool
+     */
+    public static ShapeGroupBy byColor() {
+        return new ShapeGroupBy(Field.COLOR, Integer.MAX_VALUE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Groups by the first characters of the name. Shorter names form their own groups.
+     *
+     * @param length prefix length, must be ≥ 1
+     * @return a grouping on the common pool
+     * @throws IllegalArgumentException if length is not positive
+     */
+    public static ShapeGroupBy byNamePrefix(int length) {
+        if (length < 1) {
+            String message = "Name prefix length must be ≥ 1. Provided: " + length;
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return new ShapeGroupBy(Field.NAME, length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the same grouping running on another pool.
+     *
+     * @param pool the pool to run tasks on
+     * @return a new grouping
+     */
+    public ShapeGroupBy on(ForkJoinPool pool) {
+        if (pool == null) {
+            String message = "pool must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return new ShapeGroupBy(field, prefixLength, pool);
+    }
+
+    /**
+     * Aggregates a list of shapes. A {@link ShapeCollection} is read from its cached values.
+     *
+     * @param shapes non-null list without null elements; must not change during the call
+     * @return groups in first-seen order
+     */
+    public List<Group> aggregate(List<? extends Shape3D> shapes) {
+        if (shapes == null) {
+            String message = "Source of shapes must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        List<? extends Shape3D> rows = shapes instanceof RandomAccess ? shapes : new ArrayList<>(shapes);
+        return run(new Source() {
+            @Override
+            public int size() {
+                return rows.size();
+            }
+
+            @Override
+            public void accumulate(GroupTable table, int from, int to) {
+                ShapeCollection cached = rows instanceof ShapeCollection c ? c : null;
+                for (int i = from; i < to; i++) {
+                    Shape3D shape = rows.get(i);
+                    String source = switch (field) {
+                        case TYPE -> ShapeType.of(shape).displayName();
+                        case COLOR -> shape.getColor();
+                        case NAME -> shape.getName();
+                    };
+                    if (cached != null) {
+                        table.accept(source, cached.volumeAt(i), cached.surfaceAreaAt(i));
+                    } else {
+                        table.accept(source, shape.getVolume(), shape.getSurfaceArea());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Aggregates a columnar store without materializing shapes.
+     *
+     * @param store the store; must not change during the call
+     * @return groups in first-seen order
+     */
+    public List<Group> aggregate(ShapeStore store) {
+        if (store == null) {
+            String message = "Source of shapes must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        return run(new Source() {
+            @Override
+            public int size() {
+                return store.size();
+            }
+
+            @Override
+            public void accumulate(GroupTable table, int from, int to) {
+                for (int row = from; row < to; row++) {
+                    String source = switch (field) {
+                        case TYPE -> store.typeAt(row).displayName();
+                        case COLOR -> store.colorAt(row);
+                        case NAME -> store.nameAt(row);
+                    };
+                    table.accept(source, store.volumeAt(row), store.surfaceAreaAt(row));
+                }
+            }
+        });
+    }
+
+    private List<Group> run(Source source) {
+        int size = source.size();
+        AggregateTask task = new AggregateTask(source, 0, size, LEAF_SIZE);
+        GroupTable table = size <= LEAF_SIZE ? task.compute() : pool.invoke(task);
+        List<Group> groups = table.groups();
+        LOGGER.log(Level.FINE, "Aggregated {0} shapes into {1} groups by {2}",
+                new Object[]{size, groups.size(), field});
+        return groups;
+    }
+
+    /** A range-addressable source of rows. */
+    private interface Source {
+        int size();
+
+        void accumulate(GroupTable table, int from, int to);
+    }
+
+    /**
+     * Splits a row range in halves; each leaf fills its own table. Tasks are never serialized.
+     */
+    @SuppressWarnings("serial")
+    private final class AggregateTask extends RecursiveTask<GroupTable> {
+
+        private final Source source;
+        private final int from;
+        private final int to;
+        private final long leafSize;
+
+        AggregateTask(Source source, int from, int to, long leafSize) {
+            this.source = source;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected GroupTable compute() {
+            if (to - from > leafSize) {
+                int mid = (from + to) >>> 1;
+                AggregateTask left = new AggregateTask(source, from, mid, leafSize);
+                left.fork();
+                GroupTable right = new AggregateTask(source, mid, to, leafSize).compute();
+                GroupTable result = left.join();
+                result.merge(right);
+                return result;
+            }
+            GroupTable table = new GroupTable(prefixLength, field == Field.COLOR);
+            source.accumulate(table, from, to);
+            return table;
+        }
+    }
+
+    /**
+     * Open-addressing hash table from key to dense group id, with aggregates stored
+     * column-wise by group id ({@code group * METRICS + metric} for per-metric values).
+     */
+    private static final class GroupTable {
+
+        private final int prefixLength;
+        private final boolean ignoreCase;
+
+        /** Group id + 1 per slot; 0 marks an empty slot. Capacity is a power of two. */
+        private int[] slots = new int[16];
+
+        private String[] keySources = new String[8];
+        private int[] keyLengths = new int[8];
+        private int[] keyHashes = new int[8];
+        private long[] counts = new long[8];
+        private double[] sums = new double[8 * METRICS];
+        private double[] mins = new double[8 * METRICS];
+        private double[] maxs = new double[8 * METRICS];
+        private double[] means = new double[8 * METRICS];
+        private double[] m2s = new double[8 * METRICS];
+        private int groups;
+
+        GroupTable(int prefixLength, boolean ignoreCase) {
+            this.prefixLength = prefixLength;
+            this.ignoreCase = ignoreCase;
+        }
+
+        void accept(String source, double volume, double surfaceArea) {
+            int length = Math.min(prefixLength, source.length());
+            int group = groupFor(source, length, hash(source, length));
+            long n = ++counts[group];
+            int base = group * METRICS;
+            update(base + VOLUME, n, volume);
+            update(base + SURFACE_AREA, n, surfaceArea);
+            update(base + EFFICIENCY, n, ShapeMetric.EFFICIENCY.of(volume, surfaceArea));
+        }
+
+        /** Welford's update of one group's metric with its n-th value. */
+        private void update(int i, long n, double value) {
+            sums[i] += value;
+            if (n == 1) {
+                mins[i] = maxs[i] = means[i] = value;
+                return;
+            }
+            mins[i] = Math.min(mins[i], value);
+            maxs[i] = Math.max(maxs[i], value);
+            double delta = value - means[i];
+            means[i] += delta / n;
+            m2s[i] += delta * (value - means[i]);
+        }
+
+        /** Folds in a table built from rows that come after this one's (Chan et al.). */
+        void merge(GroupTable other) {
+            for (int g = 0; g < other.groups; g++) {
+                int group = groupFor(other.keySources[g], other.keyLengths[g], other.keyHashes[g]);
+                long na = counts[group];
+                long nb = other.counts[g];
+                long n = na + nb;
+                counts[group] = n;
+                for (int m = 0; m < METRICS; m++) {
+                    int i = group * METRICS + m;
+                    int j = g * METRICS + m;
+                    if (na == 0) {
+                        sums[i] = other.sums[j];
+                        mins[i] = other.mins[j];
+                        maxs[i] = other.maxs[j];
+                        means[i] = other.means[j];
+                        m2s[i] = other.m2s[j];
+                        continue;
+                    }
+                    double delta = other.means[j] - means[i];
+                    sums[i] += other.sums[j];
+                    mins[i] = Math.min(mins[i], other.mins[j]);
+                    maxs[i] = Math.max(maxs[i], other.maxs[j]);
+                    means[i] += delta * nb / n;
+                    m2s[i] += other.m2s[j] + delta * delta * ((double) na * nb / n);
+                }
+            }
+        }
+
+        List<Group> groups() {
+            List<Group> result = new ArrayList<>(groups);
+            for (int g = 0; g < groups; g++) {
+                String key = keySources[g].substring(0, keyLengths[g]);
+                if (ignoreCase) {
+                    key = ShapeCollection.colorKey(key);
+                }
+                result.add(new Group(key, counts[g],
+                        summary(g, VOLUME), summary(g, SURFACE_AREA), summary(g, EFFICIENCY)));
+            }
+            return result;
+        }
+
+        private Summary summary(int group, int metric) {
+            int i = group * METRICS + metric;
+            return new Summary(sums[i], mins[i], maxs[i], means[i], m2s[i] / counts[group]);
+        }
+
+        /**
+         * Same value as {@code source.substring(0, length).hashCode()}, or as the hash of its
+         * {@code ShapeCollection.colorKey} when case is ignored, without the copy.
+         */
+        private int hash(String source, int length) {
+            if (!ignoreCase && length == source.length()) {
+                return source.hashCode();
+            }
+            int h = 0;
+            for (int i = 0; i < length; i++) {
+                char c = source.charAt(i);
+                h = 31 * h + (ignoreCase ? Character.toLowerCase(Character.toUpperCase(c)) : c);
+            }
+            return h;
+        }
+
+        private int groupFor(String source, int length, int hash) {
+            int mask = slots.length - 1;
+            int slot = spread(hash) & mask;
+            for (int id; (id = slots[slot]) != 0; slot = (slot + 1) & mask) {
+                int g = id - 1;
+                if (keyHashes[g] == hash && keyLengths[g] == length
+                        && keySources[g].regionMatches(ignoreCase, 0, source, 0, length)) {
+                    return g;
+                }
+            }
+            int group = groups++;
+            if (group == counts.length) {
+                growColumns();
+            }
+            keySources[group] = source;
+            keyLengths[group] = length;
+            keyHashes[group] = hash;
+            slots[slot] = group + 1;
+            if (2 * groups > slots.length) {
+                rehash();
+            }
+            return group;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private void growColumns() {
+            int capacity = counts.length * 2;
+            keySources = Arrays.copyOf(keySources, capacity);
+            keyLengths = Arrays.copyOf(keyLengths, capacity);
+            keyHashes = Arrays.copyOf(keyHashes, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            sums = Arrays.copyOf(sums, capacity * METRICS);
+            mins = Arrays.copyOf(mins, capacity * METRICS);
+            maxs = Arrays.copyOf(maxs, capacity * METRICS);
+            means = Arrays.copyOf(means, capacity * METRICS);
+            m2s = Arrays.copyOf(m2s, capacity * METRICS);
+        }
+
+        private void rehash() {
+            int[] resized = new int[slots.length * 2];
+            int mask = resized.length - 1;
+            for (int g = 0; g < groups; g++) {
+                int slot = spread(keyHashes[g]) & mask;
+                while (resized[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                resized[slot] = g + 1;
+            }
+            slots = resized;
+        }
+    }
+}
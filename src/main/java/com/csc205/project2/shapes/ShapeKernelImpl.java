@@ -0,0 +1,15 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Strategy behind {@link ShapeKernels}. Implementations evaluate one shape type's
+ * formula over the half-open row range {@code [from, to)} of primitive dimension
+ * columns; arguments have already been validated by {@link ShapeKernels}.
+ */
+interface ShapeKernelImpl {
+
+    void volumes(ShapeType type, double[] a, double[] b, double[] c, double[] out, int from, int to);
+
+    void surfaceAreas(ShapeType type, double[] a, double[] b, double[] c, double[] out, int from, int to);
+
+    void ratios(ShapeType type, double[] a, double[] b, double[] c, double[] out, int from, int to);
+}
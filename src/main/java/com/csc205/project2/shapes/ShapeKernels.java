@@ -0,0 +1,157 @@
+package com.csc205.project2.shapes;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Data-parallel bulk kernels that evaluate volume, surface area, and the V/SA
+ * efficiency ratio of one {@link ShapeType} over primitive dimension columns.
+ *
+ * <p>Columns are passed in constructor order: {@code a} is the first dimension,
+ * {@code b} the second, {@code c} the third. Columns a type does not use may be
+ * {@code null} (e.g. {@code b} and {@code c} for a {@link ShapeType#SPHERE}).</p>
+ *
+ * <p><strong>Implementation selection:</strong></p>
+ * <ol>
+ *   <li>If the {@code jdk.incubator.vector} module is in the boot layer (start the JVM
+ *       with {@code --add-modules jdk.incubator.vector}), SIMD kernels process several
+ *       rows per instruction.</li>
+ *   <li>Otherwise, or if the system property {@code shapes.kernels=scalar} is set,
+ *       portable scalar loops are used.</li>
+ *   <li>Both implementations return bit-for-bit identical results, which also match
+ *       {@link Shape3D#getVolume()} and {@link Shape3D#getSurfaceArea()}.</li>
+ * </ol>
+ */
+public final class ShapeKernels {
+
+    private static final Logger LOGGER = Logger.getLogger(ShapeKernels.class.getName());
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_IMPL = "com.csc205.project2.shapes.VectorShapeKernels";
+
+    private static final ShapeKernelImpl IMPL = selectImplementation();
+
+    private ShapeKernels() {
+        // utility class
+    }
+
+    private static ShapeKernelImpl selectImplementation() {
+        if ("scalar".equalsIgnoreCase(System.getProperty("shapes.kernels"))) {
+            LOGGER.log(Level.INFO, "Scalar shape kernels forced by system property");
+            return ScalarShapeKernels.INSTANCE;
+        }
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            LOGGER.log(Level.INFO, "{0} not present; using scalar shape kernels", VECTOR_MODULE);
+            return ScalarShapeKernels.INSTANCE;
+        }
+        try {
+            ShapeKernelImpl impl = (ShapeKernelImpl) Class.forName(VECTOR_IMPL)
+                    .getDeclaredConstructor().newInstance();
+            LOGGER.log(Level.INFO, "Using Vector API shape kernels");
+            return impl;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Vector API kernels unavailable, falling back to scalar: {0}", e.toString());
+            return ScalarShapeKernels.INSTANCE;
+        }
+    }
+
+    /**
+     * Reports whether the SIMD implementation is active.
+     *
+     * @return true if the Vector API kernels are in use
+     */
+    public static boolean isVectorized() {
+        return !(IMPL instanceof ScalarShapeKernels);
+    }
+
+    /**
+     * Computes {@code out[i] = volume(a[i], b[i], c[i])} for {@code i} in {@code [0, length)}.
+     *
+     * @param type   the shape type
+     * @param a      first dimension column
+     * @param b      second dimension column (may be null if unused)
+     * @param c      third dimension column (may be null if unused)
+     * @param out    destination column
+     * @param length number of rows
+     * @throws IllegalArgumentException if a required column is null or shorter than {@code length}
+     */
+    public static void volumes(ShapeType type, double[] a, double[] b, double[] c, double[] out, int length) {
+        validate(type, a, b, c, out, length);
+        IMPL.volumes(type, a, b, c, out, 0, length);
+    }
+
+    /**
+     * Computes {@code out[i] = surfaceArea(a[i], b[i], c[i])} for {@code i} in {@code [0, length)}.
+     *
+     * @param type   the shape type
+     * @param a      first dimension column
+     * @param b      second dimension column (may be null if unused)
+     * @param c      third dimension column (may be null if unused)
+     * @param out    destination column
+     * @param length number of rows
+     * @throws IllegalArgumentException if a required column is null or shorter than {@code length}
+     */
+    public static void surfaceAreas(ShapeType type, double[] a, double[] b, double[] c, double[] out, int length) {
+        validate(type, a, b, c, out, length);
+        IMPL.surfaceAreas(type, a, b, c, out, 0, length);
+    }
+
+    /**
+     * Computes the efficiency ratio {@code out[i] = volume / surfaceArea} for {@code i} in {@code [0, length)}.
+     *
+     * @param type   the shape type
+     * @param a      first dimension column
+     * @param b      second dimension column (may be null if unused)
+     * @param c      third dimension column (may be null if unused)
+     * @param out    destination column
+     * @param length number of rows
+     * @throws IllegalArgumentException if a required column is null or shorter than {@code length}
+     */
+    public static void ratios(ShapeType type, double[] a, double[] b, double[] c, double[] out, int length) {
+        validate(type, a, b, c, out, length);
+        IMPL.ratios(type, a, b, c, out, 0, length);
+    }
+
+    /**
+     * Runs the volume kernel on a sub-range; used by callers that split work into chunks.
+     * Arguments are not validated beyond what array indexing enforces.
+     */
+    static void volumes(ShapeType type, double[] a, double[] b, double[] c, double[] out, int from, int to) {
+        IMPL.volumes(type, a, b, c, out, from, to);
+    }
+
+    /**
+     * Runs the surface area kernel on a sub-range; see {@link #volumes(ShapeType, double[], double[], double[], double[], int, int)}.
+     */
+    static void surfaceAreas(ShapeType type, double[] a, double[] b, double[] c, double[] out, int from, int to) {
+        IMPL.surfaceAreas(type, a, b, c, out, from, to);
+    }
+
+    private static void validate(ShapeType type, double[] a, double[] b, double[] c, double[] out, int length) {
+        String message = null;
+        if (type == null) {
+            message = "type must not be null.";
+        } else if (length < 0) {
+            message = "length must be >= 0. Provided: " + length;
+        } else if (tooShort(out, length)) {
+            message = "Output column must have length >= " + length + ".";
+        } else {
+            double[][] columns = {a, b, c};
+            for (int d = 0; d < type.arity(); d++) {
+                if (tooShort(columns[d], length)) {
+                    message = type.displayName() + " column '" + type.dimensionNames().get(d)
+                            + "' must be non-null with length >= " + length + ".";
+                    break;
+                }
+            }
+        }
+        if (message != null) {
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private static boolean tooShort(double[] column, int length) {
+        return column == null || column.length < length;
+    }
+}
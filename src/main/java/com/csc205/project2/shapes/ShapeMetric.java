@@ -0,0 +1,66 @@
+package com.csc205.project2.shapes;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The built-in numeric measures of a shape.
+ *
+ * <p>Each constant is also a {@link ToDoubleFunction}, so it can be passed anywhere a
+ * key extractor is expected, e.g. {@code shapes.stream().mapToDouble(ShapeMetric.VOLUME)}.</p>
+ */
+public enum ShapeMetric implements ToDoubleFunction<Shape3D> {
+
+    /** {@link Shape3D#getVolume()}, in cubic units. */
+    VOLUME("volume"),
+
+    /** {@link Shape3D#getSurfaceArea()}, in square units. */
+    SURFACE_AREA("surface area"),
+
+    /** Volume divided by surface area (V/SA); higher means more volume per unit of surface. */
+    EFFICIENCY("efficiency ratio");
+
+    private final String label;
+
+    ShapeMetric(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns a lower-case label suitable for messages, e.g. {@code surface area}.
+     *
+     * @return the label
+     */
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Evaluates this metric for a shape.
+     *
+     * @param shape non-null shape
+     * @return the metric value
+     */
+    @Override
+    public double applyAsDouble(Shape3D shape) {
+        return switch (this) {
+            case VOLUME -> shape.getVolume();
+            case SURFACE_AREA -> shape.getSurfaceArea();
+            case EFFICIENCY -> shape.getVolume() / shape.getSurfaceArea();
+        };
+    }
+
+    /**
+     * Derives this metric from an already computed volume and surface area.
+     *
+     * @param volume      the volume
+     * @param surfaceArea the surface area
+     * @return the metric value
+     */
+    public double of(double volume, double surfaceArea) {
+        return switch (this) {
+            case VOLUME -> volume;
+            case SURFACE_AREA -> surfaceArea;
+            case EFFICIENCY -> volume / surfaceArea;
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Receives compute events from {@link Shape3D#getVolume()} and {@link Shape3D#getSurfaceArea()}.
+ *
+ * <p>The active sink is installed globally with {@link Shape3D#setMetricsSink(ShapeMetricsSink)}.
+ * The default, {@link LoggingMetricsSink}, reproduces the historical INFO logging. For hot
+ * paths, {@link #NONE}, {@link CountingMetricsSink}, or {@link SamplingTraceSink} keep the
+ * compute path free of allocation.</p>
+ *
+ * <p><strong>Contract for implementations:</strong></p>
+ * <ol>
+ *   <li>Methods are called on the computing thread, possibly from many threads at once.</li>
+ *   <li>They should be cheap and must not throw; they must not call back into
+ *       {@code getVolume()}/{@code getSurfaceArea()} of the same shape.</li>
+ *   <li>Only {@link ShapeMetric#VOLUME} and {@link ShapeMetric#SURFACE_AREA} are reported.</li>
+ * </ol>
+ */
+public interface ShapeMetricsSink {
+
+    /** A sink that discards every event. */
+    ShapeMetricsSink NONE = (shape, metric, value) -> {
+    };
+
+    /**
+     * Called after a value has been computed by the shape's formula.
+     *
+     * @param shape  the shape
+     * @param metric {@link ShapeMetric#VOLUME} or {@link ShapeMetric#SURFACE_AREA}
+     * @param value  the computed value
+     */
+    void computed(Shape3D shape, ShapeMetric metric, double value);
+
+    /**
+     * Called when a memoized value was returned instead of computing it
+     * (see {@link Shape3D#setCachingEnabled(boolean)}). Ignored by default.
+     *
+     * @param shape  the shape
+     * @param metric {@link ShapeMetric#VOLUME} or {@link ShapeMetric#SURFACE_AREA}
+     */
+    default void cacheHit(Shape3D shape, ShapeMetric metric) {
+    }
+}
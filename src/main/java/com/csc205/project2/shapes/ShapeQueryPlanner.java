@@ -0,0 +1,607 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cost-based planner that turns a {@link ShapeFilter} into a {@link QueryPlan} over a
+ * {@link ShapeCollection}.
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>Conjuncts:</em> the top-level {@code and}s are flattened. Each conjunct is an
+ *       exact bitmap lookup (type/color logic), a metric range that a sorted range index can
+ *       answer, or a residual predicate tested per shape.</li>
+ *   <li><em>Cheap statistics:</em> type and color selectivities are exact bitmap counts;
+ *       metric and dimension selectivities come from 32-bucket equi-depth histograms built
+ *       from a sample of at most {@value #SAMPLE_SIZE} shapes and rebuilt only after about a
+ *       tenth of the collection has changed.</li>
+ *   <li><em>Access paths by cost:</em> a full scan, the bitmap indexes, a metric range
+ *       index, or bitmaps intersected with a range are costed as index work plus candidate
+ *       count times residual cost, and the cheapest wins. A range index is built lazily and
+ *       stays valid until the collection changes. Its build cost is charged only to the first
+ *       range filter on a metric since the last change; once the same metric is range-filtered
+ *       again, the build is treated as paid for by the repeats, so the index gets built and
+ *       reused.</li>
+ *   <li><em>Predicate order:</em> residual predicates run in ascending
+ *       {@code cost / (1 - selectivity)}, the classic rank that rejects the most shapes per
+ *       unit of work first.</li>
+ * </ol>
+ */
+final class ShapeQueryPlanner {
+
+    private static final Logger LOGGER = Logger.getLogger(ShapeQueryPlanner.class.getName());
+
+    /** Shapes sampled per histogram. */
+    static final int SAMPLE_SIZE = 2048;
+
+    private static final int BUCKETS = 32;
+
+    /** Relative costs, in units of one cached-value comparison. */
+    static final double COST_CACHED_METRIC = 1.0;
+    static final double COST_TYPE = 1.0;
+    static final double COST_TEXT = 2.0;
+    static final double COST_DIMENSION = 3.0;
+    private static final double COST_OUTPUT_ROW = 1.0;
+    private static final double COST_BITMAP_WORD = 1.0 / 64;
+    private static final double COST_INDEX_BUILD_PER_ROW = 6.0;
+
+    private ShapeQueryPlanner() {
+        // utility class
+    }
+
+    // ---------- Conjuncts ----------
+
+    /** How a conjunct can be answered. */
+    enum Kind { BITMAP, RANGE, RESIDUAL }
+
+    /**
+     * One top-level conjunct with its estimates.
+     *
+     * @param node        the predicate
+     * @param kind        how it can be answered
+     * @param slots       slots that may match, from the bitmap indexes, or null if unknown
+     * @param selectivity estimated fraction of shapes that satisfy it
+     * @param cost        estimated cost of testing it on one shape
+     */
+    record Conjunct(FilterNode node, Kind kind, ShapeBitmap slots, double selectivity, double cost) {
+
+        /** Lower rank runs first: most rejection per unit of cost. */
+        double rank() {
+            return selectivity >= 1.0 ? Double.POSITIVE_INFINITY : cost / (1.0 - selectivity);
+        }
+    }
+
+    /**
+     * Slots that may match a subtree.
+     *
+     * @param slots a superset of the matching slots
+     * @param exact true if every slot matches
+     */
+    record Candidates(ShapeBitmap slots, boolean exact) {
+    }
+
+    // ---------- Planning ----------
+
+    /**
+     * Plans a filter.
+     *
+     * @param root the filter's syntax tree, or null for the match-all filter
+     */
+    static QueryPlan plan(ShapeFilter filter, FilterNode root, ShapeCollection shapes) {
+        int n = shapes.size();
+        Statistics statistics = shapes.planStatistics();
+        List<Conjunct> conjuncts = new ArrayList<>();
+        for (FilterNode node : flatten(root, new ArrayList<>())) {
+            conjuncts.add(classify(node, shapes, statistics));
+        }
+        EnumSet<ShapeMetric> ranged = EnumSet.noneOf(ShapeMetric.class);
+        for (Conjunct c : conjuncts) {
+            if (c.kind() == Kind.RANGE) {
+                ranged.add(metricOf(((FilterNode.Comparison) c.node()).field()));
+            }
+        }
+        ranged.forEach(metric -> statistics.noteRangeFilter(shapes, metric));
+
+        // Exact bitmaps replace their conjuncts; inexact ones only narrow the candidates
+        List<Conjunct> exact = new ArrayList<>();
+        ShapeBitmap indexed = null;
+        int bitmapsUsed = 0;
+        for (Conjunct c : conjuncts) {
+            if (c.slots() != null) {
+                indexed = indexed == null ? c.slots() : indexed.and(c.slots());
+                bitmapsUsed++;
+                if (c.kind() == Kind.BITMAP) {
+                    exact.add(c);
+                }
+            }
+        }
+        double bitmapCost = bitmapsUsed * (n * COST_BITMAP_WORD + 1);
+
+        List<Candidate> options = new ArrayList<>();
+        options.add(new Candidate(QueryPlan.AccessPath.FULL_SCAN, null, n, 0.0, conjuncts));
+        if (indexed != null) {
+            options.add(new Candidate(QueryPlan.AccessPath.BITMAP_INDEX, null,
+                    indexed.cardinality(), bitmapCost, without(conjuncts, exact, null)));
+        }
+        for (Conjunct range : conjuncts) {
+            if (range.kind() != Kind.RANGE) {
+                continue;
+            }
+            FilterNode.Comparison comparison = (FilterNode.Comparison) range.node();
+            double rows = n * range.selectivity();
+            double rangeCost = statistics.rangeIndexCost(shapes, metricOf(comparison.field())) + rows * COST_OUTPUT_ROW;
+            options.add(new Candidate(QueryPlan.AccessPath.RANGE_INDEX, range,
+                    rows, rangeCost, without(conjuncts, List.of(), range)));
+            if (indexed != null) {
+                // Independence: the range keeps its share of the bitmap candidates
+                options.add(new Candidate(QueryPlan.AccessPath.BITMAP_AND_RANGE, range,
+                        indexed.cardinality() * range.selectivity(), rangeCost + bitmapCost,
+                        without(conjuncts, exact, range)));
+            }
+        }
+        Candidate best = options.get(0);
+        for (Candidate option : options) {
+            if (option.totalCost() < best.totalCost()) {
+                best = option;
+            }
+        }
+
+        boolean usesBitmaps = best.path() == QueryPlan.AccessPath.BITMAP_INDEX
+                || best.path() == QueryPlan.AccessPath.BITMAP_AND_RANGE;
+        double selectivity = 1.0;
+        for (Conjunct c : conjuncts) {
+            selectivity *= c.selectivity();
+        }
+        QueryPlan plan = new QueryPlan(filter, shapes, shapes.version(), best.path(),
+                usesBitmaps ? indexed : null, usesBitmaps ? exact : List.of(), best.range(), best.residual(),
+                best.rows(), n * selectivity, best.totalCost(), options.get(0).totalCost());
+        LOGGER.log(Level.FINE, "Planned {0} as {1}", new Object[]{filter.expression(), best.path()});
+        return plan;
+    }
+
+    /**
+     * One costed access path.
+     *
+     * @param rows       estimated candidate rows produced by the access path
+     * @param accessCost cost of producing the candidates
+     * @param residual   conjuncts still to test per candidate, in execution order
+     */
+    private record Candidate(QueryPlan.AccessPath path, Conjunct range, double rows, double accessCost,
+                             List<Conjunct> residual) {
+
+        Candidate {
+            residual = residual.stream().sorted(Comparator.comparingDouble(Conjunct::rank)).toList();
+        }
+
+        double totalCost() {
+            double perRow = 0.0;
+            double surviving = 1.0;
+            for (Conjunct c : residual) {
+                perRow += surviving * c.cost();
+                surviving *= c.selectivity();
+            }
+            return accessCost + rows * (perRow + COST_OUTPUT_ROW * surviving);
+        }
+    }
+
+    private static List<Conjunct> without(List<Conjunct> all, List<Conjunct> removed, Conjunct range) {
+        List<Conjunct> rest = new ArrayList<>(all);
+        rest.removeAll(removed);
+        if (range != null) {
+            rest.remove(range);
+        }
+        return rest;
+    }
+
+    private static List<FilterNode> flatten(FilterNode node, List<FilterNode> out) {
+        if (node == null) {
+            return out;
+        }
+        if (node instanceof FilterNode.And and) {
+            flatten(and.left(), out);
+            flatten(and.right(), out);
+        } else {
+            out.add(node);
+        }
+        return out;
+    }
+
+    private static Conjunct classify(FilterNode node, ShapeCollection shapes, Statistics statistics) {
+        int n = Math.max(1, shapes.size());
+        Candidates candidates = candidates(node, shapes);
+        if (candidates != null && candidates.exact()) {
+            return new Conjunct(node, Kind.BITMAP, candidates.slots(),
+                    candidates.slots().cardinality() / (double) n, testCost(node));
+        }
+        ShapeBitmap superset = candidates == null ? null : candidates.slots();
+        double selectivity = estimate(node, shapes, statistics);
+        if (superset != null) {
+            selectivity = Math.min(selectivity, superset.cardinality() / (double) n);
+        }
+        boolean rangeable = node instanceof FilterNode.Comparison comparison
+                && metricOf(comparison.field()) != null && comparison.operator() != FilterNode.Operator.NE;
+        return new Conjunct(node, rangeable ? Kind.RANGE : Kind.RESIDUAL, superset, selectivity, testCost(node));
+    }
+
+    /** Selectivity of arbitrary logic, assuming independent predicates. */
+    private static double estimate(FilterNode node, ShapeCollection shapes, Statistics statistics) {
+        int n = Math.max(1, shapes.size());
+        return switch (node) {
+            case FilterNode.And and -> estimate(and.left(), shapes, statistics) * estimate(and.right(), shapes, statistics);
+            case FilterNode.Or or -> {
+                double a = estimate(or.left(), shapes, statistics);
+                double b = estimate(or.right(), shapes, statistics);
+                yield a + b - a * b;
+            }
+            case FilterNode.Not not -> 1.0 - estimate(not.operand(), shapes, statistics);
+            case FilterNode.Comparison comparison -> statistics.selectivity(shapes, comparison);
+            case FilterNode.Membership membership -> {
+                double s = switch (membership.field()) {
+                    case "type" -> {
+                        long count = 0;
+                        for (String value : membership.values()) {
+                            count += shapes.getCount(ShapeFilter.typeNamed(value));
+                        }
+                        yield count / (double) n;
+                    }
+                    case "color" -> {
+                        int count = 0;
+                        for (String value : membership.values()) {
+                            count += shapes.countOfColor(value);
+                        }
+                        yield count / (double) n;
+                    }
+                    // Names are close to unique
+                    default -> membership.values().size() / (double) n;
+                };
+                s = Math.min(1.0, s);
+                yield membership.negated() ? 1.0 - s : s;
+            }
+        };
+    }
+
+    private static double testCost(FilterNode node) {
+        return switch (node) {
+            case FilterNode.And and -> testCost(and.left()) + testCost(and.right());
+            case FilterNode.Or or -> testCost(or.left()) + testCost(or.right());
+            case FilterNode.Not not -> testCost(not.operand());
+            case FilterNode.Comparison comparison ->
+                    metricOf(comparison.field()) != null ? COST_CACHED_METRIC : COST_DIMENSION;
+            case FilterNode.Membership membership ->
+                    membership.field().equals("type") ? COST_TYPE : COST_TEXT * membership.values().size();
+        };
+    }
+
+    /**
+     * Answers a subtree from the collection's type and color bitmap indexes.
+     *
+     * @return candidates, or null if the subtree needs a full scan
+     */
+    static Candidates candidates(FilterNode node, ShapeCollection shapes) {
+        return switch (node) {
+            case FilterNode.And and -> {
+                Candidates left = candidates(and.left(), shapes);
+                Candidates right = candidates(and.right(), shapes);
+                if (left == null || right == null) {
+                    // The indexed side alone is still a superset of the matches, but no longer exact
+                    Candidates indexed = left == null ? right : left;
+                    yield indexed == null ? null : new Candidates(indexed.slots(), false);
+                }
+                yield new Candidates(left.slots().and(right.slots()), left.exact() && right.exact());
+            }
+            case FilterNode.Or or -> {
+                Candidates left = candidates(or.left(), shapes);
+                Candidates right = candidates(or.right(), shapes);
+                yield left == null || right == null ? null
+                        : new Candidates(left.slots().or(right.slots()), left.exact() && right.exact());
+            }
+            case FilterNode.Not not -> {
+                Candidates operand = candidates(not.operand(), shapes);
+                // The complement of a superset is not a superset, so only exact operands help
+                yield operand == null || !operand.exact() ? null
+                        : new Candidates(shapes.allSlots().andNot(operand.slots()), true);
+            }
+            case FilterNode.Membership membership when !membership.field().equals("name") -> {
+                ShapeBitmap slots = new ShapeBitmap();
+                for (String value : membership.values()) {
+                    slots = slots.or(membership.field().equals("type")
+                            ? shapes.slotsOfType(ShapeFilter.typeNamed(value))
+                            : shapes.slotsOfColor(value));
+                }
+                yield new Candidates(membership.negated() ? shapes.allSlots().andNot(slots) : slots, true);
+            }
+            case FilterNode.Membership membership -> null;
+            case FilterNode.Comparison comparison -> null;
+        };
+    }
+
+    /**
+     * Compiles a conjunct into a test on a slot; metric comparisons read the collection's
+     * cached values instead of calling back into the shape.
+     */
+    static IntPredicate slotTest(Conjunct conjunct, ShapeCollection shapes) {
+        if (conjunct.node() instanceof FilterNode.Comparison comparison && metricOf(comparison.field()) != null) {
+            ShapeMetric metric = metricOf(comparison.field());
+            double c = comparison.value();
+            return switch (comparison.operator()) {
+                case EQ -> slot -> shapes.valueAtSlot(slot, metric) == c;
+                case NE -> slot -> shapes.valueAtSlot(slot, metric) != c;
+                case LT -> slot -> shapes.valueAtSlot(slot, metric) < c;
+                case LE -> slot -> shapes.valueAtSlot(slot, metric) <= c;
+                case GT -> slot -> shapes.valueAtSlot(slot, metric) > c;
+                case GE -> slot -> shapes.valueAtSlot(slot, metric) >= c;
+            };
+        }
+        Predicate<Shape3D> test = ShapeFilter.toPredicate(conjunct.node());
+        return slot -> test.test(shapes.shapeAtSlot(slot));
+    }
+
+    static ShapeMetric metricOf(String field) {
+        return switch (field) {
+            case "volume" -> ShapeMetric.VOLUME;
+            case "surfacearea" -> ShapeMetric.SURFACE_AREA;
+            case "efficiency" -> ShapeMetric.EFFICIENCY;
+            default -> null;
+        };
+    }
+
+    /** Renders a subtree back into filter syntax. */
+    static String describe(FilterNode node) {
+        return switch (node) {
+            case FilterNode.And and -> "(" + describe(and.left()) + " and " + describe(and.right()) + ")";
+            case FilterNode.Or or -> "(" + describe(or.left()) + " or " + describe(or.right()) + ")";
+            case FilterNode.Not not -> "not " + describe(not.operand());
+            case FilterNode.Comparison c -> c.field() + " " + c.operator().symbol() + " " + c.value();
+            case FilterNode.Membership m -> m.values().size() == 1
+                    ? m.field() + (m.negated() ? " != " : " = ") + quoted(m.values().get(0))
+                    : m.field() + (m.negated() ? " not in (" : " in (")
+                            + String.join(", ", m.values().stream().map(ShapeQueryPlanner::quoted).toList()) + ")";
+        };
+    }
+
+    private static String quoted(String value) {
+        return value.chars().allMatch(Character::isLetterOrDigit) ? value : "'" + value + "'";
+    }
+
+    // ---------- Statistics ----------
+
+    /**
+     * Lazily built, per-collection planner statistics: histograms per numeric field and
+     * sorted range indexes per metric.
+     */
+    static final class Statistics {
+
+        private final Map<String, Histogram> histograms = new HashMap<>();
+        private final Map<ShapeMetric, RangeIndex> rangeIndexes = new EnumMap<>(ShapeMetric.class);
+        /** Plans with a range filter per metric since the collection was at {@link #rangeFilterVersion}. */
+        private final Map<ShapeMetric, Integer> rangeFilters = new EnumMap<>(ShapeMetric.class);
+        private long rangeFilterVersion = -1;
+
+        /** Records that a plan range-filters a metric; repeats justify building its index. */
+        void noteRangeFilter(ShapeCollection shapes, ShapeMetric metric) {
+            if (rangeFilterVersion != shapes.version()) {
+                rangeFilters.clear();
+                rangeFilterVersion = shapes.version();
+            }
+            rangeFilters.merge(metric, 1, Integer::sum);
+        }
+
+        double selectivity(ShapeCollection shapes, FilterNode.Comparison comparison) {
+            ShapeMetric metric = metricOf(comparison.field());
+            RangeIndex index = metric == null ? null : rangeIndexes.get(metric);
+            if (index != null && index.version == shapes.version() && comparison.operator() != FilterNode.Operator.NE) {
+                // A fresh range index answers exactly
+                int[] bounds = index.bounds(comparison.operator(), comparison.value());
+                return (bounds[1] - bounds[0]) / (double) Math.max(1, shapes.size());
+            }
+            return histogram(shapes, comparison.field()).selectivity(comparison.operator(), comparison.value());
+        }
+
+        Histogram histogram(ShapeCollection shapes, String field) {
+            Histogram histogram = histograms.get(field);
+            long staleAfter = Math.max(16, shapes.size() / 10);
+            if (histogram == null || shapes.version() - histogram.version > staleAfter) {
+                histogram = Histogram.build(shapes, field);
+                histograms.put(field, histogram);
+            }
+            return histogram;
+        }
+
+        double rangeIndexCost(ShapeCollection shapes, ShapeMetric metric) {
+            RangeIndex index = rangeIndexes.get(metric);
+            double lookup = 2 * (Math.log(shapes.size() + 1) / Math.log(2));
+            boolean fresh = index != null && index.version == shapes.version();
+            boolean repeated = rangeFilterVersion == shapes.version() && rangeFilters.getOrDefault(metric, 0) > 1;
+            return fresh || repeated ? lookup : lookup + shapes.size() * COST_INDEX_BUILD_PER_ROW;
+        }
+
+        RangeIndex rangeIndex(ShapeCollection shapes, ShapeMetric metric) {
+            RangeIndex index = rangeIndexes.get(metric);
+            if (index == null || index.version != shapes.version()) {
+                index = RangeIndex.build(shapes, metric);
+                rangeIndexes.put(metric, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Equi-depth histogram of a numeric field over a sample of the collection.
+     */
+    static final class Histogram {
+
+        final long version;
+        final int sampled;
+        /** Fraction of sampled shapes that have the field (dimensions are type-specific). */
+        final double present;
+        /** {@code BUCKETS + 1} boundaries; bucket b holds an equal share of the present values. */
+        final double[] bounds;
+        final int distinct;
+
+        private Histogram(long version, int sampled, double present, double[] bounds, int distinct) {
+            this.version = version;
+            this.sampled = sampled;
+            this.present = present;
+            this.bounds = bounds;
+            this.distinct = distinct;
+        }
+
+        static Histogram build(ShapeCollection shapes, String field) {
+            int[] slots = shapes.allSlots().toArray();
+            int step = Math.max(1, slots.length / SAMPLE_SIZE);
+            double[] values = new double[Math.min(slots.length, SAMPLE_SIZE + 1)];
+            int sampled = 0, count = 0;
+            ShapeMetric metric = metricOf(field);
+            ToDoubleFunction<Shape3D> dimension = metric != null ? null : ShapeFilter.numericField(field);
+            for (int i = 0; i < slots.length && count < values.length; i += step) {
+                double v = metric != null ? shapes.valueAtSlot(slots[i], metric)
+                        : dimension.applyAsDouble(shapes.shapeAtSlot(slots[i]));
+                sampled++;
+                if (!Double.isNaN(v)) {
+                    values[count++] = v;
+                }
+            }
+            double[] present = Arrays.copyOf(values, count);
+            Arrays.sort(present);
+            double[] bounds = new double[BUCKETS + 1];
+            int distinct = 0;
+            if (count > 0) {
+                for (int b = 0; b <= BUCKETS; b++) {
+                    bounds[b] = present[(int) ((long) (count - 1) * b / BUCKETS)];
+                }
+                distinct = 1;
+                for (int i = 1; i < count; i++) {
+                    if (present[i] != present[i - 1]) {
+                        distinct++;
+                    }
+                }
+            }
+            return new Histogram(shapes.version(), sampled, sampled == 0 ? 0.0 : count / (double) sampled,
+                    bounds, distinct);
+        }
+
+        double selectivity(FilterNode.Operator operator, double value) {
+            if (present == 0.0) {
+                return 0.0;
+            }
+            double equal = present / Math.max(1, distinct);
+            double below = present * fractionBelow(value);
+            return switch (operator) {
+                case LT -> below;
+                case LE -> Math.min(present, below + equal);
+                case GT -> Math.max(0.0, present - below - equal);
+                case GE -> present - below;
+                case EQ -> value < bounds[0] || value > bounds[BUCKETS] ? 0.0 : equal;
+                case NE -> present - (value < bounds[0] || value > bounds[BUCKETS] ? 0.0 : equal);
+            };
+        }
+
+        /** Fraction of present values below {@code value}, interpolated within a bucket. */
+        private double fractionBelow(double value) {
+            if (value <= bounds[0]) return 0.0;
+            if (value > bounds[BUCKETS]) return 1.0;
+            int b = 0;
+            while (b < BUCKETS - 1 && value > bounds[b + 1]) {
+                b++;
+            }
+            double lo = bounds[b], hi = bounds[b + 1];
+            double within = hi > lo ? (value - lo) / (hi - lo) : 0.5;
+            return (b + within) / BUCKETS;
+        }
+    }
+
+    /**
+     * Slots sorted by one metric's cached value, valid for one collection version. Shapes
+     * whose value is NaN (e.g. the efficiency of a zero-size shape) match no comparison and
+     * are left out.
+     */
+    static final class RangeIndex {
+
+        final long version;
+        final double[] keys;
+        final int[] slots;
+
+        private RangeIndex(long version, double[] keys, int[] slots) {
+            this.version = version;
+            this.keys = keys;
+            this.slots = slots;
+        }
+
+        static RangeIndex build(ShapeCollection shapes, ShapeMetric metric) {
+            int[] live = shapes.allSlots().toArray();
+            double[] values = new double[live.length];
+            for (int i = 0; i < live.length; i++) {
+                values[i] = shapes.valueAtSlot(live[i], metric);
+            }
+            int[] order = ShapeSorter.sortedIndices(values, false);
+            // NaN keys sort last; cut them off
+            int present = order.length;
+            while (present > 0 && Double.isNaN(values[order[present - 1]])) {
+                present--;
+            }
+            double[] keys = new double[present];
+            int[] slots = new int[present];
+            for (int i = 0; i < present; i++) {
+                keys[i] = values[order[i]];
+                slots[i] = live[order[i]];
+            }
+            LOGGER.log(Level.FINE, "Built {0} range index over {1} shapes", new Object[]{metric, live.length});
+            return new RangeIndex(shapes.version(), keys, slots);
+        }
+
+        /** Returns {@code [from, to)} positions of keys satisfying {@code key op value}. */
+        int[] bounds(FilterNode.Operator operator, double value) {
+            int lower = lowerBound(value);
+            int upper = upperBound(value);
+            return switch (operator) {
+                case LT -> new int[]{0, lower};
+                case LE -> new int[]{0, upper};
+                case GT -> new int[]{upper, keys.length};
+                case GE -> new int[]{lower, keys.length};
+                case EQ -> new int[]{lower, upper};
+                case NE -> throw new IllegalStateException("!= is not a range");
+            };
+        }
+
+        ShapeBitmap slots(FilterNode.Operator operator, double value) {
+            int[] range = bounds(operator, value);
+            ShapeBitmap result = new ShapeBitmap();
+            for (int i = range[0]; i < range[1]; i++) {
+                result.add(slots[i]);
+            }
+            return result;
+        }
+
+        /** First position whose key is {@code >= value}. */
+        private int lowerBound(double value) {
+            int lo = 0, hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid] < value) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        /** First position whose key is {@code > value}. */
+        private int upperBound(double value) {
+            int lo = 0, hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid] <= value) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
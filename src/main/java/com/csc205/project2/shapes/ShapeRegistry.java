@@ -0,0 +1,91 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Every concrete {@link Shape3D} known at compile time, with direct-call creators.
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>No startup reflection:</em> the descriptors come from
+ *       {@code GeneratedShapeRegistry}, written by an annotation processor during the
+ *       Maven build, so creating a shape is an ordinary constructor call.</li>
+ *   <li><em>Automatic plug-in:</em> once a new shape with {@code (String, String, double, ...)}
+ *       constructors is added to the {@code permits} clause of {@link Shape3D}, it appears here,
+ *       and therefore in {@link ShapeFactory}, the CLI and the GUI, without editing any of them.</li>
+ *   <li><em>Stable order:</em> the built-in shapes are listed in {@link ShapeType} order;
+ *       any others follow alphabetically.</li>
+ * </ol>
+ */
+public final class ShapeRegistry {
+
+    private static final List<ShapeDescriptor> DESCRIPTORS = ordered(GeneratedShapeRegistry.DESCRIPTORS);
+
+    private static final Map<Class<? extends Shape3D>, ShapeDescriptor> BY_TYPE = DESCRIPTORS.stream()
+            .collect(Collectors.toUnmodifiableMap(ShapeDescriptor::type, Function.identity()));
+
+    private ShapeRegistry() {
+        // utility class
+    }
+
+    /**
+     * Returns all registered shapes.
+     *
+     * @return immutable list of descriptors
+     */
+    public static List<ShapeDescriptor> all() {
+        return DESCRIPTORS;
+    }
+
+    /**
+     * Looks up the descriptor for a class.
+     *
+     * @param type a shape class
+     * @return the descriptor, or empty if the class was not registered at compile time
+     */
+    public static Optional<ShapeDescriptor> find(Class<?> type) {
+        return Optional.ofNullable(BY_TYPE.get(type));
+    }
+
+    /**
+     * Looks up a descriptor by simple class name or display name, ignoring case.
+     *
+     * @param name e.g. {@code "RectangularPrism"} or {@code "rectangular prism"}
+     * @return the descriptor, or empty if none matches
+     */
+    public static Optional<ShapeDescriptor> find(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        String trimmed = name.trim();
+        for (ShapeDescriptor descriptor : DESCRIPTORS) {
+            if (descriptor.type().getSimpleName().equalsIgnoreCase(trimmed)
+                    || descriptor.displayName().equalsIgnoreCase(trimmed)) {
+                return Optional.of(descriptor);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static List<ShapeDescriptor> ordered(List<ShapeDescriptor> generated) {
+        List<ShapeDescriptor> list = new ArrayList<>(generated);
+        list.sort(Comparator.comparingInt(ShapeRegistry::builtInOrder)
+                .thenComparing(d -> d.type().getName()));
+        return List.copyOf(list);
+    }
+
+    private static int builtInOrder(ShapeDescriptor descriptor) {
+        for (ShapeType type : ShapeType.values()) {
+            if (type.shapeClass() == descriptor.type()) {
+                return type.ordinal();
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+}
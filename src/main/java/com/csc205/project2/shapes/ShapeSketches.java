@@ -0,0 +1,224 @@
+package com.csc205.project2.shapes;
+
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+/**
+ * Bounded-memory summaries of shape names and colors: distinct counts
+ * ({@link DistinctCounter}) and most frequent values ({@link HeavyHitters}).
+ *
+ * <p>Memory is fixed at about 8 KiB for the two distinct counters plus the heavy-hitter
+ * counters, however many shapes are recorded. Names are compared exactly; colors ignore
+ * case, as in {@link ShapeFilter} and {@link ShapeGroupBy#byColor()}, and both report
+ * them in lower case.</p>
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>Ingest-time:</em> {@link ShapeCollection} folds each added shape in as it
+ *       arrives, so reporting never rescans or builds hash sets of names.</li>
+ *   <li><em>Mergeable:</em> every part merges, so partitions are summarized in parallel
+ *       and combined; {@link #of(ShapeStore)} merges fixed-size chunks in order, so the
+ *       result does not depend on the thread count.</li>
+ * </ol>
+ */
+public final class ShapeSketches {
+
+    private static final Logger LOGGER = Logger.getLogger(ShapeSketches.class.getName());
+
+    /** Rows per parallel chunk; fixed so that results do not depend on the thread count. */
+    static final int CHUNK = 1 << 14;
+
+    private final DistinctCounter distinctNames;
+    private final DistinctCounter distinctColors;
+    private final HeavyHitters topNames;
+    private final HeavyHitters topColors;
+
+    /**
+     * Creates empty sketches with default precision and capacity.
+     */
+    public ShapeSketches() {
+        this(new DistinctCounter(), new DistinctCounter(), new HeavyHitters(), new HeavyHitters());
+    }
+
+    private ShapeSketches(DistinctCounter distinctNames, DistinctCounter distinctColors,
+                          HeavyHitters topNames, HeavyHitters topColors) {
+        this.distinctNames = distinctNames;
+        this.distinctColors = distinctColors;
+        this.topNames = topNames;
+        this.topColors = topColors;
+    }
+
+    /**
+     * Summarizes shapes in iteration order.
+     *
+     * @param shapes the shapes
+     * @return new sketches
+     */
+    public static ShapeSketches of(Iterable<? extends Shape3D> shapes) {
+        ShapeSketches sketches = new ShapeSketches();
+        for (Shape3D shape : shapes) {
+            sketches.accept(shape);
+        }
+        return sketches;
+    }
+
+    /**
+     * Summarizes a columnar store, in parallel for large stores.
+     *
+     * @param store the store
+     * @return new sketches
+     */
+    public static ShapeSketches of(ShapeStore store) {
+        return build(store.size(), store::nameAt, store::colorAt);
+    }
+
+    /**
+     * Summarizes rows {@code [0, n)} in fixed chunks, merged in chunk order.
+     */
+    static ShapeSketches build(int n, IntFunction<String> name, IntFunction<String> color) {
+        int chunks = Math.max(1, (n + CHUNK - 1) / CHUNK);
+        ShapeSketches[] partials = new ShapeSketches[chunks];
+        IntStream range = IntStream.range(0, chunks);
+        (chunks > 1 ? range.parallel() : range).forEach(chunk -> {
+            ShapeSketches partial = new ShapeSketches();
+            int end = Math.min(n, (chunk + 1) * CHUNK);
+            for (int row = chunk * CHUNK; row < end; row++) {
+                partial.accept(name.apply(row), color.apply(row));
+            }
+            partials[chunk] = partial;
+        });
+        ShapeSketches result = partials[0];
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            result.combine(partials[chunk]);
+        }
+        LOGGER.log(Level.FINE, "Sketched names and colors of {0} shapes in {1} chunks", new Object[]{n, chunks});
+        return result;
+    }
+
+    /**
+     * Returns a collector that summarizes a stream of shapes. It supports parallel streams.
+     *
+     * @return a collector producing {@link ShapeSketches}
+     */
+    public static Collector<Shape3D, ?, ShapeSketches> collector() {
+        return Collector.of(ShapeSketches::new, ShapeSketches::accept,
+                (left, right) -> {
+                    left.combine(right);
+                    return left;
+                });
+    }
+
+    /**
+     * Returns a copy that evolves independently of these sketches.
+     *
+     * @return new sketches with the same contents
+     */
+    public ShapeSketches copy() {
+        return new ShapeSketches(distinctNames.copy(), distinctColors.copy(), topNames.copy(), topColors.copy());
+    }
+
+    /**
+     * Records a shape's name and color.
+     *
+     * @param shape a non-null shape
+     */
+    public void accept(Shape3D shape) {
+        accept(shape.getName(), shape.getColor());
+    }
+
+    /**
+     * Records a name and a color.
+     *
+     * @param name  a shape's name
+     * @param color its color; counted without regard to case
+     */
+    public void accept(String name, String color) {
+        String colorKey = ShapeCollection.colorKey(color);
+        distinctNames.add(name);
+        distinctColors.add(colorKey);
+        topNames.add(name);
+        topColors.add(colorKey);
+    }
+
+    /**
+     * Merges other sketches into these.
+     *
+     * @param other sketches with default precision and capacity; they are not modified
+     */
+    public void combine(ShapeSketches other) {
+        distinctNames.merge(other.distinctNames);
+        distinctColors.merge(other.distinctColors);
+        topNames.merge(other.topNames);
+        topColors.merge(other.topColors);
+    }
+
+    // ---------- Queries ----------
+
+    /**
+     * Estimates the number of distinct names.
+     *
+     * @return estimate, within about 1.6% (one standard error)
+     */
+    public long distinctNames() {
+        return distinctNames.estimate();
+    }
+
+    /**
+     * Estimates the number of distinct colors.
+     *
+     * @return estimate, within about 1.6% (one standard error)
+     */
+    public long distinctColors() {
+        return distinctColors.estimate();
+    }
+
+    /**
+     * Returns the most frequent names, e.g. to spot duplicated names.
+     *
+     * @param limit maximum number of items
+     * @return items by descending estimated count
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public List<HeavyHitters.Item> topNames(int limit) {
+        return topNames.top(limit);
+    }
+
+    /**
+     * Returns the most frequent colors.
+     *
+     * @param limit maximum number of items
+     * @return items by descending estimated count, with colors in lower case
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public List<HeavyHitters.Item> topColors(int limit) {
+        return topColors.top(limit);
+    }
+
+    /**
+     * Returns the relative standard error of the distinct counts.
+     *
+     * @return e.g. about 0.016
+     */
+    public double distinctError() {
+        return distinctNames.standardError();
+    }
+
+    /**
+     * Returns how many shapes were recorded.
+     *
+     * @return shape count
+     */
+    public long count() {
+        return topColors.total();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ShapeSketches {count=%d, distinctNames~%d, distinctColors~%d, topColors=%s}",
+                count(), distinctNames(), distinctColors(), topColors(3));
+    }
+}
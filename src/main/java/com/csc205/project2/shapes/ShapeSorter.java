@@ -0,0 +1,339 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Sorts shapes by one or more keys using a stable, parallel LSD radix sort over
+ * primitive 64-bit keys.
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>Evaluate once:</em> each {@link SortKey} is extracted into a {@code long[]} with
+ *       one evaluation per shape, instead of two per comparison with a boxing comparator.</li>
+ *   <li><em>Radix on IEEE-754 bits:</em> a double's bit pattern is flipped so that unsigned
+ *       integer order equals {@link Double#compare} order (negatives, -0.0, 0.0, positives,
+ *       NaN). Strings are replaced by their rank among the distinct values.</li>
+ *   <li><em>Only the bytes that differ:</em> passes are skipped for byte positions where
+ *       all keys agree, so small keys such as a type ordinal take a single pass.</li>
+ *   <li><em>Multi-key by stability:</em> keys are applied from least to most significant;
+ *       each pass is stable, so earlier keys win and full ties keep list order.</li>
+ *   <li><em>Parallel passes:</em> large inputs are cut into chunks; chunks build byte
+ *       histograms and then scatter into disjoint output ranges concurrently.</li>
+ * </ol>
+ */
+public final class ShapeSorter {
+
+    private static final Logger LOGGER = Logger.getLogger(ShapeSorter.class.getName());
+
+    /** Inputs smaller than this are sorted on the calling thread. */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Smallest chunk a parallel pass hands to one task. */
+    private static final int MIN_CHUNK = 1 << 14;
+
+    private static final int RADIX = 256;
+
+    private ShapeSorter() {
+        // utility class
+    }
+
+    /**
+     * One component of a sort order.
+     */
+    public static final class SortKey {
+
+        private final String description;
+        private final Function<List<? extends Shape3D>, long[]> extractor;
+        private final boolean descending;
+
+        private SortKey(String description, Function<List<? extends Shape3D>, long[]> extractor, boolean descending) {
+            this.description = description;
+            this.extractor = extractor;
+            this.descending = descending;
+        }
+
+        /**
+         * Orders by a numeric metric, ascending, in {@link Double#compare} order.
+         *
+         * @param metric e.g. {@link ShapeMetric#VOLUME}
+         * @return an ascending key
+         */
+        public static SortKey by(ToDoubleFunction<? super Shape3D> metric) {
+            if (metric == null) {
+                String message = "metric must not be null.";
+                LOGGER.log(Level.SEVERE, message);
+                throw new IllegalArgumentException(message);
+            }
+            return new SortKey(String.valueOf(metric), shapes -> {
+                long[] keys = new long[shapes.size()];
+                int i = 0;
+                for (Shape3D shape : shapes) {
+                    keys[i++] = sortableBits(metric.applyAsDouble(shape));
+                }
+                return keys;
+            }, false);
+        }
+
+        /**
+         * Orders by {@link ShapeType} declaration order.
+         *
+         * @return an ascending key
+         */
+        public static SortKey byType() {
+            return new SortKey("type", shapes -> {
+                long[] keys = new long[shapes.size()];
+                int i = 0;
+                for (Shape3D shape : shapes) {
+                    keys[i++] = ShapeType.of(shape).ordinal();
+                }
+                return keys;
+            }, false);
+        }
+
+        /**
+         * Orders by color ignoring case, as {@link ShapeFilter} matches colors: colors are
+         * ranked in {@link String#compareTo} order of their case-folded form, and spellings
+         * that differ only in case tie.
+         *
+         * @return an ascending key
+         */
+        public static SortKey byColor() {
+            return new SortKey("color",
+                    shapes -> ranks(shapes, shape -> ShapeCollection.colorKey(shape.getColor())), false);
+        }
+
+        /**
+         * Orders by name, in {@link String#compareTo} order.
+         *
+         * @return an ascending key
+         */
+        public static SortKey byName() {
+            return new SortKey("name", shapes -> ranks(shapes, Shape3D::getName), false);
+        }
+
+        /**
+         * Returns this key with the opposite direction.
+         *
+         * @return a reversed key
+         */
+        public SortKey descending() {
+            return new SortKey(description, extractor, !descending);
+        }
+
+        long[] extract(List<? extends Shape3D> shapes) {
+            long[] keys = extractor.apply(shapes);
+            if (descending) {
+                for (int i = 0; i < keys.length; i++) {
+                    keys[i] = ~keys[i];
+                }
+            }
+            return keys;
+        }
+
+        @Override
+        public String toString() {
+            return description + (descending ? " desc" : " asc");
+        }
+
+        private static long[] ranks(List<? extends Shape3D> shapes, Function<Shape3D, String> text) {
+            Map<String, Integer> rankOf = new HashMap<>();
+            for (Shape3D shape : shapes) {
+                rankOf.putIfAbsent(text.apply(shape), 0);
+            }
+            String[] distinct = rankOf.keySet().toArray(new String[0]);
+            Arrays.sort(distinct);
+            for (int r = 0; r < distinct.length; r++) {
+                rankOf.put(distinct[r], r);
+            }
+            long[] keys = new long[shapes.size()];
+            int i = 0;
+            for (Shape3D shape : shapes) {
+                keys[i++] = rankOf.get(text.apply(shape));
+            }
+            return keys;
+        }
+    }
+
+    // ---------- Public API ----------
+
+    /**
+     * Returns the order in which the shapes should appear.
+     *
+     * @param shapes the shapes; not modified
+     * @param keys   one or more keys, most significant first
+     * @return {@code result[i]} is the list index of the i-th shape in sorted order
+     * @throws IllegalArgumentException if shapes is null or no keys are given
+     */
+    public static int[] sortedIndices(List<? extends Shape3D> shapes, SortKey... keys) {
+        if (shapes == null || keys == null || keys.length == 0) {
+            String message = "shapes must be non-null and at least one sort key is required.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        int n = shapes.size();
+        int[] order = identity(n);
+        long[] scratch = new long[n];
+        // Least significant key first; every pass is stable
+        for (int k = keys.length - 1; k >= 0; k--) {
+            long[] extracted = keys[k].extract(shapes);
+            for (int i = 0; i < n; i++) {
+                scratch[i] = extracted[order[i]];
+            }
+            radixSort(scratch, order);
+        }
+        return order;
+    }
+
+    /**
+     * Returns a new list with the shapes in sorted order.
+     *
+     * @param shapes the shapes; not modified
+     * @param keys   one or more keys, most significant first
+     * @return a new sorted list
+     */
+    public static <T extends Shape3D> List<T> sorted(List<T> shapes, SortKey... keys) {
+        int[] order = sortedIndices(shapes, keys);
+        List<T> result = new ArrayList<>(order.length);
+        for (int index : order) {
+            result.add(shapes.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * Sorts a list in place, like {@link List#sort}.
+     *
+     * @param shapes a modifiable list
+     * @param keys   one or more keys, most significant first
+     */
+    public static <T extends Shape3D> void sort(List<T> shapes, SortKey... keys) {
+        List<T> sorted = sorted(shapes, keys);
+        ListIterator<T> it = shapes.listIterator();
+        for (T shape : sorted) {
+            it.next();
+            it.set(shape);
+        }
+    }
+
+    /**
+     * Returns the indices that sort a primitive array, e.g. the output of {@link ShapeKernels}.
+     *
+     * @param values     the values; not modified
+     * @param descending true for largest first
+     * @return {@code result[i]} is the index of the i-th value in sorted order (stable)
+     */
+    public static int[] sortedIndices(double[] values, boolean descending) {
+        long[] keys = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            long bits = sortableBits(values[i]);
+            keys[i] = descending ? ~bits : bits;
+        }
+        int[] order = identity(values.length);
+        radixSort(keys, order);
+        return order;
+    }
+
+    // ---------- Radix sort ----------
+
+    /**
+     * Maps a double to a long whose unsigned order equals {@link Double#compare} order.
+     */
+    static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    /**
+     * Stable LSD radix sort of {@code keys} (unsigned), permuting {@code values} alongside.
+     */
+    static void radixSort(long[] keys, int[] values) {
+        int n = keys.length;
+        if (n < 2) {
+            return;
+        }
+        long differing = 0;
+        for (int i = 1; i < n; i++) {
+            differing |= keys[i] ^ keys[0];
+        }
+        if (differing == 0) {
+            return;
+        }
+
+        int chunks = n < PARALLEL_THRESHOLD ? 1
+                : Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, n / MIN_CHUNK));
+        long[] keyBuffer = new long[n];
+        int[] valueBuffer = new int[n];
+        long[] srcKeys = keys, dstKeys = keyBuffer;
+        int[] srcValues = values, dstValues = valueBuffer;
+
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            if (((differing >>> shift) & 0xFF) == 0) {
+                continue;
+            }
+            pass(srcKeys, srcValues, dstKeys, dstValues, shift, chunks);
+            long[] tk = srcKeys; srcKeys = dstKeys; dstKeys = tk;
+            int[] tv = srcValues; srcValues = dstValues; dstValues = tv;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcValues, 0, values, 0, n);
+        }
+    }
+
+    private static void pass(long[] srcKeys, int[] srcValues, long[] dstKeys, int[] dstValues,
+                             int shift, int chunks) {
+        int n = srcKeys.length;
+        int[][] offsets = new int[chunks][RADIX];
+
+        IntStream histograms = IntStream.range(0, chunks);
+        (chunks > 1 ? histograms.parallel() : histograms).forEach(c -> {
+            int[] counts = offsets[c];
+            for (int i = chunkStart(c, chunks, n), end = chunkStart(c + 1, chunks, n); i < end; i++) {
+                counts[(int) (srcKeys[i] >>> shift) & 0xFF]++;
+            }
+        });
+
+        // Bucket-major prefix sum: chunk c's slice of bucket b follows chunk c-1's slice
+        int running = 0;
+        for (int b = 0; b < RADIX; b++) {
+            for (int c = 0; c < chunks; c++) {
+                int count = offsets[c][b];
+                offsets[c][b] = running;
+                running += count;
+            }
+        }
+
+        IntStream scatters = IntStream.range(0, chunks);
+        (chunks > 1 ? scatters.parallel() : scatters).forEach(c -> {
+            int[] next = offsets[c];
+            for (int i = chunkStart(c, chunks, n), end = chunkStart(c + 1, chunks, n); i < end; i++) {
+                int position = next[(int) (srcKeys[i] >>> shift) & 0xFF]++;
+                dstKeys[position] = srcKeys[i];
+                dstValues[position] = srcValues[i];
+            }
+        });
+    }
+
+    private static int chunkStart(int chunk, int chunks, int n) {
+        return (int) ((long) n * chunk / chunks);
+    }
+}
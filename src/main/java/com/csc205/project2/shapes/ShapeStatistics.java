@@ -0,0 +1,364 @@
+package com.csc205.project2.shapes;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+/**
+ * Single-pass summary of a group of shapes: extremes, efficiency extremes, sums,
+ * averages, and per-type counts.
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>One evaluation per shape:</em> {@link #accept(Shape3D)} reads volume and
+ *       surface area once and derives efficiency from them. Extremes keep the name and
+ *       value, so reporting never calls back into the shapes.</li>
+ *   <li><em>Same answers as the old code:</em> extremes compare with {@link Double#compare},
+ *       like {@code Comparator.comparing}, and ties keep the earliest shape, like
+ *       {@code Collections.max/min}.</li>
+ *   <li><em>Reproducible totals:</em> sums are exact ({@link ExactSum}) and rounded once
+ *       when read, so they come out bit-identical however the shapes were ordered,
+ *       partitioned, or spread across threads.</li>
+ *   <li><em>Mergeable:</em> {@link #combine(ShapeStatistics)} folds in a summary of a later
+ *       partition, so the statistics work as a parallel {@link Collector}, and
+ *       {@link #of(ShapeStore)} summarizes fixed-size chunks in parallel.</li>
+ * </ol>
+ *
+ * <p>Like {@link java.util.DoubleSummaryStatistics}, instances are not thread-safe; give
+ * each thread its own and combine them.</p>
+ */
+public final class ShapeStatistics {
+
+    /**
+     * An extreme value and the shape it came from.
+     *
+     * @param name  the shape's name
+     * @param type  the shape's type
+     * @param value the metric value
+     */
+    public record Extreme(String name, ShapeType type, double value) {
+    }
+
+    /** Rows per parallel chunk in {@link #of(ShapeStore)}. */
+    static final int CHUNK = 1 << 14;
+
+    private final ExactSum volumes;
+    private final ExactSum surfaceAreas;
+    private final long[] typeCounts;
+    private long count;
+
+    private Extreme maxVolume;
+    private Extreme minVolume;
+    private Extreme maxSurfaceArea;
+    private Extreme minSurfaceArea;
+    private Extreme maxEfficiency;
+    private Extreme minEfficiency;
+
+    /**
+     * Creates an empty summary.
+     */
+    public ShapeStatistics() {
+        this(new ExactSum(), new ExactSum(), new long[ShapeType.values().length]);
+    }
+
+    private ShapeStatistics(ExactSum volumes, ExactSum surfaceAreas, long[] typeCounts) {
+        this.volumes = volumes;
+        this.surfaceAreas = surfaceAreas;
+        this.typeCounts = typeCounts;
+        for (long c : typeCounts) {
+            count += c;
+        }
+    }
+
+    /**
+     * Builds a summary from totals and extremes maintained elsewhere, e.g. by
+     * {@link ShapeCollection}. All extremes must be null exactly when the counts are all zero.
+     *
+     * @param typeCounts       per-type counts indexed by {@link ShapeType#ordinal()}; copied
+     * @param totalVolume      exact volume total; kept, so pass a copy
+     * @param totalSurfaceArea exact surface-area total; kept, so pass a copy
+     */
+    static ShapeStatistics snapshot(long[] typeCounts, ExactSum totalVolume, ExactSum totalSurfaceArea,
+                                    Extreme maxVolume, Extreme minVolume,
+                                    Extreme maxSurfaceArea, Extreme minSurfaceArea,
+                                    Extreme maxEfficiency, Extreme minEfficiency) {
+        ShapeStatistics stats = new ShapeStatistics(totalVolume, totalSurfaceArea, typeCounts.clone());
+        if (stats.count > 0) {
+            stats.maxVolume = maxVolume;
+            stats.minVolume = minVolume;
+            stats.maxSurfaceArea = maxSurfaceArea;
+            stats.minSurfaceArea = minSurfaceArea;
+            stats.maxEfficiency = maxEfficiency;
+            stats.minEfficiency = minEfficiency;
+        }
+        return stats;
+    }
+
+    /**
+     * Summarizes shapes in iteration order.
+     *
+     * @param shapes the shapes
+     * @return a new summary
+     */
+    public static ShapeStatistics of(Iterable<? extends Shape3D> shapes) {
+        ShapeStatistics stats = new ShapeStatistics();
+        for (Shape3D shape : shapes) {
+            stats.accept(shape);
+        }
+        return stats;
+    }
+
+    /**
+     * Summarizes a columnar store using its bulk kernels, in parallel chunks for large
+     * stores. Extremes and totals are the same as for a summary in row order.
+     *
+     * @param store the store
+     * @return a new summary
+     */
+    public static ShapeStatistics of(ShapeStore store) {
+        int n = store.size();
+        double[] vol = new double[n];
+        double[] sa = new double[n];
+        store.volumes(vol);
+        store.surfaceAreas(sa);
+        int chunks = Math.max(1, (n + CHUNK - 1) / CHUNK);
+        ShapeStatistics[] partials = new ShapeStatistics[chunks];
+        IntStream range = IntStream.range(0, chunks);
+        (chunks > 1 ? range.parallel() : range).forEach(chunk -> {
+            ShapeStatistics partial = new ShapeStatistics();
+            int end = Math.min(n, (chunk + 1) * CHUNK);
+            for (int row = chunk * CHUNK; row < end; row++) {
+                partial.accept(store.typeAt(row), store.nameAt(row), vol[row], sa[row]);
+            }
+            partials[chunk] = partial;
+        });
+        // Combining in chunk order keeps the earliest shape on ties
+        ShapeStatistics stats = partials[0];
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            stats.combine(partials[chunk]);
+        }
+        return stats;
+    }
+
+    /**
+     * Returns a collector that summarizes a stream of shapes. It supports parallel streams.
+     *
+     * @return a collector producing {@link ShapeStatistics}
+     */
+    public static Collector<Shape3D, ?, ShapeStatistics> collector() {
+        return Collector.of(ShapeStatistics::new, ShapeStatistics::accept,
+                (left, right) -> {
+                    left.combine(right);
+                    return left;
+                });
+    }
+
+    /**
+     * Records a shape, evaluating its volume and surface area once each.
+     *
+     * @param shape a non-null shape
+     */
+    public void accept(Shape3D shape) {
+        accept(ShapeType.of(shape), shape.getName(), shape.getVolume(), shape.getSurfaceArea());
+    }
+
+    /**
+     * Records precomputed values, e.g. from a columnar store.
+     *
+     * @param type        the shape's type
+     * @param name        the shape's name
+     * @param volume      its volume
+     * @param surfaceArea its surface area
+     */
+    public void accept(ShapeType type, String name, double volume, double surfaceArea) {
+        double efficiency = ShapeMetric.EFFICIENCY.of(volume, surfaceArea);
+        volumes.add(volume);
+        surfaceAreas.add(surfaceArea);
+        typeCounts[type.ordinal()]++;
+        count++;
+
+        if (maxVolume == null) {
+            maxVolume = minVolume = new Extreme(name, type, volume);
+            maxSurfaceArea = minSurfaceArea = new Extreme(name, type, surfaceArea);
+            maxEfficiency = minEfficiency = new Extreme(name, type, efficiency);
+            return;
+        }
+        // Strict comparisons: on ties the earlier shape is kept
+        if (Double.compare(volume, maxVolume.value()) > 0) maxVolume = new Extreme(name, type, volume);
+        if (Double.compare(volume, minVolume.value()) < 0) minVolume = new Extreme(name, type, volume);
+        if (Double.compare(surfaceArea, maxSurfaceArea.value()) > 0) maxSurfaceArea = new Extreme(name, type, surfaceArea);
+        if (Double.compare(surfaceArea, minSurfaceArea.value()) < 0) minSurfaceArea = new Extreme(name, type, surfaceArea);
+        if (Double.compare(efficiency, maxEfficiency.value()) > 0) maxEfficiency = new Extreme(name, type, efficiency);
+        if (Double.compare(efficiency, minEfficiency.value()) < 0) minEfficiency = new Extreme(name, type, efficiency);
+    }
+
+    /**
+     * Folds in a summary of shapes that come after the ones recorded here.
+     *
+     * @param other another summary; it is not modified
+     */
+    public void combine(ShapeStatistics other) {
+        volumes.add(other.volumes);
+        surfaceAreas.add(other.surfaceAreas);
+        for (int i = 0; i < typeCounts.length; i++) {
+            typeCounts[i] += other.typeCounts[i];
+        }
+        count += other.count;
+        maxVolume = later(maxVolume, other.maxVolume, 1);
+        minVolume = later(minVolume, other.minVolume, -1);
+        maxSurfaceArea = later(maxSurfaceArea, other.maxSurfaceArea, 1);
+        minSurfaceArea = later(minSurfaceArea, other.minSurfaceArea, -1);
+        maxEfficiency = later(maxEfficiency, other.maxEfficiency, 1);
+        minEfficiency = later(minEfficiency, other.minEfficiency, -1);
+    }
+
+    /**
+     * Picks between an earlier and a later extreme; the later one wins only if strictly better.
+     *
+     * @param sign 1 for maxima, -1 for minima
+     */
+    private static Extreme later(Extreme earlier, Extreme later, int sign) {
+        if (later == null) return earlier;
+        if (earlier == null) return later;
+        return sign * Double.compare(later.value(), earlier.value()) > 0 ? later : earlier;
+    }
+
+    // ---------- Counts ----------
+
+    /**
+     * Returns how many shapes were recorded.
+     *
+     * @return shape count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns how many shapes of one type were recorded.
+     *
+     * @param type a shape type
+     * @return count for that type
+     */
+    public long getCount(ShapeType type) {
+        return typeCounts[type.ordinal()];
+    }
+
+    /**
+     * Returns the non-zero per-type counts in {@link ShapeType} order.
+     *
+     * @return a new map from type to count
+     */
+    public Map<ShapeType, Long> getTypeCounts() {
+        Map<ShapeType, Long> counts = new EnumMap<>(ShapeType.class);
+        for (ShapeType type : ShapeType.values()) {
+            if (typeCounts[type.ordinal()] > 0) {
+                counts.put(type, typeCounts[type.ordinal()]);
+            }
+        }
+        return counts;
+    }
+
+    // ---------- Sums and averages ----------
+
+    /**
+     * Returns the sum of all volumes, rounded once from the exact sum.
+     *
+     * @return total volume, or 0.0 if no shapes were recorded
+     */
+    public double getTotalVolume() {
+        return volumes.value();
+    }
+
+    /**
+     * Returns the sum of all surface areas, rounded once from the exact sum.
+     *
+     * @return total surface area, or 0.0 if no shapes were recorded
+     */
+    public double getTotalSurfaceArea() {
+        return surfaceAreas.value();
+    }
+
+    /**
+     * Returns the mean volume.
+     *
+     * @return average volume, or 0.0 if no shapes were recorded
+     */
+    public double getAverageVolume() {
+        return count == 0 ? 0.0 : volumes.value() / count;
+    }
+
+    /**
+     * Returns the mean surface area.
+     *
+     * @return average surface area, or 0.0 if no shapes were recorded
+     */
+    public double getAverageSurfaceArea() {
+        return count == 0 ? 0.0 : surfaceAreas.value() / count;
+    }
+
+    // ---------- Extremes (null if no shapes were recorded) ----------
+
+    /**
+     * Returns the largest volume and the shape it came from; ties keep the earliest shape.
+     *
+     * @return the extreme, or null if no shapes were recorded
+     */
+    public Extreme getLargestVolume() {
+        return maxVolume;
+    }
+
+    /**
+     * Returns the smallest volume and the shape it came from; ties keep the earliest shape.
+     *
+     * @return the extreme, or null if no shapes were recorded
+     */
+    public Extreme getSmallestVolume() {
+        return minVolume;
+    }
+
+    /**
+     * Returns the largest surface area and the shape it came from; ties keep the earliest shape.
+     *
+     * @return the extreme, or null if no shapes were recorded
+     */
+    public Extreme getLargestSurfaceArea() {
+        return maxSurfaceArea;
+    }
+
+    /**
+     * Returns the smallest surface area and the shape it came from; ties keep the earliest shape.
+     *
+     * @return the extreme, or null if no shapes were recorded
+     */
+    public Extreme getSmallestSurfaceArea() {
+        return minSurfaceArea;
+    }
+
+    /**
+     * Returns the highest volume-to-surface-area ratio and the shape it came from;
+     * ties keep the earliest shape.
+     *
+     * @return the extreme, or null if no shapes were recorded
+     */
+    public Extreme getMostEfficient() {
+        return maxEfficiency;
+    }
+
+    /**
+     * Returns the lowest volume-to-surface-area ratio and the shape it came from;
+     * ties keep the earliest shape.
+     *
+     * @return the extreme, or null if no shapes were recorded
+     */
+    public Extreme getLeastEfficient() {
+        return minEfficiency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ShapeStatistics {count=%d, totalVolume=%.4f, totalSurfaceArea=%.4f, types=%s}",
+                getCount(), getTotalVolume(), getTotalSurfaceArea(), getTypeCounts());
+    }
+}
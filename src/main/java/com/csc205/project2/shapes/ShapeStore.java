@@ -0,0 +1,358 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Columnar (struct-of-arrays) storage for large numbers of shapes.
+ *
+ * <p>Instead of one {@link Shape3D} object per shape, each row is spread across
+ * parallel primitive arrays: a {@code byte} type tag ({@link ShapeType#ordinal()}),
+ * up to {@link ShapeType#MAX_ARITY} dimension columns, and the name/color columns.</p>
+ *
+ * <p><strong>Design rationale:</strong></p>
+ * <ol>
+ *   <li><em>Cache friendliness:</em> bulk kernels such as {@link #volumes(double[])}
+ *       stream through contiguous {@code double[]} columns instead of chasing one
+ *       pointer per shape.</li>
+ *   <li><em>No virtual dispatch:</em> the kernels switch on the {@link ShapeType} of
+ *       each tag and call {@link ShapeFormulas} directly, so results are identical to
+ *       {@link Shape3D#getVolume()} without its per-call logging. The switch names every
+ *       type, and {@link ShapeType#fromTag} rejects an unknown tag rather than
+ *       computing it as some other shape.</li>
+ *   <li><em>Interoperability:</em> rows convert to and from {@link Shape3D}
+ *       via {@link #add(Shape3D)} and {@link #toShape(int)}.</li>
+ * </ol>
+ *
+ * <p>Unused dimension slots (e.g. the second and third column of a sphere row) hold
+ * {@code 0.0}. This class is not thread-safe for concurrent modification; concurrent
+ * reads of a store that is no longer being modified are safe.</p>
+ */
+public final class ShapeStore {
+
+    private static final Logger LOGGER = Logger.getLogger(ShapeStore.class.getName());
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private byte[] types;
+    private double[] dim0;
+    private double[] dim1;
+    private double[] dim2;
+    private String[] names;
+    private String[] colors;
+    private int size;
+
+    /**
+     * Creates an empty store with a small default capacity.
+     */
+    public ShapeStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store able to hold {@code capacity} rows before growing.
+     *
+     * @param capacity initial capacity, must be ≥ 0
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public ShapeStore(int capacity) {
+        if (capacity < 0) {
+            String message = "capacity must be >= 0. Provided: " + capacity;
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        types = new byte[capacity];
+        dim0 = new double[capacity];
+        dim1 = new double[capacity];
+        dim2 = new double[capacity];
+        names = new String[capacity];
+        colors = new String[capacity];
+    }
+
+    /**
+     * Builds a store holding the given shapes in iteration order.
+     *
+     * @param shapes non-null collection of non-null shapes
+     * @return a new store
+     */
+    public static ShapeStore of(Collection<? extends Shape3D> shapes) {
+        ShapeStore store = new ShapeStore(shapes.size());
+        for (Shape3D shape : shapes) {
+            store.add(shape);
+        }
+        LOGGER.log(Level.INFO, "Built ShapeStore with {0} rows", store.size);
+        return store;
+    }
+
+    // ---------- Mutation ----------
+
+    /**
+     * Appends a row copied from an existing shape.
+     *
+     * @param shape non-null shape
+     * @return the row index of the new row
+     * @throws IllegalArgumentException if the shape is null or of an unsupported type
+     */
+    public int add(Shape3D shape) {
+        if (shape == null) {
+            String message = "shape must not be null.";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+        ShapeType type = ShapeType.of(shape);
+        double[] dims = type.dimensionsOf(shape);
+        return append(type, shape.getName(), shape.getColor(), dims);
+    }
+
+    /**
+     * Appends a row from raw values, applying the same validation as the shape constructors.
+     *
+     * @param type  the shape type
+     * @param name  non-null, non-blank name
+     * @param color color; null/blank is normalized to {@link Shape3D#DEFAULT_COLOR}
+     * @param dims  exactly {@code type.arity()} non-negative dimensions
+     * @return the row index of the new row
+     * @throws IllegalArgumentException if any input is invalid
+     */
+    public int add(ShapeType type, String name, String color, double... dims) {
+        validate(type, name, dims);
+        return append(type, name, color, dims);
+    }
+
+    /**
+     * Removes all rows, keeping the allocated capacity.
+     */
+    public void clear() {
+        Arrays.fill(names, 0, size, null);
+        Arrays.fill(colors, 0, size, null);
+        size = 0;
+    }
+
+    private int append(ShapeType type, String name, String color, double[] dims) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        types[row] = (byte) type.ordinal();
+        dim0[row] = dims.length > 0 ? dims[0] : 0.0;
+        dim1[row] = dims.length > 1 ? dims[1] : 0.0;
+        dim2[row] = dims.length > 2 ? dims[2] : 0.0;
+        names[row] = name;
+        colors[row] = (color == null || color.isBlank()) ? Shape3D.DEFAULT_COLOR : color;
+        return row;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= types.length) {
+            return;
+        }
+        int capacity = Math.max(required, Math.max(DEFAULT_CAPACITY, types.length + (types.length >> 1)));
+        types = Arrays.copyOf(types, capacity);
+        dim0 = Arrays.copyOf(dim0, capacity);
+        dim1 = Arrays.copyOf(dim1, capacity);
+        dim2 = Arrays.copyOf(dim2, capacity);
+        names = Arrays.copyOf(names, capacity);
+        colors = Arrays.copyOf(colors, capacity);
+    }
+
+    private static void validate(ShapeType type, String name, double[] dims) {
+        String message = null;
+        if (type == null) {
+            message = "type must not be null.";
+        } else if (name == null || name.isBlank()) {
+            message = "name must be non-null and non-blank.";
+        } else if (dims == null || dims.length != type.arity()) {
+            message = type.displayName() + " requires " + type.arity() + " dimension(s) "
+                    + type.dimensionNames() + ". Provided: " + Arrays.toString(dims);
+        } else {
+            for (double d : dims) {
+                if (!(d >= 0)) {
+                    message = "Dimensions must be >= 0. Provided: " + Arrays.toString(dims);
+                    break;
+                }
+            }
+        }
+        if (message != null) {
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    // ---------- Row access ----------
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return row count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the store has no rows.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the shape type of a row.
+     *
+     * @param row the row index
+     * @return the row's type
+     */
+    public ShapeType typeAt(int row) {
+        checkRow(row);
+        return ShapeType.fromTag(types[row]);
+    }
+
+    /**
+     * Returns the name of a row.
+     *
+     * @param row the row index
+     * @return the shape's name
+     */
+    public String nameAt(int row) {
+        checkRow(row);
+        return names[row];
+    }
+
+    /**
+     * Returns the color of a row.
+     *
+     * @param row the row index
+     * @return the shape's color
+     */
+    public String colorAt(int row) {
+        checkRow(row);
+        return colors[row];
+    }
+
+    /**
+     * Returns one dimension of a row in constructor order.
+     *
+     * @param row       the row index
+     * @param dimension 0-based dimension index, less than {@link ShapeType#MAX_ARITY}
+     * @return the dimension value ({@code 0.0} for unused slots)
+     */
+    public double dimensionAt(int row, int dimension) {
+        checkRow(row);
+        return switch (dimension) {
+            case 0 -> dim0[row];
+            case 1 -> dim1[row];
+            case 2 -> dim2[row];
+            default -> throw new IndexOutOfBoundsException("dimension " + dimension);
+        };
+    }
+
+    /**
+     * Computes the volume of a single row.
+     *
+     * @param row the row index
+     * @return volume in cubic units
+     */
+    public double volumeAt(int row) {
+        checkRow(row);
+        return ShapeType.fromTag(types[row]).volume(dim0[row], dim1[row], dim2[row]);
+    }
+
+    /**
+     * Computes the surface area of a single row.
+     *
+     * @param row the row index
+     * @return surface area in square units
+     */
+    public double surfaceAreaAt(int row) {
+        checkRow(row);
+        return ShapeType.fromTag(types[row]).surfaceArea(dim0[row], dim1[row], dim2[row]);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + ", size " + size);
+        }
+    }
+
+    // ---------- Bulk kernels ----------
+
+    /**
+     * Writes the volume of every row into {@code out[0..size)}.
+     *
+     * @param out destination array with length ≥ {@link #size()}
+     * @throws IllegalArgumentException if {@code out} is too small
+     */
+    public void volumes(double[] out) {
+        checkOutput(out);
+        final byte[] t = types;
+        final double[] a = dim0, b = dim1, c = dim2;
+        for (int i = 0, n = size; i < n; i++) {
+            out[i] = switch (ShapeType.fromTag(t[i])) {
+                case SPHERE -> ShapeFormulas.sphereVolume(a[i]);
+                case CUBE -> ShapeFormulas.cubeVolume(a[i]);
+                case CYLINDER -> ShapeFormulas.cylinderVolume(a[i], b[i]);
+                case RECTANGULAR_PRISM -> ShapeFormulas.prismVolume(a[i], b[i], c[i]);
+                case CONE -> ShapeFormulas.coneVolume(a[i], b[i]);
+            };
+        }
+    }
+
+    /**
+     * Writes the surface area of every row into {@code out[0..size)}.
+     *
+     * @param out destination array with length ≥ {@link #size()}
+     * @throws IllegalArgumentException if {@code out} is too small
+     */
+    public void surfaceAreas(double[] out) {
+        checkOutput(out);
+        final byte[] t = types;
+        final double[] a = dim0, b = dim1, c = dim2;
+        for (int i = 0, n = size; i < n; i++) {
+            out[i] = switch (ShapeType.fromTag(t[i])) {
+                case SPHERE -> ShapeFormulas.sphereSurfaceArea(a[i]);
+                case CUBE -> ShapeFormulas.cubeSurfaceArea(a[i]);
+                case CYLINDER -> ShapeFormulas.cylinderSurfaceArea(a[i], b[i]);
+                case RECTANGULAR_PRISM -> ShapeFormulas.prismSurfaceArea(a[i], b[i], c[i]);
+                case CONE -> ShapeFormulas.coneSurfaceArea(a[i], b[i]);
+            };
+        }
+    }
+
+    private void checkOutput(double[] out) {
+        if (out == null || out.length < size) {
+            String message = "Output array must have length >= " + size + ".";
+            LOGGER.log(Level.SEVERE, message);
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    // ---------- Conversion ----------
+
+    /**
+     * Materializes one row as a regular {@link Shape3D} object.
+     *
+     * @param row the row index
+     * @return a new shape with the row's name, color, and dimensions
+     */
+    public Shape3D toShape(int row) {
+        checkRow(row);
+        return ShapeType.fromTag(types[row]).create(names[row], colors[row], dim0[row], dim1[row], dim2[row]);
+    }
+
+    /**
+     * Materializes every row as a {@link Shape3D} object.
+     *
+     * @return a new mutable list in row order
+     */
+    public List<Shape3D> toShapes() {
+        List<Shape3D> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(toShape(i));
+        }
+        return result;
+    }
+}
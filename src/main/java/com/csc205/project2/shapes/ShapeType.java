@@ -0,0 +1,192 @@
+package com.csc205.project2.shapes;
+
+import java.util.List;
+
+/**
+ * Enumerates the concrete shape types and describes each one in primitive terms:
+ * how many dimensions it has, what they are called, and how to evaluate its
+ * formulas from raw {@code double} values.
+ *
+ * <p>This is the bridge between the object model ({@link Shape3D} subclasses)
+ * and the columnar/bulk code paths such as {@link ShapeStore}, which identify a
+ * shape by a small integer tag ({@link #ordinal()}) instead of a Java class.</p>
+ *
+ * <p>Dimensions are always passed in constructor order, e.g. {@code (radius, height)}
+ * for a {@link Cylinder}. Unused trailing dimensions are ignored.</p>
+ */
+public enum ShapeType {
+
+    SPHERE(Sphere.class, "radius"),
+    CUBE(Cube.class, "sideLength"),
+    CYLINDER(Cylinder.class, "radius", "height"),
+    RECTANGULAR_PRISM(RectangularPrism.class, "length", "width", "height"),
+    CONE(Cone.class, "radius", "height");
+
+    /** Largest {@link #arity()} of any shape type. */
+    public static final int MAX_ARITY = 3;
+
+    private static final ShapeType[] VALUES = values();
+
+    private final Class<? extends Shape3D> shapeClass;
+    private final List<String> dimensionNames;
+
+    ShapeType(Class<? extends Shape3D> shapeClass, String... dimensionNames) {
+        this.shapeClass = shapeClass;
+        this.dimensionNames = List.of(dimensionNames);
+    }
+
+    /**
+     * Returns the concrete class this type describes.
+     *
+     * @return the {@link Shape3D} subclass
+     */
+    public Class<? extends Shape3D> shapeClass() {
+        return shapeClass;
+    }
+
+    /**
+     * Returns the number of dimensions this shape type requires.
+     *
+     * @return 1 to {@link #MAX_ARITY}
+     */
+    public int arity() {
+        return dimensionNames.size();
+    }
+
+    /**
+     * Returns the dimension names in constructor order.
+     *
+     * @return immutable list, e.g. {@code [radius, height]}
+     */
+    public List<String> dimensionNames() {
+        return dimensionNames;
+    }
+
+    /**
+     * Looks up a type by its {@link #ordinal()} tag.
+     *
+     * @param tag the ordinal
+     * @return the matching type
+     * @throws IllegalArgumentException if the tag is out of range
+     */
+    public static ShapeType fromTag(int tag) {
+        if (tag < 0 || tag >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown shape type tag: " + tag);
+        }
+        return VALUES[tag];
+    }
+
+    /**
+     * Determines the type of an existing shape.
+     *
+     * @param shape a non-null shape
+     * @return its type
+     * @throws IllegalArgumentException if the shape is null
+     */
+    public static ShapeType of(Shape3D shape) {
+        if (shape == null) {
+            throw new IllegalArgumentException("Unsupported shape: null");
+        }
+        // Exhaustive over the sealed hierarchy; a new permitted subclass fails to compile here
+        return switch (shape) {
+            case Sphere s -> SPHERE;
+            case Cube c -> CUBE;
+            case Cylinder c -> CYLINDER;
+            case RectangularPrism p -> RECTANGULAR_PRISM;
+            case Cone c -> CONE;
+        };
+    }
+
+    /**
+     * Reads the dimensions of a shape of this type in constructor order.
+     *
+     * @param shape a shape whose class is {@link #shapeClass()}
+     * @return a new array of length {@link #arity()}
+     */
+    public double[] dimensionsOf(Shape3D shape) {
+        return switch (this) {
+            case SPHERE -> new double[]{((Sphere) shape).getRadius()};
+            case CUBE -> new double[]{((Cube) shape).getSideLength()};
+            case CYLINDER -> {
+                Cylinder c = (Cylinder) shape;
+                yield new double[]{c.getRadius(), c.getHeight()};
+            }
+            case RECTANGULAR_PRISM -> {
+                RectangularPrism p = (RectangularPrism) shape;
+                yield new double[]{p.getLength(), p.getWidth(), p.getHeight()};
+            }
+            case CONE -> {
+                Cone c = (Cone) shape;
+                yield new double[]{c.getRadius(), c.getHeight()};
+            }
+        };
+    }
+
+    /**
+     * Creates a new shape of this type by calling its constructor directly.
+     *
+     * @param name  the shape name
+     * @param color the color (may be null or blank)
+     * @param dims  at least {@link #arity()} dimensions in constructor order
+     * @return a new shape
+     * @throws IllegalArgumentException if validation fails
+     */
+    public Shape3D create(String name, String color, double... dims) {
+        if (dims == null || dims.length < arity()) {
+            throw new IllegalArgumentException(name() + " requires " + arity() + " dimension(s) "
+                    + dimensionNames + ".");
+        }
+        return switch (this) {
+            case SPHERE -> new Sphere(name, color, dims[0]);
+            case CUBE -> new Cube(name, color, dims[0]);
+            case CYLINDER -> new Cylinder(name, color, dims[0], dims[1]);
+            case RECTANGULAR_PRISM -> new RectangularPrism(name, color, dims[0], dims[1], dims[2]);
+            case CONE -> new Cone(name, color, dims[0], dims[1]);
+        };
+    }
+
+    /**
+     * Evaluates the volume formula for this type.
+     *
+     * @param a first dimension
+     * @param b second dimension (ignored if unused)
+     * @param c third dimension (ignored if unused)
+     * @return volume in cubic units
+     */
+    public double volume(double a, double b, double c) {
+        return switch (this) {
+            case SPHERE -> ShapeFormulas.sphereVolume(a);
+            case CUBE -> ShapeFormulas.cubeVolume(a);
+            case CYLINDER -> ShapeFormulas.cylinderVolume(a, b);
+            case RECTANGULAR_PRISM -> ShapeFormulas.prismVolume(a, b, c);
+            case CONE -> ShapeFormulas.coneVolume(a, b);
+        };
+    }
+
+    /**
+     * Evaluates the surface area formula for this type.
+     *
+     * @param a first dimension
+     * @param b second dimension (ignored if unused)
+     * @param c third dimension (ignored if unused)
+     * @return surface area in square units
+     */
+    public double surfaceArea(double a, double b, double c) {
+        return switch (this) {
+            case SPHERE -> ShapeFormulas.sphereSurfaceArea(a);
+            case CUBE -> ShapeFormulas.cubeSurfaceArea(a);
+            case CYLINDER -> ShapeFormulas.cylinderSurfaceArea(a, b);
+            case RECTANGULAR_PRISM -> ShapeFormulas.prismSurfaceArea(a, b, c);
+            case CONE -> ShapeFormulas.coneSurfaceArea(a, b);
+        };
+    }
+
+    /**
+     * Human-friendly name matching the concrete class, e.g. {@code RectangularPrism}.
+     *
+     * @return the simple class name
+     */
+    public String displayName() {
+        return shapeClass.getSimpleName();
+    }
+}
@@ -0,0 +1,64 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable, allocation-cheap counterpart of a {@link Shape3D}.
+ *
+ * <p>The five implementations are records with final fields and no logging, so
+ * short-lived instances are good candidates for the JIT's scalar replacement, and
+ * any instance can be shared between threads without synchronization. They apply
+ * the same validation as the mutable classes (non-blank name, color defaulting to
+ * {@link Shape3D#DEFAULT_COLOR}, non-negative dimensions), and like {@link ShapeStore}
+ * they also reject NaN dimensions. They evaluate the same {@link ShapeFormulas}, so
+ * values agree exactly with their mutable twins.</p>
+ *
+ * <pre>{@code
+ * double bigger = SphereValue.of(sphere).withRadius(10.0).getVolume();
+ * Shape3D copy = ShapeValue.of(shape).toShape();
+ * }</pre>
+ */
+public sealed interface ShapeValue extends ThreeDimensionalShape
+        permits SphereValue, CubeValue, CylinderValue, RectangularPrismValue, ConeValue {
+
+    /** @return the non-blank name */
+    String name();
+
+    /** @return the normalized color */
+    String color();
+
+    /** @return the shape type */
+    ShapeType type();
+
+    /**
+     * Returns a fresh copy of the dimensions in constructor order.
+     *
+     * @return array of length {@code type().arity()}
+     */
+    double[] dimensions();
+
+    /**
+     * Creates an equivalent mutable shape.
+     *
+     * @return a new {@link Shape3D}
+     */
+    Shape3D toShape();
+
+    /**
+     * Captures the current state of a mutable shape.
+     *
+     * @param shape non-null shape
+     * @return an immutable snapshot
+     * @throws IllegalArgumentException if the shape is null, of an unsupported type, or has a NaN dimension
+     */
+    static ShapeValue of(Shape3D shape) {
+        if (shape == null) {
+            throw new IllegalArgumentException("shape must not be null.");
+        }
+        return switch (ShapeType.of(shape)) {
+            case SPHERE -> SphereValue.of((Sphere) shape);
+            case CUBE -> CubeValue.of((Cube) shape);
+            case CYLINDER -> CylinderValue.of((Cylinder) shape);
+            case RECTANGULAR_PRISM -> RectangularPrismValue.of((RectangularPrism) shape);
+            case CONE -> ConeValue.of((Cone) shape);
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Validation helpers shared by the {@link ShapeValue} records. They mirror the rules
+ * of {@link Shape3D} and its subclasses but never log, keeping record construction cheap.
+ */
+final class ShapeValues {
+
+    private ShapeValues() {
+        // utility class
+    }
+
+    static String requireName(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Shape name must be non-null and non-blank");
+        }
+        return name;
+    }
+
+    static String normalizeColor(String color) {
+        return (color == null || color.isBlank()) ? Shape3D.DEFAULT_COLOR : color;
+    }
+
+    /** Rejects negative values and NaN, as {@link ShapeStore} does. */
+    static double requireNonNegative(String label, double value) {
+        if (!(value >= 0)) {
+            throw new IllegalArgumentException(label + " must be >= 0. Provided: " + value);
+        }
+        return value;
+    }
+}
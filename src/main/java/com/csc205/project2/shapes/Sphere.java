@@ -18,6 +18,7 @@
  * - Implemented correct formulas for surface area and volume of a sphere.
  * - Updated {@code toString()} to include radius explicitly.
  * - Added references to formula sources.
+ * - Declared final: it is one of the permitted subclasses of the sealed Shape3D.
  *
  * Formula Verification:
  * - Sphere surface area: 4πr² (Wolfram MathWorld: "Sphere", https://mathworld.wolfram.com/Sphere.html)
@@ -50,7 +51,7 @@ import java.util.logging.Logger;
  *   <li>Provides a clean {@code toString()} that appends {@code radius} to the base info.</li>
  * </ol>
  */
-public class Sphere extends Shape3D {
+public final class Sphere extends Shape3D {
 
     /** Logger specific to Sphere computations. */
     private static final Logger LOGGER = Logger.getLogger(Sphere.class.getName());
@@ -114,6 +115,7 @@ public class Sphere extends Shape3D {
             LOGGER.log(Level.WARNING, "Radius is set to zero.");
         }
         this.radius = radius;
+        dimensionsChanged();
         LOGGER.log(Level.INFO, "Set radius to {0}", this.radius);
     }
 
@@ -128,9 +130,7 @@ public class Sphere extends Shape3D {
      */
     @Override
     protected double calculateSurfaceArea() {
-        double sa = 4.0 * Math.PI * radius * radius;
-        LOGGER.log(Level.INFO, "Computed surface area of Sphere (r={0}): {1}", new Object[]{radius, sa});
-        return sa;
+        return ShapeFormulas.sphereSurfaceArea(radius);
     }
 
     /**
@@ -142,9 +142,7 @@ public class Sphere extends Shape3D {
      */
     @Override
     protected double calculateVolume() {
-        double vol = (4.0 / 3.0) * Math.PI * radius * radius * radius;
-        LOGGER.log(Level.INFO, "Computed volume of Sphere (r={0}): {1}", new Object[]{radius, vol});
-        return vol;
+        return ShapeFormulas.sphereVolume(radius);
     }
 
     // ---------- toString ----------
@@ -0,0 +1,92 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable value counterpart of {@link Sphere}.
+ *
+ * @param name   non-blank name
+ * @param color  color, normalized to {@link Shape3D#DEFAULT_COLOR} if null/blank
+ * @param radius radius, must be ≥ 0
+ */
+public record SphereValue(String name, String color, double radius) implements ShapeValue {
+
+    /**
+     * Creates a sphere value.
+     *
+     * @param name   non-blank name
+     * @param color  color; null or blank means {@link Shape3D#DEFAULT_COLOR}
+     * @param radius radius, ≥ 0
+     * @throws IllegalArgumentException if the name is blank or a dimension is negative or NaN
+     */
+    public SphereValue {
+        ShapeValues.requireName(name);
+        color = ShapeValues.normalizeColor(color);
+        ShapeValues.requireNonNegative("Radius", radius);
+    }
+
+    /**
+     * Creates a sphere value with the default color.
+     *
+     * @param name   non-blank name
+     * @param radius radius, ≥ 0
+     * @throws IllegalArgumentException if the name is blank or a dimension is negative or NaN
+     */
+    public SphereValue(String name, double radius) {
+        this(name, null, radius);
+    }
+
+    /**
+     * Captures the current state of a sphere.
+     *
+     * @param sphere a non-null sphere
+     * @return an immutable snapshot
+     */
+    public static SphereValue of(Sphere sphere) {
+        return new SphereValue(sphere.getName(), sphere.getColor(), sphere.getRadius());
+    }
+
+    /**
+     * Returns a copy with another radius.
+     *
+     * @param radius the new radius, ≥ 0
+     * @return a new value
+     * @throws IllegalArgumentException if radius is negative or NaN
+     */
+    public SphereValue withRadius(double radius) {
+        return new SphereValue(name, color, radius);
+    }
+
+    @Override
+    public double getVolume() {
+        return ShapeFormulas.sphereVolume(radius);
+    }
+
+    @Override
+    public double getSurfaceArea() {
+        return ShapeFormulas.sphereSurfaceArea(radius);
+    }
+
+    @Override
+    public ShapeType type() {
+        return ShapeType.SPHERE;
+    }
+
+    /**
+     * Returns a fresh copy of the dimensions, {@code [radius]}.
+     *
+     * @return a new array
+     */
+    @Override
+    public double[] dimensions() {
+        return new double[]{radius};
+    }
+
+    /**
+     * Creates an equivalent mutable sphere.
+     *
+     * @return a new {@link Sphere}
+     */
+    @Override
+    public Sphere toShape() {
+        return new Sphere(name, color, radius);
+    }
+}
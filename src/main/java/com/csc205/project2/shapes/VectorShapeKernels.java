@@ -0,0 +1,114 @@
+package com.csc205.project2.shapes;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of the bulk kernels built on the incubating Vector API.
+ *
+ * <p>This class must only be loaded when the {@code jdk.incubator.vector} module is
+ * present; {@link ShapeKernels} takes care of that and falls back to
+ * {@link ScalarShapeKernels} otherwise.</p>
+ *
+ * <p>Every lane-wise expression performs the same IEEE-754 operations in the same
+ * order as the corresponding {@link ShapeFormulas} method (no fused multiply-add),
+ * so vector and scalar results are bit-for-bit identical. Rows that do not fill a
+ * whole vector are handed to the scalar kernels.</p>
+ */
+final class VectorShapeKernels implements ShapeKernelImpl {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    // Same constant expressions as in ShapeFormulas, folded by the compiler.
+    private static final double SPHERE_VOLUME_K = (4.0 / 3.0) * Math.PI;
+    private static final double SPHERE_AREA_K = 4.0 * Math.PI;
+    private static final double CONE_VOLUME_K = (1.0 / 3.0) * Math.PI;
+
+    private final ScalarShapeKernels tail = ScalarShapeKernels.INSTANCE;
+
+    VectorShapeKernels() {
+        // Touch the species eagerly so a broken Vector API surfaces during selection.
+        if (SPECIES.length() < 1) {
+            throw new IllegalStateException("Unusable vector species " + SPECIES);
+        }
+    }
+
+    /**
+     * Returns the number of {@code double} lanes per vector on this platform.
+     *
+     * @return lane count
+     */
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void volumes(ShapeType type, double[] a, double[] b, double[] c, double[] out, int from, int to) {
+        int step = SPECIES.length();
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; i < upper; i += step) {
+            volume(type, a, b, c, i).intoArray(out, i);
+        }
+        tail.volumes(type, a, b, c, out, i, to);
+    }
+
+    @Override
+    public void surfaceAreas(ShapeType type, double[] a, double[] b, double[] c, double[] out, int from, int to) {
+        int step = SPECIES.length();
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; i < upper; i += step) {
+            surfaceArea(type, a, b, c, i).intoArray(out, i);
+        }
+        tail.surfaceAreas(type, a, b, c, out, i, to);
+    }
+
+    @Override
+    public void ratios(ShapeType type, double[] a, double[] b, double[] c, double[] out, int from, int to) {
+        int step = SPECIES.length();
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; i < upper; i += step) {
+            volume(type, a, b, c, i).div(surfaceArea(type, a, b, c, i)).intoArray(out, i);
+        }
+        tail.ratios(type, a, b, c, out, i, to);
+    }
+
+    // The switch is on a loop-invariant value; the JIT unswitches it out of the loops above.
+
+    private static DoubleVector volume(ShapeType type, double[] a, double[] b, double[] c, int i) {
+        DoubleVector x = DoubleVector.fromArray(SPECIES, a, i);
+        return switch (type) {
+            case SPHERE -> x.broadcast(SPHERE_VOLUME_K).mul(x).mul(x).mul(x);
+            case CUBE -> x.mul(x).mul(x);
+            case CYLINDER -> x.broadcast(Math.PI).mul(x).mul(x).mul(DoubleVector.fromArray(SPECIES, b, i));
+            case RECTANGULAR_PRISM -> x.mul(DoubleVector.fromArray(SPECIES, b, i))
+                    .mul(DoubleVector.fromArray(SPECIES, c, i));
+            case CONE -> x.broadcast(CONE_VOLUME_K).mul(x).mul(x).mul(DoubleVector.fromArray(SPECIES, b, i));
+        };
+    }
+
+    private static DoubleVector surfaceArea(ShapeType type, double[] a, double[] b, double[] c, int i) {
+        DoubleVector x = DoubleVector.fromArray(SPECIES, a, i);
+        return switch (type) {
+            case SPHERE -> x.broadcast(SPHERE_AREA_K).mul(x).mul(x);
+            case CUBE -> x.broadcast(6.0).mul(x).mul(x);
+            case CYLINDER -> {
+                DoubleVector h = DoubleVector.fromArray(SPECIES, b, i);
+                yield x.broadcast(2.0 * Math.PI).mul(x).mul(x.add(h));
+            }
+            case RECTANGULAR_PRISM -> {
+                DoubleVector w = DoubleVector.fromArray(SPECIES, b, i);
+                DoubleVector h = DoubleVector.fromArray(SPECIES, c, i);
+                yield x.mul(w).add(x.mul(h)).add(w.mul(h)).mul(2.0);
+            }
+            case CONE -> {
+                DoubleVector h = DoubleVector.fromArray(SPECIES, b, i);
+                DoubleVector slant = x.mul(x).add(h.mul(h)).lanewise(VectorOperators.SQRT);
+                yield x.broadcast(Math.PI).mul(x).mul(x.add(slant));
+            }
+        };
+    }
+}
@@ -0,0 +1,167 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DerivedMetric}, {@link DerivedMetrics}, and the expression compiler.
+ *
+ * Coverage:
+ * - Built-in metrics have their textbook values for spheres and cubes
+ * - Expressions follow the usual precedence, fold constants, and read missing dimensions as NaN
+ * - Bulk kernels over stores, lists, and collections match single-shape evaluation bit for bit
+ * - User metrics register, reference each other, and work in filters, sorting, and indexes
+ * - Invalid names and expressions are rejected with the offending position
+ */
+public class DerivedMetricsTest {
+
+    private static final double TOL = 1e-9;
+
+    @AfterEach
+    void unregisterUserMetrics() {
+        for (DerivedMetric metric : DerivedMetrics.all()) {
+            if (!DerivedMetrics.isBuiltIn(metric)) {
+                DerivedMetrics.unregister(metric.name());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Built-ins have their textbook values")
+    void builtIns() {
+        Sphere sphere = new Sphere("Ball", 2.0);
+        Cube cube = new Cube("Box", 3.0);
+        assertEquals(1.0, DerivedMetrics.SPHERICITY.applyAsDouble(sphere), TOL);
+        assertEquals(Math.cbrt(Math.PI / 6), DerivedMetrics.SPHERICITY.applyAsDouble(cube), TOL);
+        assertEquals(1.0, DerivedMetrics.COMPACTNESS.applyAsDouble(sphere), TOL);
+        assertEquals(Math.PI / 6, DerivedMetrics.COMPACTNESS.applyAsDouble(cube), TOL);
+        assertEquals(4.0, DerivedMetrics.EQUIVALENT_DIAMETER.applyAsDouble(sphere), TOL);
+        assertEquals(2.0, DerivedMetrics.SPECIFIC_SURFACE.applyAsDouble(cube), TOL);
+
+        assertEquals(List.of("sphericity", "compactness", "equivalentDiameter", "specificSurface"),
+                DerivedMetrics.all().stream().map(DerivedMetric::name).toList());
+        assertSame(DerivedMetrics.EQUIVALENT_DIAMETER, DerivedMetrics.find("EQUIVALENT_DIAMETER").orElseThrow());
+        assertTrue(DerivedMetrics.SPHERICITY.of(ShapeType.CUBE, new double[]{3}, 27, 54) < 1);
+    }
+
+    @Test
+    @DisplayName("Expressions follow the usual precedence and fold constants")
+    void expressions() {
+        Cylinder can = new Cylinder("Can", 2.0, 5.0);
+        assertEquals(2 + 3 * 4 - 1, DerivedMetrics.compile("2 + 3 * 4 - 1").applyAsDouble(can), TOL);
+        assertEquals(512.0, DerivedMetrics.compile("2 ^ 3 ^ 2").applyAsDouble(can), TOL);
+        assertEquals(-4.0, DerivedMetrics.compile("-radius ^ 2").applyAsDouble(can), TOL);
+        assertEquals(1.5e-3 * 5, DerivedMetrics.compile("1.5e-3 * height").applyAsDouble(can), TOL);
+        assertEquals(Math.max(2, Math.sqrt(5)), DerivedMetrics.compile("max(radius, sqrt(height))").applyAsDouble(can), TOL);
+        assertEquals(can.getVolume() / can.getSurfaceArea(), DerivedMetrics.compile("efficiency").applyAsDouble(can), TOL);
+        assertEquals(can.getSurfaceArea(), DerivedMetrics.compile("Surface_Area").applyAsDouble(can), TOL);
+        assertEquals(Math.E * Math.PI, DerivedMetrics.compile("e * pi").applyAsDouble(can), TOL);
+        assertEquals(Math.log(8), DerivedMetrics.compile("log(abs(-8))").applyAsDouble(can), TOL);
+
+        // Folded at compile time, squares specialized
+        assertEquals(new MetricExpression.Constant(36 * Math.PI),
+                MetricExpression.compile("36 * pi", name -> null));
+        assertInstanceOf(MetricExpression.Unary.class, MetricExpression.compile("volume ^ 2", name -> null));
+
+        // Missing dimensions read as NaN
+        assertTrue(Double.isNaN(DerivedMetrics.compile("sideLength * 2").applyAsDouble(can)));
+        assertEquals(6.0, DerivedMetrics.compile("side * 2").applyAsDouble(new Cube("C", 3.0)), TOL);
+    }
+
+    @Test
+    @DisplayName("Bulk kernels match single-shape evaluation bit for bit")
+    void bulkMatchesScalar() {
+        Random random = new Random(4);
+        int n = 2 * DerivedMetric.CHUNK + 123;
+        ShapeStore store = new ShapeStore(n);
+        for (int i = 0; i < n; i++) {
+            ShapeType type = ShapeType.values()[i % ShapeType.values().length];
+            double[] dims = new double[type.arity()];
+            for (int d = 0; d < dims.length; d++) {
+                dims[d] = 1 + 9 * random.nextDouble();
+            }
+            store.add(type, "S" + i, "Red", dims);
+        }
+        DerivedMetric mixed = DerivedMetrics.compile("sphericity * radius + height / 2 - min(volume, 100) ^ 0.5");
+        for (DerivedMetric metric : List.of(DerivedMetrics.SPHERICITY, DerivedMetrics.COMPACTNESS, mixed)) {
+            double[] bulk = metric.evaluate(store);
+            for (int row = 0; row < n; row += 97) {
+                ShapeType type = store.typeAt(row);
+                double[] dims = new double[type.arity()];
+                for (int d = 0; d < dims.length; d++) {
+                    dims[d] = store.dimensionAt(row, d);
+                }
+                double expected = metric.of(type, dims, store.volumeAt(row), store.surfaceAreaAt(row));
+                assertEquals(expected, bulk[row], metric + " row " + row);
+            }
+        }
+
+        List<Shape3D> shapes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            shapes.add(ShapeType.values()[i % 5].create("S" + i, null, 1 + i % 7, 2 + i % 3, 3 + i % 5));
+        }
+        ShapeCollection collection = new ShapeCollection(shapes);
+        double[] fromList = mixed.evaluate(shapes);
+        double[] fromCollection = mixed.evaluate(collection);
+        for (int i = 0; i < shapes.size(); i++) {
+            assertEquals(mixed.applyAsDouble(shapes.get(i)), fromList[i]);
+            assertEquals(fromList[i], fromCollection[i]);
+        }
+        DerivedMetric.Summary summary = DerivedMetrics.SPHERICITY.summarize(shapes);
+        assertEquals(300, summary.count());
+        assertEquals(1.0, summary.max(), TOL);
+        assertEquals(0, DerivedMetrics.compile("width").summarize(List.of(new Cube("C", 1.0))).count());
+        collection.clear();
+    }
+
+    @Test
+    @DisplayName("User metrics work in filters, sorting, and indexes")
+    void userMetrics() {
+        DerivedMetric mass = DerivedMetrics.register("mass", "volume * 7.85", "steel, g/cm^3");
+        DerivedMetric areaPerMass = DerivedMetrics.register("area_per_mass", "surfaceArea / mass");
+        Cube cube = new Cube("Box", 2.0);
+        assertEquals(8 * 7.85, mass.applyAsDouble(cube), TOL);
+        assertEquals(24 / (8 * 7.85), areaPerMass.applyAsDouble(cube), TOL);
+        assertTrue(DerivedMetrics.unregister("MASS"));
+        assertEquals(24 / (8 * 7.85), areaPerMass.applyAsDouble(cube), TOL, "references are inlined");
+        assertTrue(DerivedMetrics.find("areaPerMass").isPresent());
+
+        List<Shape3D> shapes = List.of(new Cube("Box", 2.0), new Sphere("Ball", 1.0),
+                new Cylinder("Rod", 0.2, 9.0), new Cone("Cone", 1.0, 1.0));
+        assertEquals(List.of("Ball"), ShapeFilter.compile("sphericity > 0.99").select(shapes).stream()
+                .map(Shape3D::getName).toList());
+        assertEquals(List.of("Box", "Cone"), ShapeFilter.compile("sphericity < 0.99 and efficiency > 0.1")
+                .select(shapes).stream().map(Shape3D::getName).toList());
+        assertEquals("Rod", ShapeSorter.sorted(shapes, ShapeSorter.SortKey.by(DerivedMetrics.SPHERICITY)).get(0).getName());
+        assertEquals("Ball", MetricIndex.of(shapes, DerivedMetrics.COMPACTNESS).top(1).get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Invalid names and expressions are rejected")
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> DerivedMetrics.register("volume", "1"));
+        assertThrows(IllegalArgumentException.class, () -> DerivedMetrics.register("side_length", "1"));
+        assertThrows(IllegalArgumentException.class, () -> DerivedMetrics.register("Sphericity", "1"));
+        assertThrows(IllegalArgumentException.class, () -> DerivedMetrics.register("2fast", "1"));
+        assertThrows(IllegalArgumentException.class, () -> DerivedMetrics.register("ok", " "));
+        assertThrows(IllegalArgumentException.class, () -> DerivedMetrics.unregister("sphericity"));
+        assertFalse(DerivedMetrics.unregister("nothing"));
+
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class,
+                () -> DerivedMetrics.compile("volume * density"));
+        assertTrue(unknown.getMessage().contains("position 10"), unknown.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> DerivedMetrics.compile("sqrt(1, 2)"));
+        assertThrows(IllegalArgumentException.class, () -> DerivedMetrics.compile("floor(volume)"));
+        assertThrows(IllegalArgumentException.class, () -> DerivedMetrics.compile("(volume"));
+        assertThrows(IllegalArgumentException.class, () -> DerivedMetrics.compile("volume volume"));
+        assertThrows(IllegalArgumentException.class, () -> ShapeFilter.compile("density > 1"));
+        assertFalse(DerivedMetrics.find("ok").isPresent());
+    }
+}
@@ -0,0 +1,150 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ExactSum}.
+ *
+ * Coverage:
+ * - Sums equal the exact (BigDecimal) sum rounded once, across the whole double range,
+ *   with cancellation, subnormals, and ties
+ * - Results are bit-identical for any order, split, or merge sequence, and parallel bulk
+ *   sums equal sequential ones
+ * - Subtracting what was added leaves exactly zero; infinities, NaN, and overflow follow IEEE
+ * - Shape collections keep exact totals through additions and removals
+ */
+public class ExactSumTest {
+
+    private static double exact(List<Double> values) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (double value : values) {
+            sum = sum.add(new BigDecimal(value));
+        }
+        return sum.doubleValue();
+    }
+
+    private static double sum(List<Double> values) {
+        ExactSum sum = new ExactSum();
+        values.forEach(sum::add);
+        return sum.value();
+    }
+
+    /** Values of wildly different magnitudes and signs, which plain summation gets wrong. */
+    private static List<Double> wideValues(Random random, int n) {
+        List<Double> values = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double value = Math.scalb(random.nextDouble(), random.nextInt(200) - 100);
+            values.add(random.nextBoolean() ? value : -value);
+        }
+        return values;
+    }
+
+    @Test
+    @DisplayName("Sums are the exact sum rounded once")
+    void correctlyRounded() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 50; trial++) {
+            List<Double> values = wideValues(random, 1 + random.nextInt(500));
+            assertEquals(exact(values), sum(values), values.toString());
+        }
+        assertEquals(1.0, sum(List.of(1e100, 1.0, -1e100)));
+        assertEquals(0.1 + 0.2, sum(List.of(0.1, 0.2)));
+        assertEquals(exact(List.of(0.1, 0.1, 0.1)), sum(List.of(0.1, 0.1, 0.1)));
+        // Halfway between two doubles: ties go to even
+        assertEquals(1.0, sum(List.of(1.0, Math.ulp(1.0) / 2)));
+        assertEquals(1.0 + 2 * Math.ulp(1.0), sum(List.of(1.0, Math.ulp(1.0), Math.ulp(1.0) / 2)));
+        assertEquals(1.0 + Math.ulp(1.0), sum(List.of(1.0, Math.ulp(1.0) / 2, Double.MIN_VALUE)));
+        // Subnormals and the extremes of the range
+        assertEquals(3 * Double.MIN_VALUE, sum(List.of(Double.MIN_VALUE, Double.MIN_VALUE, Double.MIN_VALUE)));
+        assertEquals(Double.MIN_NORMAL, sum(List.of(Double.MIN_NORMAL - Double.MIN_VALUE, Double.MIN_VALUE)));
+        assertEquals(Double.MAX_VALUE, sum(List.of(Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE)));
+        assertEquals(-Double.MIN_VALUE, sum(List.of(-Double.MIN_VALUE)));
+        assertEquals(0.0, new ExactSum().value());
+    }
+
+    @Test
+    @DisplayName("Order, splits, and merges do not change a single bit")
+    void orderIndependent() {
+        Random random = new Random(2);
+        List<Double> values = wideValues(random, 10_000);
+        double expected = sum(values);
+        for (int trial = 0; trial < 5; trial++) {
+            Collections.shuffle(values, random);
+            ExactSum[] parts = {new ExactSum(), new ExactSum(), new ExactSum()};
+            for (double value : values) {
+                parts[random.nextInt(parts.length)].add(value);
+            }
+            ExactSum merged = parts[2].copy();
+            merged.add(parts[0]);
+            merged.add(parts[1]);
+            assertEquals(expected, merged.value());
+            assertEquals(expected, sum(values));
+        }
+
+        double[] large = new double[3 * ExactSum.CHUNK + 5];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = Math.scalb(random.nextDouble(), random.nextInt(60) - 30) * (i % 3 == 0 ? -1 : 1);
+        }
+        ExactSum sequential = new ExactSum();
+        for (double value : large) {
+            sequential.add(value);
+        }
+        assertEquals(sequential.value(), ExactSum.sum(large));
+        assertEquals(-sequential.value(), ExactSum.sum(large.length, i -> -large[i]));
+    }
+
+    @Test
+    @DisplayName("Subtraction is exact, and special values follow IEEE")
+    void subtractionAndSpecials() {
+        Random random = new Random(3);
+        List<Double> values = wideValues(random, 1_000);
+        ExactSum sum = new ExactSum();
+        values.forEach(sum::add);
+        ExactSum before = sum.copy();
+        values.forEach(value -> sum.add(-value));
+        assertEquals(0.0, sum.value());
+        assertEquals(exact(values), before.value());
+        sum.add(before);
+        assertEquals(before.value(), sum.value());
+
+        assertEquals(Double.POSITIVE_INFINITY, sum(List.of(Double.MAX_VALUE, Double.MAX_VALUE)));
+        assertEquals(Double.NEGATIVE_INFINITY, sum(List.of(-Double.MAX_VALUE, -Double.MAX_VALUE)));
+        assertEquals(Double.POSITIVE_INFINITY, sum(List.of(1.0, Double.POSITIVE_INFINITY)));
+        assertTrue(Double.isNaN(sum(List.of(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY))));
+        assertTrue(Double.isNaN(sum(List.of(1.0, Double.NaN))));
+        sum.add(Double.NaN);
+        sum.reset();
+        assertEquals(0.0, sum.value());
+
+        assertThrows(IllegalArgumentException.class, () -> ExactSum.sum(null));
+        assertThrows(IllegalArgumentException.class, () -> new ExactSum().add((ExactSum) null));
+    }
+
+    @Test
+    @DisplayName("Collections keep exact totals as shapes come and go")
+    void collectionTotals() {
+        List<Shape3D> shapes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            shapes.add(new Sphere("S" + i, 0.1 + i * 0.37));
+        }
+        ShapeCollection collection = new ShapeCollection(shapes);
+        Sphere huge = new Sphere("Huge", 1e6);
+        collection.add(huge);
+        collection.remove(huge);
+
+        List<Double> volumes = shapes.stream().map(Shape3D::getVolume).toList();
+        assertEquals(exact(volumes), collection.getTotalVolume());
+        assertEquals(ShapeStatistics.of(shapes).getTotalVolume(), collection.statistics().getTotalVolume());
+        collection.clear();
+        assertEquals(0.0, collection.getTotalVolume());
+    }
+}
@@ -0,0 +1,119 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MetricIndex}.
+ *
+ * Coverage:
+ * - Rank, top-K, bottom-K, range count, and range listing match a brute-force sort
+ * - Ties are listed earliest-first in both directions
+ * - The index follows dimension changes and removals
+ * - Invalid arguments are rejected
+ */
+public class MetricIndexTest {
+
+    private static List<Shape3D> randomCubes(int n, Random random) {
+        List<Shape3D> shapes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            // Few distinct sizes so that ties are common
+            shapes.add(new Cube("C" + i, random.nextInt(20)));
+        }
+        return shapes;
+    }
+
+    /** Stable sort keeps list order among equal keys, which is the index's tie order. */
+    private static List<Shape3D> sortedAscending(List<Shape3D> shapes) {
+        List<Shape3D> sorted = new ArrayList<>(shapes);
+        sorted.sort(Comparator.comparingDouble(ShapeMetric.VOLUME));
+        return sorted;
+    }
+
+    @Test
+    @DisplayName("Queries match a brute-force sort")
+    void matchesBruteForce() {
+        Random random = new Random(5);
+        List<Shape3D> shapes = randomCubes(1_000, random);
+        MetricIndex index = MetricIndex.of(shapes, ShapeMetric.VOLUME);
+        List<Shape3D> ascending = sortedAscending(shapes);
+
+        assertEquals(shapes.size(), index.size());
+        for (int rank = 0; rank < ascending.size(); rank += 37) {
+            assertSame(ascending.get(rank), index.get(rank));
+        }
+        assertEquals(ascending.subList(0, 25), index.bottom(25));
+
+        List<Shape3D> descending = new ArrayList<>(shapes);
+        descending.sort(Comparator.comparingDouble(ShapeMetric.VOLUME).reversed());
+        assertEquals(descending.subList(0, 100), index.top(100));
+        assertEquals(descending, index.top(5_000));
+
+        double low = 125.0, high = 1_000.0;
+        List<Shape3D> expected = ascending.stream()
+                .filter(s -> s.getVolume() >= low && s.getVolume() <= high).toList();
+        assertEquals(expected.size(), index.countBetween(low, high));
+        assertEquals(expected, index.between(low, high));
+        assertEquals(0, index.countBetween(high, low));
+    }
+
+    @Test
+    @DisplayName("Ties are listed earliest-first from both ends")
+    void ties() {
+        Cube a = new Cube("A", 2.0), b = new Cube("B", 2.0), c = new Cube("C", 1.0), d = new Cube("D", 3.0);
+        MetricIndex index = MetricIndex.of(List.of(a, b, c, d), ShapeMetric.VOLUME);
+        assertEquals(List.of(d, a, b, c), index.top(4));
+        assertEquals(List.of(d, a), index.top(2));
+        assertEquals(List.of(c, a, b, d), index.bottom(4));
+    }
+
+    @Test
+    @DisplayName("Dimension changes and removals keep the index consistent")
+    void followsChanges() {
+        Random random = new Random(8);
+        List<Shape3D> shapes = randomCubes(300, random);
+        MetricIndex index = MetricIndex.of(shapes, ShapeMetric.VOLUME);
+
+        for (int i = 0; i < 200; i++) {
+            ((Cube) shapes.get(random.nextInt(shapes.size()))).setSideLength(random.nextInt(20));
+        }
+        for (int i = 0; i < 50; i++) {
+            assertTrue(index.remove(shapes.remove(random.nextInt(shapes.size()))));
+        }
+
+        List<Shape3D> iterated = new ArrayList<>();
+        index.forEach(iterated::add);
+        List<Double> keys = iterated.stream().map(Shape3D::getVolume).toList();
+        assertEquals(keys.stream().sorted().toList(), keys);
+        assertEquals(shapes.size(), index.size());
+        assertEquals(sortedAscending(shapes).get(0).getVolume(), index.keyAt(0));
+
+        index.clear();
+        ((Cube) shapes.get(0)).setSideLength(50.0);
+        assertTrue(index.isEmpty());
+        assertFalse(index.contains(shapes.get(0)));
+    }
+
+    @Test
+    @DisplayName("Efficiency index and invalid arguments")
+    void efficiencyAndValidation() {
+        MetricIndex index = MetricIndex.of(
+                List.of(new Sphere("Ball", 3.0), new Cube("Box", 3.0), new Cone("Cone", 1.0, 1.0)),
+                ShapeMetric.EFFICIENCY);
+        assertEquals("Ball", index.top(1).get(0).getName());
+        assertEquals("Cone", index.bottom(1).get(0).getName());
+        assertFalse(index.add(index.get(0)));
+
+        assertThrows(IllegalArgumentException.class, () -> new MetricIndex(null));
+        assertThrows(IllegalArgumentException.class, () -> index.add(null));
+        assertThrows(IllegalArgumentException.class, () -> index.top(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.get(3));
+    }
+}
@@ -0,0 +1,94 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link OffHeapShapeStore} and {@link ShapeArena}.
+ *
+ * Coverage:
+ * - Kernels agree exactly with the object model
+ * - Growth beyond the initial capacity preserves rows
+ * - Closing the arena frees memory and rejects further access
+ */
+public class OffHeapShapeStoreTest {
+
+    @Test
+    @DisplayName("Off-heap kernels match Shape3D results exactly")
+    void kernelsMatchObjects() {
+        List<Shape3D> shapes = List.of(
+                new Sphere("Ball", "Red", 5.0),
+                new Cube("Box", "Blue", 4.0),
+                new Cylinder("Can", "Red", 2.0, 5.0),
+                new RectangularPrism("Package", 6.0, 4.0, 3.0),
+                new Cone("Cone", "Tan", 3.0, 4.0));
+
+        try (ShapeArena arena = new ShapeArena()) {
+            OffHeapShapeStore store = new OffHeapShapeStore(arena, 2);
+            shapes.forEach(store::add);
+
+            double[] volumes = new double[store.size()];
+            double[] areas = new double[store.size()];
+            store.volumes(volumes);
+            store.surfaceAreas(areas);
+
+            for (int i = 0; i < shapes.size(); i++) {
+                assertEquals(shapes.get(i).getVolume(), volumes[i]);
+                assertEquals(shapes.get(i).getSurfaceArea(), areas[i]);
+                assertEquals(shapes.get(i).getColor(), store.colorAt(i));
+            }
+            assertEquals(ShapeType.CONE, store.typeAt(4));
+            assertEquals("Cone {name='Copy', color='Tan'}; radius=3.0, height=4.0",
+                    store.toShape(4, "Copy").toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Growing keeps earlier rows intact")
+    void growthPreservesRows() {
+        try (ShapeArena arena = new ShapeArena()) {
+            OffHeapShapeStore store = new OffHeapShapeStore(arena, 0);
+            for (int i = 0; i < 5000; i++) {
+                store.add(ShapeType.CYLINDER, i % 2 == 0 ? "Red" : null, i, 2.0);
+            }
+            assertEquals(5000, store.size());
+            assertEquals(4999.0, store.dimensionAt(4999, 0));
+            assertEquals("Unspecified", store.colorAt(4999));
+            assertEquals(ShapeFormulas.cylinderVolume(1234, 2.0), store.volumeAt(1234));
+            assertTrue(arena.allocatedBytes() >= store.reservedBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Closing the arena releases memory and blocks access")
+    void closeReleases() {
+        ShapeArena arena = new ShapeArena();
+        OffHeapShapeStore store = new OffHeapShapeStore(arena, 16);
+        store.add(ShapeType.SPHERE, "Red", 1.0);
+        assertTrue(arena.allocatedBytes() > 0);
+
+        arena.close();
+
+        assertFalse(arena.isOpen());
+        assertEquals(0, arena.allocatedBytes());
+        assertThrows(IllegalStateException.class, () -> store.volumeAt(0));
+        assertThrows(IllegalStateException.class, () -> store.add(ShapeType.SPHERE, "Red", 1.0));
+        assertThrows(IllegalStateException.class, () -> new OffHeapShapeStore(arena, 1));
+        arena.close(); // idempotent
+    }
+
+    @Test
+    @DisplayName("Invalid rows throw IllegalArgumentException")
+    void invalidRows() {
+        try (ShapeArena arena = new ShapeArena()) {
+            OffHeapShapeStore store = new OffHeapShapeStore(arena);
+            assertThrows(IllegalArgumentException.class, () -> store.add(ShapeType.CONE, "Red", 1.0));
+            assertThrows(IllegalArgumentException.class, () -> store.add(ShapeType.CUBE, "Red", -1.0));
+            assertThrows(IllegalArgumentException.class, () -> new OffHeapShapeStore(null));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ParallelShapeAnalyzer}.
+ *
+ * Coverage:
+ * - Lists, arrays, non-random-access lists, and stores give the sequential report
+ * - Ties resolve to the earliest shape regardless of splitting
+ * - Invalid construction and null sources are rejected
+ */
+public class ParallelShapeAnalyzerTest {
+
+    private static void assertSameReport(ShapeStatistics expected, ShapeStatistics actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getTypeCounts(), actual.getTypeCounts());
+        assertEquals(expected.getLargestVolume(), actual.getLargestVolume());
+        assertEquals(expected.getSmallestVolume(), actual.getSmallestVolume());
+        assertEquals(expected.getLargestSurfaceArea(), actual.getLargestSurfaceArea());
+        assertEquals(expected.getSmallestSurfaceArea(), actual.getSmallestSurfaceArea());
+        assertEquals(expected.getMostEfficient(), actual.getMostEfficient());
+        assertEquals(expected.getLeastEfficient(), actual.getLeastEfficient());
+        assertEquals(expected.getTotalVolume(), actual.getTotalVolume(), 1e-9 * expected.getTotalVolume());
+        assertEquals(expected.getAverageSurfaceArea(), actual.getAverageSurfaceArea(),
+                1e-9 * expected.getAverageSurfaceArea());
+    }
+
+    @Test
+    @DisplayName("Every source type reproduces the sequential report")
+    void matchesSequential() {
+        // Coarse dimensions so that many extremes tie
+        List<Shape3D> shapes = TestShapes.random(20_000, 21, null, 4);
+        ShapeStatistics expected = ShapeStatistics.of(shapes);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelShapeAnalyzer analyzer = new ParallelShapeAnalyzer(pool, 16);
+            assertSameReport(expected, analyzer.analyze(shapes));
+            assertSameReport(expected, analyzer.analyze(shapes.toArray(new Shape3D[0])));
+            assertSameReport(expected, analyzer.analyze(new LinkedList<>(shapes)));
+            assertSameReport(expected, analyzer.analyze(ShapeStore.of(shapes)));
+        } finally {
+            pool.shutdown();
+        }
+        assertSameReport(expected, ParallelShapeAnalyzer.common().analyze(shapes));
+    }
+
+    @Test
+    @DisplayName("Small inputs and empty inputs are handled")
+    void smallInputs() {
+        ShapeStatistics stats = ParallelShapeAnalyzer.common().analyze(List.of(new Cube("A", 2.0)));
+        assertEquals(1, stats.getCount());
+        assertEquals(8.0, stats.getLargestVolume().value());
+        assertEquals(0, ParallelShapeAnalyzer.common().analyze(new ShapeStore()).getCount());
+    }
+
+    @Test
+    @DisplayName("Invalid arguments throw IllegalArgumentException")
+    void validation() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelShapeAnalyzer(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelShapeAnalyzer(ForkJoinPool.commonPool(), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> ParallelShapeAnalyzer.common().analyze((List<Shape3D>) null));
+    }
+}
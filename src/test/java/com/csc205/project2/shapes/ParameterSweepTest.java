@@ -0,0 +1,155 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ParameterSweep}.
+ *
+ * Coverage:
+ * - Swept volumes, surface areas, and metrics match the shapes' own results bit for bit
+ * - Points are numbered row-major, and indexes round-trip through their dimensions
+ * - Parallel sinks see every point once; summaries are exact and match ordered runs
+ * - Axes and sweep specifications parse, including inclusive range ends, and bad input is rejected
+ */
+public class ParameterSweepTest {
+
+    private static final double TOL = 1e-9;
+
+    @Test
+    @DisplayName("Swept values match the shapes' own results")
+    void matchesShapes() {
+        ParameterSweep.Axis small = ParameterSweep.Axis.of(0.5, 1, 2.25);
+        for (ShapeType type : ShapeType.values()) {
+            ParameterSweep.Axis[] axes = new ParameterSweep.Axis[type.arity()];
+            Arrays.fill(axes, small);
+            ParameterSweep sweep = ParameterSweep.of(type, axes).withMetrics(DerivedMetrics.SPHERICITY);
+            ParameterSweep.Grid grid = sweep.evaluate();
+            assertEquals((int) Math.pow(3, type.arity()), grid.size());
+            for (int i = 0; i < grid.size(); i++) {
+                double[] dims = sweep.dimensionsAt(i);
+                Shape3D shape = type.create("S", null, dims);
+                assertEquals(shape.getVolume(), grid.volumeAt(i), type + " " + i);
+                assertEquals(shape.getSurfaceArea(), grid.surfaceAreaAt(i), type + " " + i);
+                assertEquals(DerivedMetrics.SPHERICITY.applyAsDouble(shape), grid.valueAt(0, i), type + " " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Points are numbered row-major")
+    void rowMajor() {
+        ParameterSweep sweep = ParameterSweep.of(ShapeType.RECTANGULAR_PRISM,
+                ParameterSweep.Axis.of(1, 2), ParameterSweep.Axis.of(3, 4, 5), ParameterSweep.Axis.of(6, 7, 8, 9));
+        assertEquals(24, sweep.size());
+        assertArrayEquals(new double[]{1, 3, 6}, sweep.dimensionsAt(0));
+        assertArrayEquals(new double[]{1, 3, 7}, sweep.dimensionsAt(1));
+        assertArrayEquals(new double[]{1, 4, 6}, sweep.dimensionsAt(4));
+        assertArrayEquals(new double[]{2, 5, 9}, sweep.dimensionsAt(23));
+        assertEquals(17, sweep.indexOf(1, 1, 1));
+        ParameterSweep.Grid grid = sweep.evaluate();
+        for (int i = 0; i < grid.size(); i++) {
+            double[] dims = sweep.dimensionsAt(i);
+            assertEquals(dims[0] * dims[1] * dims[2], grid.volumeAt(i), TOL);
+        }
+        assertThrows(IllegalArgumentException.class, () -> sweep.indexOf(2, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> sweep.dimensionsAt(24));
+    }
+
+    @Test
+    @DisplayName("Large sweeps stream every point once and summarize exactly")
+    void largeSweeps() {
+        ParameterSweep sweep = ParameterSweep.of(ShapeType.CYLINDER,
+                        ParameterSweep.Axis.range(0.1, 50, 0.01), ParameterSweep.Axis.range(1, 20, 1))
+                .withMetrics(DerivedMetrics.compile("efficiency"), DerivedMetrics.compile("sideLength"));
+        assertEquals(4991L * 20, sweep.size());
+        assertTrue(sweep.size() > 4 * ParameterSweep.CHUNK);
+
+        AtomicLong points = new AtomicLong();
+        AtomicLong indexSum = new AtomicLong();
+        sweep.forEach(batch -> {
+            long sum = 0;
+            for (int i = 0; i < batch.count(); i++) {
+                sum += batch.from() + i;
+            }
+            points.addAndGet(batch.count());
+            indexSum.addAndGet(sum);
+        });
+        assertEquals(sweep.size(), points.get());
+        assertEquals(sweep.size() * (sweep.size() - 1) / 2, indexSum.get());
+
+        ParameterSweep.Grid grid = sweep.evaluate();
+        double[] expected = new double[grid.size()];
+        long[] next = {0};
+        sweep.forEachOrdered(batch -> {
+            assertEquals(next[0], batch.from());
+            for (int i = 0; i < batch.count(); i++) {
+                expected[(int) batch.from() + i] = batch.volume(i) / batch.surfaceArea(i);
+            }
+            next[0] += batch.count();
+        });
+        assertArrayEquals(expected, grid.values(0));
+
+        ParameterSweep.Summary summary = sweep.summarize();
+        ParameterSweep.Column volume = summary.column("VOLUME").orElseThrow();
+        assertEquals(ExactSum.sum(grid.volumes()) / grid.size(), volume.mean());
+        assertEquals(0, volume.minIndex());
+        assertEquals(sweep.size() - 1, volume.maxIndex());
+        assertEquals(Math.PI * 50 * 50 * 20, volume.max(), 1e-6);
+        assertEquals(0, summary.column("sideLength").orElseThrow().count());
+        assertEquals(-1, summary.column("sideLength").orElseThrow().minIndex());
+        assertEquals(summary, sweep.summarize());
+        assertEquals(4, summary.columns().size());
+    }
+
+    @Test
+    @DisplayName("Axes and specifications parse; bad input is rejected")
+    void parsing() {
+        ParameterSweep.Axis range = ParameterSweep.Axis.range(0.1, 50, 0.01);
+        assertEquals(4991, range.size());
+        assertEquals(50.0, range.valueAt(range.size() - 1));
+        assertEquals(0.1 + 2500 * 0.01, range.valueAt(2500));
+        assertEquals(5, ParameterSweep.Axis.parse("1..5").size());
+        assertEquals(3, ParameterSweep.Axis.parse(" 0 .. 1 : 0.5 ").size());
+        assertEquals(2.5, ParameterSweep.Axis.parse("1, 2.5, 10").valueAt(1));
+
+        // Inclusive ends where the quotient is off by more than an absolute 1e-9
+        ParameterSweep.Axis far = ParameterSweep.Axis.parse("3508435.45..3508435.55:0.05");
+        assertEquals(3, far.size());
+        assertEquals(3508435.55, far.valueAt(2));
+        assertEquals(2, ParameterSweep.Axis.range(5061690.9, 5061691.6, 0.7).size());
+        assertEquals(5061691.6, ParameterSweep.Axis.range(5061690.9, 5061691.6, 0.7).valueAt(1));
+        ParameterSweep.Axis shortOfEnd = ParameterSweep.Axis.range(0, 1.05, 1);
+        assertEquals(2, shortOfEnd.size());
+        assertEquals(1.0, shortOfEnd.valueAt(1));
+
+        ParameterSweep sweep = ParameterSweep.parse("Rectangular_Prism width = 1..2 length=3 height=1, 2, 4");
+        assertEquals(ShapeType.RECTANGULAR_PRISM, sweep.type());
+        assertEquals(2 * 3, sweep.size());
+        assertArrayEquals(new double[]{3, 2, 4}, sweep.dimensionsAt(5));
+        assertTrue(sweep.toString().startsWith("RectangularPrism length = 3;"), sweep.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.Axis.range(5, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.Axis.range(-1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.Axis.range(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.Axis.range(0, 1e12, 1e-3));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.Axis.of());
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.Axis.parse("1..x"));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.parse("torus radius=1"));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.parse("cone radius=1"));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.parse("cone radius=1 depth=2"));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.parse("sphere radius=1 radius=2"));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.of(ShapeType.CONE, ParameterSweep.Axis.of(1)));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.of(ShapeType.SPHERE, range).forEach(null));
+
+        ParameterSweep.Axis wide = ParameterSweep.Axis.range(0, 100_000, 1);
+        ParameterSweep huge = ParameterSweep.of(ShapeType.RECTANGULAR_PRISM, wide, wide, wide);
+        assertEquals(100_001L * 100_001L * 100_001L, huge.size());
+        assertThrows(IllegalArgumentException.class, huge::evaluate);
+    }
+}
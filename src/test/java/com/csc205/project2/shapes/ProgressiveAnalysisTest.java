@@ -0,0 +1,141 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ProgressiveAnalysis}.
+ *
+ * Coverage:
+ * - Sampling every shape gives the exact statistics with zero-width intervals
+ * - Intervals cover the true values at about the nominal rate and narrow as the sample grows
+ * - A seed makes the sampling order reproducible; lists and collections agree
+ * - Callers can stop at any time; invalid arguments are rejected
+ */
+public class ProgressiveAnalysisTest {
+
+    private static final double TOL = 1e-9;
+    private static final int COUNT = 2_000;
+
+    private static List<Shape3D> shapes;
+    private static ShapeStatistics exact;
+
+    @BeforeAll
+    static void createShapes() {
+        Random random = new Random(7);
+        shapes = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            double size = 1 + 9 * random.nextDouble();
+            shapes.add(switch (i % 5) {
+                case 0, 1 -> new Sphere("S" + i, size);
+                case 2 -> new Cube("C" + i, size);
+                case 3 -> new Cylinder("Y" + i, size, 2 * size);
+                default -> new Cone("N" + i, size, size);
+            });
+        }
+        exact = ShapeStatistics.of(shapes);
+    }
+
+    @Test
+    @DisplayName("Sampling every shape gives exact results")
+    void exactWhenComplete() {
+        ProgressiveAnalysis analysis = ProgressiveAnalysis.of(shapes, 0.95, 1);
+        ProgressiveAnalysis.Estimate estimate = analysis.next(COUNT + 100);
+        assertTrue(analysis.isComplete());
+        assertTrue(estimate.isExact());
+        assertEquals(COUNT, estimate.sampled());
+        assertEquals(1.0, estimate.progress(), TOL);
+        assertEquals(exact.getAverageVolume(), estimate.averageVolume().estimate(), 1e-9 * exact.getAverageVolume());
+        assertEquals(exact.getTotalSurfaceArea(), estimate.totalSurfaceArea().estimate(), 1e-9 * exact.getTotalSurfaceArea());
+        assertEquals(0.0, estimate.totalVolume().halfWidth(), TOL);
+        Map<ShapeType, ProgressiveAnalysis.Interval> shares = estimate.typeShares();
+        assertEquals(0.4, shares.get(ShapeType.SPHERE).estimate(), TOL);
+        assertEquals(0.0, shares.get(ShapeType.SPHERE).halfWidth(), TOL);
+        assertFalse(shares.containsKey(ShapeType.RECTANGULAR_PRISM));
+    }
+
+    @Test
+    @DisplayName("Intervals cover the true values and narrow with more samples")
+    void coverage() {
+        int trials = 200;
+        int volumeHits = 0;
+        int shareHits = 0;
+        for (int seed = 0; seed < trials; seed++) {
+            ProgressiveAnalysis.Estimate estimate = ProgressiveAnalysis.of(shapes, 0.95, seed).next(100);
+            volumeHits += estimate.averageVolume().contains(exact.getAverageVolume()) ? 1 : 0;
+            shareHits += estimate.typeShares().get(ShapeType.CUBE).contains(0.2) ? 1 : 0;
+        }
+        // 95% nominal; allow for the normal approximation and trial noise
+        assertTrue(volumeHits >= 0.88 * trials, "volume coverage " + volumeHits);
+        assertTrue(shareHits >= 0.88 * trials, "share coverage " + shareHits);
+
+        ProgressiveAnalysis analysis = ProgressiveAnalysis.of(shapes, 0.95, 3);
+        double small = analysis.next(50).averageVolume().halfWidth();
+        double large = analysis.next(950).averageVolume().halfWidth();
+        assertTrue(large < small / 2, small + " -> " + large);
+        assertTrue(ProgressiveAnalysis.of(shapes, 0.99, 3).next(50).averageVolume().halfWidth() > small);
+    }
+
+    @Test
+    @DisplayName("Seeds reproduce the sample; collections match lists")
+    void reproducible() {
+        ProgressiveAnalysis.Estimate a = ProgressiveAnalysis.of(shapes, 0.9, 42).next(300);
+        ProgressiveAnalysis.Estimate b = ProgressiveAnalysis.of(shapes, 0.9, 42).next(300);
+        assertEquals(a, b);
+
+        ShapeCollection collection = new ShapeCollection(shapes);
+        ProgressiveAnalysis.Estimate c = ProgressiveAnalysis.of(collection, 0.9, 42).next(300);
+        assertEquals(a.averageVolume().estimate(), c.averageVolume().estimate(), 1e-9 * a.averageVolume().estimate());
+        assertEquals(a.typeShares(), c.typeShares());
+        collection.clear();
+    }
+
+    @Test
+    @DisplayName("Callers can stop at any time")
+    void stopping() {
+        ProgressiveAnalysis analysis = ProgressiveAnalysis.of(shapes, 0.95, 5);
+        ProgressiveAnalysis.Estimate empty = analysis.current();
+        assertEquals(0, empty.sampled());
+        assertTrue(Double.isInfinite(empty.averageVolume().halfWidth()));
+        assertTrue(empty.typeShares().isEmpty());
+
+        List<ProgressiveAnalysis.Estimate> seen = new ArrayList<>();
+        ProgressiveAnalysis.Estimate last = analysis.runUntil(
+                estimate -> estimate.averageVolume().relativeHalfWidth() < 0.1, seen::add);
+        assertFalse(seen.isEmpty());
+        assertSame(last, seen.get(seen.size() - 1));
+        assertTrue(last.averageVolume().relativeHalfWidth() < 0.1);
+        assertTrue(last.sampled() < COUNT);
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i).sampled() > seen.get(i - 1).sampled());
+        }
+
+        ProgressiveAnalysis.Estimate finished = analysis.runFor(Duration.ofSeconds(10), estimate -> { });
+        assertTrue(finished.isExact());
+        assertEquals(finished, analysis.next(10));
+
+        ProgressiveAnalysis.Estimate none = ProgressiveAnalysis.of(List.of()).runFor(Duration.ZERO, estimate -> { });
+        assertTrue(none.isExact());
+        assertEquals(1.0, none.progress(), TOL);
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> ProgressiveAnalysis.of(null));
+        assertThrows(IllegalArgumentException.class, () -> ProgressiveAnalysis.of(shapes, 1.0, 0));
+        assertThrows(IllegalArgumentException.class, () -> ProgressiveAnalysis.of(shapes, 0.0, 0));
+        assertThrows(IllegalArgumentException.class, () -> ProgressiveAnalysis.of(shapes).next(-1));
+        assertEquals(1.959964, ProgressiveAnalysis.normalQuantile(0.975), 1e-6);
+        assertEquals(-2.326348, ProgressiveAnalysis.normalQuantile(0.01), 1e-6);
+    }
+}
@@ -0,0 +1,98 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the opt-in memoization in {@link Shape3D}.
+ *
+ * Coverage:
+ * - Caching is off by default and counts nothing
+ * - Repeated reads of an unchanged shape are hits
+ * - Every dimension setter invalidates cached values
+ * - Disabling caching clears stored values
+ */
+public class Shape3DCachingTest {
+
+    private static final double TOL = 1e-9;
+
+    @Test
+    @DisplayName("Caching is disabled by default")
+    void disabledByDefault() {
+        Sphere s = new Sphere("Ball", 2.0);
+        s.getVolume();
+        s.getVolume();
+        assertFalse(s.isCachingEnabled());
+        assertEquals(0, s.getCacheHits());
+        assertEquals(0, s.getCacheMisses());
+    }
+
+    @Test
+    @DisplayName("Repeated reads hit the cache")
+    void repeatedReadsHit() {
+        Cone c = new Cone("Cone", 3.0, 4.0);
+        c.setCachingEnabled(true);
+
+        assertEquals(12.0 * Math.PI, c.getVolume(), TOL);
+        assertEquals(12.0 * Math.PI, c.getVolume(), TOL);
+        assertEquals(24.0 * Math.PI, c.getSurfaceArea(), TOL);
+        assertEquals(24.0 * Math.PI, c.getSurfaceArea(), TOL);
+
+        assertEquals(2, c.getCacheMisses());
+        assertEquals(2, c.getCacheHits());
+
+        c.resetCacheStatistics();
+        assertEquals(0, c.getCacheHits());
+        assertEquals(12.0 * Math.PI, c.getVolume(), TOL);
+        assertEquals(1, c.getCacheHits());
+    }
+
+    @Test
+    @DisplayName("Dimension setters invalidate cached values")
+    void settersInvalidate() {
+        Cylinder cyl = new Cylinder("Can", 1.0, 1.0);
+        cyl.setCachingEnabled(true);
+        cyl.getVolume();
+        cyl.setRadius(2.0);
+        assertEquals(Math.PI * 4.0, cyl.getVolume(), TOL);
+        cyl.setHeight(3.0);
+        assertEquals(Math.PI * 12.0, cyl.getVolume(), TOL);
+
+        RectangularPrism p = new RectangularPrism("Box", 1.0, 1.0, 1.0);
+        p.setCachingEnabled(true);
+        p.getSurfaceArea();
+        p.setWidth(2.0);
+        assertEquals(2.0 * (2.0 + 1.0 + 2.0), p.getSurfaceArea(), TOL);
+        p.setLength(2.0);
+        p.setHeight(2.0);
+        assertEquals(8.0, p.getVolume(), TOL);
+
+        Cube cube = new Cube("Cube", 2.0);
+        cube.setCachingEnabled(true);
+        cube.getVolume();
+        cube.setSideLength(3.0);
+        assertEquals(27.0, cube.getVolume(), TOL);
+
+        Sphere sphere = new Sphere("Ball", 1.0);
+        sphere.setCachingEnabled(true);
+        sphere.getSurfaceArea();
+        sphere.setRadius(2.0);
+        assertEquals(16.0 * Math.PI, sphere.getSurfaceArea(), TOL);
+
+        assertEquals(0, cyl.getCacheHits() + p.getCacheHits() + cube.getCacheHits() + sphere.getCacheHits());
+    }
+
+    @Test
+    @DisplayName("Disabling caching clears stored values")
+    void disablingClears() {
+        Sphere s = new Sphere("Ball", 1.0);
+        s.setCachingEnabled(true);
+        s.getVolume();
+        s.setCachingEnabled(false);
+        s.getVolume();
+        assertEquals(0, s.getCacheHits());
+        assertEquals(1, s.getCacheMisses());
+    }
+}
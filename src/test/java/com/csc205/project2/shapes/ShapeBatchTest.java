@@ -0,0 +1,73 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ShapeBatch}.
+ *
+ * Coverage:
+ * - Results are in original list order and equal per-shape getters exactly
+ * - Per-type counts reflect the partition
+ * - A batch is a snapshot of dimensions at construction
+ * - Null lists, null elements, and short output arrays are rejected
+ */
+public class ShapeBatchTest {
+
+    @Test
+    @DisplayName("Batch results match per-shape getters in original order")
+    void matchesGetters() {
+        List<Shape3D> shapes = TestShapes.random(257, 11);
+        ShapeBatch batch = ShapeBatch.of(shapes);
+
+        double[] volumes = batch.volumes();
+        double[] areas = batch.surfaceAreas();
+        double[] ratios = batch.efficiencies();
+        for (int i = 0; i < shapes.size(); i++) {
+            Shape3D shape = shapes.get(i);
+            assertEquals(shape.getVolume(), volumes[i], "volume " + i);
+            assertEquals(shape.getSurfaceArea(), areas[i], "surface area " + i);
+            assertEquals(ShapeMetric.EFFICIENCY.applyAsDouble(shape), ratios[i], "ratio " + i);
+        }
+        assertArrayEquals(volumes, ShapeBatch.evaluate(shapes, ShapeMetric.VOLUME));
+    }
+
+    @Test
+    @DisplayName("Counts reflect the partition by type")
+    void counts() {
+        List<Shape3D> shapes = List.of(new Cube("A", 1.0), new Sphere("B", 1.0), new Cube("C", 2.0));
+        ShapeBatch batch = ShapeBatch.of(shapes);
+        assertEquals(3, batch.size());
+        assertEquals(2, batch.count(ShapeType.CUBE));
+        assertEquals(1, batch.count(ShapeType.SPHERE));
+        assertEquals(0, batch.count(ShapeType.CONE));
+        assertArrayEquals(new double[]{1.0, 4.0 / 3.0 * Math.PI, 8.0}, batch.volumes(), 1e-9);
+        assertEquals(0, ShapeBatch.of(List.of()).volumes().length);
+    }
+
+    @Test
+    @DisplayName("A batch snapshots dimensions at construction")
+    void snapshot() {
+        Cube cube = new Cube("Box", 2.0);
+        ShapeBatch batch = ShapeBatch.of(List.of(cube));
+        cube.setSideLength(3.0);
+        assertEquals(8.0, batch.volumes()[0]);
+        assertEquals(27.0, ShapeBatch.of(List.of(cube)).volumes()[0]);
+    }
+
+    @Test
+    @DisplayName("Invalid input is rejected")
+    void validation() {
+        assertThrows(IllegalArgumentException.class, () -> ShapeBatch.of(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> ShapeBatch.of(Arrays.asList(new Cube("A", 1.0), null)));
+        ShapeBatch batch = ShapeBatch.of(List.of(new Cube("A", 1.0), new Cube("B", 1.0)));
+        assertThrows(IllegalArgumentException.class, () -> batch.evaluate(ShapeMetric.VOLUME, new double[1]));
+        assertThrows(IllegalArgumentException.class, () -> batch.evaluate(null, new double[2]));
+    }
+}
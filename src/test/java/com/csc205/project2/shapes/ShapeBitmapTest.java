@@ -0,0 +1,133 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ShapeBitmap}.
+ *
+ * Coverage:
+ * - Add, remove, contains, and cardinality match {@link BitSet}, across sparse and dense chunks
+ * - AND, OR, and AND-NOT match {@link BitSet} for every mix of container kinds
+ * - Ranges, copies, equality, and invalid values
+ */
+public class ShapeBitmapTest {
+
+    /** Mixes a sparse chunk, a dense chunk, and a chunk near the array/bitmap boundary. */
+    private static BitSet randomBits(Random random) {
+        BitSet bits = new BitSet();
+        for (int i = 0; i < 300; i++) {
+            bits.set(random.nextInt(65_536));
+        }
+        for (int i = 0; i < 30_000; i++) {
+            bits.set(65_536 + random.nextInt(65_536));
+        }
+        for (int i = 0; i < 4_200; i++) {
+            bits.set(3 * 65_536 + random.nextInt(65_536));
+        }
+        return bits;
+    }
+
+    private static ShapeBitmap toBitmap(BitSet bits) {
+        ShapeBitmap bitmap = new ShapeBitmap();
+        bits.stream().forEach(bitmap::add);
+        return bitmap;
+    }
+
+    private static void assertSameValues(BitSet expected, ShapeBitmap actual) {
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertArrayEquals(expected.stream().toArray(), actual.toArray());
+    }
+
+    @Test
+    @DisplayName("Mutations match BitSet")
+    void mutations() {
+        Random random = new Random(1);
+        BitSet expected = randomBits(random);
+        ShapeBitmap bitmap = toBitmap(expected);
+        assertSameValues(expected, bitmap);
+
+        for (int i = 0; i < 50_000; i++) {
+            int value = random.nextInt(4 * 65_536);
+            if (random.nextBoolean()) {
+                assertEquals(!expected.get(value), bitmap.add(value));
+                expected.set(value);
+            } else {
+                assertEquals(expected.get(value), bitmap.remove(value));
+                expected.clear(value);
+            }
+        }
+        assertSameValues(expected, bitmap);
+        for (int probe = 0; probe < 4 * 65_536; probe += 97) {
+            assertEquals(expected.get(probe), bitmap.contains(probe));
+        }
+    }
+
+    @Test
+    @DisplayName("AND, OR, and AND-NOT match BitSet")
+    void setAlgebra() {
+        Random random = new Random(2);
+        BitSet a = randomBits(random);
+        BitSet b = randomBits(random);
+        ShapeBitmap left = toBitmap(a);
+        ShapeBitmap right = toBitmap(b);
+
+        BitSet and = (BitSet) a.clone();
+        and.and(b);
+        BitSet or = (BitSet) a.clone();
+        or.or(b);
+        BitSet andNot = (BitSet) a.clone();
+        andNot.andNot(b);
+
+        assertSameValues(and, left.and(right));
+        assertSameValues(or, left.or(right));
+        assertSameValues(andNot, left.andNot(right));
+        assertSameValues(a, left);
+        assertSameValues(b, right);
+    }
+
+    @Test
+    @DisplayName("Ranges cover partial and full chunks")
+    void ranges() {
+        BitSet expected = new BitSet();
+        expected.set(10, 200_000);
+        assertSameValues(expected, ShapeBitmap.range(10, 200_000));
+        assertTrue(ShapeBitmap.range(5, 5).isEmpty());
+
+        ShapeBitmap universe = ShapeBitmap.range(0, 10);
+        assertArrayEquals(new int[]{0, 1, 4, 5, 6, 7, 8, 9}, universe.andNot(ShapeBitmap.of(2, 3, 42)).toArray());
+    }
+
+    @Test
+    @DisplayName("Copies are independent and equality is by value")
+    void copiesAndEquality() {
+        ShapeBitmap original = ShapeBitmap.of(1, 70_000, 3);
+        ShapeBitmap copy = original.copy();
+        copy.add(5);
+        assertFalse(original.contains(5));
+        assertEquals(ShapeBitmap.of(3, 1, 70_000), original);
+        assertEquals(ShapeBitmap.of(3, 1, 70_000).hashCode(), original.hashCode());
+        assertNotEquals(original, copy);
+
+        // Same values in a bitmap container and an array container
+        ShapeBitmap dense = ShapeBitmap.range(0, 5_000);
+        for (int v = 100; v < 5_000; v++) {
+            dense.remove(v);
+        }
+        assertEquals(ShapeBitmap.range(0, 100), dense);
+    }
+
+    @Test
+    @DisplayName("Negative values are rejected")
+    void invalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> new ShapeBitmap().add(-1));
+        assertThrows(IllegalArgumentException.class, () -> ShapeBitmap.range(3, 1));
+        assertFalse(new ShapeBitmap().remove(-1));
+        assertFalse(new ShapeBitmap().contains(-1));
+    }
+}
@@ -0,0 +1,267 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ShapeCollection} and the {@link ShapeChangeListener} support in {@link Shape3D}.
+ *
+ * Coverage:
+ * - Statistics always equal a from-scratch {@link ShapeStatistics} pass
+ *   across add, insert, set, remove, clear, and dimension changes
+ * - Removed shapes no longer notify the collection
+ * - Cached per-index values and O(1) extremes
+ * - Listener registration and notification on the shape itself
+ * - Type and color bitmap indexes follow adds, removes, recolors, and slot compaction
+ */
+public class ShapeCollectionTest {
+
+    private static final double TOL = 1e-9;
+
+    /**
+     * Compares extreme values only: after inserts in the middle, a rescan breaks ties by
+     * list position while the collection breaks them by insertion order.
+     */
+    private static void assertMatchesRescan(ShapeCollection collection) {
+        if (collection.isEmpty()) {
+            assertEquals(0, collection.statistics().getCount());
+            return;
+        }
+        ShapeStatistics expected = ShapeStatistics.of(collection);
+        ShapeStatistics actual = collection.statistics();
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getTypeCounts(), actual.getTypeCounts());
+        assertEquals(expected.getLargestVolume().value(), actual.getLargestVolume().value());
+        assertEquals(expected.getSmallestVolume().value(), actual.getSmallestVolume().value());
+        assertEquals(expected.getLargestSurfaceArea().value(), actual.getLargestSurfaceArea().value());
+        assertEquals(expected.getSmallestSurfaceArea().value(), actual.getSmallestSurfaceArea().value());
+        assertEquals(expected.getMostEfficient().value(), actual.getMostEfficient().value());
+        assertEquals(expected.getLeastEfficient().value(), actual.getLeastEfficient().value());
+        assertEquals(expected.getTotalVolume(), actual.getTotalVolume(), TOL * Math.max(1, expected.getTotalVolume()));
+        assertEquals(expected.getTotalSurfaceArea(), actual.getTotalSurfaceArea(),
+                TOL * Math.max(1, expected.getTotalSurfaceArea()));
+    }
+
+    @Nested
+    @DisplayName("Incremental statistics")
+    class Incremental {
+
+        @Test
+        @DisplayName("Random add/remove/set/resize sequences match a full rescan")
+        void randomOperations() {
+            Random random = new Random(99);
+            ShapeCollection collection = new ShapeCollection();
+            List<Shape3D> removed = new ArrayList<>();
+
+            for (int step = 0; step < 2_000; step++) {
+                int op = random.nextInt(10);
+                if (op < 5 || collection.isEmpty()) {
+                    ShapeType type = ShapeType.values()[random.nextInt(ShapeType.values().length)];
+                    Shape3D shape = type.create("S" + step, null,
+                            random.nextInt(5), random.nextInt(5), random.nextInt(5));
+                    collection.add(random.nextInt(collection.size() + 1), shape);
+                } else if (op < 7) {
+                    removed.add(collection.remove(random.nextInt(collection.size())));
+                } else if (op < 8) {
+                    collection.set(random.nextInt(collection.size()), new Cube("R" + step, random.nextInt(5)));
+                } else {
+                    Shape3D shape = collection.get(random.nextInt(collection.size()));
+                    if (shape instanceof Cube cube) {
+                        cube.setSideLength(random.nextInt(5));
+                    } else if (shape instanceof Cylinder cylinder) {
+                        cylinder.setHeight(random.nextInt(5));
+                    } else if (shape instanceof Sphere sphere) {
+                        sphere.setRadius(random.nextInt(5));
+                    }
+                }
+                if (step % 97 == 0) {
+                    assertMatchesRescan(collection);
+                }
+            }
+            assertMatchesRescan(collection);
+
+            // Shapes that left the collection must not affect it any more
+            ShapeStatistics before = collection.statistics();
+            for (Shape3D shape : removed) {
+                if (shape instanceof Cube cube && !collection.contains(cube)) {
+                    cube.setSideLength(1_000.0);
+                }
+            }
+            assertEquals(before.getLargestVolume(), collection.statistics().getLargestVolume());
+        }
+
+        @Test
+        @DisplayName("Clear resets everything")
+        void clear() {
+            Cube cube = new Cube("Box", 2.0);
+            ShapeCollection collection = new ShapeCollection(List.of(cube, new Sphere("Ball", 1.0)));
+            collection.clear();
+            cube.setSideLength(5.0);
+
+            ShapeStatistics stats = collection.statistics();
+            assertEquals(0, stats.getCount());
+            assertNull(stats.getLargestVolume());
+            assertEquals(0.0, collection.getTotalVolume());
+        }
+
+        @Test
+        @DisplayName("Ties go to the earliest added shape, like Collections.max")
+        void ties() {
+            ShapeCollection collection = new ShapeCollection(
+                    List.of(new Cube("First", 2.0), new Cube("Second", 2.0), new Cube("Third", 1.0)));
+            assertEquals("First", collection.extreme(ShapeMetric.VOLUME, true).name());
+            collection.remove(0);
+            assertEquals("Second", collection.extreme(ShapeMetric.VOLUME, true).name());
+            assertEquals("Third", collection.extreme(ShapeMetric.VOLUME, false).name());
+        }
+    }
+
+    @Nested
+    @DisplayName("List behavior")
+    class ListBehavior {
+
+        @Test
+        @DisplayName("Cached values follow dimension changes; names are read live")
+        void cachedValues() {
+            Cylinder can = new Cylinder("Can", 1.0, 1.0);
+            ShapeCollection collection = new ShapeCollection(List.of(can));
+            can.setHeight(3.0);
+            assertEquals(3.0 * Math.PI, collection.volumeAt(0), TOL);
+            assertEquals(can.getSurfaceArea(), collection.surfaceAreaAt(0));
+            assertEquals(collection.volumeAt(0) / collection.surfaceAreaAt(0), collection.efficiencyAt(0));
+
+            can.setName("Tall Can");
+            assertEquals("Tall Can", collection.statistics().getLargestVolume().name());
+        }
+
+        @Test
+        @DisplayName("Null shapes are rejected")
+        void nullRejected() {
+            ShapeCollection collection = new ShapeCollection();
+            assertThrows(IllegalArgumentException.class, () -> collection.add(null));
+            assertTrue(collection.isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Shape change listeners")
+    class Listeners {
+
+        @Test
+        @DisplayName("Listeners hear dimension, name, and color changes until removed")
+        void notifications() {
+            List<ShapeChangeListener.Change> heard = new ArrayList<>();
+            ShapeChangeListener listener = (shape, change) -> heard.add(change);
+            Cone cone = new Cone("Cone", 1.0, 1.0);
+
+            cone.addChangeListener(listener);
+            cone.setRadius(2.0);
+            cone.setName("Party Hat");
+            cone.setColor("Gold");
+            assertEquals(List.of(ShapeChangeListener.Change.DIMENSIONS,
+                    ShapeChangeListener.Change.NAME, ShapeChangeListener.Change.COLOR), heard);
+
+            assertTrue(cone.removeChangeListener(listener));
+            assertFalse(cone.removeChangeListener(listener));
+            cone.setHeight(5.0);
+            assertEquals(3, heard.size());
+            assertThrows(IllegalArgumentException.class, () -> cone.addChangeListener(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bitmap indexes")
+    class Indexes {
+
+        /** Expected slot contents from a scan, in insertion order. */
+        private void assertIndexesMatch(ShapeCollection collection, List<Shape3D> insertionOrder) {
+            assertEquals(insertionOrder, collection.shapesAt(collection.allSlots()));
+            for (ShapeType type : ShapeType.values()) {
+                List<Shape3D> expected = insertionOrder.stream().filter(s -> ShapeType.of(s) == type).toList();
+                assertEquals(expected, collection.shapesAt(collection.slotsOfType(type)));
+            }
+            for (String color : List.of("Red", "Blue", "Green", "Gold")) {
+                List<Shape3D> expected = insertionOrder.stream().filter(s -> s.getColor().equalsIgnoreCase(color)).toList();
+                assertEquals(expected, collection.shapesAt(collection.slotsOfColor(color.toUpperCase())));
+                assertEquals(expected.size(), collection.countOfColor(color));
+            }
+        }
+
+        @Test
+        @DisplayName("Indexes follow adds, removes, recolors, and compaction")
+        void followsChanges() {
+            Random random = new Random(11);
+            String[] colors = {"Red", "Blue", "Green"};
+            ShapeCollection collection = new ShapeCollection();
+            List<Shape3D> insertionOrder = new ArrayList<>();
+
+            for (int step = 0; step < 3_000; step++) {
+                int op = random.nextInt(10);
+                if (op < 5 || collection.isEmpty()) {
+                    Shape3D shape = random.nextBoolean()
+                            ? new Cube("C" + step, colors[random.nextInt(3)], 1 + random.nextInt(5))
+                            : new Sphere("S" + step, colors[random.nextInt(3)], 1 + random.nextInt(5));
+                    collection.add(random.nextInt(collection.size() + 1), shape);
+                    insertionOrder.add(shape);
+                } else if (op < 8) {
+                    Shape3D removed = collection.remove(random.nextInt(collection.size()));
+                    insertionOrder.remove(removed);
+                } else {
+                    collection.get(random.nextInt(collection.size())).setColor(random.nextBoolean() ? "Gold" : "red");
+                }
+                if (step % 250 == 0) {
+                    assertIndexesMatch(collection, insertionOrder);
+                }
+            }
+            assertIndexesMatch(collection, insertionOrder);
+
+            collection.clear();
+            assertTrue(collection.allSlots().isEmpty());
+            assertEquals(0, collection.countOfColor("Red"));
+        }
+
+        @Test
+        @DisplayName("Freed slots are compacted in insertion order")
+        void compaction() {
+            ShapeCollection collection = new ShapeCollection();
+            List<Shape3D> added = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                Shape3D shape = new Cube("C" + i, i % 2 == 0 ? "Red" : "Blue", 1 + i);
+                collection.add(shape);
+                added.add(shape);
+            }
+            for (int i = 1; i < 31; i++) {
+                collection.remove(added.get(i));
+            }
+            Shape3D late = new Sphere("Late", "Red", 1);
+            collection.add(0, late);
+
+            assertEquals(List.of(added.get(0), added.get(31), late), collection.shapesAt(collection.allSlots()));
+            assertArrayEquals(new int[]{0, 1, 2}, collection.allSlots().toArray());
+            assertEquals(List.of(added.get(0), late), collection.shapesAt(collection.slotsOfColor("Red")));
+        }
+
+        @Test
+        @DisplayName("Bitmap combinations select matching shapes only")
+        void combinations() {
+            Shape3D redCube = new Cube("A", "Red", 1);
+            Shape3D blueCube = new Cube("B", "Blue", 1);
+            Shape3D redSphere = new Sphere("C", "Red", 1);
+            ShapeCollection collection = new ShapeCollection(List.of(redCube, blueCube, redSphere));
+
+            ShapeBitmap cubes = collection.slotsOfType(ShapeType.CUBE);
+            ShapeBitmap red = collection.slotsOfColor("red");
+            assertEquals(List.of(redCube), collection.shapesAt(cubes.and(red)));
+            assertEquals(List.of(redCube, blueCube, redSphere), collection.shapesAt(cubes.or(red)));
+            assertEquals(List.of(blueCube), collection.shapesAt(collection.allSlots().andNot(red)));
+            assertTrue(collection.slotsOfColor("Purple").isEmpty());
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ShapeDistribution} and {@link ShapeDistributions}.
+ *
+ * Coverage:
+ * - Small inputs are answered exactly; large inputs within the documented rank error
+ * - Merged partitions are as accurate as one sketch, and memory stays bounded
+ * - CDF and histogram agree with the sorted data; the same input gives the same sketch
+ * - Lists, collections (parallel), and columnar stores give matching sketches; collections
+ *   keep theirs current through additions, removals, and resizes
+ * - Invalid arguments are rejected
+ */
+public class ShapeDistributionTest {
+
+    private static final double TOL = 1e-9;
+
+    /** Rank of a value in sorted data: the fraction of values at or below it. */
+    private static double rank(double[] sorted, double value) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= value) lo = mid + 1; else hi = mid;
+        }
+        return lo / (double) sorted.length;
+    }
+
+    private static void assertRankError(ShapeDistribution sketch, double[] sorted) {
+        double bound = sketch.normalizedRankError();
+        for (double q = 0.01; q < 1.0; q += 0.01) {
+            double estimate = sketch.quantile(q);
+            double actual = rank(sorted, estimate);
+            assertTrue(Math.abs(actual - q) <= bound,
+                    String.format("q=%.2f: estimate has rank %.4f (bound %.4f)", q, actual, bound));
+            assertEquals(rank(sorted, sorted[(int) (q * sorted.length)]),
+                    sketch.cdf(sorted[(int) (q * sorted.length)]), bound);
+        }
+    }
+
+    @Nested
+    @DisplayName("Sketch")
+    class Sketch {
+
+        @Test
+        @DisplayName("Small inputs are exact")
+        void exactWhenSmall() {
+            ShapeDistribution sketch = new ShapeDistribution();
+            double[] values = {5, 1, 4, 2, 3, 9, 7, 8, 6, 10};
+            for (double v : values) {
+                sketch.accept(v);
+            }
+            assertEquals(10, sketch.count());
+            assertEquals(1, sketch.min(), TOL);
+            assertEquals(10, sketch.max(), TOL);
+            assertEquals(5, sketch.quantile(0.5), TOL);
+            assertEquals(9, sketch.quantile(0.9), TOL);
+            assertEquals(1, sketch.quantile(0.0), TOL);
+            assertEquals(10, sketch.quantile(1.0), TOL);
+            assertEquals(0.3, sketch.cdf(3.5), TOL);
+            assertArrayEquals(new long[]{2, 5, 3}, sketch.histogram(2, 7));
+        }
+
+        @Test
+        @DisplayName("Large inputs stay within the rank error in bounded memory")
+        void accurate() {
+            Random random = new Random(1);
+            int n = 200_000;
+            double[] values = new double[n];
+            ShapeDistribution sketch = new ShapeDistribution();
+            for (int i = 0; i < n; i++) {
+                // Skewed, like volumes: exponential of a normal
+                values[i] = Math.exp(random.nextGaussian() * 1.5);
+                sketch.accept(values[i]);
+            }
+            Arrays.sort(values);
+            assertEquals(n, sketch.count());
+            assertEquals(values[0], sketch.min(), 0.0);
+            assertEquals(values[n - 1], sketch.max(), 0.0);
+            assertTrue(sketch.retained() < 4 * ShapeDistribution.DEFAULT_K, "retained " + sketch.retained());
+            assertRankError(sketch, values);
+
+            long[] counts = sketch.histogram(1.0, 10.0);
+            assertEquals(n, Arrays.stream(counts).sum());
+            assertEquals(rank(values, 1.0) * n, counts[0], sketch.normalizedRankError() * n);
+        }
+
+        @Test
+        @DisplayName("Merged partitions are as accurate as one sketch")
+        void merged() {
+            Random random = new Random(2);
+            int n = 120_000;
+            double[] values = new double[n];
+            ShapeDistribution[] parts = new ShapeDistribution[7];
+            for (int p = 0; p < parts.length; p++) {
+                parts[p] = new ShapeDistribution();
+            }
+            for (int i = 0; i < n; i++) {
+                values[i] = random.nextDouble() * 1000;
+                // Uneven partitions with different ranges
+                parts[(int) (values[i] / 150)].accept(values[i]);
+            }
+            ShapeDistribution merged = new ShapeDistribution();
+            for (ShapeDistribution part : parts) {
+                merged.merge(part);
+            }
+            Arrays.sort(values);
+            assertEquals(n, merged.count());
+            assertEquals(values[0], merged.min(), 0.0);
+            assertTrue(merged.retained() < 4 * ShapeDistribution.DEFAULT_K);
+            assertRankError(merged, values);
+        }
+
+        @Test
+        @DisplayName("Equal inputs give equal answers; copies are independent")
+        void reproducible() {
+            ShapeDistribution a = new ShapeDistribution(50);
+            ShapeDistribution b = new ShapeDistribution(50);
+            for (int i = 0; i < 10_000; i++) {
+                a.accept((i * 7919) % 10_007);
+                b.accept((i * 7919) % 10_007);
+            }
+            assertArrayEquals(a.quantiles(0.1, 0.5, 0.9), b.quantiles(0.1, 0.5, 0.9), 0.0);
+
+            ShapeDistribution copy = a.copy();
+            a.accept(-1.0);
+            assertEquals(10_000, copy.count());
+            assertEquals(-1.0, a.min(), 0.0);
+            assertEquals(0.0, copy.min(), 0.0);
+        }
+
+        @Test
+        @DisplayName("Empty sketches and invalid arguments")
+        void invalid() {
+            ShapeDistribution empty = new ShapeDistribution();
+            empty.accept(Double.NaN);
+            assertTrue(empty.isEmpty());
+            assertTrue(Double.isNaN(empty.quantile(0.5)));
+            assertTrue(Double.isNaN(empty.cdf(1)));
+            assertArrayEquals(new long[]{0, 0}, empty.histogram(1));
+
+            assertThrows(IllegalArgumentException.class, () -> new ShapeDistribution(4));
+            assertThrows(IllegalArgumentException.class, () -> empty.quantile(1.5));
+            assertThrows(IllegalArgumentException.class, () -> empty.quantile(Double.NaN));
+            assertThrows(IllegalArgumentException.class, () -> empty.histogram(2, 1));
+            assertThrows(IllegalArgumentException.class, () -> empty.merge(new ShapeDistribution(100)));
+            assertThrows(IllegalArgumentException.class, () -> empty.merge(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Per-metric sketches")
+    class PerMetric {
+
+        @Test
+        @DisplayName("Lists, collections, stores, and the collector agree")
+        void sources() {
+            List<Shape3D> shapes = TestShapes.random(3_000, 3, TestShapes.COLORS, 0);
+            ShapeDistributions fromList = ShapeDistributions.of((Iterable<Shape3D>) shapes);
+            ShapeCollection collection = new ShapeCollection(shapes);
+            ShapeDistributions fromCollection = ShapeDistributions.of(collection);
+            ShapeDistributions fromStore = ShapeDistributions.of(ShapeStore.of(shapes));
+            ShapeDistributions collected = shapes.parallelStream().collect(ShapeDistributions.collector());
+
+            for (ShapeMetric metric : ShapeMetric.values()) {
+                double[] expected = fromList.get(metric).quantiles(0.25, 0.5, 0.75);
+                assertArrayEquals(expected, fromCollection.get(metric).quantiles(0.25, 0.5, 0.75), TOL, metric.label());
+                assertArrayEquals(expected, fromStore.get(metric).quantiles(0.25, 0.5, 0.75), TOL, metric.label());
+                assertEquals(shapes.size(), collected.get(metric).count());
+            }
+            double[] efficiencies = shapes.stream().mapToDouble(ShapeMetric.EFFICIENCY).sorted().toArray();
+            assertRankError(fromList.get(ShapeMetric.EFFICIENCY), efficiencies);
+            collection.clear();
+        }
+
+        @Test
+        @DisplayName("Collections keep their sketches current")
+        void collectionMaintained() {
+            List<Shape3D> shapes = TestShapes.random(500, 4, TestShapes.COLORS, 0);
+            ShapeCollection collection = new ShapeCollection(shapes);
+            assertEquals(500, collection.distributions().count());
+
+            Sphere huge = new Sphere("Huge", "Gold", 100.0);
+            collection.add(huge);
+            assertEquals(huge.getVolume(), collection.distributions().get(ShapeMetric.VOLUME).max(), TOL);
+
+            huge.setRadius(0.1);
+            assertEquals(huge.getVolume(), collection.distributions().get(ShapeMetric.VOLUME).min(), TOL);
+
+            collection.remove(huge);
+            ShapeDistributions after = collection.distributions();
+            assertEquals(500, after.count());
+            assertEquals(ShapeDistributions.of((Iterable<Shape3D>) shapes).get(ShapeMetric.VOLUME).quantile(0.5),
+                    after.get(ShapeMetric.VOLUME).quantile(0.5), TOL);
+
+            // Snapshots do not change afterwards
+            collection.add(new Cube("Late", "Red", 50.0));
+            assertEquals(500, after.count());
+            collection.clear();
+            assertEquals(0, collection.distributions().count());
+        }
+
+        @Test
+        @DisplayName("Large collections are sketched in parallel chunks")
+        void parallelChunks() {
+            int n = 2 * ShapeDistributions.CHUNK + 123;
+            ShapeStore store = new ShapeStore(n);
+            Random random = new Random(5);
+            for (int i = 0; i < n; i++) {
+                store.add(ShapeType.SPHERE, "S" + i, "Red", 0.5 + 10 * random.nextDouble());
+            }
+            double[] volumes = new double[n];
+            store.volumes(volumes);
+            Arrays.sort(volumes);
+
+            ShapeDistributions distributions = ShapeDistributions.of(store);
+            assertEquals(n, distributions.count());
+            assertRankError(distributions.get(ShapeMetric.VOLUME), volumes);
+            assertArrayEquals(distributions.get(ShapeMetric.VOLUME).quantiles(0.1, 0.5, 0.9),
+                    ShapeDistributions.of(store).get(ShapeMetric.VOLUME).quantiles(0.1, 0.5, 0.9), 0.0);
+        }
+    }
+}
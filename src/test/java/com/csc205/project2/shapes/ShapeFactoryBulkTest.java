@@ -0,0 +1,111 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the bulk {@code createAll} methods of {@link ShapeFactory}.
+ *
+ * Coverage:
+ * - Jagged and flat strided input produce the same shapes as single-row creation
+ * - Bad rows are reported in input order without throwing
+ * - Parallel creation returns the same result as sequential creation
+ * - Structural mismatches between input arrays throw IllegalArgumentException
+ */
+public class ShapeFactoryBulkTest {
+
+    private static final double TOL = 1e-9;
+
+    @Test
+    @DisplayName("Jagged input creates every valid row")
+    void jaggedInput() {
+        String[] names = {"A", "B", "C"};
+        String[] colors = {"Red", null, "Blue"};
+        double[][] dims = {{1.0, 2.0}, {3.0, 4.0}, {5.0, 6.0}};
+
+        BulkCreateResult result = ShapeFactory.createAll(Cylinder.class, names, colors, dims);
+
+        assertEquals(3, result.size());
+        assertFalse(result.hasFailures());
+        for (int i = 0; i < names.length; i++) {
+            Shape3D single = ShapeFactory.create(Cylinder.class, names[i], colors[i], dims[i]);
+            assertEquals(single.toString(), result.shapeAt(i).toString());
+            assertEquals(single.getVolume(), result.shapeAt(i).getVolume(), TOL);
+        }
+        assertEquals("Unspecified", result.shapeAt(1).getColor());
+    }
+
+    @Test
+    @DisplayName("Flat strided input matches jagged input")
+    void flatInput() {
+        String[] names = {"P1", "P2"};
+        double[] flat = {1.0, 2.0, 3.0, 4.0, 5.0, 6.0};
+
+        BulkCreateResult result = ShapeFactory.createAll(RectangularPrism.class, names, null, flat, 3);
+
+        assertEquals(2, result.successCount());
+        assertEquals(6.0, result.shapeAt(0).getVolume(), TOL);
+        assertEquals(120.0, result.shapeAt(1).getVolume(), TOL);
+        assertEquals("Unspecified", result.shapeAt(0).getColor());
+    }
+
+    @Test
+    @DisplayName("Bad rows are reported, not thrown")
+    void failuresReported() {
+        String[] names = {"Good", " ", "Negative", "Short", "AlsoGood"};
+        double[][] dims = {{1.0}, {1.0}, {-1.0}, {}, {2.0}};
+
+        BulkCreateResult result = ShapeFactory.createAll(Sphere.class, names, null, dims);
+
+        assertEquals(2, result.successCount());
+        List<BulkCreateResult.Failure> failures = result.failures();
+        assertEquals(List.of(1, 2, 3), failures.stream().map(BulkCreateResult.Failure::row).toList());
+        assertEquals("Negative", failures.get(1).name());
+        assertNull(result.shapeAt(2));
+        assertEquals(List.of("Good", "AlsoGood"),
+                result.created().stream().map(Shape3D::getName).toList());
+    }
+
+    @Test
+    @DisplayName("Parallel creation matches sequential creation")
+    void parallelMatchesSequential() {
+        int n = 2_000;
+        String[] names = new String[n];
+        double[] flat = new double[n * 2];
+        for (int i = 0; i < n; i++) {
+            names[i] = "Cone" + i;
+            flat[2 * i] = (i % 7 == 0) ? -1.0 : i;
+            flat[2 * i + 1] = 2.0;
+        }
+
+        BulkCreateResult sequential = ShapeFactory.createAll(Cone.class, names, null, flat, 2, false);
+        BulkCreateResult parallel = ShapeFactory.createAll(Cone.class, names, null, flat, 2, true);
+
+        assertEquals(sequential.failures(), parallel.failures());
+        for (int i = 0; i < n; i++) {
+            Shape3D s = sequential.shapeAt(i);
+            Shape3D p = parallel.shapeAt(i);
+            assertEquals(s == null ? null : s.toString(), p == null ? null : p.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Mismatched array lengths throw IllegalArgumentException")
+    void structuralValidation() {
+        String[] names = {"A", "B"};
+        assertThrows(IllegalArgumentException.class,
+                () -> ShapeFactory.createAll(null, names, null, new double[][]{{1.0}, {1.0}}));
+        assertThrows(IllegalArgumentException.class,
+                () -> ShapeFactory.createAll(Sphere.class, names, new String[1], new double[][]{{1.0}, {1.0}}));
+        assertThrows(IllegalArgumentException.class,
+                () -> ShapeFactory.createAll(Sphere.class, names, null, new double[][]{{1.0}}));
+        assertThrows(IllegalArgumentException.class,
+                () -> ShapeFactory.createAll(Sphere.class, names, null, new double[3], 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> ShapeFactory.createAll(Sphere.class, names, null, new double[0], -1));
+    }
+}
@@ -12,6 +12,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * - Successful creation via (Class, name, dims...) for Sphere
  * - Successful creation via (Class, name, color, dims...) for Cylinder
  * - Invalid inputs: blank name, null type, wrong dims count -> IllegalArgumentException
+ * - A null color creates the shape with the default color
+ * - Creator resolution is cached per (class, arity), including incompatible arities
  *
  * Notes:
  * - Numeric comparisons use tolerance 1e-9
@@ -95,4 +97,47 @@ public class ShapeFactoryTest {
         assertThrows(IllegalArgumentException.class,
                 () -> ShapeFactory.create(Cylinder.class, "BadCan", "Gray", 2.0));
     }
+
+    @Test
+    @DisplayName("Invalid: negative dimension rejected by the constructor -> IllegalArgumentException")
+    void negativeDimension_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ShapeFactory.create(Sphere.class, "Bad", "Red", -1.0));
+    }
+
+    @Test
+    @DisplayName("Null color on the color overload creates the shape with the default color")
+    void nullColor_UsesDefault() {
+        Shape3D shape = ShapeFactory.create(Cone.class, "Plain", null, 3.0, 4.0);
+        assertEquals("Unspecified", shape.getColor());
+        assertEquals(12.0 * Math.PI, shape.getVolume(), TOL);
+    }
+
+    @Test
+    @DisplayName("Creators are resolved once per (class, arity) and reused")
+    void creatorsAreCached() {
+        ShapeFactory.Creator first = ShapeFactory.creatorFor(Cylinder.class, 2);
+        assertSame(first, ShapeFactory.creatorFor(Cylinder.class, 2));
+        assertNotSame(ShapeFactory.Creator.INCOMPATIBLE, first);
+
+        for (int i = 0; i < 100; i++) {
+            Shape3D shape = ShapeFactory.create(Cylinder.class, "Can" + i, "Teal", i, 1.0);
+            assertEquals(Math.PI * i * i, shape.getVolume(), TOL);
+        }
+    }
+
+    @Test
+    @DisplayName("Incompatible arities and unregistered classes are cached as negative entries")
+    void incompatibleSignaturesAreCached() {
+        assertSame(ShapeFactory.Creator.INCOMPATIBLE, ShapeFactory.creatorFor(RectangularPrism.class, 2));
+        assertSame(ShapeFactory.Creator.INCOMPATIBLE, ShapeFactory.creatorFor(RectangularPrism.class, 2));
+        IllegalArgumentException wrongArity = assertThrows(IllegalArgumentException.class,
+                () -> ShapeFactory.create(RectangularPrism.class, "BadBox", 3.0, 4.0));
+        assertTrue(wrongArity.getMessage().contains("[length, width, height]"), wrongArity.getMessage());
+
+        assertSame(ShapeFactory.Creator.INCOMPATIBLE, ShapeFactory.creatorFor(Shape3D.class, 1));
+        IllegalArgumentException abstractType = assertThrows(IllegalArgumentException.class,
+                () -> ShapeFactory.create(Shape3D.class, "Abstract", 1.0));
+        assertTrue(abstractType.getMessage().contains("not a registered shape class"), abstractType.getMessage());
+    }
 }
@@ -0,0 +1,136 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ShapeFilter} and {@link FilterParser}.
+ *
+ * Coverage:
+ * - Text, numeric, and dimension predicates match hand-written Java predicates
+ * - Precedence of not/and/or and parentheses
+ * - Case-insensitive keywords, field aliases, and quoted values
+ * - Shapes without a dimension never match comparisons on it
+ * - Blank filters match everything; invalid filters report a position
+ * - Index-assisted selection on a {@link ShapeCollection} agrees with a scan
+ */
+public class ShapeFilterTest {
+
+    private static final List<Shape3D> SHAPES = List.of(
+            new Sphere("Red Ball", "Red", 5.0),
+            new Cube("Blue Box", "Blue", 4.0),
+            new Cylinder("Silver Can", "Silver", 2.0, 5.0),
+            new RectangularPrism("Brown Package", "Brown", 6.0, 4.0, 3.0),
+            new Cone("Party Hat", "Red", 3.0, 8.0),
+            new Cone("Tiny Cone", "Blue", 1.0, 1.0),
+            new Cube("Dice", "White", 1.0));
+
+    private static void assertSameAs(Predicate<Shape3D> expected, String expression) {
+        ShapeFilter filter = ShapeFilter.compile(expression);
+        for (Shape3D shape : SHAPES) {
+            assertEquals(expected.test(shape), filter.test(shape), expression + " on " + shape.getName());
+        }
+    }
+
+    @Test
+    @DisplayName("The example query from the docs")
+    void exampleQuery() {
+        ShapeFilter filter = ShapeFilter.compile("type = Cone and volume > 50 and color in (Red, Blue)");
+        assertEquals(List.of(SHAPES.get(4)), filter.select(SHAPES));
+    }
+
+    @Test
+    @DisplayName("Predicates match hand-written Java")
+    void matchesJava() {
+        assertSameAs(s -> s.getVolume() >= 64, "volume >= 64");
+        assertSameAs(s -> s.getSurfaceArea() < 50, "surface_area < 50");
+        assertSameAs(s -> ShapeMetric.EFFICIENCY.applyAsDouble(s) > 0.5, "ratio > 0.5");
+        assertSameAs(s -> !s.getColor().equals("Red"), "color != red");
+        assertSameAs(s -> s.getName().equals("Dice") || s.getName().equals("Blue Box"),
+                "name in (dice, 'Blue Box')");
+        assertSameAs(s -> !(s instanceof Cube || s instanceof Sphere), "type not in (Cube, sphere)");
+        assertSameAs(s -> s instanceof RectangularPrism, "type = 'Rectangular Prism'");
+        assertSameAs(s -> s instanceof RectangularPrism, "TYPE = rectangular_prism");
+    }
+
+    @Test
+    @DisplayName("Dimension comparisons skip shapes without that dimension")
+    void dimensions() {
+        assertSameAs(s -> s instanceof Sphere
+                || (s instanceof Cone c && c.getRadius() > 2), "radius > 2");
+        assertSameAs(s -> (s instanceof Cylinder c && c.getHeight() != 5)
+                || (s instanceof Cone k && k.getHeight() != 5)
+                || (s instanceof RectangularPrism p && p.getHeight() != 5), "height != 5");
+        assertSameAs(s -> s instanceof Cube c && c.getSideLength() == 1, "side = 1");
+        assertSameAs(s -> s instanceof RectangularPrism p && p.getWidth() <= 4 && p.getLength() > 5,
+                "width <= 4 and length > 5");
+    }
+
+    @Test
+    @DisplayName("not binds tighter than and, and tighter than or")
+    void precedence() {
+        assertSameAs(s -> s.getColor().equals("Red") || (s.getColor().equals("Blue") && s.getVolume() > 10),
+                "color = Red or color = Blue and volume > 10");
+        assertSameAs(s -> (s.getColor().equals("Red") || s.getColor().equals("Blue")) && s.getVolume() > 10,
+                "(color = Red OR color = Blue) AND volume > 10");
+        assertSameAs(s -> !s.getColor().equals("Red") && s.getVolume() < 100,
+                "not color = Red and volume < 100");
+        assertSameAs(s -> !(s.getColor().equals("Red") && s.getVolume() < 100),
+                "not (color = Red and volume < 100)");
+    }
+
+    @Test
+    @DisplayName("Selection on a collection uses indexes and agrees with a scan")
+    void indexedSelection() {
+        ShapeCollection collection = new ShapeCollection(SHAPES);
+        for (String expression : List.of(
+                "type = Cone and volume > 50 and color in (Red, Blue)",
+                "color = RED or type = cube",
+                "not color in (red, blue)",
+                "not (type = cube and volume > 10)",
+                "type != Cube or radius < 2",
+                "name = Dice",
+                "")) {
+            ShapeFilter filter = ShapeFilter.compile(expression);
+            assertEquals(filter.select(SHAPES), filter.select(collection), expression);
+        }
+
+        SHAPES.get(0).setColor("Blue");
+        try {
+            assertEquals(List.of(SHAPES.get(0), SHAPES.get(1), SHAPES.get(5)),
+                    ShapeFilter.compile("color = blue").select(collection));
+        } finally {
+            SHAPES.get(0).setColor("Red");
+            collection.clear();
+        }
+    }
+
+    @Test
+    @DisplayName("Blank filters match everything")
+    void blank() {
+        ShapeFilter filter = ShapeFilter.compile("   ");
+        assertTrue(filter.matchesAll());
+        assertSame(ShapeFilter.all(), filter);
+        assertEquals(SHAPES, filter.select(SHAPES));
+    }
+
+    @Test
+    @DisplayName("Invalid filters are rejected with a position")
+    void invalid() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ShapeFilter.compile("volume > 10 and weight < 3"));
+        assertTrue(e.getMessage().contains("position 17"), e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> ShapeFilter.compile("volume > "));
+        assertThrows(IllegalArgumentException.class, () -> ShapeFilter.compile("volume in (1, 2)"));
+        assertThrows(IllegalArgumentException.class, () -> ShapeFilter.compile("color = 'Red"));
+        assertThrows(IllegalArgumentException.class, () -> ShapeFilter.compile("(type = Cube"));
+        assertThrows(IllegalArgumentException.class, () -> ShapeFilter.compile("type = Pyramid"));
+        assertThrows(IllegalArgumentException.class, () -> ShapeFilter.compile("color = Red Blue"));
+        assertThrows(IllegalArgumentException.class, () -> ShapeFilter.compile(null));
+    }
+}
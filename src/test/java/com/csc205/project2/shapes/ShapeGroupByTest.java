@@ -0,0 +1,168 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ShapeGroupBy}.
+ *
+ * Coverage:
+ * - Type, color, and name-prefix groupings match a two-pass brute-force computation
+ * - Colors are grouped without regard to case and reported in lower case, as sketches report them
+ * - Parallel partials merge to the sequential answer, with groups in first-seen order,
+ *   bit-identical on any number of threads
+ * - Lists, shape collections, and columnar stores give the same groups
+ * - Invalid arguments are rejected
+ */
+public class ShapeGroupByTest {
+
+    private static final double TOL = 1e-9;
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdownNow();
+    }
+
+    /** Two-pass reference: mean first, then the sum of squared deviations. */
+    private static void assertMatches(List<Shape3D> shapes, Function<Shape3D, String> key, List<ShapeGroupBy.Group> groups) {
+        Map<String, List<Shape3D>> expected = new LinkedHashMap<>();
+        for (Shape3D shape : shapes) {
+            expected.computeIfAbsent(key.apply(shape), k -> new ArrayList<>()).add(shape);
+        }
+        assertEquals(new ArrayList<>(expected.keySet()), groups.stream().map(ShapeGroupBy.Group::key).toList());
+
+        for (ShapeGroupBy.Group group : groups) {
+            List<Shape3D> members = expected.get(group.key());
+            assertEquals(members.size(), group.count());
+            for (ShapeMetric metric : ShapeMetric.values()) {
+                double[] values = members.stream().mapToDouble(metric).toArray();
+                double sum = 0, min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+                for (double v : values) {
+                    sum += v;
+                    min = Math.min(min, v);
+                    max = Math.max(max, v);
+                }
+                double mean = sum / values.length;
+                double squares = 0;
+                for (double v : values) {
+                    squares += (v - mean) * (v - mean);
+                }
+                ShapeGroupBy.Summary summary = group.summary(metric);
+                double scale = Math.max(1.0, Math.abs(sum));
+                assertEquals(sum, summary.sum(), TOL * scale, group.key() + " " + metric);
+                assertEquals(min, summary.min(), 0.0);
+                assertEquals(max, summary.max(), 0.0);
+                assertEquals(mean, summary.mean(), TOL * Math.max(1.0, Math.abs(mean)));
+                double variance = squares / values.length;
+                assertEquals(variance, summary.variance(), TOL * Math.max(1.0, variance));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Grouping by type, color, and name prefix matches brute force")
+    void matchesBruteForce() {
+        List<Shape3D> shapes = TestShapes.random(3_000, 1, TestShapes.COLORS, 0);
+        assertMatches(shapes, s -> ShapeType.of(s).displayName(), ShapeGroupBy.byType().aggregate(shapes));
+        assertMatches(shapes, s -> ShapeCollection.colorKey(s.getColor()), ShapeGroupBy.byColor().aggregate(shapes));
+        assertMatches(shapes, s -> s.getName().substring(0, Math.min(3, s.getName().length())),
+                ShapeGroupBy.byNamePrefix(3).aggregate(shapes));
+    }
+
+    @Test
+    @DisplayName("Parallel partials merge to the brute-force answer")
+    void parallelMerge() {
+        List<Shape3D> shapes = TestShapes.random(60_000, 2, TestShapes.COLORS, 0);
+        List<ShapeGroupBy.Group> groups = ShapeGroupBy.byColor().on(pool).aggregate(shapes);
+        assertMatches(shapes, s -> ShapeCollection.colorKey(s.getColor()), groups);
+    }
+
+    @Test
+    @DisplayName("Results are bit-identical on any number of threads")
+    void threadCountIndependent() {
+        List<Shape3D> shapes = TestShapes.random(3 * ShapeGroupBy.LEAF_SIZE + 17, 5, TestShapes.COLORS, 0);
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            List<ShapeGroupBy.Group> one = ShapeGroupBy.byColor().on(single).aggregate(shapes);
+            assertEquals(one, ShapeGroupBy.byColor().on(pool).aggregate(shapes));
+            assertEquals(one, ShapeGroupBy.byColor().aggregate(shapes));
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Collections and stores give the same groups as lists")
+    void sources() {
+        List<Shape3D> shapes = TestShapes.random(5_000, 3, TestShapes.COLORS, 0);
+        List<ShapeGroupBy.Group> fromList = ShapeGroupBy.byType().on(pool).aggregate(shapes);
+        List<ShapeGroupBy.Group> fromCollection = ShapeGroupBy.byType().on(pool).aggregate(new ShapeCollection(shapes));
+        List<ShapeGroupBy.Group> fromStore = ShapeGroupBy.byType().on(pool).aggregate(ShapeStore.of(shapes));
+
+        assertEquals(fromList, fromCollection);
+        assertEquals(fromList.size(), fromStore.size());
+        for (int g = 0; g < fromList.size(); g++) {
+            assertEquals(fromList.get(g).key(), fromStore.get(g).key());
+            assertEquals(fromList.get(g).count(), fromStore.get(g).count());
+            assertEquals(fromList.get(g).volume().mean(), fromStore.get(g).volume().mean(),
+                    TOL * fromList.get(g).volume().mean());
+        }
+    }
+
+    @Test
+    @DisplayName("Colors differing only in case form one group")
+    void colorIgnoresCase() {
+        String[] spellings = {"Red", "red", "RED", "blue", "Blue"};
+        List<Shape3D> shapes = new ArrayList<>();
+        for (int i = 0; i < 2 * ShapeGroupBy.LEAF_SIZE + 5; i++) {
+            shapes.add(new Cube("C" + i, spellings[i % spellings.length], 1 + i % 3));
+        }
+        List<ShapeGroupBy.Group> groups = ShapeGroupBy.byColor().on(pool).aggregate(shapes);
+        assertEquals(List.of("red", "blue"), groups.stream().map(ShapeGroupBy.Group::key).toList());
+        assertEquals(ShapeFilter.compile("color = RED").select(shapes).size(), groups.get(0).count());
+        assertEquals(ShapeFilter.compile("color = BLUE").select(shapes).size(), groups.get(1).count());
+        assertMatches(shapes, s -> s.getColor().toLowerCase(), groups);
+        assertEquals(ShapeSketches.of(shapes).topColors(2).stream().map(HeavyHitters.Item::value).toList(),
+                groups.stream().map(ShapeGroupBy.Group::key).toList());
+
+        List<ShapeGroupBy.Group> fromStore = ShapeGroupBy.byColor().on(pool).aggregate(ShapeStore.of(shapes));
+        assertEquals(List.of("red", "blue"), fromStore.stream().map(ShapeGroupBy.Group::key).toList());
+        assertEquals(groups.get(0).count(), fromStore.get(0).count());
+    }
+
+    @Test
+    @DisplayName("Single-shape groups have zero variance; empty input has no groups")
+    void smallInputs() {
+        List<ShapeGroupBy.Group> groups = ShapeGroupBy.byColor().aggregate(List.of(new Cube("C", "Red", 2)));
+        assertEquals(1, groups.size());
+        assertEquals(8.0, groups.get(0).volume().mean(), TOL);
+        assertEquals(0.0, groups.get(0).volume().variance(), 0.0);
+        assertTrue(ShapeGroupBy.byColor().aggregate(List.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> ShapeGroupBy.byNamePrefix(0));
+        assertThrows(IllegalArgumentException.class, () -> ShapeGroupBy.byType().on(null));
+        assertThrows(IllegalArgumentException.class, () -> ShapeGroupBy.byType().aggregate((List<Shape3D>) null));
+    }
+}
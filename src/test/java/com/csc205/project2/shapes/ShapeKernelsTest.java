@@ -0,0 +1,97 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for {@link ShapeKernels} and its scalar/vector implementations.
+ *
+ * Coverage:
+ * - Kernel output equals {@link ShapeType} formulas exactly for every type
+ * - Vector and scalar implementations agree bit-for-bit, including the tail loop
+ * - Input validation for missing or short columns
+ */
+public class ShapeKernelsTest {
+
+    /** Deliberately not a multiple of any vector length to exercise the tail loop. */
+    private static final int N = 1003;
+
+    private static double[] randomColumn(Random random) {
+        double[] column = new double[N];
+        for (int i = 0; i < N; i++) {
+            column[i] = random.nextDouble() * 100.0;
+        }
+        return column;
+    }
+
+    @Test
+    @DisplayName("Active kernels match the per-shape formulas for every type")
+    void kernelsMatchFormulas() {
+        Random random = new Random(42);
+        double[] a = randomColumn(random), b = randomColumn(random), c = randomColumn(random);
+        double[] vol = new double[N], sa = new double[N], ratio = new double[N];
+
+        for (ShapeType type : ShapeType.values()) {
+            ShapeKernels.volumes(type, a, b, c, vol, N);
+            ShapeKernels.surfaceAreas(type, a, b, c, sa, N);
+            ShapeKernels.ratios(type, a, b, c, ratio, N);
+            for (int i = 0; i < N; i++) {
+                double expectedVol = type.volume(a[i], b[i], c[i]);
+                double expectedSa = type.surfaceArea(a[i], b[i], c[i]);
+                assertEquals(expectedVol, vol[i], type + " volume row " + i);
+                assertEquals(expectedSa, sa[i], type + " surface area row " + i);
+                assertEquals(expectedVol / expectedSa, ratio[i], type + " ratio row " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Vector kernels agree bit-for-bit with scalar kernels")
+    void vectorMatchesScalar() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                "Vector API module not present");
+        ShapeKernelImpl vector = new VectorShapeKernels();
+        ShapeKernelImpl scalar = ScalarShapeKernels.INSTANCE;
+
+        Random random = new Random(7);
+        double[] a = randomColumn(random), b = randomColumn(random), c = randomColumn(random);
+        double[] expected = new double[N], actual = new double[N];
+
+        for (ShapeType type : ShapeType.values()) {
+            scalar.volumes(type, a, b, c, expected, 0, N);
+            vector.volumes(type, a, b, c, actual, 0, N);
+            assertArrayEquals(expected, actual, type + " volumes");
+
+            scalar.surfaceAreas(type, a, b, c, expected, 0, N);
+            vector.surfaceAreas(type, a, b, c, actual, 0, N);
+            assertArrayEquals(expected, actual, type + " surface areas");
+
+            // Odd sub-range: unaligned start and a short tail
+            scalar.ratios(type, a, b, c, expected, 3, N - 2);
+            vector.ratios(type, a, b, c, actual, 3, N - 2);
+            assertArrayEquals(expected, actual, type + " ratios");
+        }
+    }
+
+    @Test
+    @DisplayName("Unused columns may be null; missing or short required columns throw")
+    void validation() {
+        double[] r = {1.0, 2.0};
+        double[] out = new double[2];
+
+        ShapeKernels.volumes(ShapeType.SPHERE, r, null, null, out, 2);
+        assertEquals(ShapeFormulas.sphereVolume(2.0), out[1]);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ShapeKernels.volumes(ShapeType.CYLINDER, r, null, null, out, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> ShapeKernels.surfaceAreas(ShapeType.SPHERE, r, null, null, new double[1], 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> ShapeKernels.ratios(null, r, r, r, out, 2));
+    }
+}
@@ -0,0 +1,85 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ShapeMetricsSink} and its implementations.
+ *
+ * Coverage:
+ * - Default sink is the logging sink; null installs {@link ShapeMetricsSink#NONE}
+ * - Counting sink counts computations and cache hits per metric
+ * - Sampling sink keeps every n-th event in a bounded ring buffer
+ */
+public class ShapeMetricsSinkTest {
+
+    @AfterEach
+    void restoreDefaultSink() {
+        Shape3D.setMetricsSink(LoggingMetricsSink.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("Logging sink is the default; null installs NONE")
+    void defaultAndNull() {
+        assertSame(LoggingMetricsSink.INSTANCE, Shape3D.getMetricsSink());
+        Shape3D.setMetricsSink(null);
+        assertSame(ShapeMetricsSink.NONE, Shape3D.getMetricsSink());
+        assertEquals(12.0 * Math.PI, new Cone("C", 3.0, 4.0).getVolume(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Counting sink counts computations and cache hits")
+    void countingSink() {
+        CountingMetricsSink counter = new CountingMetricsSink();
+        Shape3D.setMetricsSink(counter);
+
+        Sphere s = new Sphere("Ball", 1.0);
+        s.getVolume();
+        s.getVolume();
+        s.getSurfaceArea();
+        s.setCachingEnabled(true);
+        s.getSurfaceArea();
+        s.getSurfaceArea();
+
+        assertEquals(2, counter.getComputeCount(ShapeMetric.VOLUME));
+        assertEquals(2, counter.getComputeCount(ShapeMetric.SURFACE_AREA));
+        assertEquals(1, counter.getCacheHitCount(ShapeMetric.SURFACE_AREA));
+        assertEquals(4, counter.getTotalComputeCount());
+
+        counter.reset();
+        assertEquals(0, counter.getTotalComputeCount());
+    }
+
+    @Test
+    @DisplayName("Sampling sink records every n-th event, oldest first, bounded by capacity")
+    void samplingSink() {
+        SamplingTraceSink trace = new SamplingTraceSink(2, 3);
+        Shape3D.setMetricsSink(trace);
+
+        Cube cube = new Cube("Box", 2.0);
+        for (int i = 0; i < 10; i++) {
+            cube.setSideLength(i);
+            cube.getVolume();
+        }
+
+        List<SamplingTraceSink.TraceEvent> events = trace.events();
+        assertEquals(10, trace.getObservedCount());
+        assertEquals(3, events.size());
+        // Events 0, 2, 4, 6, 8 were sampled; the last three remain
+        assertEquals(64.0, events.get(0).value());
+        assertEquals(216.0, events.get(1).value());
+        assertEquals(512.0, events.get(2).value());
+        assertEquals("Cube", events.get(2).shapeType());
+        assertEquals("Box", events.get(2).shapeName());
+        assertEquals(ShapeMetric.VOLUME, events.get(2).metric());
+
+        trace.clear();
+        assertTrue(trace.events().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new SamplingTraceSink(0, 1));
+    }
+}
@@ -0,0 +1,220 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link QueryPlan} and the cost-based planner behind
+ * {@link ShapeFilter#plan(ShapeCollection)}.
+ *
+ * Coverage:
+ * - Every access path returns exactly what a scan of the list returns
+ * - Selective color/type filters use the bitmap indexes; broad filters scan
+ * - Narrow metric ranges scan the first time and build and use a range index once repeated
+ * - Range indexes leave out NaN metrics, e.g. the efficiency of zero-size shapes
+ * - Cheap, selective predicates run first; histogram estimates are close
+ * - Plans re-plan after the collection changes; explain shows the choice
+ */
+public class ShapeQueryPlannerTest {
+
+    private static final int COUNT = 10_000;
+    private static final int COLORS = 50;
+
+    private static List<Shape3D> list;
+    private static double[] volumes;
+    private ShapeCollection shapes;
+
+    @BeforeAll
+    static void createShapes() {
+        Random random = new Random(19);
+        list = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            String name = "S" + i;
+            String color = "C" + random.nextInt(COLORS);
+            double a = 1 + 9 * random.nextDouble();
+            double b = 1 + 9 * random.nextDouble();
+            list.add(switch (i % 5) {
+                case 0 -> new Sphere(name, color, a);
+                case 1 -> new Cube(name, color, a);
+                case 2 -> new Cylinder(name, color, a, b);
+                case 3 -> new RectangularPrism(name, color, a, b, 1 + 9 * random.nextDouble());
+                default -> new Cone(name, color, a, b);
+            });
+        }
+        volumes = list.stream().mapToDouble(Shape3D::getVolume).sorted().toArray();
+    }
+
+    @BeforeEach
+    void createCollection() {
+        shapes = new ShapeCollection(list);
+    }
+
+    @AfterEach
+    void releaseCollection() {
+        // Detaches the collection's listeners from the shared shapes
+        shapes.clear();
+    }
+
+    /** A volume below which roughly the given fraction of shapes fall. */
+    private double volumeQuantile(double fraction) {
+        return volumes[(int) (fraction * (volumes.length - 1))];
+    }
+
+    private void buildVolumeIndex() {
+        shapes.planStatistics().rangeIndex(shapes, ShapeMetric.VOLUME);
+    }
+
+    private void assertAgreesWithScan(String expression) {
+        ShapeFilter filter = ShapeFilter.compile(expression);
+        QueryPlan plan = filter.plan(shapes);
+        assertEquals(filter.select(list), plan.execute(), expression + " via " + plan.accessPath());
+    }
+
+    @Test
+    @DisplayName("Plans agree with a scan, with and without a range index")
+    void agreesWithScan() {
+        double low = volumeQuantile(0.01);
+        List<String> expressions = List.of(
+                "color = C7",
+                "volume < " + low,
+                "type = Cone and volume < " + low,
+                "volume >= " + low + " and volume <= " + volumeQuantile(0.02),
+                "color in (C1, C2) and radius > 5 and volume > " + volumeQuantile(0.5),
+                "(type = Cube and volume < 50) or (type = Sphere and radius < 2)",
+                "not color = C3 and height < 2",
+                "volume = " + volumes[123],
+                "volume != " + volumes[123] + " and type = sphere",
+                "efficiency > 0.6 and surface_area < 100",
+                "name in (S5, S6, S19999)");
+        for (String expression : expressions) {
+            assertAgreesWithScan(expression);
+        }
+        buildVolumeIndex();
+        for (String expression : expressions) {
+            assertAgreesWithScan(expression);
+        }
+    }
+
+    @Test
+    @DisplayName("A selective color filter uses the bitmap index")
+    void selectiveBitmap() {
+        QueryPlan plan = ShapeFilter.compile("color = C7 and radius > 3").plan(shapes);
+        assertEquals(QueryPlan.AccessPath.BITMAP_INDEX, plan.accessPath());
+        assertTrue(plan.estimatedCost() < COUNT / 5.0, plan.explain());
+    }
+
+    @Test
+    @DisplayName("A broad filter scans")
+    void broadScan() {
+        assertEquals(QueryPlan.AccessPath.FULL_SCAN,
+                ShapeFilter.compile("volume > " + volumeQuantile(0.1)).plan(shapes).accessPath());
+        assertEquals(QueryPlan.AccessPath.FULL_SCAN,
+                ShapeFilter.compile("radius > 1.5 or height > 1.5").plan(shapes).accessPath());
+    }
+
+    @Test
+    @DisplayName("A narrow range scans once, then builds and uses a range index when repeated")
+    void narrowRange() {
+        ShapeFilter filter = ShapeFilter.compile("volume < " + volumeQuantile(0.005));
+        assertEquals(QueryPlan.AccessPath.FULL_SCAN, filter.plan(shapes).accessPath());
+        QueryPlan plan = ShapeFilter.compile("volume > " + volumeQuantile(0.995)).plan(shapes);
+        assertEquals(QueryPlan.AccessPath.RANGE_INDEX, plan.accessPath());
+        assertEquals(ShapeFilter.compile("volume > " + volumeQuantile(0.995)).select(list), plan.execute());
+        assertEquals(QueryPlan.AccessPath.RANGE_INDEX, filter.plan(shapes).accessPath());
+        assertEquals(filter.select(list), filter.plan(shapes).execute());
+
+        // Any change makes the index stale, and the next repeat rebuilds it
+        shapes.add(new Cube("Extra", "C0", 2.0));
+        assertEquals(QueryPlan.AccessPath.FULL_SCAN, filter.plan(shapes).accessPath());
+        assertEquals(QueryPlan.AccessPath.RANGE_INDEX, filter.plan(shapes).accessPath());
+
+        // Ranges on other metrics do not count toward the volume index
+        shapes.add(new Cube("Extra2", "C0", 2.0));
+        ShapeFilter.compile("efficiency > 100").plan(shapes);
+        assertEquals(QueryPlan.AccessPath.FULL_SCAN, filter.plan(shapes).accessPath());
+    }
+
+    @Test
+    @DisplayName("Range indexes leave out shapes whose metric is NaN")
+    void nanMetrics() {
+        List<Shape3D> spheres = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            // 0/0 efficiency for every tenth sphere
+            spheres.add(new Sphere("S" + i, "C0", i % 10 == 0 ? 0.0 : 10 * random.nextDouble()));
+        }
+        ShapeCollection collection = new ShapeCollection(spheres);
+        collection.planStatistics().rangeIndex(collection, ShapeMetric.EFFICIENCY);
+        for (String expression : List.of("efficiency > 1", "efficiency >= 1", "efficiency > 3.3",
+                "efficiency < 0.01", "efficiency <= 1", "efficiency = 0")) {
+            ShapeFilter filter = ShapeFilter.compile(expression);
+            QueryPlan plan = filter.plan(collection);
+            assertEquals(filter.select(spheres), plan.execute(), expression + " via " + plan.accessPath());
+        }
+        QueryPlan narrow = ShapeFilter.compile("efficiency > 3.3").plan(collection);
+        assertEquals(QueryPlan.AccessPath.RANGE_INDEX, narrow.accessPath());
+        assertEquals(ShapeFilter.compile("efficiency > 3.3").select(spheres).size(), narrow.estimatedRows(), 1e-9);
+        collection.clear();
+    }
+
+    @Test
+    @DisplayName("Cheap, selective predicates are tested first")
+    void predicateOrder() {
+        String explain = ShapeFilter.compile("height > 2 and volume < " + volumeQuantile(0.05))
+                .plan(shapes).explain();
+        int residual = explain.indexOf("Residual");
+        assertTrue(residual >= 0, explain);
+        assertTrue(explain.indexOf("volume", residual) < explain.indexOf("height", residual), explain);
+    }
+
+    @Test
+    @DisplayName("Histogram estimates are close to the true counts")
+    void estimates() {
+        double median = volumeQuantile(0.5);
+        double estimated = ShapeFilter.compile("volume < " + median).plan(shapes).estimatedRows();
+        assertEquals(COUNT / 2.0, estimated, COUNT * 0.05);
+
+        // Only cylinders, prisms, and cones have a height
+        ShapeFilter tall = ShapeFilter.compile("height > 8");
+        int actual = tall.select(list).size();
+        double heights = tall.plan(shapes).estimatedRows();
+        assertTrue(Math.abs(heights - actual) < COUNT * 0.02, heights + " vs " + actual);
+
+        assertEquals(shapes.countOfColor("C7"), ShapeFilter.compile("color = C7").plan(shapes).estimatedRows(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("A plan re-plans if the collection changed")
+    void replans() {
+        QueryPlan plan = ShapeFilter.compile("color = Gold").plan(shapes);
+        Sphere gold = new Sphere("Gold", "Gold", 1.0);
+        shapes.add(gold);
+        assertEquals(List.of(gold), plan.execute());
+        gold.setColor("Lead");
+        assertEquals(List.of(), plan.execute());
+    }
+
+    @Test
+    @DisplayName("Explain shows the access path, estimates, and scan cost")
+    void explain() {
+        buildVolumeIndex();
+        String text = ShapeFilter.compile("type = Cone and volume < " + volumeQuantile(0.01) + " and color != C1")
+                .plan(shapes).explain();
+        for (String part : Arrays.asList("Query plan for:", "Access path:", "Range index", "range   volume <",
+                "Estimated rows:", "full scan:")) {
+            assertTrue(text.contains(part), part + " in\n" + text);
+        }
+        assertTrue(ShapeFilter.all().plan(shapes).explain().contains("(all shapes)"));
+        assertThrows(IllegalArgumentException.class, () -> ShapeFilter.all().plan(null));
+    }
+}
@@ -0,0 +1,68 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ShapeRegistry} and the generated {@link ShapeDescriptor}s.
+ *
+ * Coverage:
+ * - Every built-in shape is registered, in {@link ShapeType} order
+ * - Dimension names come from constructor parameters and match {@link ShapeType}
+ * - Generated creators build the same shapes as the constructors
+ * - {@link ShapeFactory} uses generated creators for registered classes
+ */
+public class ShapeRegistryTest {
+
+    private static final double TOL = 1e-9;
+
+    @Test
+    @DisplayName("All built-in shapes are registered in ShapeType order")
+    void builtInsRegistered() {
+        List<ShapeDescriptor> all = ShapeRegistry.all();
+        assertEquals(ShapeType.values().length, all.size());
+        for (ShapeType type : ShapeType.values()) {
+            ShapeDescriptor descriptor = all.get(type.ordinal());
+            assertSame(type.shapeClass(), descriptor.type());
+            assertEquals(type.dimensionNames(), descriptor.dimensionNames());
+            assertSame(descriptor, ShapeRegistry.find(type.shapeClass()).orElseThrow());
+        }
+    }
+
+    @Test
+    @DisplayName("Display names and labels are human-readable")
+    void labels() {
+        ShapeDescriptor prism = ShapeRegistry.find("rectangular prism").orElseThrow();
+        assertEquals("Rectangular Prism", prism.displayName());
+        assertSame(prism, ShapeRegistry.find("RectangularPrism").orElseThrow());
+        assertEquals("side length", ShapeRegistry.find(Cube.class).orElseThrow().dimensionLabel(0));
+        assertTrue(ShapeRegistry.find("Hexagon").isEmpty());
+        assertTrue(ShapeRegistry.find(String.class).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Generated creators match the constructors; blank color uses the default")
+    void creators() {
+        ShapeDescriptor cone = ShapeRegistry.find(Cone.class).orElseThrow();
+        Shape3D colored = cone.create("C", "Green", 3.0, 4.0);
+        assertEquals(new Cone("C", "Green", 3.0, 4.0).toString(), colored.toString());
+        assertEquals(12.0 * Math.PI, colored.getVolume(), TOL);
+        assertEquals("Unspecified", cone.create("D", " ", 3.0, 4.0).getColor());
+
+        assertThrows(IllegalArgumentException.class, () -> cone.create("E", null, 3.0));
+        assertThrows(IllegalArgumentException.class, () -> cone.create("F", null, -3.0, 4.0));
+    }
+
+    @Test
+    @DisplayName("ShapeFactory resolves registered classes without reflection")
+    void factoryUsesRegistry() {
+        for (ShapeDescriptor descriptor : ShapeRegistry.all()) {
+            assertNotSame(ShapeFactory.Creator.INCOMPATIBLE, ShapeFactory.creatorFor(descriptor.type(), descriptor.arity()));
+        }
+        assertEquals(27.0, ShapeFactory.create(Cube.class, "Box", 3.0).getVolume(), TOL);
+    }
+}
@@ -0,0 +1,242 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DistinctCounter}, {@link HeavyHitters}, and {@link ShapeSketches}.
+ *
+ * Coverage:
+ * - Distinct counts are within a few standard errors, small counts nearly exact, and
+ *   merging counts the union regardless of order
+ * - Heavy hitters find every value above N/m, never underestimate, and stay within their
+ *   error bounds, also after merging
+ * - Lists, stores (parallel), and collections give the same sketches; collections keep
+ *   theirs current through additions, removals, renames, and recolors
+ * - Colors are counted without regard to case
+ * - Invalid arguments are rejected
+ */
+public class ShapeSketchesTest {
+
+    @Nested
+    @DisplayName("Distinct counts")
+    class Distinct {
+
+        @Test
+        @DisplayName("Estimates are within the standard error")
+        void accurate() {
+            for (int n : new int[]{10, 1_000, 50_000, 400_000}) {
+                DistinctCounter counter = new DistinctCounter();
+                for (int i = 0; i < n; i++) {
+                    counter.add("shape-" + i);
+                    counter.add("shape-" + (i / 2)); // duplicates do not count
+                }
+                double error = Math.abs(counter.estimate() - n) / (double) n;
+                assertTrue(error < 3 * counter.standardError(), n + " estimated as " + counter.estimate());
+            }
+            DistinctCounter empty = new DistinctCounter();
+            assertEquals(0, empty.estimate());
+            empty.add(null);
+            assertEquals(0, empty.estimate());
+        }
+
+        @Test
+        @DisplayName("Merging counts the union, in any order")
+        void merge() {
+            DistinctCounter a = new DistinctCounter(14);
+            DistinctCounter b = new DistinctCounter(14);
+            DistinctCounter all = new DistinctCounter(14);
+            for (int i = 0; i < 60_000; i++) {
+                (i % 3 == 0 ? a : b).add("n" + (i % 40_000));
+                all.add("n" + (i % 40_000));
+            }
+            DistinctCounter ab = a.copy();
+            ab.merge(b);
+            DistinctCounter ba = b.copy();
+            ba.merge(a);
+            assertEquals(all.estimate(), ab.estimate());
+            assertEquals(ab.estimate(), ba.estimate());
+            assertEquals(40_000, ab.estimate(), 40_000 * 3 * ab.standardError());
+
+            assertThrows(IllegalArgumentException.class, () -> a.merge(new DistinctCounter()));
+            assertThrows(IllegalArgumentException.class, () -> a.merge(null));
+            assertThrows(IllegalArgumentException.class, () -> new DistinctCounter(3));
+            assertThrows(IllegalArgumentException.class, () -> new DistinctCounter(19));
+        }
+    }
+
+    @Nested
+    @DisplayName("Heavy hitters")
+    class Hitters {
+
+        /** Zipf-like stream: value k occurs about N / (k + 1) times, in random order. */
+        private List<String> skewedStream(Random random, int distinct) {
+            List<String> stream = new ArrayList<>();
+            for (int k = 0; k < distinct; k++) {
+                for (int i = 0; i < 5_000 / (k + 1); i++) {
+                    stream.add("c" + k);
+                }
+            }
+            java.util.Collections.shuffle(stream, random);
+            return stream;
+        }
+
+        private void assertBounds(HeavyHitters sketch, Map<String, Long> exact) {
+            long threshold = sketch.total() / sketch.capacity();
+            List<HeavyHitters.Item> top = sketch.top(sketch.capacity());
+            for (HeavyHitters.Item item : top) {
+                long actual = exact.getOrDefault(item.value(), 0L);
+                assertTrue(item.count() >= actual, item + " underestimates " + actual);
+                assertTrue(item.guaranteedCount() <= actual, item + " guarantees more than " + actual);
+                assertTrue(item.error() <= threshold, item + " error above N/m = " + threshold);
+            }
+            exact.forEach((value, count) -> {
+                if (count > threshold) {
+                    assertTrue(top.stream().anyMatch(item -> item.value().equals(value)), value + " missing");
+                }
+                assertTrue(sketch.estimate(value) >= count, value);
+            });
+        }
+
+        @Test
+        @DisplayName("Frequent values are found with bounded error")
+        void frequent() {
+            List<String> stream = skewedStream(new Random(1), 2_000);
+            HeavyHitters sketch = new HeavyHitters(32);
+            Map<String, Long> exact = new HashMap<>();
+            for (String value : stream) {
+                sketch.add(value);
+                exact.merge(value, 1L, Long::sum);
+            }
+            assertEquals(stream.size(), sketch.total());
+            assertBounds(sketch, exact);
+            assertEquals(List.of("c0", "c1", "c2"), sketch.top(3).stream().map(HeavyHitters.Item::value).toList());
+        }
+
+        @Test
+        @DisplayName("Merged sketches keep the guarantees")
+        void merge() {
+            List<String> stream = skewedStream(new Random(2), 1_500);
+            HeavyHitters[] parts = {new HeavyHitters(32), new HeavyHitters(32), new HeavyHitters(32)};
+            Map<String, Long> exact = new HashMap<>();
+            for (int i = 0; i < stream.size(); i++) {
+                parts[i % 3].add(stream.get(i));
+                exact.merge(stream.get(i), 1L, Long::sum);
+            }
+            HeavyHitters merged = parts[0].copy();
+            merged.merge(parts[1]);
+            merged.merge(parts[2]);
+            assertEquals(stream.size(), merged.total());
+            assertBounds(merged, exact);
+
+            assertThrows(IllegalArgumentException.class, () -> merged.merge(new HeavyHitters(8)));
+            assertThrows(IllegalArgumentException.class, () -> merged.add("x", -1));
+            assertThrows(IllegalArgumentException.class, () -> new HeavyHitters(0));
+            assertThrows(IllegalArgumentException.class, () -> merged.top(-1));
+            assertTrue(merged.top(0).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Below capacity, counts are exact")
+        void exactWhenSmall() {
+            HeavyHitters sketch = new HeavyHitters(4);
+            sketch.add("Red", 3);
+            sketch.add("Blue");
+            sketch.add("Red");
+            assertEquals(List.of(new HeavyHitters.Item("Red", 4, 0), new HeavyHitters.Item("Blue", 1, 0)),
+                    sketch.top(10));
+            assertEquals(0, sketch.estimate("Green"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Shape sketches")
+    class Shapes {
+
+        private List<Shape3D> shapes(int n, Random random) {
+            String[] colors = {"Red", "red", "RED", "Blue", "blue", "Green", "Amber"};
+            List<Shape3D> shapes = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                // Every tenth name repeats
+                String name = i % 10 == 0 ? "Twin" : "Shape " + i;
+                shapes.add(new Cube(name, colors[random.nextInt(colors.length)], 1 + random.nextInt(5)));
+            }
+            return shapes;
+        }
+
+        @Test
+        @DisplayName("Lists, stores, collections, and the collector agree")
+        void sources() {
+            List<Shape3D> shapes = shapes(2_000, new Random(3));
+            ShapeSketches fromList = ShapeSketches.of(shapes);
+            ShapeSketches fromStore = ShapeSketches.of(ShapeStore.of(shapes));
+            ShapeCollection collection = new ShapeCollection(shapes);
+            ShapeSketches fromCollection = collection.sketches();
+            ShapeSketches collected = shapes.parallelStream().collect(ShapeSketches.collector());
+
+            for (ShapeSketches sketches : List.of(fromStore, fromCollection, collected)) {
+                assertEquals(fromList.distinctNames(), sketches.distinctNames());
+                assertEquals(fromList.distinctColors(), sketches.distinctColors());
+                assertEquals(fromList.topColors(4), sketches.topColors(4));
+                assertEquals(2_000, sketches.count());
+            }
+            assertEquals(4, fromList.distinctColors());
+            assertEquals(1_801, fromList.distinctNames(), 1_801 * 3 * fromList.distinctError());
+            assertEquals("red", fromList.topColors(1).get(0).value());
+            assertEquals(new HeavyHitters.Item("Twin", 200, 0), fromList.topNames(1).get(0));
+            collection.clear();
+        }
+
+        @Test
+        @DisplayName("Large stores are summarized in parallel chunks")
+        void parallelChunks() {
+            int n = 2 * ShapeSketches.CHUNK + 77;
+            ShapeStore store = new ShapeStore(n);
+            for (int i = 0; i < n; i++) {
+                store.add(ShapeType.CUBE, "Cube " + (i % 30_000), i % 3 == 0 ? "Red" : "Color " + (i % 500), 1.0);
+            }
+            ShapeSketches sketches = ShapeSketches.of(store);
+            assertEquals(n, sketches.count());
+            assertEquals(30_000, sketches.distinctNames(), 30_000 * 3 * sketches.distinctError());
+            assertEquals(501, sketches.distinctColors(), 501 * 3 * sketches.distinctError());
+            HeavyHitters.Item red = sketches.topColors(1).get(0);
+            assertEquals("red", red.value());
+            assertTrue(red.guaranteedCount() <= (n + 2) / 3 && red.count() >= (n + 2) / 3, red.toString());
+        }
+
+        @Test
+        @DisplayName("Collections keep their sketches current")
+        void collectionMaintained() {
+            ShapeCollection collection = new ShapeCollection(shapes(100, new Random(4)));
+            assertEquals(100, collection.sketches().count());
+
+            Sphere gold = new Sphere("Goldie", "Gold", 1.0);
+            collection.add(gold);
+            assertEquals(5, collection.sketches().distinctColors());
+
+            gold.setColor("RED");
+            assertEquals(4, collection.sketches().distinctColors());
+            gold.setName("Twin");
+            assertEquals(11, collection.sketches().topNames(1).get(0).count());
+
+            collection.remove(gold);
+            ShapeSketches after = collection.sketches();
+            assertEquals(100, after.count());
+            assertEquals(10, after.topNames(1).get(0).count());
+
+            collection.add(new Cube("Late", "Violet", 1.0));
+            assertEquals(100, after.count());
+            collection.clear();
+            assertEquals(0, collection.sketches().distinctNames());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ShapeSorter}.
+ *
+ * Coverage:
+ * - Single and multi-key orders match a stable {@link Comparator} sort, including ties
+ * - Descending keys keep list order among ties
+ * - Colors sort without regard to case, as filters match them
+ * - Signed zeros, negatives, infinities, and NaN sort like {@link Double#compare}
+ * - Inputs above the parallel threshold sort correctly
+ * - In-place sorting and invalid arguments
+ */
+public class ShapeSorterTest {
+
+    private static List<Shape3D> comparatorSort(List<Shape3D> shapes, Comparator<Shape3D> order) {
+        List<Shape3D> sorted = new ArrayList<>(shapes);
+        sorted.sort(order);
+        return sorted;
+    }
+
+    @Test
+    @DisplayName("Single metric key matches a stable comparator sort")
+    void singleKey() {
+        List<Shape3D> shapes = TestShapes.random(2_000, 1, TestShapes.COLORS, 8);
+        assertEquals(comparatorSort(shapes, Comparator.comparingDouble(ShapeMetric.VOLUME)),
+                ShapeSorter.sorted(shapes, ShapeSorter.SortKey.by(ShapeMetric.VOLUME)));
+        assertEquals(comparatorSort(shapes, Comparator.comparingDouble(ShapeMetric.EFFICIENCY).reversed()),
+                ShapeSorter.sorted(shapes, ShapeSorter.SortKey.by(ShapeMetric.EFFICIENCY).descending()));
+    }
+
+    @Test
+    @DisplayName("Type, then color, then volume descending")
+    void multiKey() {
+        List<Shape3D> shapes = TestShapes.random(3_000, 2, TestShapes.COLORS, 8);
+        Comparator<Shape3D> order = Comparator.<Shape3D>comparingInt(s -> ShapeType.of(s).ordinal())
+                .thenComparing(s -> ShapeCollection.colorKey(s.getColor()))
+                .thenComparing(Comparator.comparingDouble(ShapeMetric.VOLUME).reversed());
+
+        List<Shape3D> sorted = ShapeSorter.sorted(shapes,
+                ShapeSorter.SortKey.byType(),
+                ShapeSorter.SortKey.byColor(),
+                ShapeSorter.SortKey.by(ShapeMetric.VOLUME).descending());
+
+        assertEquals(comparatorSort(shapes, order), sorted);
+    }
+
+    @Test
+    @DisplayName("Name key and descending string ranks")
+    void nameKey() {
+        List<Shape3D> shapes = TestShapes.random(500, 3, TestShapes.COLORS, 8);
+        assertEquals(comparatorSort(shapes, Comparator.comparing(Shape3D::getName)),
+                ShapeSorter.sorted(shapes, ShapeSorter.SortKey.byName()));
+        assertEquals(comparatorSort(shapes, Comparator.comparing((Shape3D s) -> ShapeCollection.colorKey(s.getColor()))
+                        .reversed()),
+                ShapeSorter.sorted(shapes, ShapeSorter.SortKey.byColor().descending()));
+    }
+
+    @Test
+    @DisplayName("Colors differing only in case tie")
+    void colorIgnoresCase() {
+        List<Shape3D> shapes = List.of(new Cube("A", "red", 1), new Cube("B", "Blue", 1),
+                new Cube("C", "RED", 1), new Cube("D", "amber", 1), new Cube("E", "Red", 1));
+        assertEquals(List.of("D", "B", "A", "C", "E"),
+                ShapeSorter.sorted(shapes, ShapeSorter.SortKey.byColor()).stream().map(Shape3D::getName).toList());
+        assertEquals(List.of("A", "C", "E", "B", "D"),
+                ShapeSorter.sorted(shapes, ShapeSorter.SortKey.byColor().descending()).stream()
+                        .map(Shape3D::getName).toList());
+    }
+
+    @Test
+    @DisplayName("Special doubles sort like Double.compare")
+    void specialValues() {
+        double[] values = {3.5, -0.0, Double.NaN, -2.0, 0.0, Double.NEGATIVE_INFINITY,
+                Double.MIN_VALUE, Double.POSITIVE_INFINITY, -Double.MIN_VALUE, 3.5, -1e300};
+        Integer[] expected = new Integer[values.length];
+        for (int i = 0; i < values.length; i++) {
+            expected[i] = i;
+        }
+        Arrays.sort(expected, (a, b) -> Double.compare(values[a], values[b]));
+
+        assertArrayEquals(Arrays.stream(expected).mapToInt(Integer::intValue).toArray(),
+                ShapeSorter.sortedIndices(values, false));
+
+        Arrays.sort(expected, (a, b) -> Double.compare(values[b], values[a]));
+        assertArrayEquals(Arrays.stream(expected).mapToInt(Integer::intValue).toArray(),
+                ShapeSorter.sortedIndices(values, true));
+    }
+
+    @Test
+    @DisplayName("Large inputs take the parallel path and stay stable")
+    void parallelPath() {
+        Random random = new Random(4);
+        int n = ShapeSorter.PARALLEL_THRESHOLD * 3 + 17;
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextInt(1_000) - 500 + random.nextInt(4) * 0.25;
+        }
+        int[] order = ShapeSorter.sortedIndices(values, false);
+
+        assertEquals(n, order.length);
+        for (int i = 1; i < n; i++) {
+            int cmp = Double.compare(values[order[i - 1]], values[order[i]]);
+            assertTrue(cmp < 0 || (cmp == 0 && order[i - 1] < order[i]), "unstable or unsorted at " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("sort() reorders a list in place")
+    void sortInPlace() {
+        List<Shape3D> shapes = TestShapes.random(300, 5, TestShapes.COLORS, 8);
+        List<Shape3D> expected = comparatorSort(shapes, Comparator.comparingDouble(ShapeMetric.SURFACE_AREA));
+        ShapeCollection collection = new ShapeCollection(shapes);
+
+        ShapeSorter.sort(collection, ShapeSorter.SortKey.by(ShapeMetric.SURFACE_AREA));
+
+        assertEquals(expected, collection);
+        assertEquals(expected.get(0).getSurfaceArea(), collection.surfaceAreaAt(0), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Empty input and invalid arguments")
+    void edgeCases() {
+        assertEquals(0, ShapeSorter.sortedIndices(List.of(), ShapeSorter.SortKey.byType()).length);
+        assertThrows(IllegalArgumentException.class, () -> ShapeSorter.sortedIndices(List.of(new Cube("C", 1))));
+        assertThrows(IllegalArgumentException.class, () -> ShapeSorter.sortedIndices((List<Shape3D>) null, ShapeSorter.SortKey.byType()));
+        assertThrows(IllegalArgumentException.class, () -> ShapeSorter.SortKey.by(null));
+    }
+}
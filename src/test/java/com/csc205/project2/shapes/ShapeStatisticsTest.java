@@ -0,0 +1,109 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ShapeStatistics}.
+ *
+ * Coverage:
+ * - Results match the Collections.max/min and stream computations they replace
+ * - Each shape is evaluated exactly once per metric
+ * - Ties keep the earliest shape, also across combine()
+ * - Parallel collection and columnar input agree with sequential input, totals bit for bit
+ */
+public class ShapeStatisticsTest {
+
+    private static final double TOL = 1e-9;
+
+    @Test
+    @DisplayName("Matches the multi-pass computations it replaces")
+    void matchesLegacy() {
+        List<Shape3D> shapes = TestShapes.random(500, 3);
+        ShapeStatistics stats = ShapeStatistics.of(shapes);
+
+        Comparator<Shape3D> byEfficiency = Comparator.comparing(s -> s.getVolume() / s.getSurfaceArea());
+        assertEquals(Collections.max(shapes, Comparator.comparing(Shape3D::getVolume)).getName(),
+                stats.getLargestVolume().name());
+        assertEquals(Collections.min(shapes, Comparator.comparing(Shape3D::getSurfaceArea)).getName(),
+                stats.getSmallestSurfaceArea().name());
+        assertEquals(Collections.max(shapes, byEfficiency).getName(), stats.getMostEfficient().name());
+        assertEquals(Collections.min(shapes, byEfficiency).getName(), stats.getLeastEfficient().name());
+
+        // Totals are the exact sum rounded once, within rounding of the stream sum
+        BigDecimal exactVolume = shapes.stream().map(s -> new BigDecimal(s.getVolume()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(exactVolume.doubleValue(), stats.getTotalVolume());
+        assertEquals(shapes.stream().mapToDouble(Shape3D::getVolume).sum(), stats.getTotalVolume(),
+                TOL * stats.getTotalVolume());
+        assertEquals(shapes.stream().mapToDouble(Shape3D::getSurfaceArea).average().orElse(0.0),
+                stats.getAverageSurfaceArea());
+        assertEquals(shapes.size(), stats.getCount());
+        long cubes = shapes.stream().filter(s -> s instanceof Cube).count();
+        assertEquals(cubes, stats.getCount(ShapeType.CUBE));
+    }
+
+    @Test
+    @DisplayName("Each shape is evaluated once per metric")
+    void singleEvaluation() {
+        CountingMetricsSink counter = new CountingMetricsSink();
+        Shape3D.setMetricsSink(counter);
+        try {
+            ShapeStatistics.of(TestShapes.random(50, 5));
+        } finally {
+            Shape3D.setMetricsSink(LoggingMetricsSink.INSTANCE);
+        }
+        assertEquals(50, counter.getComputeCount(ShapeMetric.VOLUME));
+        assertEquals(50, counter.getComputeCount(ShapeMetric.SURFACE_AREA));
+    }
+
+    @Test
+    @DisplayName("Ties keep the earliest shape, including across combine")
+    void tiesKeepFirst() {
+        ShapeStatistics left = ShapeStatistics.of(List.of(new Cube("First", 2.0), new Cube("Second", 2.0)));
+        assertEquals("First", left.getLargestVolume().name());
+        assertEquals("First", left.getSmallestVolume().name());
+
+        ShapeStatistics right = ShapeStatistics.of(List.of(new Cube("Third", 2.0)));
+        left.combine(right);
+        assertEquals("First", left.getLargestVolume().name());
+        assertEquals(3, left.getCount());
+        assertEquals(Map.of(ShapeType.CUBE, 3L), left.getTypeCounts());
+    }
+
+    @Test
+    @DisplayName("Parallel collector and columnar input agree with sequential input")
+    void parallelAndColumnar() {
+        List<Shape3D> shapes = TestShapes.random(5_000, 9);
+        ShapeStatistics sequential = ShapeStatistics.of(shapes);
+        ShapeStatistics parallel = shapes.parallelStream().collect(ShapeStatistics.collector());
+        ShapeStatistics columnar = ShapeStatistics.of(ShapeStore.of(shapes));
+
+        for (ShapeStatistics other : List.of(parallel, columnar)) {
+            assertEquals(sequential.getLargestVolume(), other.getLargestVolume());
+            assertEquals(sequential.getLeastEfficient(), other.getLeastEfficient());
+            assertEquals(sequential.getTypeCounts(), other.getTypeCounts());
+            // Exact totals: bit-identical however the work was split
+            assertEquals(sequential.getTotalVolume(), other.getTotalVolume());
+            assertEquals(sequential.getAverageSurfaceArea(), other.getAverageSurfaceArea());
+        }
+    }
+
+    @Test
+    @DisplayName("Empty statistics have no extremes and zero averages")
+    void empty() {
+        ShapeStatistics stats = new ShapeStatistics();
+        assertEquals(0, stats.getCount());
+        assertNull(stats.getLargestVolume());
+        assertEquals(0.0, stats.getAverageVolume());
+        assertTrue(stats.getTypeCounts().isEmpty());
+    }
+}
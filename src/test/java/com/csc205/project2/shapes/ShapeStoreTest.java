@@ -0,0 +1,118 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ShapeStore}.
+ *
+ * Coverage:
+ * - Round-trip conversion to and from {@link Shape3D}
+ * - Bulk kernels agree exactly with {@link Shape3D#getVolume()} / {@link Shape3D#getSurfaceArea()}
+ * - Input validation on raw rows
+ */
+public class ShapeStoreTest {
+
+    private static List<Shape3D> sampleShapes() {
+        return List.of(
+                new Sphere("Ball", "Red", 5.0),
+                new Cube("Box", "Blue", 4.0),
+                new Cylinder("Can", "Silver", 2.0, 5.0),
+                new RectangularPrism("Package", "Brown", 6.0, 4.0, 3.0),
+                new Cone("Cone", 3.0, 4.0));
+    }
+
+    @Nested
+    @DisplayName("Conversion")
+    class Conversion {
+
+        @Test
+        @DisplayName("Rows round-trip name, color, type, and dimensions")
+        void roundTrip() {
+            List<Shape3D> shapes = sampleShapes();
+            ShapeStore store = ShapeStore.of(shapes);
+
+            assertEquals(shapes.size(), store.size());
+            List<Shape3D> copies = store.toShapes();
+            for (int i = 0; i < shapes.size(); i++) {
+                assertEquals(shapes.get(i).toString(), copies.get(i).toString());
+                assertSame(shapes.get(i).getClass(), copies.get(i).getClass());
+            }
+            assertEquals(ShapeType.RECTANGULAR_PRISM, store.typeAt(3));
+            assertEquals("Unspecified", store.colorAt(4));
+            assertEquals(4.0, store.dimensionAt(4, 1));
+        }
+
+        @Test
+        @DisplayName("Raw rows normalize blank colors and grow beyond initial capacity")
+        void rawRowsGrow() {
+            ShapeStore store = new ShapeStore(0);
+            for (int i = 0; i < 100; i++) {
+                store.add(ShapeType.CUBE, "C" + i, " ", i);
+            }
+            assertEquals(100, store.size());
+            assertEquals("Unspecified", store.colorAt(99));
+            assertEquals(99.0, store.dimensionAt(99, 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Kernels")
+    class BulkKernels {
+
+        @Test
+        @DisplayName("volumes/surfaceAreas match the object model exactly")
+        void kernelsMatchObjects() {
+            List<Shape3D> shapes = sampleShapes();
+            ShapeStore store = ShapeStore.of(shapes);
+            double[] volumes = new double[store.size()];
+            double[] areas = new double[store.size()];
+
+            store.volumes(volumes);
+            store.surfaceAreas(areas);
+
+            for (int i = 0; i < shapes.size(); i++) {
+                assertEquals(shapes.get(i).getVolume(), volumes[i]);
+                assertEquals(shapes.get(i).getSurfaceArea(), areas[i]);
+                assertEquals(volumes[i], store.volumeAt(i));
+                assertEquals(areas[i], store.surfaceAreaAt(i));
+            }
+        }
+
+        @Test
+        @DisplayName("Output array that is too small throws IllegalArgumentException")
+        void outputTooSmall() {
+            ShapeStore store = ShapeStore.of(sampleShapes());
+            assertThrows(IllegalArgumentException.class, () -> store.volumes(new double[2]));
+        }
+    }
+
+    @Nested
+    @DisplayName("Input Validation")
+    class InputValidation {
+
+        @Test
+        @DisplayName("Invalid raw rows throw IllegalArgumentException")
+        void invalidRows() {
+            ShapeStore store = new ShapeStore();
+            assertThrows(IllegalArgumentException.class, () -> store.add(null, "X", null, 1.0));
+            assertThrows(IllegalArgumentException.class, () -> store.add(ShapeType.SPHERE, " ", null, 1.0));
+            assertThrows(IllegalArgumentException.class, () -> store.add(ShapeType.CYLINDER, "X", null, 1.0));
+            assertThrows(IllegalArgumentException.class, () -> store.add(ShapeType.SPHERE, "X", null, -1.0));
+            assertThrows(IllegalArgumentException.class, () -> store.add(ShapeType.SPHERE, "X", null, Double.NaN));
+            assertEquals(0, store.size());
+        }
+
+        @Test
+        @DisplayName("Row access out of range throws IndexOutOfBoundsException")
+        void rowOutOfRange() {
+            ShapeStore store = new ShapeStore();
+            assertThrows(IndexOutOfBoundsException.class, () -> store.volumeAt(0));
+        }
+    }
+}
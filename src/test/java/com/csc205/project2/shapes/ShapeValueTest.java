@@ -0,0 +1,82 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the immutable {@link ShapeValue} records.
+ *
+ * Coverage:
+ * - Values agree exactly with their mutable counterparts
+ * - Round-trip conversion preserves name, color, and dimensions
+ * - Validation and color normalization match {@link Shape3D}; NaN dimensions are rejected as in {@link ShapeStore}
+ * - Withers return new instances and leave the original unchanged
+ */
+public class ShapeValueTest {
+
+    private static List<Shape3D> sampleShapes() {
+        return List.of(
+                new Sphere("Ball", "Red", 5.0),
+                new Cube("Box", "Blue", 4.0),
+                new Cylinder("Can", "Silver", 2.0, 5.0),
+                new RectangularPrism("Package", "Brown", 6.0, 4.0, 3.0),
+                new Cone("Cone", 3.0, 4.0));
+    }
+
+    @Test
+    @DisplayName("Values compute the same results as mutable shapes")
+    void valuesMatchShapes() {
+        for (Shape3D shape : sampleShapes()) {
+            ShapeValue value = ShapeValue.of(shape);
+            assertEquals(shape.getVolume(), value.getVolume());
+            assertEquals(shape.getSurfaceArea(), value.getSurfaceArea());
+            assertEquals(ShapeType.of(shape), value.type());
+            assertArrayEquals(ShapeType.of(shape).dimensionsOf(shape), value.dimensions());
+        }
+    }
+
+    @Test
+    @DisplayName("Round-trip conversion preserves all state")
+    void roundTrip() {
+        for (Shape3D shape : sampleShapes()) {
+            Shape3D copy = ShapeValue.of(shape).toShape();
+            assertNotSame(shape, copy);
+            assertEquals(shape.toString(), copy.toString());
+            assertEquals(ShapeValue.of(shape), ShapeValue.of(copy));
+        }
+    }
+
+    @Test
+    @DisplayName("Validation mirrors the mutable classes")
+    void validation() {
+        assertThrows(IllegalArgumentException.class, () -> new SphereValue(" ", 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new CubeValue("C", -1.0));
+        assertThrows(IllegalArgumentException.class, () -> new CylinderValue("C", 1.0, -1.0));
+        assertThrows(IllegalArgumentException.class, () -> new RectangularPrismValue("P", 1.0, -1.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ConeValue("C", -1.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new SphereValue("S", Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new CubeValue("C", Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new CylinderValue("C", Double.NaN, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new RectangularPrismValue("P", 1.0, 1.0, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new ConeValue("C", 1.0, 1.0).withHeight(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> ShapeValue.of(null));
+
+        assertEquals("Unspecified", new SphereValue("S", "  ", 1.0).color());
+    }
+
+    @Test
+    @DisplayName("Withers return modified copies")
+    void withers() {
+        CylinderValue can = new CylinderValue("Can", "Teal", 2.0, 10.0);
+        CylinderValue taller = can.withHeight(20.0);
+
+        assertEquals(10.0, can.height());
+        assertEquals(20.0, taller.height());
+        assertEquals(2.0 * can.getVolume(), taller.getVolume(), 1e-9);
+        assertEquals("Teal", taller.color());
+    }
+}
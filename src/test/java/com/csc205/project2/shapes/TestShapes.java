@@ -0,0 +1,57 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random shape fixtures shared by the tests.
+ *
+ * Shapes are drawn from every {@link ShapeType} and named after their type and index, so
+ * the same seed always gives the same list.
+ */
+final class TestShapes {
+
+    /** Colors the fixtures draw from. */
+    static final String[] COLORS = {"Red", "Blue", "Green", "Amber", "Violet"};
+
+    private TestShapes() {
+    }
+
+    /**
+     * Returns shapes of the default color with dimensions in {@code [1, 10)}.
+     *
+     * @param n    number of shapes
+     * @param seed random seed
+     * @return a new mutable list
+     */
+    static List<Shape3D> random(int n, long seed) {
+        return random(n, seed, null, 0);
+    }
+
+    /**
+     * Returns random shapes.
+     *
+     * @param n      number of shapes
+     * @param seed   random seed
+     * @param colors colors drawn uniformly, or null for the default color
+     * @param sizes  number of distinct whole-number values per dimension, starting at 1, so
+     *               that fewer sizes mean more ties; 0 for dimensions drawn from {@code [1, 10)}
+     * @return a new mutable list
+     */
+    static List<Shape3D> random(int n, long seed, String[] colors, int sizes) {
+        Random random = new Random(seed);
+        ShapeType[] types = ShapeType.values();
+        List<Shape3D> shapes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ShapeType type = types[random.nextInt(types.length)];
+            String color = colors == null ? null : colors[random.nextInt(colors.length)];
+            double[] dims = new double[type.arity()];
+            for (int d = 0; d < dims.length; d++) {
+                dims[d] = sizes > 0 ? 1 + random.nextInt(sizes) : 1 + 9 * random.nextDouble();
+            }
+            shapes.add(type.create(type.displayName() + "-" + i, color, dims));
+        }
+        return shapes;
+    }
+}